@@ -43,6 +43,7 @@ public class AllShortestPathsProc {
                     .withOptionalRelationshipType(configuration.getRelationshipOrQuery())
                     .withDirection(Direction.OUTGOING)
                     .withExecutorService(Pools.DEFAULT)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
 
             return new MSBFSAllShortestPaths(graph, Pools.DEFAULT)
@@ -58,6 +59,7 @@ public class AllShortestPathsProc {
                         configuration.getPropertyDefaultValue(1.0))
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
 
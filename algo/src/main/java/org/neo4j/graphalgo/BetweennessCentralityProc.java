@@ -13,6 +13,7 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.*;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -21,6 +22,17 @@ import java.util.stream.Stream;
  */
 public class BetweennessCentralityProc {
 
+    public static final String CONFIG_STRATEGY = "strategy";
+    public static final String CONFIG_SAMPLING = "sampling";
+    public static final String CONFIG_PROBABILITY = "probability";
+    public static final String CONFIG_SAMPLES = "samples";
+    public static final String CONFIG_EPSILON = "epsilon";
+    public static final String CONFIG_DELTA = "delta";
+    public static final String CONFIG_SEED = "seed";
+
+    public static final String STRATEGY_BRANDES = "brandes";
+    public static final String STRATEGY_MSBFS = "msbfs";
+
     @Context
     public GraphDatabaseAPI api;
 
@@ -42,10 +54,11 @@ public class BetweennessCentralityProc {
                 .withOptionalRelationshipType(relationship)
                 .withoutNodeProperties()
                 .withDirection(Direction.OUTGOING)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new BetweennessCentralitySuccessorBrandes(graph,
-                configuration.getNumber("scaleFactor", 100_000).intValue(),
+                configuration.getNumber("scaleFactor", 100_000).doubleValue(),
                 Pools.DEFAULT)
                 .withLog(log)
                 .compute()
@@ -53,7 +66,8 @@ public class BetweennessCentralityProc {
     }
 
     @Procedure(value = "algo.betweenness.stream")
-    @Description("CALL algo.betweenness.stream(label:String, relationship:String) YIELD nodeId, centrality - yields centrality for each node")
+    @Description("CALL algo.betweenness.stream(label:String, relationship:String, {weightProperty:'weight', defaultValue:1.0, strategy:'brandes'}) " +
+            "YIELD nodeId, centrality - yields centrality for each node")
     public Stream<BetweennessCentrality.Result> betweennessStream(
             @Name(value = "label", defaultValue = "") String label,
             @Name(value = "relationship", defaultValue = "") String relationship,
@@ -61,16 +75,38 @@ public class BetweennessCentralityProc {
 
         ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
 
+        if (isWeighted(configuration)) {
+            final Graph graph = loadWeighted(label, relationship, configuration);
+            return new WeightedBetweennessCentrality(graph,
+                    Pools.DEFAULT,
+                    configuration.getConcurrency())
+                    .withLog(log)
+                    .compute()
+                    .resultStream();
+        }
+
+        final boolean msbfs = isMSBFS(configuration);
+
         final Graph graph = new GraphLoader(api)
                 .withOptionalLabel(label)
                 .withOptionalRelationshipType(relationship)
                 .withoutNodeProperties()
                 .withDirection(Direction.OUTGOING)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
+        if (msbfs) {
+            return new MSBetweennessCentrality(graph,
+                    configuration.getNumber("scaleFactor", 100_000).doubleValue(),
+                    Pools.DEFAULT,
+                    configuration.getConcurrency())
+                    .withLog(log)
+                    .compute()
+                    .resultStream();
+        }
+
         if (configuration.getConcurrency(-1) > 0) {
             return new ParallelBetweennessCentrality(graph,
-                    configuration.getNumber("scaleFactor", 100_000).intValue(),
                     Pools.DEFAULT,
                     configuration.getConcurrency())
                     .withLog(log)
@@ -103,6 +139,7 @@ public class BetweennessCentralityProc {
                     .withOptionalRelationshipType(relationship)
                     .withoutNodeProperties()
                     .withDirection(Direction.OUTGOING)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
         }
 
@@ -139,7 +176,8 @@ public class BetweennessCentralityProc {
 
 
     @Procedure(value = "algo.betweenness", mode = Mode.WRITE)
-    @Description("CALL algo.betweenness(label:String, relationship:String, {write:true, writeProperty:'centrality', stats:true}) YIELD " +
+    @Description("CALL algo.betweenness(label:String, relationship:String, {write:true, writeProperty:'centrality', stats:true, " +
+            "weightProperty:'weight', defaultValue:1.0, strategy:'brandes'}) YIELD " +
             "loadMillis, computeMillis, writeMillis, nodes, minCentrality, maxCentrality, sumCentrality - yields status of evaluation")
     public Stream<BetweennessCentralityProcResult> betweenness(
             @Name(value = "label", defaultValue = "") String label,
@@ -148,7 +186,11 @@ public class BetweennessCentralityProc {
 
         ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
 
-        if (configuration.getConcurrency(-1) > 0) {
+        if (isWeighted(configuration)) {
+            return computeBetweennessWeighted(label, relationship, configuration);
+        } else if (isMSBFS(configuration)) {
+            return computeBetweennessMSBFS(label, relationship, configuration);
+        } else if (configuration.getConcurrency(-1) > 0) {
             return computeBetweennessParallel(label, relationship, configuration);
         } else {
             return computeBetweenness(label, relationship, configuration);
@@ -171,6 +213,7 @@ public class BetweennessCentralityProc {
                     .withOptionalRelationshipType(relationship)
                     .withoutNodeProperties()
                     .withDirection(Direction.OUTGOING)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
         }
 
@@ -217,12 +260,108 @@ public class BetweennessCentralityProc {
                     .withOptionalRelationshipType(relationship)
                     .withoutNodeProperties()
                     .withDirection(Direction.OUTGOING)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
         }
 
         builder.withNodeCount(graph.nodeCount());
 
         final ParallelBetweennessCentrality bc = new ParallelBetweennessCentrality(
+                graph,
+                Pools.DEFAULT,
+                configuration.getConcurrency())
+                .withLog(log);
+
+        builder.timeEval(() -> {
+            bc.compute();
+            if (configuration.isStatsFlag()) {
+                computeStats(builder, bc.getCentrality());
+            }
+        });
+
+        if (configuration.isWriteFlag()) {
+            builder.timeWrite(() -> {
+                new BetweennessCentralityExporter(
+                        configuration.getBatchSize(),
+                        api,
+                        graph,
+                        graph,
+                        configuration.getWriteProperty(),
+                        org.neo4j.graphalgo.core.utils.Pools.DEFAULT)
+                        .write(bc.getCentrality());
+            });
+        }
+
+        return Stream.of(builder.build());
+    }
+
+    public Stream<BetweennessCentralityProcResult> computeBetweennessWeighted(
+            String label,
+            String relationship,
+            ProcedureConfiguration configuration) {
+
+        final BetweennessCentralityProcResult.Builder builder =
+                BetweennessCentralityProcResult.builder();
+
+        Graph graph;
+        try (ProgressTimer timer = builder.timeLoad()) {
+            graph = loadWeighted(label, relationship, configuration);
+        }
+
+        builder.withNodeCount(graph.nodeCount());
+
+        final WeightedBetweennessCentrality bc = new WeightedBetweennessCentrality(
+                graph,
+                Pools.DEFAULT,
+                configuration.getConcurrency())
+                .withLog(log);
+
+        builder.timeEval(() -> {
+            bc.compute();
+            if (configuration.isStatsFlag()) {
+                computeStats(builder, bc.getCentrality());
+            }
+        });
+
+        if (configuration.isWriteFlag()) {
+            builder.timeWrite(() -> {
+                new BetweennessCentralityExporter(
+                        configuration.getBatchSize(),
+                        api,
+                        graph,
+                        graph,
+                        configuration.getWriteProperty(),
+                        org.neo4j.graphalgo.core.utils.Pools.DEFAULT)
+                        .write(bc.getCentrality());
+            });
+        }
+
+        return Stream.of(builder.build());
+    }
+
+    public Stream<BetweennessCentralityProcResult> computeBetweennessMSBFS(
+            String label,
+            String relationship,
+            ProcedureConfiguration configuration) {
+
+        final BetweennessCentralityProcResult.Builder builder =
+                BetweennessCentralityProcResult.builder();
+
+        Graph graph;
+        try (ProgressTimer timer = builder.timeLoad()) {
+            graph = new GraphLoader(api)
+                    .withLog(log)
+                    .withOptionalLabel(label)
+                    .withOptionalRelationshipType(relationship)
+                    .withoutNodeProperties()
+                    .withDirection(Direction.OUTGOING)
+                    .withName(configuration.getGraphName())
+                    .load(configuration.getGraphImpl());
+        }
+
+        builder.withNodeCount(graph.nodeCount());
+
+        final MSBetweennessCentrality bc = new MSBetweennessCentrality(
                 graph,
                 configuration.getNumber("scaleFactor", 100_000).doubleValue(),
                 Pools.DEFAULT,
@@ -252,6 +391,156 @@ public class BetweennessCentralityProc {
         return Stream.of(builder.build());
     }
 
+    /**
+     * true if a weightProperty has been given
+     * @throws IllegalArgumentException if it is combined with the msbfs strategy
+     */
+    private boolean isWeighted(ProcedureConfiguration configuration) {
+        if (configuration.getProperty() == null) {
+            return false;
+        }
+        if (isMSBFS(configuration)) {
+            throw new IllegalArgumentException("Strategy '" + STRATEGY_MSBFS +
+                    "' does not support weights, remove the weightProperty or use '" + STRATEGY_BRANDES + "'");
+        }
+        return true;
+    }
+
+    /**
+     * true if the multi source bfs strategy has been chosen
+     * @throws IllegalArgumentException on unknown strategies
+     */
+    private boolean isMSBFS(ProcedureConfiguration configuration) {
+        final String strategy = configuration.get(CONFIG_STRATEGY, STRATEGY_BRANDES);
+        if (STRATEGY_MSBFS.equalsIgnoreCase(strategy)) {
+            return true;
+        }
+        if (STRATEGY_BRANDES.equalsIgnoreCase(strategy)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown strategy '" + strategy +
+                "', expected '" + STRATEGY_BRANDES + "' or '" + STRATEGY_MSBFS + "'");
+    }
+
+    private Graph loadWeighted(String label, String relationship, ProcedureConfiguration configuration) {
+        return new GraphLoader(api)
+                .withLog(log)
+                .withOptionalLabel(label)
+                .withOptionalRelationshipType(relationship)
+                .withOptionalRelationshipWeightsFromProperty(
+                        configuration.getProperty(),
+                        configuration.getPropertyDefaultValue(1.0))
+                .withoutNodeProperties()
+                .withDirection(Direction.OUTGOING)
+                .withName(configuration.getGraphName())
+                .load(configuration.getGraphImpl());
+    }
+
+    @Procedure(value = "algo.betweenness.sampled.stream")
+    @Description("CALL algo.betweenness.sampled.stream(label:String, relationship:String, " +
+            "{sampling:'uniform', probability:0.1, samples:1000, epsilon:0.05, delta:0.1, seed:42, concurrency:4}) " +
+            "YIELD nodeId, centrality - yields approximated centrality for each node")
+    public Stream<BetweennessCentrality.Result> betweennessSampledStream(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        final Graph graph = new GraphLoader(api)
+                .withLog(log)
+                .withOptionalLabel(label)
+                .withOptionalRelationshipType(relationship)
+                .withoutNodeProperties()
+                .withDirection(Direction.OUTGOING)
+                .withName(configuration.getGraphName())
+                .load(configuration.getGraphImpl());
+
+        return sampled(graph, configuration)
+                .compute()
+                .resultStream();
+    }
+
+    @Procedure(value = "algo.betweenness.sampled", mode = Mode.WRITE)
+    @Description("CALL algo.betweenness.sampled(label:String, relationship:String, " +
+            "{sampling:'uniform', probability:0.1, samples:1000, epsilon:0.05, delta:0.1, seed:42, concurrency:4, " +
+            "write:true, writeProperty:'centrality', stats:true}) YIELD " +
+            "loadMillis, computeMillis, writeMillis, nodes, minCentrality, maxCentrality, sumCentrality - yields status of evaluation")
+    public Stream<BetweennessCentralityProcResult> betweennessSampled(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        final BetweennessCentralityProcResult.Builder builder =
+                BetweennessCentralityProcResult.builder();
+
+        Graph graph;
+        try (ProgressTimer timer = builder.timeLoad()) {
+            graph = new GraphLoader(api)
+                    .withLog(log)
+                    .withOptionalLabel(label)
+                    .withOptionalRelationshipType(relationship)
+                    .withoutNodeProperties()
+                    .withDirection(Direction.OUTGOING)
+                    .withName(configuration.getGraphName())
+                    .load(configuration.getGraphImpl());
+        }
+
+        builder.withNodeCount(graph.nodeCount());
+
+        final SampledBetweennessCentrality bc = sampled(graph, configuration);
+
+        builder.timeEval(() -> {
+            bc.compute();
+            if (configuration.isStatsFlag()) {
+                computeStats(builder, bc.getCentrality());
+            }
+        });
+
+        if (configuration.isWriteFlag()) {
+            builder.timeWrite(() -> {
+                new BetweennessCentralityExporter(
+                        configuration.getBatchSize(),
+                        api,
+                        graph,
+                        graph,
+                        configuration.getWriteProperty(),
+                        org.neo4j.graphalgo.core.utils.Pools.DEFAULT)
+                        .write(bc.getCentrality());
+            });
+        }
+
+        return Stream.of(builder.build());
+    }
+
+    private SampledBetweennessCentrality sampled(Graph graph, ProcedureConfiguration configuration) {
+        final SampledBetweennessCentrality bc = new SampledBetweennessCentrality(
+                graph,
+                Pools.DEFAULT,
+                configuration.getConcurrency())
+                .withLog(log)
+                .withStrategy(SampledBetweennessCentrality.Strategy.valueOf(
+                        configuration.get(CONFIG_SAMPLING, "uniform").toUpperCase(Locale.ROOT)));
+        if (configuration.containsKeys(CONFIG_PROBABILITY)) {
+            bc.withProbability(configuration.getNumber(CONFIG_PROBABILITY, 1.0).doubleValue());
+        }
+        if (configuration.containsKeys(CONFIG_SAMPLES)) {
+            bc.withSamples(configuration.getNumber(CONFIG_SAMPLES, 1).intValue());
+        }
+        if (configuration.containsKeys(CONFIG_EPSILON)) {
+            bc.withEpsilon(configuration.getNumber(CONFIG_EPSILON, SampledBetweennessCentrality.DEFAULT_EPSILON).doubleValue());
+        }
+        if (configuration.containsKeys(CONFIG_DELTA)) {
+            bc.withDelta(configuration.getNumber(CONFIG_DELTA, SampledBetweennessCentrality.DEFAULT_DELTA).doubleValue());
+        }
+        if (configuration.containsKeys(CONFIG_SEED)) {
+            bc.withSeed(configuration.getNumber(CONFIG_SEED, 0L).longValue());
+        }
+        return bc;
+    }
+
     private void computeStats(BetweennessCentralityProcResult.Builder builder, double[] centrality) {
         double min = Double.MAX_VALUE;
         double max = Double.MIN_VALUE;
@@ -0,0 +1,108 @@
+package org.neo4j.graphalgo;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.ProcedureConfiguration;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.BreadthFirstSearch;
+import org.neo4j.graphalgo.impl.BreadthFirstSearchExporter;
+import org.neo4j.graphalgo.results.BFSResult;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.*;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * parallel breadth first search from a start node
+ */
+public class BreadthFirstSearchProc {
+
+    public static final String DEFAULT_TARGET_PROPERTY = "depth";
+
+    @Context
+    public GraphDatabaseAPI api;
+
+    @Context
+    public Log log;
+
+    @Procedure("algo.bfs.stream")
+    @Description("CALL algo.bfs.stream(startNode:Node, " +
+            "{nodeQuery:'labelName', relationshipQuery:'relationshipName', direction:'OUTGOING', concurrency:4}) " +
+            "YIELD nodeId, depth - yields the depth of each node reachable from the start node")
+    public Stream<BreadthFirstSearch.Result> bfsStream(
+            @Name("startNode") Node startNode,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        final ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        final Graph graph = load(configuration);
+
+        return new BreadthFirstSearch(graph, Pools.DEFAULT, configuration.getConcurrency())
+                .withLog(log)
+                .compute(startNode.getId(), configuration.getDirection(Direction.OUTGOING))
+                .resultStream();
+    }
+
+    @Procedure(value = "algo.bfs", mode = Mode.WRITE)
+    @Description("CALL algo.bfs(startNode:Node, " +
+            "{nodeQuery:'labelName', relationshipQuery:'relationshipName', direction:'OUTGOING', " +
+            "concurrency:4, write:true, writeProperty:'depth'}) " +
+            "YIELD loadMillis, computeMillis, writeMillis, nodes, maxDepth - yields evaluation details")
+    public Stream<BFSResult> bfs(
+            @Name("startNode") Node startNode,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        final ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        final BFSResult.Builder builder = BFSResult.builder();
+
+        final Graph graph;
+        try (ProgressTimer timer = builder.timeLoad()) {
+            graph = load(configuration);
+        }
+
+        final BreadthFirstSearch bfs = new BreadthFirstSearch(graph, Pools.DEFAULT, configuration.getConcurrency())
+                .withLog(log);
+
+        builder.timeEval(() -> bfs.compute(startNode.getId(), configuration.getDirection(Direction.OUTGOING)));
+
+        builder.withNodes(bfs.getVisitedNodes())
+                .withMaxDepth(bfs.getMaxDepth());
+
+        if (configuration.isWriteFlag()) {
+            builder.timeWrite(() -> {
+                new BreadthFirstSearchExporter(
+                        configuration.getBatchSize(),
+                        api,
+                        graph,
+                        graph,
+                        configuration.getWriteProperty(DEFAULT_TARGET_PROPERTY),
+                        Pools.DEFAULT)
+                        .write(bfs.getDepths());
+            });
+        }
+
+        return Stream.of(builder.build());
+    }
+
+    /**
+     * load both directions, the traversal switches to the
+     * opposite direction on large frontiers
+     */
+    private Graph load(ProcedureConfiguration configuration) {
+        return new GraphLoader(api)
+                .withLog(log)
+                .withOptionalLabel(configuration.getNodeLabelOrQuery())
+                .withOptionalRelationshipType(configuration.getRelationshipOrQuery())
+                .withoutRelationshipWeights()
+                .withDirection(Direction.BOTH)
+                .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
+                .load(configuration.getGraphImpl());
+    }
+}
@@ -43,6 +43,7 @@ public class ClosenessCentralityProc {
                 .withOptionalRelationshipType(relationship)
                 .withoutNodeProperties()
                 .withDirection(Direction.OUTGOING)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new MSClosenessCentrality(graph, Pools.DEFAULT)
@@ -71,6 +72,7 @@ public class ClosenessCentralityProc {
                     .withOptionalRelationshipType(relationship)
                     .withoutNodeProperties()
                     .withDirection(Direction.OUTGOING)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
         }
 
@@ -0,0 +1,233 @@
+package org.neo4j.graphalgo;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphCatalog;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.ProcedureConfiguration;
+import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.leightweight.LightGraph;
+import org.neo4j.graphalgo.core.leightweight.LightGraphSnapshot;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.results.GraphCatalogResult;
+import org.neo4j.graphalgo.results.GraphSnapshotResult;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.Log;
+import org.neo4j.procedure.Context;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * loads named graphs into the {@link GraphCatalog} so that several
+ * algorithms can run on the same graph without loading it again.
+ * Algorithms use a loaded graph by passing its name as graph param,
+ * e.g. {@code {graph:'myGraph'}}.
+ * <p>
+ * Snapshot files are only read and written inside the directory
+ * configured by {@link #SNAPSHOT_DIRECTORY_SETTING} in neo4j.conf,
+ * snapshots are disabled if it is not set.
+ */
+public final class GraphCatalogProc {
+
+    public static final String CONFIG_NODE_WEIGHT = "nodeWeight";
+    public static final String CONFIG_NODE_PROPERTY = "nodeProperty";
+    public static final String CONFIG_SNAPSHOT = "snapshot";
+    public static final String SNAPSHOT_DIRECTORY_SETTING = "algo.graph.snapshot_dir";
+
+    @Context
+    public GraphDatabaseAPI api;
+
+    @Context
+    public Log log;
+
+    @Procedure(value = "algo.graph.load")
+    @Description("CALL algo.graph.load(name:String, label:String, relationship:String, " +
+            "{graph:'heavy', direction:'BOTH', weightProperty:'weight', defaultValue:1.0, " +
+            "nodeWeight:'weight', nodeProperty:'value', snapshot:'file'}) " +
+            "YIELD name, direction, nodes, relationships, estimatedBytes, totalBytes, loadMillis, exists" +
+            " - loads a graph into memory, either from the store or from a snapshot file, " +
+            "and stores it under the given name")
+    public Stream<GraphCatalogResult> load(
+            @Name(value = "name") String name,
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        final ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("A graph name is required");
+        }
+        if (ProcedureConfiguration.isGraphImplName(name)) {
+            throw new IllegalArgumentException("The name of a graph implementation can not be used as graph name: " + name);
+        }
+        if (GraphCatalog.exists(name)) {
+            throw new IllegalArgumentException("Graph already loaded: " + name);
+        }
+        if (GraphCatalog.exists(configuration.getGraphName())) {
+            throw new IllegalArgumentException("Cannot load from a graph of the catalog: " + configuration.getGraphName());
+        }
+
+        final String snapshot = configuration.getStringOrNull(CONFIG_SNAPSHOT, null);
+        if (snapshot != null) {
+            return loadSnapshot(name, label, relationship, configuration.getProperty(), snapshotFile(snapshot));
+        }
+
+        final Direction direction = Direction.valueOf(configuration
+                .getDirectionName()
+                .toUpperCase(Locale.ROOT));
+        final String weightProperty = configuration.getProperty();
+
+        final ProgressTimer timer = ProgressTimer.start();
+        final Graph graph = new GraphLoader(api, Pools.DEFAULT)
+                .withLog(log)
+                .withOptionalLabel(label)
+                .withOptionalRelationshipType(relationship)
+                .withOptionalRelationshipWeightsFromProperty(
+                        weightProperty,
+                        configuration.getPropertyDefaultValue(ProcedureConstants.DEFAULT_PROPERTY_VALUE_DEFAULT))
+                .withOptionalNodeWeightsFromProperty(
+                        configuration.getStringOrNull(CONFIG_NODE_WEIGHT, null),
+                        1.0)
+                .withOptionalNodeProperty(
+                        configuration.getStringOrNull(CONFIG_NODE_PROPERTY, null),
+                        0.0)
+                .withDirection(direction)
+                .withBatchSize(configuration.getBatchSize())
+                .load(configuration.getGraphImpl());
+        timer.stop();
+
+        final GraphCatalog.Entry entry = GraphCatalog.put(
+                name,
+                graph,
+                direction,
+                label,
+                relationship,
+                weightProperty);
+        log.info("Loaded graph %s with ~%d bytes, catalog uses ~%d bytes",
+                name,
+                entry.bytes,
+                GraphCatalog.usedBytes());
+        return Stream.of(GraphCatalogResult.of(entry, timer.getDuration(), true));
+    }
+
+    /**
+     * a snapshot does not know the property of its weights, it has to be
+     * given as weightProperty for weighted snapshots. Label and relationship
+     * are taken as given to tell the algorithms what has been loaded.
+     */
+    private Stream<GraphCatalogResult> loadSnapshot(
+            String name,
+            String label,
+            String relationship,
+            String weightProperty,
+            Path file) {
+        final ProgressTimer timer = ProgressTimer.start();
+        final LightGraph graph = (LightGraph) new GraphLoader(api).loadSnapshot(file);
+        timer.stop();
+        final boolean weighted = LightGraphSnapshot.hasWeights(graph);
+        if (weighted != (weightProperty != null && !weightProperty.isEmpty())) {
+            throw new IllegalArgumentException(weighted
+                    ? "Snapshot " + file + " has weights, weightProperty must name their property"
+                    : "Snapshot " + file + " has no weights, weightProperty must not be set");
+        }
+        final GraphCatalog.Entry entry = GraphCatalog.put(
+                name,
+                graph,
+                LightGraphSnapshot.directionOf(graph),
+                label,
+                relationship,
+                weightProperty);
+        log.info("Loaded graph %s from snapshot %s", name, file);
+        return Stream.of(GraphCatalogResult.of(entry, timer.getDuration(), true));
+    }
+
+    @Procedure(value = "algo.graph.save")
+    @Description("CALL algo.graph.save(name:String, file:String) " +
+            "YIELD name, file, bytes, writeMillis" +
+            " - writes a loaded light graph into a snapshot file in the snapshot directory")
+    public Stream<GraphSnapshotResult> save(
+            @Name(value = "name") String name,
+            @Name(value = "file") String file) {
+        final Graph graph = GraphCatalog.get(name);
+        if (!(graph instanceof LightGraph)) {
+            throw new IllegalArgumentException("Only light graphs can be saved, " + name + " is not");
+        }
+        final Path path = snapshotFile(file);
+        final ProgressTimer timer = ProgressTimer.start();
+        final long bytes;
+        try {
+            bytes = LightGraphSnapshot.write((LightGraph) graph, path, new GraphLoader(api).storeId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        timer.stop();
+        return Stream.of(new GraphSnapshotResult(name, file, bytes, timer.getDuration()));
+    }
+
+    /**
+     * resolve the name of a snapshot file against the snapshot directory
+     * @throws IllegalArgumentException if snapshots are disabled or the
+     * name is absolute or points outside of the directory
+     */
+    private Path snapshotFile(String name) {
+        final String directory = api.getDependencyResolver()
+                .resolveDependency(Config.class)
+                .getParams()
+                .get(SNAPSHOT_DIRECTORY_SETTING);
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("Graph snapshots are disabled, set " +
+                    SNAPSHOT_DIRECTORY_SETTING + " to a directory in neo4j.conf to enable them");
+        }
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("A snapshot file name is required");
+        }
+        final Path file = Paths.get(name);
+        if (file.isAbsolute()) {
+            throw new IllegalArgumentException("Snapshot file must be relative to the snapshot directory: " + name);
+        }
+        for (Path part : file) {
+            if ("..".equals(part.toString())) {
+                throw new IllegalArgumentException("Snapshot file must not contain '..': " + name);
+            }
+        }
+        final Path root = Paths.get(directory).toAbsolutePath().normalize();
+        final Path resolved = root.resolve(file).normalize();
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new IllegalArgumentException("Snapshot file must be inside the snapshot directory: " + name);
+        }
+        return resolved;
+    }
+
+    @Procedure(value = "algo.graph.remove")
+    @Description("CALL algo.graph.remove(name:String) " +
+            "YIELD name, direction, nodes, relationships, estimatedBytes, totalBytes, loadMillis, exists" +
+            " - removes a loaded graph and frees its memory")
+    public Stream<GraphCatalogResult> remove(@Name(value = "name") String name) {
+        final GraphCatalog.Entry entry = GraphCatalog.remove(name);
+        if (entry == null) {
+            return Stream.of(GraphCatalogResult.missing(name));
+        }
+        return Stream.of(GraphCatalogResult.of(entry, -1, false));
+    }
+
+    @Procedure(value = "algo.graph.list")
+    @Description("CALL algo.graph.list() " +
+            "YIELD name, direction, nodes, relationships, estimatedBytes, totalBytes, loadMillis, exists" +
+            " - lists all loaded graphs and their estimated memory usage")
+    public Stream<GraphCatalogResult> list() {
+        return GraphCatalog.entries()
+                .stream()
+                .map(entry -> GraphCatalogResult.of(entry, -1, true));
+    }
+}
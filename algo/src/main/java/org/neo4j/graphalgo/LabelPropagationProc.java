@@ -1,15 +1,13 @@
 package org.neo4j.graphalgo;
 
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.cursors.IntCursor;
-import org.neo4j.collection.primitive.PrimitiveIntIterable;
-import org.neo4j.collection.primitive.PrimitiveIntIterator;
-import org.neo4j.graphalgo.api.BatchNodeIterable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphFactory;
+import org.neo4j.graphalgo.core.CatalogGraphFactory;
+import org.neo4j.graphalgo.core.GraphCatalog;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ProcedureConfiguration;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraph;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
-import org.neo4j.graphalgo.core.utils.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.impl.LabelPropagation;
 import org.neo4j.graphalgo.impl.LabelPropagationExporter;
@@ -24,10 +22,7 @@ import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.stream.Stream;
 
 import static java.lang.String.format;
@@ -36,8 +31,10 @@ public final class LabelPropagationProc {
 
     public static final String CONFIG_WEIGHT_KEY = "weightProperty";
     public static final String CONFIG_PARTITION_KEY = "partitionProperty";
+    public static final String CONFIG_DETERMINISTIC = "deterministic";
     public static final Integer DEFAULT_ITERATIONS = 1;
     public static final Boolean DEFAULT_WRITE = Boolean.TRUE;
+    public static final Boolean DEFAULT_DETERMINISTIC = Boolean.FALSE;
     public static final String DEFAULT_WEIGHT_KEY = "weight";
     public static final String DEFAULT_PARTITION_KEY = "partition";
 
@@ -50,8 +47,8 @@ public final class LabelPropagationProc {
     @Procedure(name = "algo.labelPropagation", mode = Mode.WRITE)
     @Description("CALL algo.labelPropagation(" +
             "label:String, relationship:String, direction:String, " +
-            "{iterations:1, weightProperty:'weight', partitionProperty:'partition', write:true}) " +
-            "YIELD nodes, iterations, loadMillis, computeMillis, writeMillis, write, weightProperty, partitionProperty - " +
+            "{iterations:1, weightProperty:'weight', partitionProperty:'partition', write:true, deterministic:false}) " +
+            "YIELD nodes, iterations, ranIterations, didConverge, loadMillis, computeMillis, writeMillis, write, weightProperty, partitionProperty - " +
             "simple label propagation kernel")
     public Stream<LabelPropagationStats> labelPropagation(
             @Name(value = "label", defaultValue = "") String label,
@@ -75,6 +72,7 @@ public final class LabelPropagationProc {
                 .weightProperty(weightProperty);
 
         HeavyGraph graph = load(
+                configuration.getGraphName(),
                 configuration.getNodeLabelOrQuery(),
                 configuration.getRelationshipOrQuery(),
                 direction,
@@ -82,9 +80,14 @@ public final class LabelPropagationProc {
                 weightProperty,
                 stats);
 
-        IntDoubleMap labels = compute(direction, iterations, batchSize, graph, configuration, stats);
+        final LabelPropagation labelPropagation = new LabelPropagation(graph, batchSize > 0 ? Pools.DEFAULT : null)
+                .withDeterministic(configuration.get(CONFIG_DETERMINISTIC, DEFAULT_DETERMINISTIC))
+                .withLog(log);
+        final int[] labels = compute(labelPropagation, direction, iterations, batchSize, stats);
 
-        stats.nodes(labels.size());
+        stats.nodes(labelPropagation.changedNodes())
+                .ranIterations(labelPropagation.iterations())
+                .didConverge(labelPropagation.didConverge());
 
         if (configuration.isWriteFlag(DEFAULT_WRITE) && partitionProperty != null) {
             write(batchSize, partitionProperty, graph, labels, stats);
@@ -94,6 +97,7 @@ public final class LabelPropagationProc {
     }
 
     private HeavyGraph load(
+            String graphName,
             String label,
             String relationshipType,
             Direction direction,
@@ -101,8 +105,11 @@ public final class LabelPropagationProc {
             String weightKey,
             LabelPropagationStats.Builder stats) {
 
+        final Class<? extends GraphFactory> factory = GraphCatalog.exists(graphName)
+                ? CatalogGraphFactory.class
+                : HeavyGraphFactory.class;
         try (ProgressTimer timer = stats.timeLoad()) {
-            return (HeavyGraph) new GraphLoader(dbAPI)
+            final Graph graph = new GraphLoader(dbAPI)
                     .withLog(log)
                     .withOptionalLabel(label)
                     .withOptionalRelationshipType(relationshipType)
@@ -111,22 +118,23 @@ public final class LabelPropagationProc {
                     .withOptionalNodeProperty(partitionKey, 0.0d)
                     .withDirection(direction)
                     .withExecutorService(Pools.DEFAULT)
-                    .load(HeavyGraphFactory.class);
+                    .withName(graphName)
+                    .load(factory);
+            if (!(graph instanceof HeavyGraph)) {
+                throw new IllegalArgumentException("Label propagation needs a heavy graph, " + graphName + " is not");
+            }
+            return (HeavyGraph) graph;
         }
     }
 
-    private IntDoubleMap compute(
+    private int[] compute(
+            LabelPropagation labelPropagation,
             Direction direction,
             int iterations,
             int batchSize,
-            HeavyGraph graph,
-            ProcedureConfiguration configuration,
             LabelPropagationStats.Builder stats) {
         try (ProgressTimer timer = stats.timeEval()) {
-            ExecutorService pool = batchSize > 0 ? Pools.DEFAULT : null;
-            return new LabelPropagation(graph, pool)
-                    .withLog(log)
-                    .compute(
+            return labelPropagation.compute(
                     direction,
                     iterations,
                     Math.max(1, batchSize)
@@ -138,7 +146,7 @@ public final class LabelPropagationProc {
             int batchSize,
             String partitionKey,
             HeavyGraph graph,
-            IntDoubleMap labels,
+            int[] labels,
             LabelPropagationStats.Builder stats) {
         stats.write(true);
         try (ProgressTimer timer = stats.timeWrite()) {
@@ -146,7 +154,6 @@ public final class LabelPropagationProc {
                     batchSize,
                     dbAPI,
                     graph,
-                    new BatchLabels(labels),
                     partitionKey,
                     Pools.DEFAULT)
                     .write(labels);
@@ -186,54 +193,3 @@ public final class LabelPropagationProc {
     }
 }
 
-
-final class BatchLabels implements BatchNodeIterable {
-    private IntDoubleMap data;
-
-    BatchLabels(IntDoubleMap data) {
-        this.data = data;
-    }
-
-    @Override
-    public Collection<PrimitiveIntIterable> batchIterables(int batchSize) {
-        int numberOfBatches = ParallelUtil.threadSize(batchSize, data.size());
-        Iterator<IntCursor> keys = data.keys().iterator();
-        PrimitiveIntIterable[] iterators = new PrimitiveIntIterable[numberOfBatches];
-        Arrays.setAll(iterators, i -> new SegmentIterable(keys, batchSize));
-        return Arrays.asList(iterators);
-    }
-
-    private static final class SegmentIterable implements PrimitiveIntIterable, PrimitiveIntIterator {
-        private int[] keys;
-        private int current;
-        private int limit;
-
-        private SegmentIterable(
-                Iterator<IntCursor> data,
-                int limit) {
-            int[] keys = new int[limit];
-            int i;
-            for (i = 0; i < limit && data.hasNext(); i++) {
-                keys[i] = data.next().value;
-            }
-            this.limit = i;
-            this.keys = keys;
-        }
-
-        @Override
-        public PrimitiveIntIterator iterator() {
-            current = 0;
-            return this;
-        }
-
-        @Override
-        public boolean hasNext() {
-            return current < limit;
-        }
-
-        @Override
-        public int next() {
-            return keys[current++];
-        }
-    }
-}
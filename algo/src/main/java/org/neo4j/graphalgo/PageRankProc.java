@@ -1,15 +1,21 @@
 package org.neo4j.graphalgo;
 
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.GraphFactory;
+import org.neo4j.graphalgo.core.GraphCatalog;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ProcedureConfiguration;
 import org.neo4j.graphalgo.core.utils.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.IncrementalPageRank;
 import org.neo4j.graphalgo.impl.PageRank;
+import org.neo4j.graphalgo.impl.PageRankCache;
 import org.neo4j.graphalgo.impl.PageRankExporter;
+import org.neo4j.graphalgo.results.CacheResult;
 import org.neo4j.graphalgo.results.PageRankScore;
+import org.neo4j.graphalgo.results.PersonalizedPageRankScore;
 import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Context;
@@ -18,6 +24,8 @@ import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -25,10 +33,16 @@ import java.util.stream.Stream;
 public final class PageRankProc {
 
     public static final String CONFIG_DAMPING = "dampingFactor";
+    public static final String CONFIG_TOLERANCE = "tolerance";
+    public static final String CONFIG_CACHE = "cache";
+    public static final String CONFIG_CHUNK_SIZE = "chunkSize";
 
     public static final Double DEFAULT_DAMPING = 0.85;
     public static final Integer DEFAULT_ITERATIONS = 20;
+    public static final Double DEFAULT_TOLERANCE = 0.0;
+    public static final int DEFAULT_CHUNK_SIZE = 32;
     public static final String DEFAULT_SCORE_PROPERTY = "pagerank";
+    public static final String DEFAULT_PERSONALIZED_SCORE_PROPERTY = "personalizedPagerank";
 
     @Context
     public GraphDatabaseAPI api;
@@ -38,7 +52,7 @@ public final class PageRankProc {
 
     @Procedure(value = "algo.pageRank", mode = Mode.WRITE)
     @Description("CALL algo.pageRank(label:String, relationship:String, " +
-            "{iterations:5, dampingFactor:0.85, write: true, writeProperty:'pagerank'}) " +
+            "{iterations:5, dampingFactor:0.85, tolerance:0.0001, direction:'OUTGOING', cache:'name', write: true, writeProperty:'pagerank'}) " +
             "YIELD nodes, iterations, loadMillis, computeMillis, writeMillis, dampingFactor, write, writeProperty" +
             " - calculates page rank and potentially writes back")
     public Stream<PageRankScore.Stats> pageRank(
@@ -49,16 +63,19 @@ public final class PageRankProc {
         ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
 
         PageRankScore.Stats.Builder statsBuilder = new PageRankScore.Stats.Builder();
-        final Graph graph = load(label, relationship, configuration.getGraphImpl(), statsBuilder);
-        double[] scores = evaluate(graph, configuration, statsBuilder);
-        write(graph, scores, configuration, statsBuilder);
+        final Direction direction = loadDirection(configuration);
+        final Graph graph = load(label, relationship, direction, configuration, statsBuilder);
+        double[] scores = evaluate(graph, direction, null, configuration, statsBuilder)
+                .getPageRank();
+        cache(graph, scores, configuration);
+        write(graph, scores, DEFAULT_SCORE_PROPERTY, configuration, statsBuilder);
 
         return Stream.of(statsBuilder.build());
     }
 
     @Procedure(value = "algo.pageRank.stream", mode = Mode.READ)
     @Description("CALL algo.pageRank.stream(label:String, relationship:String, " +
-            "{iterations:20, dampingFactor:0.85}) " +
+            "{iterations:20, dampingFactor:0.85, tolerance:0.0001, direction:'OUTGOING', cache:'name'}) " +
             "YIELD node, score - calculates page rank and streams results")
     public Stream<PageRankScore> pageRankStream(
             @Name(value = "label", defaultValue = "") String label,
@@ -68,8 +85,11 @@ public final class PageRankProc {
         ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
 
         PageRankScore.Stats.Builder statsBuilder = new PageRankScore.Stats.Builder();
-        final Graph graph = load(label, relationship, configuration.getGraphImpl(), statsBuilder);
-        double[] scores = evaluate(graph, configuration, statsBuilder);
+        final Direction direction = loadDirection(configuration);
+        final Graph graph = load(label, relationship, direction, configuration, statsBuilder);
+        double[] scores = evaluate(graph, direction, null, configuration, statsBuilder)
+                .getPageRank();
+        cache(graph, scores, configuration);
 
         return IntStream.range(0, scores.length)
                 .mapToObj(i -> new PageRankScore(
@@ -78,66 +98,319 @@ public final class PageRankProc {
                 ));
     }
 
+    @Procedure(value = "algo.pageRank.incremental", mode = Mode.WRITE)
+    @Description("CALL algo.pageRank.incremental(label:String, relationship:String, " +
+            "{iterations:20, dampingFactor:0.85, tolerance:0.0001, cache:'name', write: true, writeProperty:'pagerank'}) " +
+            "YIELD nodes, touchedNodes, iterations, loadMillis, computeMillis, writeMillis, dampingFactor, write, writeProperty" +
+            " - updates page rank starting from the cached scores or the scores in writeProperty and potentially writes back")
+    public Stream<PageRankScore.Stats> incrementalPageRank(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        PageRankScore.Stats.Builder statsBuilder = new PageRankScore.Stats.Builder();
+        final Graph graph = load(label, relationship, pushDirection(configuration), configuration, statsBuilder);
+
+        final double dampingFactor = configuration.get(CONFIG_DAMPING, DEFAULT_DAMPING);
+        final int iterations = configuration.getIterations(DEFAULT_ITERATIONS);
+        // tolerance:0 is the default of the other page rank procedures and means the default here
+        final double givenTolerance = configuration.getNumber(CONFIG_TOLERANCE, 0.0).doubleValue();
+        final double tolerance = givenTolerance == 0.0 ? IncrementalPageRank.DEFAULT_TOLERANCE : givenTolerance;
+        final double[] initialScores = initialScores(graph, configuration);
+
+        final IncrementalPageRank algo = new IncrementalPageRank(
+                graph,
+                graph,
+                graph,
+                dampingFactor,
+                initialScores)
+                .withTolerance(tolerance)
+                .withLog(log);
+        statsBuilder.timeEval(() -> algo.compute(iterations));
+        log.info("Incremental page rank touched %d of %d nodes", algo.touchedNodes(), graph.nodeCount());
+
+        statsBuilder
+                .withTouchedNodes(algo.touchedNodes())
+                .withIterations(algo.iterations())
+                .withDampingFactor(dampingFactor);
+
+        final double[] scores = algo.getPageRank();
+        cache(graph, scores, configuration);
+        write(graph, scores, DEFAULT_SCORE_PROPERTY, configuration, statsBuilder);
+
+        return Stream.of(statsBuilder.build());
+    }
+
+    @Procedure(value = "algo.pageRank.cache.remove", mode = Mode.READ)
+    @Description("CALL algo.pageRank.cache.remove(name:String) YIELD name, removed" +
+            " - removes the scores cached under the given name and frees their memory")
+    public Stream<CacheResult> removeCache(@Name(value = "name") String name) {
+        return Stream.of(new CacheResult(name, PageRankCache.remove(name)));
+    }
+
+    @Procedure(value = "algo.pageRank.personalized", mode = Mode.WRITE)
+    @Description("CALL algo.pageRank.personalized(label:String, relationship:String, sourceNodes:List<Node>, " +
+            "{iterations:20, dampingFactor:0.85, tolerance:0.0001, write: true, writeProperty:'personalizedPagerank'}) " +
+            "YIELD nodes, iterations, loadMillis, computeMillis, writeMillis, dampingFactor, write, writeProperty" +
+            " - calculates page rank personalized to the source nodes and potentially writes back")
+    public Stream<PageRankScore.Stats> personalizedPageRank(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "sourceNodes") List<Object> sourceNodes,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        PageRankScore.Stats.Builder statsBuilder = new PageRankScore.Stats.Builder();
+        final Graph graph = load(label, relationship, pushDirection(configuration), configuration, statsBuilder);
+        final int[][] sources = {sourceNodes(graph, sourceNodes)};
+        double[] scores = evaluate(graph, Direction.OUTGOING, sources, configuration, statsBuilder)
+                .getPageRank();
+        write(graph, scores, DEFAULT_PERSONALIZED_SCORE_PROPERTY, configuration, statsBuilder);
+
+        return Stream.of(statsBuilder.build());
+    }
+
+    @Procedure(value = "algo.pageRank.personalized.stream", mode = Mode.READ)
+    @Description("CALL algo.pageRank.personalized.stream(label:String, relationship:String, sourceNodes:List<Node>, " +
+            "{iterations:20, dampingFactor:0.85, tolerance:0.0001}) " +
+            "YIELD node, score - calculates page rank personalized to the source nodes and streams results")
+    public Stream<PageRankScore> personalizedPageRankStream(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "sourceNodes") List<Object> sourceNodes,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        PageRankScore.Stats.Builder statsBuilder = new PageRankScore.Stats.Builder();
+        final Graph graph = load(label, relationship, pushDirection(configuration), configuration, statsBuilder);
+        final int[][] sources = {sourceNodes(graph, sourceNodes)};
+        double[] scores = evaluate(graph, Direction.OUTGOING, sources, configuration, statsBuilder)
+                .getPageRank();
+
+        return IntStream.range(0, scores.length)
+                .mapToObj(i -> new PageRankScore(
+                        api.getNodeById(graph.toOriginalNodeId(i)),
+                        scores[i]
+                ));
+    }
+
+    @Procedure(value = "algo.pageRank.personalized.batch.stream", mode = Mode.READ)
+    @Description("CALL algo.pageRank.personalized.batch.stream(label:String, relationship:String, " +
+            "sourceNodeSets:List<List<Node>>, {iterations:20, dampingFactor:0.85, tolerance:0.0001, chunkSize:32}) " +
+            "YIELD index, node, score - calculates page rank personalized to chunkSize sets of source nodes at once " +
+            "and streams the non-zero scores of each set")
+    public Stream<PersonalizedPageRankScore> personalizedPageRankBatchStream(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "sourceNodeSets") List<List<Object>> sourceNodeSets,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        PageRankScore.Stats.Builder statsBuilder = new PageRankScore.Stats.Builder();
+        final Graph graph = load(label, relationship, pushDirection(configuration), configuration, statsBuilder);
+        final int[][] sources = new int[sourceNodeSets.size()][];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = sourceNodes(graph, sourceNodeSets.get(i));
+        }
+        // each run holds a score vector per set and partition, so the
+        // sets are computed in chunks once the stream reaches them
+        final int chunkSize = configuration.getNumber(CONFIG_CHUNK_SIZE, DEFAULT_CHUNK_SIZE).intValue();
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive but was " + chunkSize);
+        }
+        final PageRank[] chunk = new PageRank[1];
+
+        return IntStream.range(0, sources.length)
+                .boxed()
+                .flatMap(index -> {
+                    if (index % chunkSize == 0) {
+                        // release the previous run before the next one allocates its scores
+                        chunk[0] = null;
+                        final int[][] chunkSources = Arrays.copyOfRange(
+                                sources,
+                                index,
+                                Math.min(index + chunkSize, sources.length));
+                        chunk[0] = evaluate(graph, Direction.OUTGOING, chunkSources, configuration, statsBuilder);
+                    }
+                    double[] scores = chunk[0].getPageRank(index % chunkSize);
+                    return IntStream.range(0, scores.length)
+                            .filter(i -> scores[i] != 0.0)
+                            .mapToObj(i -> new PersonalizedPageRankScore(
+                                    index,
+                                    api.getNodeById(graph.toOriginalNodeId(i)),
+                                    scores[i]));
+                });
+    }
+
+    /**
+     * personalized and incremental page rank push the scores along outgoing relationships
+     */
+    private Direction pushDirection(ProcedureConfiguration configuration) {
+        final String graphName = configuration.getGraphName();
+        if (GraphCatalog.exists(graphName) && GraphCatalog.directionOf(graphName) == Direction.INCOMING) {
+            throw new IllegalArgumentException("Page rank needs the outgoing relationships of " + graphName);
+        }
+        return Direction.OUTGOING;
+    }
+
+    /**
+     * the scores to start an incremental computation from, either from
+     * the cache or from the write property of the nodes
+     */
+    private double[] initialScores(Graph graph, ProcedureConfiguration configuration) {
+        final double[] cached = PageRankCache.get(
+                configuration.getStringOrNull(CONFIG_CACHE, null),
+                graph);
+        if (cached != null) {
+            return cached;
+        }
+        final String propertyName = configuration.getWriteProperty(DEFAULT_SCORE_PROPERTY);
+        final double[] scores = new double[graph.nodeCount()];
+        try (Transaction tx = api.beginTx()) {
+            for (int node = 0; node < scores.length; node++) {
+                final Object value = api.getNodeById(graph.toOriginalNodeId(node))
+                        .getProperty(propertyName, null);
+                scores[node] = value instanceof Number
+                        ? ((Number) value).doubleValue()
+                        : Double.NaN;
+            }
+            tx.success();
+        }
+        return scores;
+    }
+
+    private void cache(Graph graph, double[] scores, ProcedureConfiguration configuration) {
+        final String name = configuration.getStringOrNull(CONFIG_CACHE, null);
+        if (name != null) {
+            PageRankCache.put(name, graph, scores);
+        }
+    }
+
+    /**
+     * map the given nodes or node ids to the graph, nodes which are
+     * not part of the graph are ignored
+     */
+    private static int[] sourceNodes(Graph graph, List<Object> nodes) {
+        if (nodes == null) {
+            return new int[0];
+        }
+        return nodes.stream()
+                .mapToLong(PageRankProc::nodeId)
+                .filter(graph::contains)
+                .mapToInt(graph::toMappedNodeId)
+                .toArray();
+    }
+
+    private static long nodeId(Object node) {
+        if (node instanceof Node) {
+            return ((Node) node).getId();
+        }
+        if (node instanceof Number) {
+            return ((Number) node).longValue();
+        }
+        throw new IllegalArgumentException("Expected a node or a node id but got " + node);
+    }
+
+    /**
+     * the direction to load relationships with. Graphs of the catalog have
+     * already been loaded, for all others the direction param decides.
+     * If incoming relationships are available, PageRank pulls the scores
+     * over them, otherwise it pushes the scores along outgoing relationships.
+     */
+    private Direction loadDirection(ProcedureConfiguration configuration) {
+        final String graphName = configuration.getGraphName();
+        if (GraphCatalog.exists(graphName)) {
+            return GraphCatalog.directionOf(graphName);
+        }
+        return configuration.getDirection(Direction.OUTGOING);
+    }
+
     private Graph load(
             String label,
             String relationship,
-            Class<? extends GraphFactory> graphFactory,
+            Direction direction,
+            ProcedureConfiguration configuration,
             PageRankScore.Stats.Builder statsBuilder) {
 
         GraphLoader graphLoader = new GraphLoader(api)
                 .withLog(log)
                 .withOptionalLabel(label)
                 .withOptionalRelationshipType(relationship)
-                .withDirection(Direction.OUTGOING)
+                .withDirection(direction)
                 .withoutRelationshipWeights()
-                .withExecutorService(Pools.DEFAULT);
+                .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName());
 
         try (ProgressTimer timer = statsBuilder.timeLoad()) {
-            Graph graph = graphLoader.load(graphFactory);
+            Graph graph = graphLoader.load(configuration.getGraphImpl());
             statsBuilder.withNodes(graph.nodeCount());
             return graph;
         }
     }
 
-    private double[] evaluate(
+    private PageRank evaluate(
             Graph graph,
+            Direction direction,
+            int[][] sourceNodes,
             ProcedureConfiguration configuration,
             PageRankScore.Stats.Builder statsBuilder) {
 
         double dampingFactor = configuration.get(CONFIG_DAMPING, DEFAULT_DAMPING);
         int iterations = configuration.getIterations(DEFAULT_ITERATIONS);
+        double tolerance = configuration.get(CONFIG_TOLERANCE, DEFAULT_TOLERANCE);
         final int batchSize = configuration.getBatchSize();
         final int concurrency = configuration.getConcurrency(Pools.getNoThreadsInDefaultPool());
         log.debug("Computing page rank with damping of " + dampingFactor + " and " + iterations + " iterations.");
 
-        PageRank algo = new PageRank(
-                Pools.DEFAULT,
-                concurrency,
-                batchSize,
-                graph,
-                graph,
-                graph,
-                graph,
-                dampingFactor)
-                .withLog(log);
+        final PageRank algo;
+        if (sourceNodes != null) {
+            algo = new PageRank(
+                    Pools.DEFAULT,
+                    concurrency,
+                    batchSize,
+                    graph,
+                    graph,
+                    graph,
+                    graph,
+                    dampingFactor,
+                    sourceNodes);
+        } else {
+            algo = new PageRank(
+                    Pools.DEFAULT,
+                    concurrency,
+                    batchSize,
+                    graph,
+                    graph,
+                    graph,
+                    graph,
+                    dampingFactor,
+                    direction == Direction.OUTGOING ? Direction.OUTGOING : Direction.INCOMING);
+        }
+        algo.withTolerance(tolerance).withLog(log);
 
         statsBuilder.timeEval(() -> algo.compute(iterations));
 
         statsBuilder
-                .withIterations(iterations)
+                .withIterations(algo.iterations())
                 .withDampingFactor(dampingFactor);
 
-        return algo.getPageRank();
+        return algo;
     }
 
     private void write(
             Graph graph,
             double[] scores,
+            String defaultProperty,
             ProcedureConfiguration configuration,
             final PageRankScore.Stats.Builder statsBuilder) {
         if (configuration.isWriteFlag(true)) {
             log.debug("Writing results");
-            String propertyName = configuration.getWriteProperty(DEFAULT_SCORE_PROPERTY);
+            String propertyName = configuration.getWriteProperty(defaultProperty);
             int batchSize = configuration.getBatchSize();
             statsBuilder.timeWrite(() -> new PageRankExporter(
                     batchSize,
@@ -5,6 +5,7 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ProcedureConfiguration;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.impl.DeltaSteppingShortestPathExporter;
+import org.neo4j.graphalgo.impl.ParallelDeltaStepping;
 import org.neo4j.graphalgo.impl.ShortestPathDeltaStepping;
 import org.neo4j.graphalgo.results.DeltaSteppingProcResult;
 import org.neo4j.graphdb.Direction;
@@ -14,7 +15,6 @@ import org.neo4j.logging.Log;
 import org.neo4j.procedure.*;
 
 import java.util.*;
-import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 /**
@@ -64,13 +64,13 @@ public class ShortestPathDeltaSteppingProc {
                         configuration.getPropertyDefaultValue(Double.MAX_VALUE))
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
-        return new ShortestPathDeltaStepping(graph, delta)
+        return new ParallelDeltaStepping(graph, delta)
                 .withLog(log)
-                .withExecutorService(Executors.newFixedThreadPool(
-                        configuration.getInt("concurrency", 4)
-                ))
+                .withExecutorService(Pools.DEFAULT)
+                .withConcurrency(configuration.getInt("concurrency", 4))
                 .compute(startNode.getId())
                 .resultStream();
     }
@@ -100,12 +100,14 @@ public class ShortestPathDeltaSteppingProc {
                             configuration.getPropertyDefaultValue(Double.MAX_VALUE))
                     .withDirection(Direction.OUTGOING)
                     .withExecutorService(Pools.DEFAULT)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
         }
 
-        final ShortestPathDeltaStepping algorithm = new ShortestPathDeltaStepping(graph, delta)
+        final ParallelDeltaStepping algorithm = new ParallelDeltaStepping(graph, delta)
                 .withLog(log)
-                .withExecutorService(Pools.DEFAULT);
+                .withExecutorService(Pools.DEFAULT)
+                .withConcurrency(configuration.getInt("concurrency", 4));
 
         builder.timeEval(() -> algorithm.compute(startNode.getId()));
 
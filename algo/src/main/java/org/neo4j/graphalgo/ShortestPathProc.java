@@ -48,6 +48,7 @@ public class ShortestPathProc {
                         configuration.getPropertyDefaultValue(1.0))
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new ShortestPathDijkstra(graph)
@@ -84,6 +85,7 @@ public class ShortestPathProc {
                             configuration.getPropertyDefaultValue(1.0))
                     .withDirection(Direction.OUTGOING)
                     .withExecutorService(Pools.DEFAULT)
+                    .withName(configuration.getGraphName())
                     .load(configuration.getGraphImpl());
         };
 
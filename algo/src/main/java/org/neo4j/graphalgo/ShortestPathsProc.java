@@ -51,6 +51,7 @@ public class ShortestPathsProc {
                         configuration.getPropertyDefaultValue(1.0))
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new ShortestPaths(graph)
@@ -83,6 +84,7 @@ public class ShortestPathsProc {
                         configuration.getPropertyDefaultValue(1.0))
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
         load.stop();
 
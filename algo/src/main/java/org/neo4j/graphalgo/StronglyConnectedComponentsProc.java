@@ -30,16 +30,83 @@ public class StronglyConnectedComponentsProc {
     @Context
     public Log log;
 
-    // default algo.scc -> tarjan
+    // default algo.scc -> parallel trim, forward-backward and coloring
     @Procedure(value = "algo.scc", mode = Mode.WRITE)
-    @Description("CALL algo.scc(label:String, relationship:String, config:Map<String, Object>) YIELD " +
+    @Description("CALL algo.scc(label:String, relationship:String, {write:true, partitionProperty:'partition', concurrency:4}) YIELD " +
             "loadMillis, computeMillis, writeMillis, setCount, maxSetSize, minSetSize")
     public Stream<SCCResult> sccDefaultMethod(
             @Name(value = "label", defaultValue = "") String label,
             @Name(value = "relationship", defaultValue = "") String relationship,
             @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
 
-        return sccTarjan(label, relationship, config);
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        SCCResult.Builder builder = SCCResult.builder();
+
+        ProgressTimer loadTimer = builder.timeLoad();
+        Graph graph = loadBoth(label, relationship, configuration);
+        loadTimer.stop();
+
+        final ParallelSCC scc = new ParallelSCC(graph,
+                org.neo4j.graphalgo.core.utils.Pools.DEFAULT,
+                configuration.getBatchSize(),
+                configuration.getConcurrency())
+                .withLog(log);
+
+        builder.timeEval(scc::compute);
+
+        builder.withMaxSetSize(scc.getMaxSetSize())
+                .withMinSetSize(scc.getMinSetSize())
+                .withSetCount(scc.getSetCount());
+
+        if (configuration.isWriteFlag()) {
+            builder.timeWrite(() -> {
+                new ArrayBasedSCCExporter(
+                        configuration.getBatchSize(),
+                        api,
+                        graph,
+                        graph,
+                        configuration.get(CONFIG_WRITE_PROPERTY, CONFIG_CLUSTER),
+                        org.neo4j.graphalgo.core.utils.Pools.DEFAULT)
+                        .write(scc.getConnectedComponents());
+            });
+        }
+
+        return Stream.of(builder.build());
+    }
+
+    // algo.scc.stream
+    @Procedure(value = "algo.scc.stream")
+    @Description("CALL algo.scc.stream(label:String, relationship:String, {concurrency:4}) YIELD " +
+            "nodeId, partition")
+    public Stream<SCCStreamResult> sccDefaultMethodStream(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config);
+
+        Graph graph = loadBoth(label, relationship, configuration);
+
+        return new ParallelSCC(graph,
+                org.neo4j.graphalgo.core.utils.Pools.DEFAULT,
+                configuration.getBatchSize(),
+                configuration.getConcurrency())
+                .withLog(log)
+                .compute()
+                .resultStream();
+    }
+
+    private Graph loadBoth(String label, String relationship, ProcedureConfiguration configuration) {
+        return new GraphLoader(api)
+                .withLog(log)
+                .withOptionalLabel(label)
+                .withOptionalRelationshipType(relationship)
+                .withoutRelationshipWeights()
+                .withDirection(Direction.BOTH)
+                .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
+                .load(configuration.getGraphImpl());
     }
 
     // algo.scc.tarjan
@@ -63,6 +130,7 @@ public class StronglyConnectedComponentsProc {
                 .withoutRelationshipWeights()
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
         loadTimer.stop();
 
@@ -109,6 +177,7 @@ public class StronglyConnectedComponentsProc {
                 .withoutRelationshipWeights()
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
         loadTimer.stop();
 
@@ -155,6 +224,7 @@ public class StronglyConnectedComponentsProc {
                 .withoutRelationshipWeights()
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new SCCTunedTarjan(graph)
@@ -184,6 +254,7 @@ public class StronglyConnectedComponentsProc {
                 .withoutRelationshipWeights()
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
         loadTimer.stop();
 
@@ -230,6 +301,7 @@ public class StronglyConnectedComponentsProc {
                 .withoutRelationshipWeights()
                 .withDirection(Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new SCCIterativeTarjan(graph)
@@ -259,6 +331,7 @@ public class StronglyConnectedComponentsProc {
                 .withOptionalRelationshipType(relationship)
                 .withoutRelationshipWeights()
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
         loadTimer.stop();
 
@@ -307,6 +380,7 @@ public class StronglyConnectedComponentsProc {
                 .withOptionalRelationshipType(relationship)
                 .withoutRelationshipWeights()
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         final MultistepSCC multistep = new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT,
@@ -337,6 +411,7 @@ public class StronglyConnectedComponentsProc {
                 .withOptionalRelationshipType(relationship)
                 .withoutRelationshipWeights()
                 .withExecutorService(Pools.DEFAULT)
+                .withName(configuration.getGraphName())
                 .load(configuration.getGraphImpl());
 
         return new ForwardBackwardScc(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT,
@@ -1,11 +1,20 @@
 package org.neo4j.graphalgo;
 
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.GraphCatalog;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ProcedureConfiguration;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.sources.NewRelationships;
+import org.neo4j.graphalgo.core.utils.ArrayBatchNodeIterable;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.dss.ConcurrentDisjointSetStruct;
+import org.neo4j.graphalgo.impl.IncrementalUnionFind;
+import org.neo4j.graphalgo.impl.ParallelUnionFind;
+import org.neo4j.graphalgo.impl.UnionFindCache;
 import org.neo4j.graphalgo.impl.UnionFindExporter;
+import org.neo4j.graphalgo.results.CacheResult;
 import org.neo4j.graphalgo.results.UnionFindResult;
 import org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.impl.GraphUnionFind;
@@ -15,6 +24,7 @@ import org.neo4j.logging.Log;
 import org.neo4j.procedure.*;
 
 import java.util.Map;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Stream;
 
 /**
@@ -23,6 +33,8 @@ import java.util.stream.Stream;
 public class UnionFindProc {
 
     public static final String CONFIG_THRESHOLD = "threshold";
+    public static final String CONFIG_SAMPLING = "sampling";
+    public static final String CONFIG_CACHE = "cache";
     public static final String CONFIG_CLUSTER_PROPERTY = "partitionProperty";
     public static final String DEFAULT_CLUSTER_PROPERTY = "partition";
 
@@ -34,7 +46,7 @@ public class UnionFindProc {
 
     @Procedure(value = "algo.unionFind", mode = Mode.WRITE)
     @Description("CALL algo.unionFind(label:String, relationship:String, " +
-            "{weightProperty:'weight', threshold:0.42, defaultValue:1.0, write: true, partitionProperty:'partition'}) " +
+            "{weightProperty:'weight', threshold:0.42, defaultValue:1.0, write: true, partitionProperty:'partition', concurrency:1, sampling:false, cache:'name'}) " +
             "YIELD nodes, setCount, loadMillis, computeMillis, writeMillis")
     public Stream<UnionFindResult> unionFind(
             @Name(value = "label", defaultValue = "") String label,
@@ -48,32 +60,53 @@ public class UnionFindProc {
         UnionFindResult.Builder builder = UnionFindResult.builder();
 
         // loading
+        final long watermark;
         final Graph graph;
         try (ProgressTimer timer = builder.timeLoad()) {
+            watermark = watermark(configuration);
             graph = load(configuration);
         };
 
         // evaluation
-        final DisjointSetStruct struct;
-        try (ProgressTimer timer = builder.timeEval()) {
-            struct = evaluate(graph, configuration);
-        };
+        final IntUnaryOperator setIds;
+        final int setCount;
+        if (isParallel(configuration)) {
+            final ConcurrentDisjointSetStruct struct;
+            try (ProgressTimer timer = builder.timeEval()) {
+                struct = evaluateParallel(graph, configuration);
+            };
+            setIds = struct::find;
+            setCount = struct.getSetCount();
+            if (isCached(configuration)) {
+                cache(graph, struct.toDisjointSetStruct(), watermark, configuration);
+            }
+        } else {
+            final DisjointSetStruct struct;
+            try (ProgressTimer timer = builder.timeEval()) {
+                struct = evaluate(graph, configuration);
+            };
+            setIds = struct::find;
+            setCount = struct.getSetCount();
+            if (isCached(configuration)) {
+                cache(graph, struct, watermark, configuration);
+            }
+        }
 
         if (configuration.isWriteFlag()) {
             // write back
             builder.timeWrite(() ->
-                    write(graph, struct, configuration));
+                    write(graph, setIds, configuration));
         }
 
         return Stream.of(builder
                 .withNodeCount(graph.nodeCount())
-                .withSetCount(struct.getSetCount())
+                .withSetCount(setCount)
                 .build());
     }
 
     @Procedure(value = "algo.unionFind.stream")
     @Description("CALL algo.unionFind.stream(label:String, relationship:String, " +
-            "{weightProperty:'propertyName', threshold:0.42, defaultValue:1.0) " +
+            "{weightProperty:'propertyName', threshold:0.42, defaultValue:1.0, concurrency:1, sampling:false}) " +
             "YIELD nodeId, setId - yields a setId to each node id")
     public Stream<DisjointSetStruct.Result> unionFindStream(
             @Name(value = "label", defaultValue = "") String label,
@@ -88,11 +121,99 @@ public class UnionFindProc {
         final Graph graph = load(configuration);
 
         // evaluation
+        if (isParallel(configuration)) {
+            return evaluateParallel(graph, configuration)
+                    .resultStream(graph);
+        }
         return evaluate(graph, configuration)
                 .resultStream(graph);
     }
 
+    @Procedure(value = "algo.unionFind.incremental", mode = Mode.WRITE)
+    @Description("CALL algo.unionFind.incremental(label:String, relationship:String, " +
+            "{cache:'name', write: true, partitionProperty:'partition', batchSize:10000}) " +
+            "YIELD nodes, setCount, relationships, changedNodes, loadMillis, computeMillis, writeMillis" +
+            " - applies the relationships created since the cached computation and writes back the changed set ids")
+    public Stream<UnionFindResult> incrementalUnionFind(
+            @Name(value = "label", defaultValue = "") String label,
+            @Name(value = "relationship", defaultValue = "") String relationship,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config) {
+
+        ProcedureConfiguration configuration = ProcedureConfiguration.create(config)
+                .overrideNodeLabelOrQuery(label)
+                .overrideRelationshipTypeOrQuery(relationship);
+
+        final IncrementalUnionFind unionFind = UnionFindCache.get(
+                configuration.getStringOrNull(CONFIG_CACHE, null));
+
+        UnionFindResult.Builder builder = UnionFindResult.builder();
+
+        // loading
+        final NewRelationships relationships;
+        try (ProgressTimer timer = builder.timeLoad()) {
+            relationships = NewRelationships.importer(api)
+                    .withOptionalLabel(filter("label", configuration.getNodeLabelOrQuery(), unionFind.label()))
+                    .withOptionalRelationshipType(filter("relationship", configuration.getRelationshipOrQuery(), unionFind.relationship()))
+                    .withWatermark(unionFind.watermark())
+                    .build();
+        };
+
+        // evaluation
+        final int[] changedNodes;
+        final DisjointSetStruct struct;
+        final IdMapping idMapping;
+        try (ProgressTimer timer = builder.timeEval()) {
+            // the struct must not change until it has been written
+            synchronized (unionFind) {
+                changedNodes = unionFind
+                        .withLog(log)
+                        .compute(
+                                relationships.sourceNodeIds(),
+                                relationships.targetNodeIds(),
+                                relationships.count(),
+                                relationships.highestRelationshipId());
+                struct = unionFind.getStruct();
+                idMapping = unionFind.getIdMapping();
+                builder.withSetCount(struct.getSetCount());
+            }
+        };
+        log.info("Incremental union find changed %d of %d nodes", changedNodes.length, idMapping.nodeCount());
+
+        if (configuration.isWriteFlag()) {
+            // write back
+            builder.timeWrite(() -> {
+                log.debug("Writing results");
+                synchronized (unionFind) {
+                    new UnionFindExporter(
+                            configuration.getBatchSize(),
+                            api,
+                            idMapping,
+                            new ArrayBatchNodeIterable(changedNodes),
+                            configuration.get(CONFIG_CLUSTER_PROPERTY, DEFAULT_CLUSTER_PROPERTY),
+                            Pools.DEFAULT).write(struct::find);
+                }
+            });
+        }
+
+        return Stream.of(builder
+                .withNodeCount(idMapping.nodeCount())
+                .withRelationships(relationships.count())
+                .withChangedNodes(changedNodes.length)
+                .build());
+    }
+
+    @Procedure(value = "algo.unionFind.cache.remove", mode = Mode.READ)
+    @Description("CALL algo.unionFind.cache.remove(name:String) YIELD name, removed" +
+            " - removes the partitions cached under the given name and frees their memory")
+    public Stream<CacheResult> removeCache(@Name(value = "name") String name) {
+        return Stream.of(new CacheResult(name, UnionFindCache.remove(name)));
+    }
+
     private Graph load(ProcedureConfiguration config) {
+        final String graphName = config.getGraphName();
+        if (isSampled(config) && GraphCatalog.exists(graphName) && GraphCatalog.directionOf(graphName) != Direction.BOTH) {
+            throw new IllegalArgumentException("Sampling needs a graph loaded with direction BOTH, " + graphName + " is not");
+        }
         return new GraphLoader(api)
                 .withLog(log)
                 .withOptionalLabel(config.getNodeLabelOrQuery())
@@ -100,15 +221,80 @@ public class UnionFindProc {
                 .withOptionalRelationshipWeightsFromProperty(
                         config.getProperty(),
                         config.getPropertyDefaultValue(1.0))
-                .withDirection(Direction.OUTGOING)
+                .withDirection(isSampled(config) ? Direction.BOTH : Direction.OUTGOING)
                 .withExecutorService(Pools.DEFAULT)
+                .withName(config.getGraphName())
                 .load(config.getGraphImpl());
     }
 
+    /**
+     * the highest relationship id before loading, relationships created
+     * during the import are applied again by the next incremental update
+     */
+    private long watermark(ProcedureConfiguration config) {
+        if (!isCached(config)) {
+            return -1L;
+        }
+        return NewRelationships.importer(api)
+                .withWatermark(Long.MAX_VALUE)
+                .build()
+                .highestRelationshipId();
+    }
+
+    private void cache(Graph graph, DisjointSetStruct struct, long watermark, ProcedureConfiguration config) {
+        UnionFindCache.put(
+                config.getStringOrNull(CONFIG_CACHE, null),
+                new IncrementalUnionFind(
+                        graph,
+                        struct,
+                        watermark,
+                        emptyToNull(config.getNodeLabelOrQuery()),
+                        emptyToNull(config.getRelationshipOrQuery())));
+    }
+
+    /**
+     * incremental updates must load the new relationships like the cached run,
+     * an empty label or relationship type means the one of the cached run
+     */
+    private static String filter(String what, String requested, String cached) {
+        requested = emptyToNull(requested);
+        if (requested != null && !requested.equals(cached)) {
+            throw new IllegalArgumentException("The cached union find has been computed with " + what + " " +
+                    (cached == null ? "<any>" : cached) + " but the update asks for " + requested);
+        }
+        return cached;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * incremental updates apply single relationships, so the cached
+     * sets must not depend on a threshold and must be freshly loaded
+     */
+    private static boolean isCached(ProcedureConfiguration config) {
+        if (config.getStringOrNull(CONFIG_CACHE, null) == null) {
+            return false;
+        }
+        if (config.containsKeys(ProcedureConstants.PROPERTY_PARAM, CONFIG_THRESHOLD)) {
+            throw new IllegalArgumentException("A cached union find cannot be combined with a threshold");
+        }
+        if (GraphCatalog.exists(config.getGraphName())) {
+            throw new IllegalArgumentException("A cached union find cannot use the loaded graph " + config.getGraphName());
+        }
+        return true;
+    }
+
     private DisjointSetStruct evaluate(Graph graph, ProcedureConfiguration config) {
 
         final DisjointSetStruct struct;
-        if (config.containsKeys(ProcedureConstants.PROPERTY_PARAM, CONFIG_THRESHOLD)) {
+        if (isSampled(config)) {
+            log.debug("Computing union find by sampling");
+            struct = new GraphUnionFind(graph)
+                    .withLog(log)
+                    .computeSampled();
+        } else if (config.containsKeys(ProcedureConstants.PROPERTY_PARAM, CONFIG_THRESHOLD)) {
             final Double threshold = config.get(CONFIG_THRESHOLD, 0.0);
             log.debug("Computing union find with threshold " + threshold);
             struct = new GraphUnionFind(graph)
@@ -123,7 +309,46 @@ public class UnionFindProc {
         return struct;
     }
 
-    private void write(Graph graph, DisjointSetStruct struct, ProcedureConfiguration configuration) {
+    /**
+     * union find runs in parallel on a shared struct if a concurrency above 1 is given
+     */
+    private static boolean isParallel(ProcedureConfiguration config) {
+        return config.getConcurrency(1) > 1 && !isSampled(config);
+    }
+
+    /**
+     * the sampled union find needs both directions and does not support a threshold
+     */
+    private static boolean isSampled(ProcedureConfiguration config) {
+        if (!config.get(CONFIG_SAMPLING, false)) {
+            return false;
+        }
+        if (config.containsKeys(ProcedureConstants.PROPERTY_PARAM, CONFIG_THRESHOLD)) {
+            throw new IllegalArgumentException("Sampling cannot be combined with a threshold");
+        }
+        return true;
+    }
+
+    private ConcurrentDisjointSetStruct evaluateParallel(Graph graph, ProcedureConfiguration config) {
+
+        final ParallelUnionFind unionFind = new ParallelUnionFind(
+                graph,
+                Pools.DEFAULT,
+                config.getBatchSize(),
+                config.getConcurrency(1))
+                .withLog(log);
+        if (config.containsKeys(ProcedureConstants.PROPERTY_PARAM, CONFIG_THRESHOLD)) {
+            final Double threshold = config.get(CONFIG_THRESHOLD, 0.0);
+            log.debug("Computing union find with threshold in parallel " + threshold);
+            unionFind.compute(threshold);
+        } else {
+            log.debug("Computing union find without threshold in parallel");
+            unionFind.compute();
+        }
+        return unionFind.getStruct();
+    }
+
+    private void write(Graph graph, IntUnaryOperator setIds, ProcedureConfiguration configuration) {
         log.debug("Writing results");
         new UnionFindExporter(
                 configuration.getBatchSize(),
@@ -131,7 +356,7 @@ public class UnionFindProc {
                 graph,
                 graph,
                 configuration.get(CONFIG_CLUSTER_PROPERTY, DEFAULT_CLUSTER_PROPERTY),
-                Pools.DEFAULT).write(struct);
+                Pools.DEFAULT).write(setIds);
     }
 
 }
@@ -1,5 +1,6 @@
 package org.neo4j.graphalgo.impl;
 
+import com.carrotsearch.hppc.IntArrayList;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.queue.IntMinPriorityQueue;
@@ -98,15 +99,21 @@ public class AllShortestPaths extends Algorithm<AllShortestPaths> {
      * Dijkstra Task. Takes one element of the counter at a time
      * and starts dijkstra on it. It starts emitting results to the
      * queue once all reachable nodes have been visited.
+     * Only the distances which have been set by the previous
+     * run are reset for the next start node.
      */
     private class ShortestPathTask implements Runnable {
 
         private final IntMinPriorityQueue queue;
         private final double[] distance;
+        // nodes whose distance has been set
+        private final IntArrayList touched;
 
         private ShortestPathTask() {
             distance = new double[nodeCount];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
             queue = new IntMinPriorityQueue();
+            touched = new IntArrayList();
         }
 
         @Override
@@ -132,8 +139,9 @@ public class AllShortestPaths extends Algorithm<AllShortestPaths> {
         }
 
         public void compute(int startNode) {
-            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            reset();
             distance[startNode] = 0d;
+            touched.add(startNode);
             queue.add(startNode, 0d);
             while (running && !queue.isEmpty()) {
                 final int node = queue.pop();
@@ -146,6 +154,9 @@ public class AllShortestPaths extends Algorithm<AllShortestPaths> {
                             // relax
                             final double targetDistance = weight + sourceDistance;
                             if (targetDistance < distance[target]) {
+                                if (distance[target] == Double.POSITIVE_INFINITY) {
+                                    touched.add(target);
+                                }
                                 distance[target] = targetDistance;
                                 queue.add(target, targetDistance);
                             }
@@ -153,6 +164,15 @@ public class AllShortestPaths extends Algorithm<AllShortestPaths> {
                         });
             }
         }
+
+        private void reset() {
+            final int[] nodes = touched.buffer;
+            for (int i = touched.size() - 1; i >= 0; i--) {
+                distance[nodes[i]] = Double.POSITIVE_INFINITY;
+            }
+            touched.clear();
+            queue.clear();
+        }
     }
 
     /**
@@ -95,7 +95,7 @@ public class BetweennessCentrality extends Algorithm<BetweennessCentrality> {
         distance[startNode] = 0;
         queue.addLast(startNode);
         while (!queue.isEmpty()) {
-            int node = queue.removeLast();
+            int node = queue.removeFirst();
             stack.push(node);
             graph.forEachRelationship(node, Direction.OUTGOING, (source, target, relationId) -> {
                 if (distance[target] < 0) {
@@ -116,11 +116,11 @@ public class BetweennessCentrality extends Algorithm<BetweennessCentrality> {
             }
             paths[node].forEach(v -> {
                 delta[v] += (double) sigma[v] / (double) sigma[node] * (delta[node] + 1.0);
-                if (node != startNode) {
-                    centrality[node] += delta[node];
-                }
                 return true;
             });
+            if (node != startNode) {
+                centrality[node] += delta[node];
+            }
         }
         getProgressLogger().logProgress((double) startNode / (nodeCount - 1));
         return true;
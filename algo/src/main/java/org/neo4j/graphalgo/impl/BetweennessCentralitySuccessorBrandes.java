@@ -8,7 +8,6 @@ import org.neo4j.graphalgo.core.utils.container.Paths;
 import org.neo4j.graphdb.Direction;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -23,6 +22,9 @@ import java.util.stream.Stream;
  * regarding the dependency-accumulation step.
  * <p>
  * taken from: http://cass-mt.pnnl.gov/docs/pubs/georgiatechlbnlpnnlfastbc-mtaap2009.pdf
+ * <p>
+ * The phase queues hold every node reached from the current start node,
+ * only those are reset before the next start node.
  *
  * @author mknblch
  */
@@ -64,6 +66,9 @@ public class BetweennessCentralitySuccessorBrandes extends Algorithm<Betweenness
         successors = new MultiQueue(executorService, nodeCount);
         phaseQueue = new MultiQueue(executorService, nodeCount);
         count = new AtomicInteger();
+        for (int i = 0; i < nodeCount; i++) {
+            d.set(i, -1);
+        }
     }
 
     /**
@@ -80,14 +85,6 @@ public class BetweennessCentralitySuccessorBrandes extends Algorithm<Betweenness
 
         // initialization
 
-        final AtomicIntegerArray offsets = phaseQueue.getOffsets();
-
-        ParallelUtil.iterateParallel(executorService, nodeCount, 4, i -> {
-            d.set(i, -1);
-            sigma.set(i, 0);
-            offsets.set(i, 0);
-        });
-
         phaseQueue.addOrCreate(0, startNodeId);
         d.set(startNodeId, 0);
         sigma.set(startNodeId, 1);
@@ -118,9 +115,9 @@ public class BetweennessCentralitySuccessorBrandes extends Algorithm<Betweenness
             ParallelUtil.awaitTermination(futures);
             phase++;
         }
+        final int phases = phase;
 
         // back propagation + dependency accumulation
-        Arrays.fill(delta, 0d);
         while (--phase > 0) {
             futures.clear();
             phaseQueue.forEach(futures, phase, w -> {
@@ -133,9 +130,25 @@ public class BetweennessCentralitySuccessorBrandes extends Algorithm<Betweenness
             ParallelUtil.awaitTermination(futures);
         }
 
+        reset(phases);
         return true;
     }
 
+    /**
+     * reset the state of all nodes in the phase queues,
+     * the last phase found no new nodes
+     */
+    private void reset(int phases) {
+        for (int p = 0; p < phases; p++) {
+            phaseQueue.forEach(p, node -> {
+                d.set(node, -1);
+                sigma.set(node, 0);
+                delta[node] = 0d;
+            });
+            phaseQueue.clear(p);
+        }
+    }
+
     /**
      * get the centrality array
      *
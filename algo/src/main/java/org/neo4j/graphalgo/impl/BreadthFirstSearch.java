@@ -0,0 +1,103 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.traverse.Traverse;
+import org.neo4j.graphdb.Direction;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Parallel breadth first search from a single start node. Computes
+ * the depth of each reachable node using the direction optimizing
+ * {@link Traverse}, the graph must contain both directions.
+ */
+public class BreadthFirstSearch extends Algorithm<BreadthFirstSearch> {
+
+    private final Graph graph;
+    private final Traverse traverse;
+    private final int[] depths;
+    private final int nodeCount;
+
+    private int visitedNodes;
+    private int maxDepth;
+
+    public BreadthFirstSearch(Graph graph, ExecutorService executorService, int concurrency) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.traverse = new Traverse(graph, executorService, concurrency);
+        this.depths = new int[nodeCount];
+    }
+
+    /**
+     * compute the depth of each node reachable from the start node
+     *
+     * @param startNodeId the neo4j id of the start node
+     * @param direction the direction to follow
+     * @return itself
+     */
+    public BreadthFirstSearch compute(long startNodeId, Direction direction) {
+        Arrays.fill(depths, -1);
+        visitedNodes = 0;
+        maxDepth = -1;
+        final int startNode = graph.toMappedNodeId(startNodeId);
+        if (startNode < 0 || startNode >= nodeCount) {
+            return this;
+        }
+        final ProgressLogger progressLogger = getProgressLogger();
+        final AtomicInteger visited = new AtomicInteger();
+        traverse.reset()
+                .bfs(startNode, direction, node -> true, node -> {
+                    depths[node] = traverse.getLevel();
+                    progressLogger.logProgress(visited.incrementAndGet(), nodeCount);
+                });
+        visitedNodes = visited.get();
+        maxDepth = traverse.getLevel();
+        return this;
+    }
+
+    /**
+     * return the depth of each node, -1 if it has not been reached
+     */
+    public int[] getDepths() {
+        return depths;
+    }
+
+    public int getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public Stream<Result> resultStream() {
+        return IntStream.range(0, nodeCount)
+                .filter(node -> depths[node] != -1)
+                .mapToObj(node -> new Result(graph.toOriginalNodeId(node), depths[node]));
+    }
+
+    @Override
+    public BreadthFirstSearch me() {
+        return this;
+    }
+
+    /**
+     * Result DTO
+     */
+    public static final class Result {
+
+        public final long nodeId;
+
+        public final long depth;
+
+        public Result(long nodeId, long depth) {
+            this.nodeId = nodeId;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.api.BatchNodeIterable;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.utils.ParallelExporter;
+import org.neo4j.graphalgo.core.utils.ParallelGraphExporter;
+import org.neo4j.kernel.api.properties.DefinedProperty;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * writes the depths of {@link BreadthFirstSearch} as int property,
+ * nodes which have not been reached are skipped
+ */
+public final class BreadthFirstSearchExporter extends ParallelExporter<int[]> {
+
+    private final IdMapping idMapping;
+    private final int propertyId;
+
+    public BreadthFirstSearchExporter(
+            int batchSize,
+            GraphDatabaseAPI api,
+            IdMapping idMapping,
+            BatchNodeIterable batchNodes,
+            String targetProperty,
+            ExecutorService executor) {
+        super(batchSize, api, batchNodes, executor);
+        this.idMapping = idMapping;
+        propertyId = getOrCreatePropertyId(targetProperty);
+    }
+
+    @Override
+    protected ParallelGraphExporter newParallelExporter(int[] data) {
+        return (ParallelGraphExporter.Simple) ((ops, nodeId) -> {
+            if (data[nodeId] == -1) {
+                return;
+            }
+            ops.nodeSetProperty(
+                    idMapping.toOriginalNodeId(nodeId),
+                    DefinedProperty.intProperty(propertyId, data[nodeId])
+            );
+        });
+    }
+}
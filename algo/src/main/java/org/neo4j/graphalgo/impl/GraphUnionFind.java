@@ -1,10 +1,14 @@
 package org.neo4j.graphalgo.impl;
 
+import com.carrotsearch.hppc.IntIntMap;
+import com.carrotsearch.hppc.IntIntScatterMap;
 import org.neo4j.graphalgo.api.*;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct;
 import org.neo4j.graphdb.Direction;
 
+import java.util.Random;
+
 /**
  * Sequential UnionFind:
  *
@@ -18,10 +22,23 @@ import org.neo4j.graphdb.Direction;
  * components regardless of the actual weight of the relationship while compute(threshold:double)
  * on the other hand only takes the transition into account if the weight exceeds the threshold value.
  *
+ * computeSampled() is an Afforest-style variant which skips most of the unions within the
+ * largest component.
+ *
  * @author mknblch
  */
 public class GraphUnionFind extends Algorithm<GraphUnionFind> {
 
+    /**
+     * number of relationships per node which are linked before sampling
+     */
+    public static final int NEIGHBOR_ROUNDS = 2;
+
+    /**
+     * number of nodes sampled to find the largest component
+     */
+    public static final int SAMPLE_SIZE = 1024;
+
     private final Graph graph;
 
     private final DisjointSetStruct dss;
@@ -72,6 +89,82 @@ public class GraphUnionFind extends Algorithm<GraphUnionFind> {
         return dss;
     }
 
+    /**
+     * compute unions of connected nodes by sampling (Afforest). The graph
+     * must have been loaded with {@link Direction#BOTH}.
+     *
+     * First only the first {@link #NEIGHBOR_ROUNDS} relationships of each
+     * node are linked. Then the largest intermediate set is estimated from
+     * a sample of the nodes. Finally the remaining relationships are linked,
+     * except those of nodes which already belong to the largest set. Their
+     * relationships to other sets are linked from the other side instead.
+     *
+     * @return a DSS
+     */
+    public DisjointSetStruct computeSampled() {
+        dss.reset();
+        final ProgressLogger progressLogger = getProgressLogger();
+        final SampledLinker linker = new SampledLinker();
+        linker.linkFirst = true;
+        for (int node = 0; node < nodeCount; node++) {
+            linker.index = 0;
+            graph.forEachRelationship(node, Direction.BOTH, linker);
+        }
+        progressLogger.logProgress(0.5);
+
+        final int largestSet = largestSet();
+        linker.linkFirst = false;
+        for (int node = 0; node < nodeCount; node++) {
+            if (dss.find(node) == largestSet) {
+                continue;
+            }
+            linker.index = 0;
+            graph.forEachRelationship(node, Direction.BOTH, linker);
+            progressLogger.logProgress(0.5 + (double) node / (2.0 * (nodeCount - 1)));
+        }
+        return dss;
+    }
+
+    /**
+     * find the most frequent set id within a fixed sample of the nodes
+     */
+    private int largestSet() {
+        if (nodeCount == 0) {
+            return -1;
+        }
+        final Random random = new Random(nodeCount);
+        final IntIntMap counts = new IntIntScatterMap();
+        int largestSet = -1;
+        int largestCount = 0;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            final int setId = dss.find(random.nextInt(nodeCount));
+            final int count = counts.addTo(setId, 1);
+            if (count > largestCount) {
+                largestCount = count;
+                largestSet = setId;
+            }
+        }
+        return largestSet;
+    }
+
+    /**
+     * links either the first {@link #NEIGHBOR_ROUNDS} relationships
+     * of a node or all others
+     */
+    private final class SampledLinker implements RelationshipConsumer {
+
+        private boolean linkFirst;
+        private int index;
+
+        @Override
+        public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+            if ((index++ < NEIGHBOR_ROUNDS) == linkFirst) {
+                dss.union(sourceNodeId, targetNodeId);
+            }
+            return true;
+        }
+    }
+
     @Override
     public GraphUnionFind me() {
         return this;
@@ -0,0 +1,207 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.api.Degrees;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphdb.Direction;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Incremental PageRank which continues from the scores of a previous
+ * computation instead of starting from the uniform distribution.
+ * <p>
+ * First the residual of every node is computed in a single pass, that is the
+ * difference between its score after one more iteration and its current score.
+ * Afterwards only nodes with a residual above the tolerance are updated: such a
+ * node adds its residual to its score and pushes the damped residual along its
+ * outgoing relationships (Gauss-Southwell). After small changes to the graph
+ * most residuals are tiny and only the affected nodes and their surroundings
+ * get touched.
+ * <p>
+ * The nodes are processed in rounds; every round updates each node which has
+ * been activated during the previous round once.
+ */
+public class IncrementalPageRank extends Algorithm<IncrementalPageRank> {
+
+    public static final double DEFAULT_TOLERANCE = 1e-4;
+
+    private final IdMapping idMapping;
+    private final RelationshipIterator relationshipIterator;
+    private final Degrees degrees;
+    private final double dampingFactor;
+    private final double[] pageRank;
+    private final double[] residuals;
+
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int iterations = 0;
+    private int touchedNodes = 0;
+
+    /**
+     * @param initialScores the scores to start from, indexed by mapped node id.
+     *                      A NaN marks a node without a previous score.
+     */
+    public IncrementalPageRank(
+            IdMapping idMapping,
+            RelationshipIterator relationshipIterator,
+            Degrees degrees,
+            double dampingFactor,
+            double[] initialScores) {
+        if (initialScores.length != idMapping.nodeCount()) {
+            throw new IllegalArgumentException("Expected " + idMapping.nodeCount() +
+                    " initial scores but got " + initialScores.length);
+        }
+        this.idMapping = idMapping;
+        this.relationshipIterator = relationshipIterator;
+        this.degrees = degrees;
+        this.dampingFactor = dampingFactor;
+        this.pageRank = initialScores.clone();
+        this.residuals = new double[initialScores.length];
+        double alpha = 1.0 - dampingFactor;
+        for (int i = 0; i < pageRank.length; i++) {
+            if (Double.isNaN(pageRank[i])) {
+                pageRank[i] = alpha;
+            }
+        }
+    }
+
+    /**
+     * nodes with a residual above the tolerance get updated
+     */
+    public IncrementalPageRank withTolerance(double tolerance) {
+        if (tolerance <= 0.0) {
+            throw new IllegalArgumentException("Tolerance must be positive but was " + tolerance);
+        }
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * propagate the residuals for at most the given number of rounds
+     */
+    public IncrementalPageRank compute(int iterations) {
+        assert iterations >= 1;
+        final int nodeCount = idMapping.nodeCount();
+        final double alpha = 1.0 - dampingFactor;
+        computeResiduals(alpha);
+
+        final BitSet touched = new BitSet(nodeCount);
+        final BitSet active = new BitSet(nodeCount);
+        int[] current = new int[nodeCount];
+        int[] next = new int[nodeCount];
+        int currentSize = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (Math.abs(residuals[node]) > tolerance) {
+                current[currentSize++] = node;
+                active.set(node);
+            }
+        }
+
+        final Pusher pusher = new Pusher(active);
+        int round = 0;
+        while (currentSize > 0 && round < iterations) {
+            int nextSize = 0;
+            for (int i = 0; i < currentSize; i++) {
+                final int node = current[i];
+                active.clear(node);
+                final double residual = residuals[node];
+                residuals[node] = 0.0;
+                pageRank[node] += residual;
+                touched.set(node);
+                final int degree = degrees.degree(node, Direction.OUTGOING);
+                if (degree == 0) {
+                    continue;
+                }
+                pusher.push = dampingFactor * residual / degree;
+                relationshipIterator.forEachRelationship(node, Direction.OUTGOING, pusher);
+            }
+            // collect the nodes for the next round
+            for (int node = active.nextSetBit(0); node >= 0; node = active.nextSetBit(node + 1)) {
+                next[nextSize++] = node;
+            }
+            int[] tmp = current;
+            current = next;
+            next = tmp;
+            currentSize = nextSize;
+            ++round;
+            getProgressLogger().logProgress(round, iterations);
+        }
+
+        this.iterations = round;
+        this.touchedNodes = touched.cardinality();
+        return this;
+    }
+
+    /**
+     * Return the result of the last computation.
+     */
+    public double[] getPageRank() {
+        return pageRank;
+    }
+
+    /**
+     * Return the number of rounds of the last computation.
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Return the number of nodes whose score has been updated.
+     */
+    public int touchedNodes() {
+        return touchedNodes;
+    }
+
+    @Override
+    public IncrementalPageRank me() {
+        return this;
+    }
+
+    private void computeResiduals(double alpha) {
+        final double[] pageRank = this.pageRank;
+        final double[] residuals = this.residuals;
+        Arrays.fill(residuals, 0.0);
+        final int nodeCount = pageRank.length;
+        for (int node = 0; node < nodeCount; node++) {
+            final int degree = degrees.degree(node, Direction.OUTGOING);
+            if (degree == 0) {
+                continue;
+            }
+            final double rank = pageRank[node] / degree;
+            relationshipIterator.forEachRelationship(node, Direction.OUTGOING, (s, t, r) -> {
+                residuals[t] += rank;
+                return true;
+            });
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            residuals[node] = alpha + dampingFactor * residuals[node] - pageRank[node];
+        }
+    }
+
+    /**
+     * adds the damped residual of a node to its neighbours and
+     * activates those whose residual exceeds the tolerance
+     */
+    private final class Pusher implements RelationshipConsumer {
+
+        private final BitSet active;
+        private double push;
+
+        private Pusher(BitSet active) {
+            this.active = active;
+        }
+
+        @Override
+        public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+            final double residual = residuals[targetNodeId] + push;
+            residuals[targetNodeId] = residual;
+            if (Math.abs(residual) > tolerance) {
+                active.set(targetNodeId);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.neo4j.graphalgo.impl;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.IdMap;
+import org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct;
+
+import java.util.BitSet;
+
+/**
+ * Keeps the result of a union find computation and applies relationships
+ * which have been created afterwards instead of computing all sets again.
+ * <p>
+ * The struct is indexed by the mapped node ids of the initial computation,
+ * nodes which appear for the first time are appended. Each update only
+ * unions the endpoints of the new relationships and reports the nodes whose
+ * set id changed, that is the members of merged sets which lost their root
+ * and the new nodes.
+ * <p>
+ * Union find cannot split sets, deleted relationships and nodes are not
+ * taken into account. Updates must use the label and relationship type
+ * of the initial computation, which are kept along with the sets.
+ */
+public class IncrementalUnionFind extends Algorithm<IncrementalUnionFind> {
+
+    private final IdMap idMap;
+    private final String label;
+    private final String relationship;
+    private DisjointSetStruct struct;
+    private long watermark;
+
+    /**
+     * @param idMapping the mapping of the initial computation
+     * @param struct the sets of the initial computation
+     * @param watermark the highest relationship id of the initial computation
+     * @param label the label of the initial computation, null means any label
+     * @param relationship the relationship type of the initial computation, null means any type
+     */
+    public IncrementalUnionFind(
+            IdMapping idMapping,
+            DisjointSetStruct struct,
+            long watermark,
+            String label,
+            String relationship) {
+        final int nodeCount = idMapping.nodeCount();
+        if (struct.count() != nodeCount) {
+            throw new IllegalArgumentException("Expected a struct of " + nodeCount +
+                    " elements but got " + struct.count());
+        }
+        this.idMap = new IdMap(nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            idMap.add(idMapping.toOriginalNodeId(node));
+        }
+        idMap.buildMappedIds();
+        this.struct = struct;
+        this.watermark = watermark;
+        this.label = label;
+        this.relationship = relationship;
+    }
+
+    /**
+     * union the endpoints of the given relationships
+     *
+     * @param sourceNodeIds neo4j ids of the start nodes
+     * @param targetNodeIds neo4j ids of the end nodes
+     * @param count number of relationships
+     * @param watermark the highest relationship id after this update
+     * @return the mapped ids of all nodes whose set id changed
+     */
+    public synchronized int[] compute(long[] sourceNodeIds, long[] targetNodeIds, int count, long watermark) {
+        final int oldNodeCount = struct.count();
+        final int[] sources = new int[count];
+        final int[] targets = new int[count];
+        for (int i = 0; i < count; i++) {
+            sources[i] = idMap.mapOrGet(sourceNodeIds[i]);
+            targets[i] = idMap.mapOrGet(targetNodeIds[i]);
+        }
+        final int nodeCount = idMap.size();
+        if (nodeCount > oldNodeCount) {
+            idMap.buildMappedIds();
+            struct = struct.grow(nodeCount);
+        }
+
+        // the sets which might get merged
+        final BitSet touchedSets = new BitSet(oldNodeCount);
+        for (int i = 0; i < count; i++) {
+            if (sources[i] < oldNodeCount) {
+                touchedSets.set(struct.find(sources[i]));
+            }
+            if (targets[i] < oldNodeCount) {
+                touchedSets.set(struct.find(targets[i]));
+            }
+        }
+        final IntArrayList candidates = new IntArrayList();
+        final IntArrayList oldSetIds = new IntArrayList();
+        if (!touchedSets.isEmpty()) {
+            for (int node = 0; node < oldNodeCount; node++) {
+                final int setId = struct.find(node);
+                if (touchedSets.get(setId)) {
+                    candidates.add(node);
+                    oldSetIds.add(setId);
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            struct.union(sources[i], targets[i]);
+            getProgressLogger().logProgress(i + 1, count);
+        }
+
+        final IntArrayList changed = new IntArrayList();
+        for (int i = 0; i < candidates.size(); i++) {
+            final int node = candidates.get(i);
+            if (struct.find(node) != oldSetIds.get(i)) {
+                changed.add(node);
+            }
+        }
+        for (int node = oldNodeCount; node < nodeCount; node++) {
+            changed.add(node);
+        }
+        this.watermark = Math.max(this.watermark, watermark);
+        return changed.toArray();
+    }
+
+    /**
+     * the sets, indexed by {@link #getIdMapping()}
+     */
+    public DisjointSetStruct getStruct() {
+        return struct;
+    }
+
+    /**
+     * mapping of all nodes seen so far
+     */
+    public IdMapping getIdMapping() {
+        return idMap;
+    }
+
+    public int nodeCount() {
+        return struct.count();
+    }
+
+    /**
+     * the label of the initial computation, null means any label
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * the relationship type of the initial computation, null means any type
+     */
+    public String relationship() {
+        return relationship;
+    }
+
+    /**
+     * the highest relationship id which has been taken into account
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    @Override
+    public IncrementalUnionFind me() {
+        return this;
+    }
+}
@@ -1,29 +1,48 @@
 package org.neo4j.graphalgo.impl;
 
-import com.carrotsearch.hppc.DoubleDoubleHashMap;
-import com.carrotsearch.hppc.IntDoubleHashMap;
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.cursors.DoubleDoubleCursor;
+import com.carrotsearch.hppc.DoubleIntHashMap;
+import com.carrotsearch.hppc.DoubleIntMap;
 import org.neo4j.collection.primitive.PrimitiveIntIterable;
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.WeightedRelationshipConsumer;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraph;
 import org.neo4j.graphalgo.core.utils.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphdb.Direction;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
+/**
+ * Label propagation on a shared {@code int[]} of labels.
+ * <p>
+ * A label is the id of a representative node, the initial partition value of
+ * that node is the value of the label. All nodes with the same initial
+ * partition value start with the same label. Labels are updated in place
+ * (asynchronously), so later nodes of an iteration already see the new
+ * labels of earlier ones.
+ * <p>
+ * Votes are counted in an open addressing buffer per thread which is reused
+ * for all nodes and grows to the max degree. The computation stops as soon as
+ * an iteration did not change any label.
+ * <p>
+ * The asynchronous updates make the result depend on the batches and the
+ * thread timing, {@link #withDeterministic(boolean)} switches to
+ * semi-synchronous updates of color classes which is reproducible.
+ */
 public final class LabelPropagation extends Algorithm<LabelPropagation> {
 
-    private static final double[] EMPTY_DOUBLES = new double[0];
-    private static final int[] EMPTY_INTS = new int[0];
-
     private final HeavyGraph graph;
     private final ExecutorService executor;
     private final int nodeCount;
     private Direction direction;
+    private int[] labels;
+    private int iterations;
+    private boolean deterministic = false;
+    private boolean converged;
 
     public LabelPropagation(
             HeavyGraph graph,
@@ -33,7 +52,22 @@ public final class LabelPropagation extends Algorithm<LabelPropagation> {
         this.executor = executor;
     }
 
-    public IntDoubleMap compute(
+    /**
+     * compute the labels in color classes which are updated one after
+     * another. Nodes of the same class are computed in parallel from the
+     * labels of the previous classes and updated together afterwards,
+     * so the result does not depend on the batches or the thread timing.
+     */
+    public LabelPropagation withDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+        return this;
+    }
+
+    /**
+     * run label propagation for at most the given number of iterations
+     * @return the label of every node, see {@link #valueOf(int)}
+     */
+    public int[] compute(
             Direction direction,
             long times,
             int batchSize) {
@@ -41,45 +75,196 @@ public final class LabelPropagation extends Algorithm<LabelPropagation> {
             throw new IllegalArgumentException("Must iterate at least 1 time");
         }
         this.direction = direction;
+        this.labels = initialLabels();
+
+        final long changes = deterministic
+                ? computeDeterministic(times, batchSize)
+                : computeAsynchronous(times, batchSize);
+        converged = changes == 0L;
+
+        return labels;
+    }
+
+    /**
+     * Return the number of iterations of the last computation.
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Return true if the last iteration did not change any label.
+     */
+    public boolean didConverge() {
+        return converged;
+    }
+
+    /**
+     * Return the partition value of a label
+     */
+    public double valueOf(int label) {
+        return graph.valueOf(label, label);
+    }
+
+    /**
+     * Return the number of nodes whose partition value has changed.
+     */
+    public long changedNodes() {
+        long changed = 0L;
+        for (int node = 0; node < nodeCount; node++) {
+            if (valueOf(labels[node]) != valueOf(node)) {
+                ++changed;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public LabelPropagation me() {
+        return this;
+    }
 
+    /**
+     * Every node starts with the first node of its partition value as label.
+     * If no partition values have been loaded, those are the nodes itself.
+     */
+    private int[] initialLabels() {
+        final int[] labels = new int[nodeCount];
+        boolean identity = true;
+        for (int node = 0; node < nodeCount && identity; node++) {
+            identity = graph.valueOf(node, node) == node;
+        }
+        if (identity) {
+            Arrays.setAll(labels, i -> i);
+            return labels;
+        }
+        final DoubleIntMap representatives = new DoubleIntHashMap();
+        for (int node = 0; node < nodeCount; node++) {
+            final double value = graph.valueOf(node, node);
+            int label = representatives.getOrDefault(value, -1);
+            if (label == -1) {
+                representatives.put(value, node);
+                label = node;
+            }
+            labels[node] = label;
+        }
+        return labels;
+    }
+
+    private long computeAsynchronous(long times, int batchSize) {
+        // runs the first iteration
         final Collection<ComputeStep> computeSteps = ParallelUtil.readParallel(
                     batchSize,
                     graph,
-                    (offset, nodes) -> new ComputeStep(batchSize, nodes),
+                    (offset, nodes) -> new ComputeStep(nodes),
                     executor);
 
-        for (long i = 1; i < times; i++) {
+        iterations = 1;
+        long changes = changes(computeSteps);
+        while (changes > 0L && iterations < times) {
             ParallelUtil.run(computeSteps, executor);
+            ++iterations;
+            changes = changes(computeSteps);
         }
-        final IntDoubleMap labels = new IntDoubleHashMap(graph.nodeCount());
-        for (ComputeStep computeStep : computeSteps) {
-            labels.putAll(computeStep.labels);
-            computeStep.release();
+        return changes;
+    }
+
+    private long computeDeterministic(long times, int batchSize) {
+        final List<List<ClassStep>> classSteps = classSteps(batchSize);
+
+        iterations = 0;
+        long changes;
+        do {
+            changes = 0L;
+            for (List<ClassStep> steps : classSteps) {
+                ParallelUtil.run(steps, executor);
+                for (ClassStep step : steps) {
+                    changes += step.update();
+                }
+            }
+            ++iterations;
+            getProgressLogger().logProgress(iterations, times);
+        } while (changes > 0L && iterations < times);
+        return changes;
+    }
+
+    /**
+     * greedy coloring in node order, a node gets the smallest color which
+     * none of its already colored neighbors has. Neighbors which are colored
+     * later may end up in the same class, those are updated synchronously.
+     * Each class is split into batches of consecutive nodes.
+     */
+    private List<List<ClassStep>> classSteps(int batchSize) {
+        final int[] colors = new int[nodeCount];
+        Arrays.fill(colors, -1);
+        // colors are bound by the degree, the stamp of a color is the last node it is forbidden for
+        final int[] stamps = new int[nodeCount + 1];
+        int colorCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            final int stamp = node + 1;
+            graph.forEachRelationship(node, direction, (sourceNodeId, targetNodeId, relationId) -> {
+                final int color = colors[targetNodeId];
+                if (color >= 0) {
+                    stamps[color] = stamp;
+                }
+                return true;
+            });
+            int color = 0;
+            while (stamps[color] == stamp) {
+                ++color;
+            }
+            colors[node] = color;
+            colorCount = Math.max(colorCount, color + 1);
         }
 
-        return labels;
+        // sort the nodes by color
+        final int[] offsets = new int[colorCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            ++offsets[colors[node] + 1];
+        }
+        for (int color = 0; color < colorCount; color++) {
+            offsets[color + 1] += offsets[color];
+        }
+        final int[] nodes = new int[nodeCount];
+        final int[] next = Arrays.copyOf(offsets, colorCount);
+        for (int node = 0; node < nodeCount; node++) {
+            nodes[next[colors[node]]++] = node;
+        }
+
+        final List<List<ClassStep>> classSteps = new ArrayList<>(colorCount);
+        for (int color = 0; color < colorCount; color++) {
+            final List<ClassStep> steps = new ArrayList<>();
+            for (int from = offsets[color]; from < offsets[color + 1]; from += batchSize) {
+                steps.add(new ClassStep(nodes, from, Math.min(from + batchSize, offsets[color + 1])));
+            }
+            classSteps.add(steps);
+        }
+        return classSteps;
     }
 
-    @Override
-    public LabelPropagation me() {
-        return this;
+    private static long changes(Collection<ComputeStep> computeSteps) {
+        long changes = 0L;
+        for (ComputeStep computeStep : computeSteps) {
+            changes += computeStep.changes;
+        }
+        return changes;
     }
 
-    private final class ComputeStep implements Runnable, RelationshipConsumer {
+    private final class ComputeStep implements Runnable, WeightedRelationshipConsumer {
         private final PrimitiveIntIterable nodes;
-        private final DoubleDoubleHashMap votes;
-        private final IntDoubleHashMap labels;
-        private ProgressLogger progressLogger;
+        private final Votes votes;
+        private final ProgressLogger progressLogger;
+        private long changes;
 
-        private ComputeStep(int nodeSize, PrimitiveIntIterable nodes) {
+        private ComputeStep(PrimitiveIntIterable nodes) {
             this.nodes = nodes;
-            votes = new DoubleDoubleHashMap();
-            labels = new IntDoubleHashMap(nodeSize);
-            progressLogger = getProgressLogger();
+            this.votes = new Votes();
+            this.progressLogger = getProgressLogger();
         }
 
         @Override
         public void run() {
+            changes = 0L;
             PrimitiveIntIterator iterator = nodes.iterator();
             while (iterator.hasNext()) {
                 compute(iterator.next());
@@ -87,20 +272,17 @@ public final class LabelPropagation extends Algorithm<LabelPropagation> {
         }
 
         private void compute(int nodeId) {
-            votes.clear();
-            graph.forEachRelationship(nodeId, direction, this);
-            double originalPartition = partition(nodeId);
-            double partition = originalPartition;
-            double weight = Double.NEGATIVE_INFINITY;
-            for (DoubleDoubleCursor vote : votes) {
-                if (weight < vote.value) {
-                    weight = vote.value;
-                    partition = vote.key;
+            final int degree = graph.degree(nodeId, direction);
+            if (degree > 0) {
+                votes.reset(degree);
+                graph.forEachRelationship(nodeId, direction, this);
+                final int label = labels[nodeId];
+                final int newLabel = votes.best(label);
+                if (newLabel != label) {
+                    labels[nodeId] = newLabel;
+                    ++changes;
                 }
             }
-            if (partition != originalPartition) {
-                labels.put(nodeId, partition);
-            }
             progressLogger.logProgress((double) nodeId / (nodeCount - 1));
         }
 
@@ -108,32 +290,150 @@ public final class LabelPropagation extends Algorithm<LabelPropagation> {
         public boolean accept(
                 final int sourceNodeId,
                 final int targetNodeId,
-                final long relationId) {
-            double partition = partition(targetNodeId);
-            double weight = graph.weightOf(sourceNodeId, targetNodeId) * graph.weightOf(targetNodeId);
-            votes.addTo(partition, weight);
+                final long relationId,
+                final double relationshipWeight) {
+            votes.add(labels[targetNodeId], relationshipWeight * graph.weightOf(targetNodeId));
+            return true;
+        }
+    }
+
+    /**
+     * computes the new labels of a batch of nodes of one color class
+     * without changing them, {@link #update()} applies them afterwards
+     */
+    private final class ClassStep implements Runnable, WeightedRelationshipConsumer {
+        private final int[] nodes;
+        private final int from;
+        private final int to;
+        private final int[] newLabels;
+        private final Votes votes;
+
+        private ClassStep(int[] nodes, int from, int to) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.newLabels = new int[to - from];
+            this.votes = new Votes();
+        }
+
+        @Override
+        public void run() {
+            for (int i = from; i < to; i++) {
+                final int nodeId = nodes[i];
+                final int degree = graph.degree(nodeId, direction);
+                if (degree > 0) {
+                    votes.reset(degree);
+                    graph.forEachRelationship(nodeId, direction, this);
+                    newLabels[i - from] = votes.best(labels[nodeId]);
+                } else {
+                    newLabels[i - from] = labels[nodeId];
+                }
+            }
+        }
+
+        /**
+         * @return the number of changed labels
+         */
+        private long update() {
+            long changes = 0L;
+            for (int i = from; i < to; i++) {
+                final int nodeId = nodes[i];
+                final int label = newLabels[i - from];
+                if (labels[nodeId] != label) {
+                    labels[nodeId] = label;
+                    ++changes;
+                }
+            }
+            return changes;
+        }
+
+        @Override
+        public boolean accept(
+                final int sourceNodeId,
+                final int targetNodeId,
+                final long relationId,
+                final double relationshipWeight) {
+            votes.add(labels[targetNodeId], relationshipWeight * graph.weightOf(targetNodeId));
             return true;
         }
+    }
+
+    /**
+     * open addressing map from label to the sum of its votes. The used
+     * slots are remembered so that clearing costs only the previous degree.
+     */
+    private static final class Votes {
+        private static final int EMPTY = -1;
+        private static final int MIN_CAPACITY = 16;
+
+        private int[] keys = new int[0];
+        private double[] weights = new double[0];
+        private int[] used = new int[0];
+        private int usedCount;
+        private int mask;
+
+        void reset(int degree) {
+            final int capacity = capacityFor(degree);
+            if (capacity > keys.length) {
+                keys = new int[capacity];
+                Arrays.fill(keys, EMPTY);
+                weights = new double[capacity];
+                used = new int[capacity];
+                mask = capacity - 1;
+            } else {
+                for (int i = 0; i < usedCount; i++) {
+                    keys[used[i]] = EMPTY;
+                }
+            }
+            usedCount = 0;
+        }
 
-        private double partition(int node) {
-            double partition = labels.getOrDefault(node, Double.NEGATIVE_INFINITY);
-            return partition == Double.NEGATIVE_INFINITY ? graph.valueOf(node, node) : partition;
+        void add(int label, double weight) {
+            int slot = hash(label) & mask;
+            while (true) {
+                final int key = keys[slot];
+                if (key == label) {
+                    weights[slot] += weight;
+                    return;
+                }
+                if (key == EMPTY) {
+                    keys[slot] = label;
+                    weights[slot] = weight;
+                    used[usedCount++] = slot;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
         }
 
-        private void release() {
-            // the HPPC release() method allocates new arrays
-            // the clear() method overwrite the existing keys with the default value
-            // we want to throw away all data to allow for GC collection instead.
+        /**
+         * the label with the highest sum of votes. Ties are resolved in
+         * favor of the current label, then in favor of the smaller label.
+         */
+        int best(int current) {
+            int best = current;
+            double bestWeight = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < usedCount; i++) {
+                final int slot = used[i];
+                final int label = keys[slot];
+                final double weight = weights[slot];
+                if (weight > bestWeight ||
+                        (weight == bestWeight && best != current && (label == current || label < best))) {
+                    best = label;
+                    bestWeight = weight;
+                }
+            }
+            return best;
+        }
 
-            votes.keys = EMPTY_DOUBLES;
-            votes.clear();
-            votes.keys = null;
-            votes.values = null;
+        private static int capacityFor(int degree) {
+            final int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, degree) - 1) << 2;
+            return capacity > 0 ? capacity : 1 << 30;
+        }
 
-            labels.keys = EMPTY_INTS;
-            labels.clear();
-            labels.keys = null;
-            labels.values = null;
+        private static int hash(int label) {
+            final int h = label * 0x9E3779B9;
+            return h ^ (h >>> 16);
         }
     }
 }
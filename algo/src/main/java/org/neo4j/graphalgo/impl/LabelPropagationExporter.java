@@ -1,8 +1,6 @@
 package org.neo4j.graphalgo.impl;
 
-import com.carrotsearch.hppc.IntDoubleMap;
-import org.neo4j.graphalgo.api.BatchNodeIterable;
-import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraph;
 import org.neo4j.graphalgo.core.utils.ParallelExporter;
 import org.neo4j.graphalgo.core.utils.ParallelGraphExporter;
 import org.neo4j.kernel.api.properties.DefinedProperty;
@@ -10,32 +8,36 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.concurrent.ExecutorService;
 
-public final class LabelPropagationExporter extends ParallelExporter<IntDoubleMap> {
+/**
+ * writes the partition value of the label of each node,
+ * nodes whose value did not change are skipped
+ */
+public final class LabelPropagationExporter extends ParallelExporter<int[]> {
 
-    private final IdMapping idMapping;
+    private final HeavyGraph graph;
     private final int propertyId;
 
     public LabelPropagationExporter(
             int batchSize,
             GraphDatabaseAPI api,
-            IdMapping idMapping,
-            BatchNodeIterable batchNodes,
+            HeavyGraph graph,
             String targetProperty,
             ExecutorService executor) {
-        super(batchSize, api, batchNodes, executor);
-        this.idMapping = idMapping;
+        super(batchSize, api, graph, executor);
+        this.graph = graph;
         propertyId = getOrCreatePropertyId(targetProperty);
     }
 
     @Override
-    protected ParallelGraphExporter newParallelExporter(IntDoubleMap data) {
+    protected ParallelGraphExporter newParallelExporter(int[] labels) {
         return (ParallelGraphExporter.Simple) ((ops, nodeId) -> {
-            if (data.containsKey(nodeId)) {
-                double score = data.get(nodeId);
-                long neoNodeId = idMapping.toOriginalNodeId(nodeId);
+            final int label = labels[nodeId];
+            final double value = graph.valueOf(label, label);
+            if (value != graph.valueOf(nodeId, nodeId)) {
+                long neoNodeId = graph.toOriginalNodeId(nodeId);
                 ops.nodeSetProperty(
                     neoNodeId,
-                    DefinedProperty.doubleProperty(propertyId, score)
+                    DefinedProperty.doubleProperty(propertyId, value)
                 );
             }
         });
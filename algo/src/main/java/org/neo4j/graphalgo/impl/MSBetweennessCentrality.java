@@ -0,0 +1,323 @@
+package org.neo4j.graphalgo.impl;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.AtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Betweenness Centrality for unweighted graphs which runs brandes for
+ * {@link #OMEGA} sources at once, similar to
+ * {@link org.neo4j.graphalgo.impl.msbfs.MultiSourceBFS}.
+ * <p>
+ * The forward phase is a level synchronous bfs where each node carries a
+ * packed int with one bit per source. A node is expanded once per level
+ * for all sources which reached it at that depth. Each level is recorded
+ * as a list of (node, sources) entries. The backward phase walks the levels
+ * in reverse order and propagates the dependencies along the relationships
+ * between the entries of two adjacent levels for all common sources at once.
+ * <p>
+ * Each task processes one batch of sources at a time and keeps the number
+ * of shortest paths and the dependency of each (node, source) pair, which
+ * takes about 400 bytes per node and task.
+ */
+public class MSBetweennessCentrality extends Algorithm<MSBetweennessCentrality> {
+
+    // number of sources per batch, one bit each
+    public static final int OMEGA = 32;
+
+    // the graph
+    private final Graph graph;
+    // AI counts up for every batch until all sources are done
+    private final AtomicInteger batchQueue = new AtomicInteger();
+    // atomic double array which supports only atomic-add
+    private final AtomicDoubleArray centrality;
+    // the node count
+    private final int nodeCount;
+    // global executor service
+    private final ExecutorService executorService;
+    // number of threads to spawn
+    private final int concurrency;
+
+    /**
+     * @param graph the graph iface
+     * @param scaleFactor factor used to scale up doubles to integers in AtomicDoubleArray
+     * @param executorService the executor service
+     * @param concurrency desired number of threads to spawn
+     */
+    public MSBetweennessCentrality(Graph graph, double scaleFactor, ExecutorService executorService, int concurrency) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        if ((long) nodeCount * OMEGA > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many nodes for multi source betweenness: " + nodeCount);
+        }
+        this.executorService = executorService;
+        this.concurrency = Math.max(1, concurrency);
+        this.centrality = new AtomicDoubleArray(nodeCount, scaleFactor);
+    }
+
+    /**
+     * compute centrality
+     * @return itself for method chaining
+     */
+    public MSBetweennessCentrality compute() {
+        batchQueue.set(0);
+        final int batches = ParallelUtil.threadSize(OMEGA, nodeCount);
+        final int taskCount = Math.min(concurrency, batches);
+        final List<MSBCTask> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new MSBCTask());
+        }
+        ParallelUtil.run(tasks, executorService);
+        merge(tasks);
+        return this;
+    }
+
+    /**
+     * add the local dependencies of all tasks to the centrality
+     */
+    private void merge(List<MSBCTask> tasks) {
+        final IntConsumer merge = node -> {
+            double sum = 0.0;
+            for (MSBCTask task : tasks) {
+                sum += task.dependency[node];
+            }
+            if (sum != 0.0) {
+                centrality.add(node, sum);
+            }
+        };
+        if (concurrency > 1 && nodeCount >= concurrency) {
+            ParallelUtil.iterateParallel(executorService, nodeCount, concurrency, merge);
+        } else {
+            for (int node = 0; node < nodeCount; node++) {
+                merge.accept(node);
+            }
+        }
+    }
+
+    /**
+     * get the centrality array
+     * @return array with centrality
+     */
+    public AtomicDoubleArray getCentrality() {
+        return centrality;
+    }
+
+    /**
+     * iterate over each result until every node has
+     * been visited or the consumer returns false
+     *
+     * @param consumer the result consumer
+     */
+    public void forEach(BetweennessCentrality.ResultConsumer consumer) {
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            if (!consumer.consume(graph.toOriginalNodeId(i), centrality.get(i))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * emit the result stream
+     * @return stream if Results
+     */
+    public Stream<BetweennessCentrality.Result> resultStream() {
+        return IntStream.range(0, nodeCount)
+                .mapToObj(nodeId ->
+                        new BetweennessCentrality.Result(
+                                graph.toOriginalNodeId(nodeId),
+                                centrality.get(nodeId)));
+    }
+
+    @Override
+    public MSBetweennessCentrality me() {
+        return this;
+    }
+
+    /**
+     * takes one batch of consecutive source nodes at a time and
+     * computes their dependencies. The (node, source) pairs are
+     * stored at index node * OMEGA + source.
+     */
+    private final class MSBCTask implements Runnable, RelationshipConsumer {
+
+        // sources which have reached a node so far
+        private final int[] seen;
+        // sources which reach a node in the next level
+        private final int[] next;
+        // sources which reach a node in the level below the current one
+        private final int[] below;
+        // number of shortest paths of each pair
+        private final int[] sigma;
+        // dependency of each pair
+        private final double[] delta;
+        // dependencies of all batches of this task
+        private final double[] dependency;
+        // nodes of the next level
+        private final IntArrayList nextNodes = new IntArrayList();
+        // entries of all levels
+        private final IntArrayList entryNodes = new IntArrayList();
+        private final IntArrayList entrySources = new IntArrayList();
+        // offset of the first entry of each level
+        private final IntArrayList levels = new IntArrayList();
+
+        // the entry which is currently expanded
+        private int node;
+        private int sources;
+        private boolean backward;
+
+        private MSBCTask() {
+            seen = new int[nodeCount];
+            next = new int[nodeCount];
+            below = new int[nodeCount];
+            sigma = new int[nodeCount * OMEGA];
+            delta = new double[nodeCount * OMEGA];
+            dependency = new double[nodeCount];
+        }
+
+        @Override
+        public void run() {
+            int batch;
+            while ((batch = batchQueue.getAndIncrement()) * OMEGA < nodeCount) {
+                final int offset = batch * OMEGA;
+                final int length = Math.min(OMEGA, nodeCount - offset);
+                forward(offset, length);
+                backward();
+                reset();
+                getProgressLogger().logProgress((double) (offset + length) / nodeCount);
+            }
+        }
+
+        /**
+         * level synchronous bfs from all sources of the batch
+         */
+        private void forward(int offset, int length) {
+            backward = false;
+            levels.add(0);
+            for (int i = 0; i < length; i++) {
+                final int source = offset + i;
+                seen[source] = 1 << i;
+                sigma[source * OMEGA + i] = 1;
+                entryNodes.add(source);
+                entrySources.add(1 << i);
+            }
+            int start = 0;
+            int end = entryNodes.size();
+            while (start < end) {
+                levels.add(end);
+                for (int e = start; e < end; e++) {
+                    node = entryNodes.get(e);
+                    sources = entrySources.get(e);
+                    graph.forEachRelationship(node, Direction.OUTGOING, this);
+                }
+                // the sources of the next level are seen after all
+                // nodes of the current level have been expanded
+                final int[] buffer = nextNodes.buffer;
+                for (int i = 0; i < nextNodes.size(); i++) {
+                    final int target = buffer[i];
+                    seen[target] |= next[target];
+                    entryNodes.add(target);
+                    entrySources.add(next[target]);
+                    next[target] = 0;
+                }
+                nextNodes.clear();
+                start = end;
+                end = entryNodes.size();
+            }
+        }
+
+        /**
+         * accumulate the dependencies level by level, the deepest
+         * level has no dependencies and the sources in level 0 do
+         * not count
+         */
+        private void backward() {
+            backward = true;
+            // levels holds the offset of each level and the end of the last one
+            final int depth = levels.size() - 1;
+            for (int level = depth - 2; level > 0; level--) {
+                final int from = levels.get(level);
+                final int to = levels.get(level + 1);
+                final int limit = levels.get(level + 2);
+                setBelow(to, limit, true);
+                for (int e = from; e < to; e++) {
+                    node = entryNodes.get(e);
+                    sources = entrySources.get(e);
+                    graph.forEachRelationship(node, Direction.OUTGOING, this);
+                    double sum = 0.0;
+                    for (int bits = sources; bits != 0; bits &= bits - 1) {
+                        sum += delta[node * OMEGA + Integer.numberOfTrailingZeros(bits)];
+                    }
+                    dependency[node] += sum;
+                }
+                setBelow(to, limit, false);
+            }
+        }
+
+        private void setBelow(int from, int to, boolean set) {
+            for (int e = from; e < to; e++) {
+                below[entryNodes.get(e)] = set ? entrySources.get(e) : 0;
+            }
+        }
+
+        @Override
+        public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+            if (backward) {
+                // sources for which the target is a successor of the node
+                final int common = sources & below[targetNodeId];
+                final int v = node * OMEGA;
+                final int w = targetNodeId * OMEGA;
+                for (int bits = common; bits != 0; bits &= bits - 1) {
+                    final int i = Integer.numberOfTrailingZeros(bits);
+                    delta[v + i] += (double) sigma[v + i] / (double) sigma[w + i] * (1.0 + delta[w + i]);
+                }
+                return true;
+            }
+            // sources for which the target is in the next level
+            final int reached = sources & ~seen[targetNodeId];
+            if (reached == 0) {
+                return true;
+            }
+            if (next[targetNodeId] == 0) {
+                nextNodes.add(targetNodeId);
+            }
+            next[targetNodeId] |= reached;
+            final int v = node * OMEGA;
+            final int w = targetNodeId * OMEGA;
+            for (int bits = reached; bits != 0; bits &= bits - 1) {
+                final int i = Integer.numberOfTrailingZeros(bits);
+                sigma[w + i] += sigma[v + i];
+            }
+            return true;
+        }
+
+        /**
+         * reset all pairs which have been reached by the batch
+         */
+        private void reset() {
+            for (int e = entryNodes.size() - 1; e >= 0; e--) {
+                final int target = entryNodes.get(e);
+                final int base = target * OMEGA;
+                for (int bits = entrySources.get(e); bits != 0; bits &= bits - 1) {
+                    final int i = Integer.numberOfTrailingZeros(bits);
+                    sigma[base + i] = 0;
+                    delta[base + i] = 0.0;
+                }
+                seen[target] = 0;
+            }
+            entryNodes.clear();
+            entrySources.clear();
+            levels.clear();
+        }
+    }
+}
@@ -15,8 +15,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
 
 
 /**
@@ -27,8 +30,9 @@ import java.util.concurrent.Future;
  * not for all nodes. Combined, all partitions hold all page rank scores for every node once.
  * Instead of writing partition files and transferring them across the network
  * (as done in the paper since they were concerned with parallelising across multiple nodes),
- * we use integer arrays to write the results to.
- * The actual score is upscaled from a double to an integer by multiplying it with {@code 100_000}.
+ * we use double arrays to write the results to.
+ * Scores are accumulated in double precision, so that small contributions
+ * on large graphs are not truncated and large ones on hubs do not overflow.
  * <p>
  * To avoid contention by writing to a shared array, we partition the result array.
  * During execution, the scores arrays
@@ -67,12 +71,29 @@ import java.util.concurrent.Future;
  * Smaller partitions are merged down until we have at most {@code concurrency} partitions,
  * in order to batch partitions and keep the number of threads in use predictable/configurable.
  * <p>
+ * If the graph has been loaded with incoming relationships, PageRank can also run
+ * in pull mode (see {@link #PageRank(ExecutorService, int, int, IdMapping, NodeIterator, RelationshipIterator, Degrees, double, Direction)}).
+ * Every partition then sums up the scores of the incoming neighbours of its own nodes
+ * and writes only into its own range of a shared scores array.
+ * There are no partitioned score arrays and no synchronization step,
+ * only one barrier per iteration.
+ * <p>
+ * Personalized PageRank teleports only to a set of source nodes instead of to every node.
+ * Several sets of source nodes can be computed at once: the partitions then hold
+ * one score per set for every node, stored next to each other (node major), so that
+ * every scan of the relationships of a node serves all sets.
+ * <p>
+ * If a tolerance is given, the computation stops as soon as the L1 norm of the
+ * difference between the scores of two subsequent iterations falls below it.
+ * <p>
  * [1]: <a href="http://delab.csd.auth.gr/~dimitris/courses/ir_spring06/page_rank_computing/01531136.pdf">An Efficient Partition-Based Parallel PageRank Algorithm</a><br>
  * [2]: <a href="https://www.cs.purdue.edu/homes/dgleich/publications/gleich2004-parallel.pdf">Fast Parallel PageRank: A Linear System Approach</a>
  */
 public class PageRank extends Algorithm<PageRank> {
 
-    private final ComputeSteps computeSteps;
+    private final Steps computeSteps;
+    private double tolerance = 0.0;
+    private int iterations = 0;
 
     /**
      * Forces sequential use. If you want parallelism, prefer
@@ -109,6 +130,95 @@ public class PageRank extends Algorithm<PageRank> {
             RelationshipIterator relationshipIterator,
             Degrees degrees,
             double dampingFactor) {
+        this(
+                executor,
+                concurrency,
+                batchSize,
+                idMapping,
+                nodeIterator,
+                relationshipIterator,
+                degrees,
+                dampingFactor,
+                Direction.OUTGOING);
+    }
+
+    /**
+     * Parallel Page Rank implementation which reads relationships in the given direction.
+     * {@link Direction#OUTGOING} pushes the scores along outgoing relationships,
+     * {@link Direction#INCOMING} pulls them over incoming relationships and
+     * only needs the incoming relationships to be loaded.
+     */
+    public PageRank(
+            ExecutorService executor,
+            int concurrency,
+            int batchSize,
+            IdMapping idMapping,
+            NodeIterator nodeIterator,
+            RelationshipIterator relationshipIterator,
+            Degrees degrees,
+            double dampingFactor,
+            Direction direction) {
+        this(
+                executor,
+                concurrency,
+                batchSize,
+                idMapping,
+                nodeIterator,
+                relationshipIterator,
+                degrees,
+                dampingFactor,
+                direction,
+                null);
+    }
+
+    /**
+     * Personalized Page Rank implementation which computes one score
+     * vector for every given set of source nodes at once.
+     * The scores are pushed along outgoing relationships.
+     *
+     * @param sourceNodes the mapped node ids of the source nodes of each vector
+     */
+    public PageRank(
+            ExecutorService executor,
+            int concurrency,
+            int batchSize,
+            IdMapping idMapping,
+            NodeIterator nodeIterator,
+            RelationshipIterator relationshipIterator,
+            Degrees degrees,
+            double dampingFactor,
+            int[][] sourceNodes) {
+        this(
+                executor,
+                concurrency,
+                batchSize,
+                idMapping,
+                nodeIterator,
+                relationshipIterator,
+                degrees,
+                dampingFactor,
+                Direction.OUTGOING,
+                Objects.requireNonNull(sourceNodes));
+    }
+
+    private PageRank(
+            ExecutorService executor,
+            int concurrency,
+            int batchSize,
+            IdMapping idMapping,
+            NodeIterator nodeIterator,
+            RelationshipIterator relationshipIterator,
+            Degrees degrees,
+            double dampingFactor,
+            Direction direction,
+            int[][] sourceNodes) {
+
+        if (direction != Direction.OUTGOING && direction != Direction.INCOMING) {
+            throw new IllegalArgumentException("Unsupported direction " + direction);
+        }
+        if (sourceNodes != null && sourceNodes.length == 0) {
+            throw new IllegalArgumentException("At least one set of source nodes is required");
+        }
 
         List<Partition> partitions;
         if (ParallelUtil.canRunInParallel(executor)) {
@@ -116,36 +226,83 @@ public class PageRank extends Algorithm<PageRank> {
                     adjustBatchSize(batchSize),
                     idMapping,
                     nodeIterator,
-                    degrees);
+                    degrees,
+                    direction);
         } else {
             executor = null;
             partitions = createSinglePartition(idMapping, degrees);
         }
 
-        computeSteps = createComputeSteps(
-                concurrency,
-                idMapping.nodeCount(),
-                dampingFactor,
-                relationshipIterator,
-                degrees,
-                partitions,
-                executor);
+        if (direction == Direction.INCOMING) {
+            computeSteps = createPullSteps(
+                    concurrency,
+                    idMapping.nodeCount(),
+                    dampingFactor,
+                    relationshipIterator,
+                    partitions,
+                    executor);
+        } else {
+            computeSteps = createComputeSteps(
+                    concurrency,
+                    idMapping.nodeCount(),
+                    dampingFactor,
+                    relationshipIterator,
+                    degrees,
+                    partitions,
+                    sourceNodes,
+                    executor);
+        }
     }
 
     /**
-     * compute pageRank for n iterations
+     * set the convergence tolerance. The computation stops early if the
+     * L1 norm of the change of all scores in one iteration is below it.
+     * The default of 0 always runs all iterations.
+     */
+    public PageRank withTolerance(double tolerance) {
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * compute pageRank for at most n iterations
      */
     public PageRank compute(int iterations) {
         assert iterations >= 1;
-        computeSteps.run(iterations);
+        this.iterations = computeSteps.run(iterations, tolerance);
         return this;
     }
 
+    /**
+     * Return the number of iterations of the last computation.
+     */
+    public int iterations() {
+        return iterations;
+    }
+
     /**
      * Return the result of the last computation.
+     * For personalized PageRank the scores of the first set of source nodes.
      */
     public double[] getPageRank() {
-        return computeSteps.getPageRank();
+        return computeSteps.getPageRank(0);
+    }
+
+    /**
+     * Return the scores of the given set of source nodes of the last computation.
+     */
+    public double[] getPageRank(int vector) {
+        if (vector < 0 || vector >= computeSteps.vectors()) {
+            throw new IndexOutOfBoundsException("No score vector " + vector);
+        }
+        return computeSteps.getPageRank(vector);
+    }
+
+    /**
+     * Return the number of score vectors, one for each set of source nodes.
+     */
+    public int vectors() {
+        return computeSteps.vectors();
     }
 
     private int adjustBatchSize(int batchSize) {
@@ -160,7 +317,8 @@ public class PageRank extends Algorithm<PageRank> {
             int batchSize,
             IdMapping idMapping,
             NodeIterator nodeIterator,
-            Degrees degrees) {
+            Degrees degrees,
+            Direction direction) {
         int nodeCount = idMapping.nodeCount();
         PrimitiveIntIterator nodes = nodeIterator.nodeIterator();
         List<Partition> partitions = new ArrayList<>();
@@ -170,6 +328,7 @@ public class PageRank extends Algorithm<PageRank> {
                     nodeCount,
                     nodes,
                     degrees,
+                    direction,
                     start,
                     batchSize);
             partitions.add(partition);
@@ -186,45 +345,47 @@ public class PageRank extends Algorithm<PageRank> {
                         idMapping.nodeCount(),
                         null,
                         degrees,
+                        Direction.OUTGOING,
                         0,
                         -1
                 )
         );
     }
 
-    private ComputeSteps createComputeSteps(
+    private Steps createComputeSteps(
             int concurrency,
             int nodeCount,
             double dampingFactor,
             RelationshipIterator relationshipIterator,
             Degrees degrees,
             List<Partition> partitions,
+            int[][] sourceNodes,
             ExecutorService pool) {
-        if (concurrency <= 0) {
-            concurrency = partitions.size();
-        }
-        final int expectedParallelism = Math.min(
-                concurrency,
-                partitions.size());
-        List<ComputeStep> computeSteps = new ArrayList<>(expectedParallelism);
-        IntArrayList starts = new IntArrayList(expectedParallelism);
-        IntArrayList lengths = new IntArrayList(expectedParallelism);
-        int partitionsPerThread = ParallelUtil.threadSize(
-                concurrency + 1,
-                partitions.size());
-        Iterator<Partition> parts = partitions.iterator();
+        partitions = mergePartitions(concurrency, partitions);
+        int vectors = sourceNodes == null ? 1 : sourceNodes.length;
+        List<ComputeStep> computeSteps = new ArrayList<>(partitions.size());
+        IntArrayList starts = new IntArrayList(partitions.size());
+        IntArrayList lengths = new IntArrayList(partitions.size());
 
-        while (parts.hasNext()) {
-            Partition partition = parts.next();
+        for (Partition partition : partitions) {
             int partitionCount = partition.nodeCount;
             int start = partition.startNode;
-            for (int i = 1; i < partitionsPerThread && parts.hasNext(); i++) {
-                partition = parts.next();
-                partitionCount += partition.nodeCount;
-            }
 
-            double[] partitionRank = new double[partitionCount];
-            Arrays.fill(partitionRank, 1.0 / nodeCount);
+            if ((long) partitionCount * vectors > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                        "Too many source node sets for a partition of " + partitionCount + " nodes");
+            }
+            double[] partitionRank = new double[partitionCount * vectors];
+            int[] teleports;
+            if (sourceNodes == null) {
+                Arrays.fill(partitionRank, 1.0 / nodeCount);
+                teleports = null;
+            } else {
+                teleports = teleports(sourceNodes, start, partitionCount);
+                for (int teleport : teleports) {
+                    partitionRank[teleport] = 1.0 - dampingFactor;
+                }
+            }
             starts.add(start);
             lengths.add(partitionCount);
 
@@ -233,6 +394,9 @@ public class PageRank extends Algorithm<PageRank> {
                     relationshipIterator,
                     degrees,
                     partitionRank,
+                    partitionCount,
+                    vectors,
+                    teleports,
                     start
             ));
         }
@@ -247,6 +411,90 @@ public class PageRank extends Algorithm<PageRank> {
         return new ComputeSteps(computeSteps, last, pool);
     }
 
+    private Steps createPullSteps(
+            int concurrency,
+            int nodeCount,
+            double dampingFactor,
+            RelationshipIterator relationshipIterator,
+            List<Partition> partitions,
+            ExecutorService pool) {
+        partitions = mergePartitions(concurrency, partitions);
+        double[] pageRank = new double[nodeCount];
+        Arrays.fill(pageRank, 1.0 / nodeCount);
+
+        List<PullStep> pullSteps = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            pullSteps.add(new PullStep(
+                    dampingFactor,
+                    relationshipIterator,
+                    pageRank,
+                    partition.startNode,
+                    partition.nodeCount));
+        }
+
+        PullStep last = pullSteps.remove(pullSteps.size() - 1);
+        return new PullSteps(pullSteps, last, pageRank, pool);
+    }
+
+    /**
+     * sorted positions of all source nodes within the scores of a
+     * partition, that is {@code (node - startNode) * vectors + vector}
+     */
+    private static int[] teleports(
+            int[][] sourceNodes,
+            int startNode,
+            int nodeCount) {
+        int vectors = sourceNodes.length;
+        int endNode = startNode + nodeCount;
+        IntArrayList teleports = new IntArrayList();
+        for (int vector = 0; vector < vectors; vector++) {
+            for (int nodeId : sourceNodes[vector]) {
+                if (nodeId >= startNode && nodeId < endNode) {
+                    teleports.add((nodeId - startNode) * vectors + vector);
+                }
+            }
+        }
+        int[] positions = teleports.toArray();
+        Arrays.sort(positions);
+        int length = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (i == 0 || positions[i] != positions[i - 1]) {
+                positions[length++] = positions[i];
+            }
+        }
+        return Arrays.copyOf(positions, length);
+    }
+
+    /**
+     * merge adjacent partitions down to at most {@code concurrency} partitions
+     */
+    private static List<Partition> mergePartitions(
+            int concurrency,
+            List<Partition> partitions) {
+        if (concurrency <= 0) {
+            concurrency = partitions.size();
+        }
+        int partitionsPerThread = ParallelUtil.threadSize(
+                concurrency + 1,
+                partitions.size());
+        List<Partition> merged = new ArrayList<>(Math.min(
+                concurrency,
+                partitions.size()));
+        Iterator<Partition> parts = partitions.iterator();
+
+        while (parts.hasNext()) {
+            Partition partition = parts.next();
+            int partitionCount = partition.nodeCount;
+            int start = partition.startNode;
+            for (int i = 1; i < partitionsPerThread && parts.hasNext(); i++) {
+                partition = parts.next();
+                partitionCount += partition.nodeCount;
+            }
+            merged.add(new Partition(start, partitionCount));
+        }
+        return merged;
+    }
+
     private static int idx(int id, int ids[]) {
         int length = ids.length;
 
@@ -282,6 +530,7 @@ public class PageRank extends Algorithm<PageRank> {
                 int allNodeCount,
                 PrimitiveIntIterator nodes,
                 Degrees degrees,
+                Direction direction,
                 int startNode,
                 int batchSize) {
 
@@ -292,7 +541,7 @@ public class PageRank extends Algorithm<PageRank> {
                 while (partitionSize < batchSize && nodes.hasNext()) {
                     int nodeId = nodes.next();
                     ++nodeCount;
-                    partitionSize += degrees.degree(nodeId, Direction.OUTGOING);
+                    partitionSize += degrees.degree(nodeId, direction);
                 }
             } else {
                 nodeCount = allNodeCount;
@@ -301,14 +550,27 @@ public class PageRank extends Algorithm<PageRank> {
             this.startNode = startNode;
             this.nodeCount = nodeCount;
         }
+
+        Partition(int startNode, int nodeCount) {
+            this.startNode = startNode;
+            this.nodeCount = nodeCount;
+        }
+    }
+
+    private interface Steps {
+        int run(int iterations, double tolerance);
+
+        int vectors();
+
+        double[] getPageRank(int vector);
     }
 
-    private static final class ComputeSteps {
+    private static final class ComputeSteps implements Steps {
         private final List<ComputeStep> steps;
         private final List<Future<?>> futures;
         private final ExecutorService pool;
         private final ComputeStep last;
-        private final int[][][] scores;
+        private final double[][][] scores;
 
         private ComputeSteps(
                 List<ComputeStep> steps,
@@ -319,12 +581,18 @@ public class PageRank extends Algorithm<PageRank> {
             this.futures = new ArrayList<>(steps.size());
             this.pool = pool;
             int stepSize = steps.size() + 1;
-            scores = new int[stepSize][][];
-            Arrays.setAll(scores, i -> new int[stepSize][]);
+            scores = new double[stepSize][][];
+            Arrays.setAll(scores, i -> new double[stepSize][]);
         }
 
-        double[] getPageRank() {
-            if (steps.size() > 0) {
+        @Override
+        public int vectors() {
+            return last.vectors;
+        }
+
+        @Override
+        public double[] getPageRank(int vector) {
+            if (steps.size() > 0 || last.vectors > 1) {
                 int nodeCount = 0;
                 for (ComputeStep computeStep : steps) {
                     nodeCount += computeStep.nodeCount;
@@ -332,39 +600,41 @@ public class PageRank extends Algorithm<PageRank> {
                 nodeCount += last.nodeCount;
                 double[] ranks = new double[nodeCount];
                 for (ComputeStep computeStep : steps) {
-                    double[] scores = computeStep.pageRank;
-                    System.arraycopy(
-                            scores,
-                            0,
-                            ranks,
-                            computeStep.startNode,
-                            computeStep.nodeCount);
+                    computeStep.copyScores(vector, ranks);
                 }
-                System.arraycopy(
-                        last.pageRank,
-                        0,
-                        ranks,
-                        last.startNode,
-                        last.nodeCount);
+                last.copyScores(vector, ranks);
                 return ranks;
             } else {
                 return last.pageRank;
             }
         }
 
-        private void run(int iterations) {
+        @Override
+        public int run(int iterations, double tolerance) {
             for (int i = 0; i < iterations; i++) {
                 // calculate scores
                 ParallelUtil.run(steps, last, pool, futures);
                 synchronizeScores();
                 // sync scores
                 ParallelUtil.run(steps, last, pool, futures);
+                if (delta() < tolerance) {
+                    return i + 1;
+                }
+            }
+            return iterations;
+        }
+
+        private double delta() {
+            double delta = last.delta;
+            for (ComputeStep step : steps) {
+                delta += step.delta;
             }
+            return delta;
         }
 
         private void synchronizeScores() {
             int stepSize = steps.size();
-            int[][][] scores = this.scores;
+            double[][][] scores = this.scores;
             int i;
             for (i = 0; i < stepSize; i++) {
                 synchronizeScores(steps.get(i), i, scores);
@@ -375,15 +645,88 @@ public class PageRank extends Algorithm<PageRank> {
         private void synchronizeScores(
                 ComputeStep step,
                 int idx,
-                int[][][] scores) {
+                double[][][] scores) {
             step.prepareNextIteration(scores[idx]);
-            int[][] nextScores = step.nextScores;
+            double[][] nextScores = step.nextScores;
             for (int j = 0, len = nextScores.length; j < len; j++) {
                 scores[j][idx] = nextScores[j];
             }
         }
     }
 
+    private static final class PullSteps implements Steps {
+        private final List<PullStep> steps;
+        private final List<Future<?>> futures;
+        private final ExecutorService pool;
+        private final PullStep last;
+        private final double[] pageRank;
+
+        private PullSteps(
+                List<PullStep> steps,
+                PullStep last,
+                double[] pageRank,
+                ExecutorService pool) {
+            this.steps = steps;
+            this.last = last;
+            this.pageRank = pageRank;
+            this.pool = pool;
+            this.futures = new ArrayList<>(steps.size());
+        }
+
+        @Override
+        public int vectors() {
+            return 1;
+        }
+
+        @Override
+        public double[] getPageRank(int vector) {
+            return pageRank;
+        }
+
+        @Override
+        public int run(int iterations, double tolerance) {
+            int nodeCount = pageRank.length;
+            AtomicIntegerArray degrees = new AtomicIntegerArray(nodeCount);
+            List<Runnable> counts = new ArrayList<>(steps.size() + 1);
+            forEachStep(step -> counts.add(() -> step.countDegrees(degrees)));
+            ParallelUtil.run(counts, pool, futures);
+            int[] outDegrees = new int[nodeCount];
+            double[] contributions = new double[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                int degree = degrees.get(i);
+                outDegrees[i] = degree;
+                contributions[i] = degree == 0 ? 0.0 : pageRank[i] / degree;
+            }
+            double[] nextContributions = new double[nodeCount];
+
+            for (int i = 0; i < iterations; i++) {
+                double[] current = contributions;
+                double[] next = nextContributions;
+                forEachStep(step -> step.prepareIteration(outDegrees, current, next));
+                ParallelUtil.run(steps, last, pool, futures);
+                contributions = next;
+                nextContributions = current;
+                if (delta() < tolerance) {
+                    return i + 1;
+                }
+            }
+            return iterations;
+        }
+
+        private void forEachStep(Consumer<PullStep> action) {
+            steps.forEach(action);
+            action.accept(last);
+        }
+
+        private double delta() {
+            double delta = last.delta;
+            for (PullStep step : steps) {
+                delta += step.delta;
+            }
+            return delta;
+        }
+    }
+
     private interface Behavior {
         void run();
     }
@@ -399,14 +742,18 @@ public class PageRank extends Algorithm<PageRank> {
         private final double dampingFactor;
 
         private final double[] pageRank;
-        private int[][] nextScores;
-        private int[][] prevScores;
+        private double[][] nextScores;
+        private double[][] prevScores;
+        private double delta;
 
         private final int startNode;
         private final int endNode;
         private final int nodeCount;
+        private final int vectors;
+        private final double baseRank;
+        private final int[] teleports;
 
-        private int[] srcRank = new int[1];
+        private final double[] srcRank;
         private Behavior behavior;
 
         private Behavior runs = this::runsIteration;
@@ -417,22 +764,41 @@ public class PageRank extends Algorithm<PageRank> {
                 RelationshipIterator relationshipIterator,
                 Degrees degrees,
                 double[] pageRank,
+                int nodeCount,
+                int vectors,
+                int[] teleports,
                 int startNode) {
             this.dampingFactor = dampingFactor;
             this.alpha = 1.0 - dampingFactor;
             this.relationshipIterator = relationshipIterator;
             this.degrees = degrees;
             this.startNode = startNode;
-            this.nodeCount = pageRank.length;
-            this.endNode = startNode + pageRank.length;
+            this.nodeCount = nodeCount;
+            this.endNode = startNode + nodeCount;
             this.pageRank = pageRank;
+            this.vectors = vectors;
+            this.baseRank = teleports == null ? alpha : 0.0;
+            this.teleports = teleports == null ? new int[0] : teleports;
+            this.srcRank = new double[vectors];
             this.behavior = runs;
         }
 
         void setStarts(int starts[], int[] lengths) {
             this.starts = starts;
-            this.nextScores = new int[starts.length][];
-            Arrays.setAll(nextScores, i -> new int[lengths[i]]);
+            this.nextScores = new double[starts.length][];
+            Arrays.setAll(nextScores, i -> new double[lengths[i] * vectors]);
+        }
+
+        void copyScores(int vector, double[] ranks) {
+            double[] pageRank = this.pageRank;
+            int vectors = this.vectors;
+            if (vectors == 1) {
+                System.arraycopy(pageRank, 0, ranks, startNode, nodeCount);
+                return;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                ranks[startNode + i] = pageRank[i * vectors + vector];
+            }
         }
 
         @Override
@@ -448,12 +814,9 @@ public class PageRank extends Algorithm<PageRank> {
         private void singleIteration() {
             int startNode = this.startNode;
             int endNode = this.endNode;
-            int[] srcRank = this.srcRank;
             RelationshipIterator rels = this.relationshipIterator;
             for (int nodeId = startNode; nodeId < endNode; ++nodeId) {
-                int rank = calculateRank(nodeId, startNode);
-                if (rank != 0) {
-                    srcRank[0] = rank;
+                if (calculateRank(nodeId, startNode)) {
                     rels.forEachRelationship(nodeId, Direction.OUTGOING, this);
                 }
             }
@@ -464,15 +827,18 @@ public class PageRank extends Algorithm<PageRank> {
                 int sourceNodeId,
                 int targetNodeId,
                 long relationId) {
-            int rank = srcRank[0];
-            if (rank != 0) {
-                int idx = PageRank.idx(targetNodeId, starts);
-                nextScores[idx][targetNodeId - starts[idx]] += rank;
+            int idx = PageRank.idx(targetNodeId, starts);
+            double[] scores = nextScores[idx];
+            double[] srcRank = this.srcRank;
+            int vectors = this.vectors;
+            int offset = (targetNodeId - starts[idx]) * vectors;
+            for (int i = 0; i < vectors; i++) {
+                scores[offset + i] += srcRank[i];
             }
             return true;
         }
 
-        void prepareNextIteration(int[][] prevScores) {
+        void prepareNextIteration(double[][] prevScores) {
             this.prevScores = prevScores;
         }
 
@@ -481,15 +847,15 @@ public class PageRank extends Algorithm<PageRank> {
             this.behavior = runs;
         }
 
-        private int[] combineScores() {
+        private double[] combineScores() {
             assert prevScores != null;
             assert prevScores.length >= 1;
-            int[][] prevScores = this.prevScores;
+            double[][] prevScores = this.prevScores;
 
             int length = prevScores.length;
-            int[] allScores = prevScores[0];
+            double[] allScores = prevScores[0];
             for (int i = 1; i < length; i++) {
-                int[] scores = prevScores[i];
+                double[] scores = prevScores[i];
                 for (int j = 0; j < scores.length; j++) {
                     allScores[j] += scores[j];
                     scores[j] = 0;
@@ -499,23 +865,139 @@ public class PageRank extends Algorithm<PageRank> {
             return allScores;
         }
 
-        private void synchronizeScores(int[] allScores) {
+        private void synchronizeScores(double[] allScores) {
             double alpha = this.alpha;
+            double baseRank = this.baseRank;
             double dampingFactor = this.dampingFactor;
             double[] pageRank = this.pageRank;
+            int[] teleports = this.teleports;
 
+            double delta = 0.0;
+            int teleport = 0;
             int length = allScores.length;
             for (int i = 0; i < length; i++) {
-                int sum = allScores[i];
-                pageRank[i] = alpha + dampingFactor * (sum / 100_000.0);
-                allScores[i] = 0;
+                double rank = baseRank + dampingFactor * allScores[i];
+                if (teleport < teleports.length && teleports[teleport] == i) {
+                    rank += alpha;
+                    ++teleport;
+                }
+                delta += Math.abs(rank - pageRank[i]);
+                pageRank[i] = rank;
+                allScores[i] = 0.0;
             }
+            this.delta = delta;
         }
 
-        private int calculateRank(int nodeId, int startNode) {
+        /**
+         * calculate the rank that the node passes to each of its neighbours
+         * for every vector
+         * @return false if the node has nothing to pass on
+         */
+        private boolean calculateRank(int nodeId, int startNode) {
             int degree = degrees.degree(nodeId, Direction.OUTGOING);
-            double rank = degree == 0 ? 0 : pageRank[nodeId - startNode] / degree;
-            return (int) (100_000 * rank);
+            if (degree == 0) {
+                return false;
+            }
+            double[] srcRank = this.srcRank;
+            int vectors = this.vectors;
+            int offset = (nodeId - startNode) * vectors;
+            boolean hasRank = false;
+            for (int i = 0; i < vectors; i++) {
+                double rank = pageRank[offset + i] / degree;
+                srcRank[i] = rank;
+                hasRank |= rank != 0.0;
+            }
+            return hasRank;
+        }
+    }
+
+    /**
+     * computes the scores of one range of nodes by pulling the
+     * contributions of their incoming neighbours
+     */
+    private static final class PullStep implements Runnable, RelationshipConsumer {
+
+        private final RelationshipIterator relationshipIterator;
+        private final double alpha;
+        private final double dampingFactor;
+        private final double[] pageRank;
+        private final int startNode;
+        private final int endNode;
+
+        private int[] outDegrees;
+        private double[] contributions;
+        private double[] nextContributions;
+        private double sum;
+        private double delta;
+
+        PullStep(
+                double dampingFactor,
+                RelationshipIterator relationshipIterator,
+                double[] pageRank,
+                int startNode,
+                int nodeCount) {
+            this.dampingFactor = dampingFactor;
+            this.alpha = 1.0 - dampingFactor;
+            this.relationshipIterator = relationshipIterator;
+            this.pageRank = pageRank;
+            this.startNode = startNode;
+            this.endNode = startNode + nodeCount;
+        }
+
+        /**
+         * count the out degree of every node which has an
+         * incoming relationship into this range
+         */
+        void countDegrees(AtomicIntegerArray degrees) {
+            for (int nodeId = startNode; nodeId < endNode; ++nodeId) {
+                relationshipIterator.forEachRelationship(
+                        nodeId,
+                        Direction.INCOMING,
+                        (sourceNodeId, targetNodeId, relationId) -> {
+                            degrees.incrementAndGet(targetNodeId);
+                            return true;
+                        });
+            }
+        }
+
+        void prepareIteration(
+                int[] outDegrees,
+                double[] contributions,
+                double[] nextContributions) {
+            this.outDegrees = outDegrees;
+            this.contributions = contributions;
+            this.nextContributions = nextContributions;
+        }
+
+        @Override
+        public void run() {
+            double alpha = this.alpha;
+            double dampingFactor = this.dampingFactor;
+            double[] pageRank = this.pageRank;
+            int[] outDegrees = this.outDegrees;
+            double[] nextContributions = this.nextContributions;
+            RelationshipIterator rels = this.relationshipIterator;
+
+            double delta = 0.0;
+            for (int nodeId = startNode; nodeId < endNode; ++nodeId) {
+                sum = 0.0;
+                rels.forEachRelationship(nodeId, Direction.INCOMING, this);
+                double rank = alpha + dampingFactor * sum;
+                delta += Math.abs(rank - pageRank[nodeId]);
+                pageRank[nodeId] = rank;
+                int degree = outDegrees[nodeId];
+                nextContributions[nodeId] = degree == 0 ? 0.0 : rank / degree;
+            }
+            this.delta = delta;
+        }
+
+        @Override
+        public boolean accept(
+                int sourceNodeId,
+                int targetNodeId,
+                long relationId) {
+            sum += contributions[targetNodeId];
+            return true;
         }
     }
 }
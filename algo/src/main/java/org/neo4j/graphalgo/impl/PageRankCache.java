@@ -0,0 +1,62 @@
+package org.neo4j.graphalgo.impl;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.LongDoubleMap;
+import org.neo4j.graphalgo.api.IdMapping;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory cache of page rank scores under a name. The scores are kept
+ * by neo4j node id so that a later computation on a freshly loaded graph
+ * can start from them, see {@link IncrementalPageRank}. The scores are kept
+ * until they are removed with {@code algo.pageRank.cache.remove}.
+ */
+public final class PageRankCache {
+
+    private static final ConcurrentMap<String, LongDoubleMap> SCORES = new ConcurrentHashMap<>();
+
+    /**
+     * store the scores of all nodes of the graph, replaces previous scores
+     */
+    public static void put(String name, IdMapping idMapping, double[] scores) {
+        Objects.requireNonNull(name);
+        final int nodeCount = idMapping.nodeCount();
+        final LongDoubleMap map = new LongDoubleHashMap(nodeCount);
+        for (int node = 0; node < nodeCount; node++) {
+            map.put(idMapping.toOriginalNodeId(node), scores[node]);
+        }
+        SCORES.put(name, map);
+    }
+
+    /**
+     * return the cached scores by mapped node id or null if there are no
+     * scores with that name. Nodes without a cached score get NaN.
+     */
+    public static double[] get(String name, IdMapping idMapping) {
+        final LongDoubleMap map = name == null ? null : SCORES.get(name);
+        if (map == null) {
+            return null;
+        }
+        final int nodeCount = idMapping.nodeCount();
+        final double[] scores = new double[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            scores[node] = map.getOrDefault(idMapping.toOriginalNodeId(node), Double.NaN);
+        }
+        return scores;
+    }
+
+    /**
+     * remove the scores with the given name
+     * @return true if there have been scores with that name
+     */
+    public static boolean remove(String name) {
+        return name != null && SCORES.remove(name) != null;
+    }
+
+    private PageRankCache() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -3,16 +3,17 @@ package org.neo4j.graphalgo.impl;
 import com.carrotsearch.hppc.IntArrayDeque;
 import com.carrotsearch.hppc.IntStack;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.core.utils.AtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.container.Paths;
 import org.neo4j.graphdb.Direction;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -20,6 +21,15 @@ import java.util.stream.Stream;
  * Implements Betweenness Centrality for unweighted graphs
  * as specified in <a href="http://www.algo.uni-konstanz.de/publications/b-fabc-01.pdf">this paper</a>
  * using node-partitioning
+ * <p>
+ * Besides computing the dependencies of all nodes the tasks can be restricted
+ * to a set of weighted source nodes or to randomly sampled shortest paths to
+ * compute an approximation, see {@link SampledBetweennessCentrality}.
+ * <p>
+ * Each task accumulates the dependencies of its sources into a local array.
+ * The local arrays are summed up into the centrality once all tasks are
+ * done, each node is written by one thread only. Each computation replaces
+ * the centrality of the previous one.
  *
  * @author mknblch
  */
@@ -29,8 +39,8 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
     private final Graph graph;
     // AI counts up for every node until nodeCount is reached
     private volatile AtomicInteger nodeQueue = new AtomicInteger();
-    // atomic double array which supports only atomic-add
-    private final AtomicDoubleArray centrality;
+    // the merged dependencies of all tasks
+    private final double[] centrality;
     // the node count
     private final int nodeCount;
     // global executor service
@@ -40,20 +50,32 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
 
     private final AtomicInteger percentDone = new AtomicInteger(0);
 
+    // source nodes of the current run, all nodes if null
+    private int[] sources;
+    // factor applied to the dependencies of each source, 1.0 if null
+    private double[] weights;
+    // number of sources or sampled paths of the current run
+    private int sourceCount;
+    // endpoints of sampled paths, null if dependencies are accumulated
+    private int[] pathEnds;
+    // value added to each inner node of a sampled path
+    private double pathWeight;
+    // seed for choosing a random shortest path
+    private long seed;
+
     /**
      * constructs a parallel centrality solver
      *
      * @param graph the graph iface
-     * @param scaleFactor factor used to scale up doubles to integers in AtomicDoubleArray
      * @param executorService the executor service
      * @param concurrency desired number of threads to spawn
      */
-    public ParallelBetweennessCentrality(Graph graph, double scaleFactor, ExecutorService executorService, int concurrency) {
+    public ParallelBetweennessCentrality(Graph graph, ExecutorService executorService, int concurrency) {
         this.graph = graph;
         this.nodeCount = graph.nodeCount();
         this.executorService = executorService;
         this.concurrency = concurrency;
-        this.centrality = new AtomicDoubleArray(graph.nodeCount(), scaleFactor);
+        this.centrality = new double[nodeCount];
     }
 
     /**
@@ -61,20 +83,92 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
      * @return itself for method chaining
      */
     public ParallelBetweennessCentrality compute() {
+        return compute(null, null, nodeCount);
+    }
+
+    /**
+     * compute the dependencies of the given source nodes only. The dependencies
+     * of each source are multiplied by its weight before they are added to the
+     * centrality.
+     *
+     * @param sources the source nodes
+     * @param weights the weight of each source
+     * @return itself for method chaining
+     */
+    public ParallelBetweennessCentrality compute(int[] sources, double[] weights) {
+        if (sources.length != weights.length) {
+            throw new IllegalArgumentException("Expected " + sources.length +
+                    " weights but got " + weights.length);
+        }
+        return compute(sources, weights, sources.length);
+    }
+
+    /**
+     * sample random shortest paths (Riondato-Kornaropoulos). For each pair of
+     * sources and targets a shortest path is chosen uniformly at random and
+     * each of its inner nodes gets pathWeight added to its centrality.
+     *
+     * @param sources start nodes of the paths
+     * @param targets end nodes of the paths
+     * @param pathWeight the value to add to each inner node of a path
+     * @param seed seed for choosing between shortest paths
+     * @return itself for method chaining
+     */
+    public ParallelBetweennessCentrality computePaths(int[] sources, int[] targets, double pathWeight, long seed) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("Expected " + sources.length +
+                    " targets but got " + targets.length);
+        }
+        this.pathEnds = targets;
+        this.pathWeight = pathWeight;
+        this.seed = seed;
+        try {
+            return compute(sources, null, sources.length);
+        } finally {
+            this.pathEnds = null;
+        }
+    }
+
+    private ParallelBetweennessCentrality compute(int[] sources, double[] weights, int sourceCount) {
+        this.sources = sources;
+        this.weights = weights;
+        this.sourceCount = sourceCount;
         nodeQueue.set(0);
-        final ArrayList<Future<?>> futures = new ArrayList<>();
+        final List<BCTask> tasks = new ArrayList<>(concurrency);
         for (int i = 0; i < concurrency; i++) {
-            futures.add(executorService.submit(new BCTask()));
+            tasks.add(new BCTask(seed + i));
         }
-        ParallelUtil.awaitTermination(futures);
+        ParallelUtil.run(tasks, executorService);
+        merge(tasks);
         return this;
     }
 
+    /**
+     * sum up the local dependencies of all tasks into the centrality,
+     * the node range is split between the threads
+     */
+    private void merge(List<BCTask> tasks) {
+        final IntConsumer merge = node -> {
+            double sum = 0.0;
+            for (BCTask task : tasks) {
+                sum += task.dependency[node];
+            }
+            centrality[node] = sum;
+        };
+        if (concurrency > 1 && nodeCount >= concurrency) {
+            ParallelUtil.iterateParallel(executorService, nodeCount, concurrency, merge);
+        } else {
+            for (int node = 0; node < nodeCount; node++) {
+                merge.accept(node);
+            }
+        }
+    }
+
     /**
      * get the centrality array
      * @return array with centrality
      */
-    public AtomicDoubleArray getCentrality() {
+    public double[] getCentrality() {
         return centrality;
     }
 
@@ -86,7 +180,7 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
      */
     public void forEach(BetweennessCentrality.ResultConsumer consumer) {
         for (int i = graph.nodeCount() - 1; i >= 0; i--) {
-            if (!consumer.consume(graph.toOriginalNodeId(i), centrality.get(i))) {
+            if (!consumer.consume(graph.toOriginalNodeId(i), centrality[i])) {
                 return;
             }
         }
@@ -101,7 +195,7 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
                 .mapToObj(nodeId ->
                         new BetweennessCentrality.Result(
                                 graph.toOriginalNodeId(nodeId),
-                                centrality.get(nodeId)));
+                                centrality[nodeId]));
     }
 
     @Override
@@ -111,7 +205,10 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
 
     /**
      * a BCTask takes one element from the nodeQueue as long as
-     * it is lower then nodeCount and calculates it's centrality
+     * it is lower then the number of sources and calculates the
+     * dependencies of the source or samples a path from it.
+     * The stack holds every node reached from the source, only
+     * those are reset before the next source.
      */
     private class BCTask implements Runnable {
 
@@ -119,69 +216,128 @@ public class ParallelBetweennessCentrality extends Algorithm<ParallelBetweenness
         private final IntStack stack;
         private final IntArrayDeque queue;
         private final double[] delta;
+        // dependencies of all sources of this task
+        private final double[] dependency;
         private final int[] sigma;
         private final int[] distance;
+        private final Random random;
+        // predecessor chosen while sampling a path
+        private int predecessor;
 
-        private BCTask() {
+        private BCTask(long seed) {
             this.paths = new Paths();
             this.stack = new IntStack();
             this.queue = new IntArrayDeque();
             this.sigma = new int[nodeCount];
             this.distance = new int[nodeCount];
+            Arrays.fill(distance, -1);
             this.delta = new double[nodeCount];
+            this.dependency = new double[nodeCount];
+            this.random = new Random(seed);
         }
 
         @Override
         public void run() {
             for (;;) {
                 reset();
-                final int startNodeId = nodeQueue.getAndIncrement();
-                if (startNodeId >= nodeCount) {
+                final int index = nodeQueue.getAndIncrement();
+                if (index >= sourceCount) {
                     return;
                 }
-                getProgressLogger().logProgress((double) startNodeId / (nodeCount - 1));
-                sigma[startNodeId] = 1;
-                distance[startNodeId] = 0;
-                queue.addLast(startNodeId);
-                while (!queue.isEmpty()) {
-                    int node = queue.removeLast();
-                    stack.push(node);
-                    graph.forEachRelationship(node, Direction.OUTGOING, (source, target, relationId) -> {
-                        if (distance[target] < 0) {
-                            queue.addLast(target);
-                            distance[target] = distance[node] + 1;
-                        }
-                        if (distance[target] == distance[node] + 1) {
-                            sigma[target] += sigma[node];
-                            paths.append(target, node);
-                        }
-                        return true;
-                    });
+                getProgressLogger().logProgress((double) index / (sourceCount - 1));
+                final int startNodeId = sources == null ? index : sources[index];
+                if (pathEnds != null) {
+                    samplePath(startNodeId, pathEnds[index]);
+                    continue;
                 }
-
-                while (!stack.isEmpty()) {
-                    int node = stack.pop();
+                final double weight = weights == null ? 1.0 : weights[index];
+                traverse(startNodeId, -1);
+                // visit in order of non-increasing distance, the
+                // start node at the bottom of the stack is skipped
+                final int[] nodes = stack.buffer;
+                for (int i = stack.size() - 1; i > 0; i--) {
+                    final int node = nodes[i];
                     paths.forEach(node, v -> {
                         delta[v] += (double) sigma[v] / (double) sigma[node] * (delta[node] + 1.0);
-                        if (node != startNodeId) {
-                            centrality.add(node, delta[node]);
-                        }
                         return true;
                     });
+                    // delta[node] is complete once all successors have been visited
+                    dependency[node] += weight * delta[node];
                 }
             }
         }
 
         /**
-         * reset local state
+         * bfs from the start node which counts the shortest paths and
+         * records the predecessors of each node. Stops at the target
+         * node if one is given. Each reached node is pushed onto the
+         * stack in the order of discovery which is the order of the bfs.
+         */
+        private void traverse(int startNodeId, int targetNodeId) {
+            sigma[startNodeId] = 1;
+            distance[startNodeId] = 0;
+            stack.push(startNodeId);
+            queue.addLast(startNodeId);
+            while (!queue.isEmpty()) {
+                int node = queue.removeFirst();
+                if (node == targetNodeId) {
+                    // all shortest paths to the target are known
+                    return;
+                }
+                graph.forEachRelationship(node, Direction.OUTGOING, (source, target, relationId) -> {
+                    if (distance[target] < 0) {
+                        queue.addLast(target);
+                        stack.push(target);
+                        distance[target] = distance[node] + 1;
+                    }
+                    if (distance[target] == distance[node] + 1) {
+                        sigma[target] += sigma[node];
+                        paths.append(target, node);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        /**
+         * choose one of the shortest paths between start and target uniformly
+         * at random by walking back from the target, each predecessor is chosen
+         * with a probability proportional to its number of shortest paths
+         */
+        private void samplePath(int startNodeId, int targetNodeId) {
+            traverse(startNodeId, targetNodeId);
+            if (distance[targetNodeId] < 0) {
+                return;
+            }
+            int node = targetNodeId;
+            while (node != startNodeId) {
+                final double[] threshold = {random.nextDouble() * sigma[node]};
+                paths.forEach(node, v -> {
+                    predecessor = v;
+                    threshold[0] -= sigma[v];
+                    return threshold[0] >= 0;
+                });
+                node = predecessor;
+                if (node != startNodeId) {
+                    dependency[node] += pathWeight;
+                }
+            }
+        }
+
+        /**
+         * reset the state of all nodes reached from the last source
          */
         private void reset() {
-            paths.clear();
+            final int[] nodes = stack.buffer;
+            for (int i = stack.size() - 1; i >= 0; i--) {
+                final int node = nodes[i];
+                sigma[node] = 0;
+                delta[node] = 0;
+                distance[node] = -1;
+                paths.clear(node);
+            }
             stack.clear();
             queue.clear();
-            Arrays.fill(sigma, 0);
-            Arrays.fill(delta, 0);
-            Arrays.fill(distance, -1);
         }
     }
 }
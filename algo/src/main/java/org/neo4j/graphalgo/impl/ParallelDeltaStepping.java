@@ -0,0 +1,387 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.container.Buckets;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * parallel non-negative single source shortest path algorithm
+ * using bucket-local batched relaxation
+ *
+ * Instead of submitting one task per edge like {@link ShortestPathDeltaStepping}
+ * each phase partitions the nodes of the current bucket into a few
+ * chunks. Each worker scans the outgoing edges of its chunk and collects
+ * relax-requests into primitive (target, cost) buffers which are applied
+ * in bulk afterwards. A phase therefore costs a handful of task submissions
+ * regardless of the number of edges.<br>
+ *
+ * light edges (cost &lt;= delta) are relaxed until the current bucket
+ * stays empty, heavy edges of all nodes removed from the bucket are
+ * relaxed once afterwards.
+ */
+public class ParallelDeltaStepping extends Algorithm<ParallelDeltaStepping> {
+
+    // default minimum number of frontier nodes per worker
+    public static final int DEFAULT_MIN_BATCH_SIZE = 1_000;
+
+    // distance array
+    private final AtomicIntegerArray distance;
+    // bucket impl
+    private final Buckets buckets;
+    // delta parameter
+    private final double delta;
+    private final int nodeCount;
+    // scaled delta
+    private int iDelta;
+
+    private final Graph graph;
+    // nodes of the current bucket
+    private final IntBuffer frontier;
+    // one worker per chunk, reused across phases
+    private final List<Worker> workers;
+    // tasks of the current phase
+    private final List<Runnable> tasks;
+    // list of futures of the current phase
+    private final List<Future<?>> futures;
+
+    private ExecutorService executorService;
+    private int concurrency = 1;
+    private int minBatchSize = DEFAULT_MIN_BATCH_SIZE;
+
+    // multiplier used to scale an double to int
+    private double multiplier = 100_000d; // double type is intended
+
+    public ParallelDeltaStepping(Graph graph, double delta) {
+        this.graph = graph;
+        this.delta = delta;
+        this.iDelta = (int) (multiplier * delta);
+        nodeCount = graph.nodeCount();
+        distance = new AtomicIntegerArray(nodeCount);
+        buckets = new Buckets(nodeCount);
+        frontier = new IntBuffer(1024);
+        workers = new ArrayList<>();
+        tasks = new ArrayList<>();
+        futures = new ArrayList<>();
+    }
+
+    /**
+     * Set Executor-service to enable concurrent evaluation.
+     *
+     * @param executorService the executor service or null do disable concurrent eval.
+     * @return itself for method chaining
+     */
+    public ParallelDeltaStepping withExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+        return this;
+    }
+
+    /**
+     * set the maximum number of chunks each bucket is split into
+     * @param concurrency number of concurrent workers
+     * @return itself for method chaining
+     */
+    public ParallelDeltaStepping withConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be >= 1");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * set the minimum number of frontier nodes per chunk, smaller
+     * frontiers are not split
+     * @param minBatchSize minimum chunk size
+     * @return itself for method chaining
+     */
+    public ParallelDeltaStepping withMinBatchSize(int minBatchSize) {
+        if (minBatchSize < 1) {
+            throw new IllegalArgumentException("minBatchSize must be >= 1");
+        }
+        this.minBatchSize = minBatchSize;
+        return this;
+    }
+
+    /**
+     * set the multiplier used to scale up double weights to integers
+     * @param multiplier the multiplier
+     * @return itself for method chaining
+     */
+    public ParallelDeltaStepping withMultiplier(int multiplier) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be >= 1");
+        }
+        this.multiplier = multiplier;
+        this.iDelta = (int) (multiplier * delta);
+        return this;
+    }
+
+    /**
+     * compute the shortest path
+     * @param startNode UNmapped (original) neo4j nodeId as starting point
+     * @return itself for method chaining
+     */
+    public ParallelDeltaStepping compute(long startNode) {
+
+        // reset
+        for (int i = 0; i < nodeCount; i++) {
+            distance.set(i, Integer.MAX_VALUE);
+        }
+        buckets.reset();
+        final int startNodeId = graph.toMappedNodeId(startNode);
+        distance.set(startNodeId, 0);
+        buckets.set(startNodeId, 0);
+
+        while (!buckets.isEmpty()) {
+            final int phase = buckets.nextNonEmptyBucket();
+            workers.forEach(Worker::clearHeavy);
+            // relax light edges until the bucket stays empty
+            while (drain(phase)) {
+                final int chunks = partition();
+                for (int i = 0; i < chunks; i++) {
+                    workers.get(i).clearLight();
+                }
+                submit(chunks, Worker::scan);
+                submit(chunks, Worker::applyLight);
+                submit(chunks, Worker::assignBuckets);
+            }
+            // relax heavy edges of each node removed from the bucket
+            submit(workers.size(), Worker::applyHeavy);
+            submit(workers.size(), Worker::assignBuckets);
+        }
+        return this;
+    }
+
+    /**
+     * move all nodes of the bucket into the frontier
+     * @param phase the bucket index
+     * @return true if the bucket contained any node, false otherwise
+     */
+    private boolean drain(int phase) {
+        frontier.clear();
+        buckets.forEachInBucket(phase, node -> {
+            frontier.add(node);
+            return true;
+        });
+        return frontier.size() > 0;
+    }
+
+    /**
+     * split the frontier into contiguous chunks and assign them to workers
+     * @return number of chunks
+     */
+    private int partition() {
+        final int size = frontier.size();
+        final int batchSize = ParallelUtil.adjustBatchSize(size, concurrency, minBatchSize);
+        final int chunks = ParallelUtil.threadSize(batchSize, size);
+        while (workers.size() < chunks) {
+            workers.add(new Worker());
+        }
+        for (int i = 0; i < chunks; i++) {
+            final int offset = i * batchSize;
+            workers.get(i).assign(offset, Math.min(size, offset + batchSize));
+        }
+        return chunks;
+    }
+
+    /**
+     * run the action on the first n workers and wait for them to finish
+     */
+    private void submit(int n, WorkerAction action) {
+        tasks.clear();
+        for (int i = 0; i < n; i++) {
+            final Worker worker = workers.get(i);
+            tasks.add(() -> action.run(worker));
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        ParallelUtil.run(tasks, executorService, futures);
+    }
+
+    /**
+     * compare and set. tries to store the new calculated costs
+     * as long as no other thread has already written a value
+     * smaller then cost.
+     *
+     * @param nodeId node id
+     * @param cost the summed cost
+     * @return true if the cost has been stored, false otherwise
+     */
+    private boolean relax(int nodeId, int cost) {
+        while (true) {
+            final int oldC = distance.get(nodeId);
+            if (cost >= oldC) {
+                return false;
+            }
+            if (distance.compareAndSet(nodeId, oldC, cost)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * get downscaled sum of distance
+     *
+     * @param nodeId the mapped node-id
+     * @return the overall distance from source to nodeId
+     */
+    private double get(int nodeId) {
+        return distance.get(nodeId) / multiplier;
+    }
+
+    /**
+     * scale down integer representation to double[]
+     * @return mapped-id to costSum array
+     */
+    public double[] getShortestPaths() {
+        double[] d = new double[nodeCount];
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            d[i] = get(i);
+        }
+        return d;
+    }
+
+    /**
+     * stream the results
+     * @return Stream of results containing neo4j-NodeId and Sum of Costs of the shortest path
+     */
+    public Stream<ShortestPathDeltaStepping.DeltaSteppingResult> resultStream() {
+        return IntStream.range(0, nodeCount)
+                .mapToObj(node ->
+                        new ShortestPathDeltaStepping.DeltaSteppingResult(graph.toOriginalNodeId(node), get(node)));
+    }
+
+    @Override
+    public ParallelDeltaStepping me() {
+        return this;
+    }
+
+    @FunctionalInterface
+    private interface WorkerAction {
+        void run(Worker worker);
+    }
+
+    /**
+     * per-chunk state. Collects relax requests of its frontier
+     * range and applies them afterwards.
+     */
+    private final class Worker {
+
+        // relax requests of light edges
+        private final IntBuffer lightTargets = new IntBuffer(1024);
+        private final IntBuffer lightCosts = new IntBuffer(1024);
+        // relax requests of heavy edges, kept until the bucket is settled
+        private final IntBuffer heavyTargets = new IntBuffer(1024);
+        private final IntBuffer heavyCosts = new IntBuffer(1024);
+        // nodes whose distance has been improved by this worker
+        private final IntBuffer updated = new IntBuffer(1024);
+        // frontier range
+        private int from, to;
+
+        private void assign(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void clearLight() {
+            lightTargets.clear();
+            lightCosts.clear();
+        }
+
+        private void clearHeavy() {
+            heavyTargets.clear();
+            heavyCosts.clear();
+        }
+
+        private void scan() {
+            for (int i = from; i < to; i++) {
+                final int node = frontier.get(i);
+                final int sourceCost = distance.get(node);
+                graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId, cost) -> {
+                    final int iCost = (int) (cost * multiplier + sourceCost);
+                    if (cost <= delta) { // determine if light or heavy edge
+                        lightTargets.add(targetNodeId);
+                        lightCosts.add(iCost);
+                    } else {
+                        heavyTargets.add(targetNodeId);
+                        heavyCosts.add(iCost);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        private void applyLight() {
+            apply(lightTargets, lightCosts);
+        }
+
+        private void applyHeavy() {
+            apply(heavyTargets, heavyCosts);
+        }
+
+        /**
+         * (re)assign each node with an improved distance to the bucket
+         * of its final distance. Runs after all relax requests of the
+         * step have been applied so concurrent writers agree on the bucket.
+         */
+        private void assignBuckets() {
+            for (int i = 0; i < updated.size(); i++) {
+                final int node = updated.get(i);
+                buckets.set(node, distance.get(node) / iDelta);
+            }
+            updated.clear();
+        }
+
+        private void apply(IntBuffer targets, IntBuffer costs) {
+            for (int i = 0; i < targets.size(); i++) {
+                final int target = targets.get(i);
+                if (relax(target, costs.get(i))) {
+                    updated.add(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * growable primitive int buffer
+     */
+    private static final class IntBuffer {
+
+        private int[] data;
+        private int size;
+
+        private IntBuffer(int initialCapacity) {
+            data = new int[initialCapacity];
+        }
+
+        private void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size + (size >> 1) + 1);
+            }
+            data[size++] = value;
+        }
+
+        private int get(int index) {
+            return data[index];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package org.neo4j.graphalgo.impl;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.IntStack;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
+import org.neo4j.graphalgo.results.SCCStreamResult;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Parallel strongly connected components without recursion.
+ * <p>
+ * The algorithm works on dense arrays only: a node is alive as long as it
+ * has no component, each step assigns components to some of the alive nodes.
+ * <ol>
+ * <li>trim: nodes without alive predecessor or successor (self loops aside)
+ * form an SCC of their own, repeated a few rounds</li>
+ * <li>forward-backward: the nodes reachable from a pivot with high
+ * in- times out-degree in both directions form its SCC, usually the giant one.
+ * Both traversals are level synchronous parallel BFS</li>
+ * <li>coloring: the highest node id is propagated along outgoing relationships
+ * until nothing changes. Each node which kept its own color is the root of
+ * an SCC which consists of the nodes of that color reaching the root backwards.
+ * The backward traversals of all roots run in parallel. Repeated with a trim
+ * in between until no node is left</li>
+ * </ol>
+ * The graph must be loaded with {@link Direction#BOTH}. Each node gets the id
+ * of one of its SCC members as component id, single nodes are SCCs as well.
+ * <p>
+ * More Info:
+ * <p>
+ * http://www.sandia.gov/~srajama/publications/BFS_and_Coloring.pdf
+ */
+public class ParallelSCC extends Algorithm<ParallelSCC> {
+
+    public static final int MAX_TRIM_ROUNDS = 8;
+
+    private final Graph graph;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final int minBatchSize;
+    private final int nodeCount;
+    // component of each node, -1 while alive
+    private final int[] components;
+    private final AtomicIntegerArray colors;
+    private final AtomicBitSet forward;
+    private final AtomicBitSet visited;
+
+    private int alive;
+    private int setCount;
+    private int minSetSize;
+    private int maxSetSize;
+
+    public ParallelSCC(Graph graph, ExecutorService executor, int minBatchSize, int concurrency) {
+        this.graph = graph;
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.minBatchSize = minBatchSize;
+        nodeCount = graph.nodeCount();
+        components = new int[nodeCount];
+        colors = new AtomicIntegerArray(nodeCount);
+        forward = new AtomicBitSet(nodeCount);
+        visited = new AtomicBitSet(nodeCount);
+    }
+
+    public ParallelSCC compute() {
+        Arrays.fill(components, -1);
+        alive = nodeCount;
+        trim();
+        forwardBackward();
+        trim();
+        while (alive > 0) {
+            color();
+            trim();
+        }
+        evaluateSets();
+        return this;
+    }
+
+    /**
+     * get connected components as nodeId -> component array. the
+     * component id is the mapped id of one of its nodes.
+     */
+    public int[] getConnectedComponents() {
+        return components;
+    }
+
+    public Stream<SCCStreamResult> resultStream() {
+        return IntStream.range(0, nodeCount)
+                .mapToObj(node ->
+                        new SCCStreamResult(graph.toOriginalNodeId(node), components[node]));
+    }
+
+    public int getSetCount() {
+        return setCount;
+    }
+
+    public int getMinSetSize() {
+        return minSetSize;
+    }
+
+    public int getMaxSetSize() {
+        return maxSetSize;
+    }
+
+    @Override
+    public ParallelSCC me() {
+        return this;
+    }
+
+    /**
+     * assign an own component to each node without alive predecessor or successor
+     */
+    private void trim() {
+        for (int round = 0; round < MAX_TRIM_ROUNDS && alive > 0; round++) {
+            // concurrently trimmed neighbours may be seen either way, both are correct
+            final int trimmed = runBatches(nodeCount, (from, to) -> {
+                final AliveNeighbour neighbour = new AliveNeighbour();
+                int count = 0;
+                for (int node = from; node < to; node++) {
+                    if (components[node] == -1 &&
+                            (!neighbour.test(node, Direction.OUTGOING) || !neighbour.test(node, Direction.INCOMING))) {
+                        components[node] = node;
+                        ++count;
+                    }
+                }
+                return count;
+            });
+            assigned(trimmed);
+            if (trimmed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * the SCC of the pivot is the intersection of its descendants and predecessors
+     */
+    private void forwardBackward() {
+        if (alive == 0) {
+            return;
+        }
+        final int pivot = pivot();
+        forward.clear();
+        traverse(pivot, Direction.OUTGOING, node -> components[node] == -1, forward, null);
+        visited.clear();
+        assigned(traverse(
+                pivot,
+                Direction.INCOMING,
+                node -> forward.get(node) && components[node] == -1,
+                visited,
+                node -> components[node] = pivot));
+    }
+
+    /**
+     * alive node with highest product of in- and out-degree
+     */
+    private int pivot() {
+        int pivot = -1;
+        long product = -1L;
+        for (int node = 0; node < nodeCount; node++) {
+            if (components[node] != -1) {
+                continue;
+            }
+            final long p = (long) graph.degree(node, Direction.OUTGOING) * graph.degree(node, Direction.INCOMING);
+            if (p > product) {
+                product = p;
+                pivot = node;
+            }
+        }
+        return pivot;
+    }
+
+    /**
+     * propagate the highest node id along outgoing relationships and extract
+     * the SCC of each node which kept its own color
+     */
+    private void color() {
+        int[] frontier = aliveNodes();
+        for (int node : frontier) {
+            colors.set(node, node);
+        }
+        int size = frontier.length;
+        visited.clear();
+        while (size > 0) {
+            final int[] current = frontier;
+            final List<Expand> tasks = new ArrayList<>();
+            final int batchSize = ParallelUtil.adjustBatchSize(size, concurrency, minBatchSize);
+            for (int offset = 0; offset < size; offset += batchSize) {
+                final int to = Math.min(size, offset + batchSize);
+                tasks.add(new Expand(current, offset, to) {
+
+                    private int color;
+
+                    @Override
+                    public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+                        if (components[targetNodeId] == -1 &&
+                                raise(targetNodeId, color) &&
+                                visited.trySet(targetNodeId)) {
+                            next.add(targetNodeId);
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    void expand(int node) {
+                        color = colors.get(node);
+                        graph.forEachRelationship(node, Direction.OUTGOING, this);
+                    }
+                });
+            }
+            ParallelUtil.run(tasks, executor);
+            frontier = concat(tasks);
+            size = frontier.length;
+            // sparse reset, a node may be queued again in the next round
+            for (int node : frontier) {
+                visited.unset(node);
+            }
+        }
+
+        final IntArrayList roots = new IntArrayList();
+        for (int node = 0; node < nodeCount; node++) {
+            if (components[node] == -1 && colors.get(node) == node) {
+                roots.add(node);
+            }
+        }
+        final int[] rootArray = roots.toArray();
+        assigned(runBatches(rootArray.length, (from, to) -> {
+            final IntStack stack = new IntStack();
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                count += backward(rootArray[i], stack);
+            }
+            return count;
+        }));
+    }
+
+    /**
+     * sequential backward traversal within the color of the root, nodes
+     * of other colors are never touched so the roots can run in parallel
+     */
+    private int backward(int root, IntStack stack) {
+        components[root] = root;
+        stack.push(root);
+        final int[] count = {1};
+        final RelationshipConsumer consumer = (sourceNodeId, targetNodeId, relationId) -> {
+            if (colors.get(targetNodeId) == root && components[targetNodeId] == -1) {
+                components[targetNodeId] = root;
+                stack.push(targetNodeId);
+                ++count[0];
+            }
+            return true;
+        };
+        while (!stack.isEmpty()) {
+            graph.forEachRelationship(stack.pop(), Direction.INCOMING, consumer);
+        }
+        return count[0];
+    }
+
+    /**
+     * level synchronous parallel BFS
+     *
+     * @param start    the start node
+     * @param direction the direction to follow
+     * @param admit    filter for nodes to visit
+     * @param visited  marks visited nodes, must be clear
+     * @param visitor  called once per visited node or null
+     * @return number of visited nodes
+     */
+    private int traverse(int start, Direction direction, IntPredicate admit, AtomicBitSet visited, IntConsumer visitor) {
+        visited.set(start);
+        if (visitor != null) {
+            visitor.accept(start);
+        }
+        int[] frontier = {start};
+        int count = 1;
+        while (frontier.length > 0) {
+            final int[] current = frontier;
+            final List<Expand> tasks = new ArrayList<>();
+            final int batchSize = ParallelUtil.adjustBatchSize(current.length, concurrency, minBatchSize);
+            for (int offset = 0; offset < current.length; offset += batchSize) {
+                tasks.add(new Expand(current, offset, Math.min(current.length, offset + batchSize)) {
+                    @Override
+                    public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+                        if (admit.test(targetNodeId) && visited.trySet(targetNodeId)) {
+                            if (visitor != null) {
+                                visitor.accept(targetNodeId);
+                            }
+                            next.add(targetNodeId);
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    void expand(int node) {
+                        graph.forEachRelationship(node, direction, this);
+                    }
+                });
+            }
+            ParallelUtil.run(tasks, executor);
+            frontier = concat(tasks);
+            count += frontier.length;
+        }
+        return count;
+    }
+
+    private int[] aliveNodes() {
+        final IntArrayList nodes = new IntArrayList(alive);
+        for (int node = 0; node < nodeCount; node++) {
+            if (components[node] == -1) {
+                nodes.add(node);
+            }
+        }
+        return nodes.toArray();
+    }
+
+    /**
+     * compare and set color only if the new color
+     * is greater then the existing
+     */
+    private boolean raise(int node, int color) {
+        while (true) {
+            final int current = colors.get(node);
+            if (color <= current) {
+                return false;
+            }
+            if (colors.compareAndSet(node, current, color)) {
+                return true;
+            }
+        }
+    }
+
+    private void assigned(int count) {
+        alive -= count;
+        getProgressLogger().logProgress(nodeCount - alive, nodeCount);
+    }
+
+    private void evaluateSets() {
+        final int[] sizes = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            sizes[components[node]]++;
+        }
+        setCount = 0;
+        minSetSize = nodeCount == 0 ? 0 : Integer.MAX_VALUE;
+        maxSetSize = 0;
+        for (int size : sizes) {
+            if (size == 0) {
+                continue;
+            }
+            ++setCount;
+            minSetSize = Math.min(minSetSize, size);
+            maxSetSize = Math.max(maxSetSize, size);
+        }
+    }
+
+    private static int[] concat(List<Expand> tasks) {
+        int size = 0;
+        for (Expand task : tasks) {
+            size += task.next.size();
+        }
+        final int[] nodes = new int[size];
+        int offset = 0;
+        for (Expand task : tasks) {
+            final int length = task.next.size();
+            System.arraycopy(task.next.buffer, 0, nodes, offset, length);
+            offset += length;
+        }
+        return nodes;
+    }
+
+    /**
+     * sum of the results of a task over all batches of [0, size)
+     */
+    private int runBatches(int size, RangeTask task) {
+        if (size == 0) {
+            return 0;
+        }
+        final int batchSize = ParallelUtil.adjustBatchSize(size, concurrency, minBatchSize);
+        final List<Batch> batches = new ArrayList<>();
+        for (int offset = 0; offset < size; offset += batchSize) {
+            batches.add(new Batch(task, offset, Math.min(size, offset + batchSize)));
+        }
+        ParallelUtil.run(batches, executor);
+        int sum = 0;
+        for (Batch batch : batches) {
+            sum += batch.result;
+        }
+        return sum;
+    }
+
+    @FunctionalInterface
+    private interface RangeTask {
+        int run(int from, int to);
+    }
+
+    private static final class Batch implements Runnable {
+
+        private final RangeTask task;
+        private final int from;
+        private final int to;
+        private int result;
+
+        private Batch(RangeTask task, int from, int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            result = task.run(from, to);
+        }
+    }
+
+    /**
+     * expands a part of the frontier into its own next frontier
+     */
+    private abstract static class Expand implements Runnable, RelationshipConsumer {
+
+        final IntArrayList next = new IntArrayList();
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+
+        private Expand(int[] frontier, int from, int to) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            for (int i = from; i < to; i++) {
+                expand(frontier[i]);
+            }
+        }
+
+        abstract void expand(int node);
+    }
+
+    /**
+     * checks for alive neighbours other than the node itself
+     */
+    private final class AliveNeighbour implements RelationshipConsumer {
+
+        private boolean found;
+
+        private boolean test(int node, Direction direction) {
+            found = false;
+            graph.forEachRelationship(node, direction, this);
+            return found;
+        }
+
+        @Override
+        public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+            if (targetNodeId != sourceNodeId && components[targetNodeId] == -1) {
+                found = true;
+            }
+            return !found;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.dss.ConcurrentDisjointSetStruct;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * parallel UnionFind on a single {@link ConcurrentDisjointSetStruct}.
+ *
+ * The nodes are split into batches, each task adds the relationships
+ * of its batch directly to the shared struct. Unlike merging one DSS
+ * per batch this needs no more memory than the sequential version.
+ */
+public class ParallelUnionFind extends Algorithm<ParallelUnionFind> {
+
+    private final Graph graph;
+    private final ExecutorService executor;
+    private final int nodeCount;
+    private final int batchSize;
+    private final ConcurrentDisjointSetStruct struct;
+
+    /**
+     * initialize parallel UF
+     */
+    public ParallelUnionFind(Graph graph, ExecutorService executor, int minBatchSize, int concurrency) {
+        this.graph = graph;
+        this.executor = executor;
+        nodeCount = graph.nodeCount();
+        this.batchSize = ParallelUtil.adjustBatchSize(nodeCount, concurrency, minBatchSize);
+        struct = new ConcurrentDisjointSetStruct(nodeCount);
+    }
+
+    /**
+     * compute unions of connected nodes
+     */
+    public ParallelUnionFind compute() {
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int offset = 0; offset < nodeCount; offset += batchSize) {
+            tasks.add(new UnionFindTask(offset));
+        }
+        ParallelUtil.run(tasks, executor);
+        return this;
+    }
+
+    /**
+     * compute unions if relationship weight exceeds threshold
+     * @param threshold the minimum threshold
+     */
+    public ParallelUnionFind compute(double threshold) {
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int offset = 0; offset < nodeCount; offset += batchSize) {
+            tasks.add(new ThresholdUnionFindTask(offset, threshold));
+        }
+        ParallelUtil.run(tasks, executor);
+        return this;
+    }
+
+    public ConcurrentDisjointSetStruct getStruct() {
+        return struct;
+    }
+
+    @Override
+    public ParallelUnionFind me() {
+        return this;
+    }
+
+    private class UnionFindTask implements Runnable {
+
+        protected final int offset;
+        protected final int end;
+
+        UnionFindTask(int offset) {
+            this.offset = offset;
+            this.end = Math.min(offset + batchSize, nodeCount);
+        }
+
+        @Override
+        public void run() {
+            for (int node = offset; node < end; node++) {
+                graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId) -> {
+                    struct.union(sourceNodeId, targetNodeId);
+                    return true;
+                });
+            }
+            getProgressLogger().logProgress((end - 1.0) / (nodeCount - 1.0));
+        }
+    }
+
+    private class ThresholdUnionFindTask extends UnionFindTask {
+
+        private final double threshold;
+
+        ThresholdUnionFindTask(int offset, double threshold) {
+            super(offset);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void run() {
+            for (int node = offset; node < end; node++) {
+                graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId, weight) -> {
+                    if (weight >= threshold) {
+                        struct.union(sourceNodeId, targetNodeId);
+                    }
+                    return true;
+                });
+            }
+            getProgressLogger().logProgress((end - 1.0) / (nodeCount - 1.0));
+        }
+    }
+}
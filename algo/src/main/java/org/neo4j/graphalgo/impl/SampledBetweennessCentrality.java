@@ -0,0 +1,307 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.logging.Log;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Approximation of Betweenness Centrality based on samples. Runs on the
+ * tasks of {@link ParallelBetweennessCentrality} and scales the sampled
+ * dependencies up to estimate the exact centrality.
+ * <p>
+ * Strategies:
+ * <ul>
+ * <li>UNIFORM: Brandes from a uniform random subset of the nodes, the dependencies
+ * are scaled by nodeCount / samples</li>
+ * <li>DEGREE: Brandes from sources drawn with a probability proportional to their
+ * out-degree, the dependencies of a source s are scaled by 1 / (samples * p(s))</li>
+ * <li>ADAPTIVE: samples random shortest paths between random pairs of nodes
+ * (Riondato, Kornaropoulos). The number of samples is derived from epsilon, delta
+ * and a bound of the vertex diameter so that with probability 1 - delta the error
+ * of each normalized centrality is at most epsilon</li>
+ * </ul>
+ */
+public class SampledBetweennessCentrality extends Algorithm<SampledBetweennessCentrality> {
+
+    public enum Strategy {
+        UNIFORM, DEGREE, ADAPTIVE
+    }
+
+    public static final double DEFAULT_EPSILON = 0.05;
+    public static final double DEFAULT_DELTA = 0.1;
+    // universal constant of the sample size bound
+    private static final double C = 0.5;
+
+    private final Graph graph;
+    private final int nodeCount;
+    private final ParallelBetweennessCentrality centrality;
+
+    private Strategy strategy = Strategy.UNIFORM;
+    private double probability;
+    private int samples = -1;
+    private double epsilon = DEFAULT_EPSILON;
+    private double delta = DEFAULT_DELTA;
+    private long seed = System.nanoTime();
+
+    private int sampleCount;
+
+    /**
+     * @param graph the graph iface
+     * @param executorService the executor service
+     * @param concurrency desired number of threads to spawn
+     */
+    public SampledBetweennessCentrality(Graph graph, ExecutorService executorService, int concurrency) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.centrality = new ParallelBetweennessCentrality(graph, executorService, concurrency);
+        this.probability = defaultProbability(nodeCount);
+    }
+
+    public SampledBetweennessCentrality withStrategy(Strategy strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * probability of a node to become a source, ignored if the
+     * number of samples is set or using the ADAPTIVE strategy
+     */
+    public SampledBetweennessCentrality withProbability(double probability) {
+        if (probability <= 0.0 || probability > 1.0) {
+            throw new IllegalArgumentException("Probability must be in (0, 1] but was " + probability);
+        }
+        this.probability = probability;
+        return this;
+    }
+
+    /**
+     * number of sources, ignored using the ADAPTIVE strategy
+     */
+    public SampledBetweennessCentrality withSamples(int samples) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Number of samples must be positive but was " + samples);
+        }
+        this.samples = samples;
+        return this;
+    }
+
+    /**
+     * maximum error of the normalized centrality (ADAPTIVE only)
+     */
+    public SampledBetweennessCentrality withEpsilon(double epsilon) {
+        if (epsilon <= 0.0 || epsilon >= 1.0) {
+            throw new IllegalArgumentException("Epsilon must be in (0, 1) but was " + epsilon);
+        }
+        this.epsilon = epsilon;
+        return this;
+    }
+
+    /**
+     * probability that the error exceeds epsilon (ADAPTIVE only)
+     */
+    public SampledBetweennessCentrality withDelta(double delta) {
+        if (delta <= 0.0 || delta >= 1.0) {
+            throw new IllegalArgumentException("Delta must be in (0, 1) but was " + delta);
+        }
+        this.delta = delta;
+        return this;
+    }
+
+    public SampledBetweennessCentrality withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * compute the approximated centrality
+     * @return itself for method chaining
+     */
+    public SampledBetweennessCentrality compute() {
+        // cleared for the cases without any samples
+        Arrays.fill(centrality.getCentrality(), 0.0);
+        if (nodeCount < 2) {
+            sampleCount = 0;
+            return this;
+        }
+        final Random random = new Random(seed);
+        switch (strategy) {
+            case UNIFORM:
+                uniform(random);
+                break;
+            case DEGREE:
+                degreeWeighted(random);
+                break;
+            case ADAPTIVE:
+                adaptive(random);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + strategy);
+        }
+        return this;
+    }
+
+    /**
+     * get the centrality array
+     * @return array with centrality
+     */
+    public double[] getCentrality() {
+        return centrality.getCentrality();
+    }
+
+    /**
+     * number of sources or sampled paths of the last computation
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * emit the result stream
+     * @return stream if Results
+     */
+    public Stream<BetweennessCentrality.Result> resultStream() {
+        final double[] centrality = getCentrality();
+        return IntStream.range(0, nodeCount)
+                .mapToObj(nodeId ->
+                        new BetweennessCentrality.Result(
+                                graph.toOriginalNodeId(nodeId),
+                                centrality[nodeId]));
+    }
+
+    @Override
+    public SampledBetweennessCentrality withLog(Log log) {
+        centrality.withLog(log);
+        return super.withLog(log);
+    }
+
+    @Override
+    public SampledBetweennessCentrality me() {
+        return this;
+    }
+
+    /**
+     * brandes from distinct sources drawn uniformly at random
+     */
+    private void uniform(Random random) {
+        final int k = samples > 0
+                ? Math.min(samples, nodeCount)
+                : Math.max(1, (int) Math.ceil(probability * nodeCount));
+        // partial fisher-yates shuffle
+        final int[] nodes = new int[nodeCount];
+        Arrays.setAll(nodes, i -> i);
+        for (int i = 0; i < k; i++) {
+            final int j = i + random.nextInt(nodeCount - i);
+            final int tmp = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = tmp;
+        }
+        final double[] weights = new double[k];
+        Arrays.fill(weights, (double) nodeCount / k);
+        sampleCount = k;
+        centrality.compute(Arrays.copyOf(nodes, k), weights);
+    }
+
+    /**
+     * brandes from sources drawn with replacement proportional to their out-degree.
+     * Sources without outgoing relationships have no dependencies and are never drawn.
+     */
+    private void degreeWeighted(Random random) {
+        final long[] cumulative = new long[nodeCount];
+        long sum = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            sum += graph.degree(node, Direction.OUTGOING);
+            cumulative[node] = sum;
+        }
+        if (sum == 0) {
+            sampleCount = 0;
+            return;
+        }
+        final int k = samples > 0
+                ? samples
+                : Math.max(1, (int) Math.ceil(probability * nodeCount));
+        final int[] sources = new int[k];
+        final double[] weights = new double[k];
+        for (int i = 0; i < k; i++) {
+            final int index = lowerBound(cumulative, (long) (random.nextDouble() * sum) + 1);
+            sources[i] = index;
+            weights[i] = (double) sum / ((double) k * graph.degree(index, Direction.OUTGOING));
+        }
+        sampleCount = k;
+        centrality.compute(sources, weights);
+    }
+
+    /**
+     * sample random shortest paths between random pairs of nodes, the number of
+     * samples is c / epsilon^2 * (floor(log2(VD - 2)) + 1 + ln(1 / delta))
+     */
+    private void adaptive(Random random) {
+        final int vertexDiameter = estimateVertexDiameter();
+        final double log2 = Math.floor(Math.log(Math.max(1, vertexDiameter - 2)) / Math.log(2));
+        final int r = (int) Math.ceil(C / (epsilon * epsilon) * (log2 + 1 + Math.log(1.0 / delta)));
+        final int[] sources = new int[r];
+        final int[] targets = new int[r];
+        for (int i = 0; i < r; i++) {
+            sources[i] = random.nextInt(nodeCount);
+            final int target = random.nextInt(nodeCount - 1);
+            targets[i] = target >= sources[i] ? target + 1 : target;
+        }
+        sampleCount = r;
+        // scale the estimate of the normalized centrality back
+        final double pathWeight = (double) nodeCount * (nodeCount - 1) / r;
+        centrality.computePaths(sources, targets, pathWeight, random.nextLong());
+    }
+
+    /**
+     * upper bound of the number of nodes on the longest shortest path. A directed
+     * shortest path can not leave its weakly connected component, so the size of
+     * the largest component is a bound which only needs the outgoing relationships.
+     * The sample size grows with its logarithm only.
+     */
+    private int estimateVertexDiameter() {
+        final DisjointSetStruct struct = new DisjointSetStruct(nodeCount).reset();
+        graph.forEachNode(node -> {
+            graph.forEachRelationship(node, Direction.OUTGOING, (source, target, relationId) -> {
+                struct.union(source, target);
+                return true;
+            });
+            return true;
+        });
+        final int[] sizes = new int[nodeCount];
+        int max = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            max = Math.max(max, ++sizes[struct.find(node)]);
+        }
+        return max;
+    }
+
+    /**
+     * find the first index whose value is greater or equal to the key
+     */
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * log10(nodeCount) / e^2
+     */
+    private static double defaultProbability(int nodeCount) {
+        return Math.min(1.0, Math.log10(nodeCount) / Math.exp(2));
+    }
+}
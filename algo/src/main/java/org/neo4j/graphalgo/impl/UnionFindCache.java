@@ -0,0 +1,47 @@
+package org.neo4j.graphalgo.impl;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory cache of union find results under a name. A cached
+ * result can be updated with the relationships which have been
+ * created since, see {@link IncrementalUnionFind}. The result is kept
+ * until it is removed with {@code algo.unionFind.cache.remove}.
+ */
+public final class UnionFindCache {
+
+    private static final ConcurrentMap<String, IncrementalUnionFind> SETS = new ConcurrentHashMap<>();
+
+    /**
+     * store the result, replaces a previous result with that name
+     */
+    public static void put(String name, IncrementalUnionFind unionFind) {
+        SETS.put(Objects.requireNonNull(name), unionFind);
+    }
+
+    /**
+     * return the result with the given name
+     * @throws IllegalArgumentException if there is no such result
+     */
+    public static IncrementalUnionFind get(String name) {
+        final IncrementalUnionFind unionFind = name == null ? null : SETS.get(name);
+        if (unionFind == null) {
+            throw new IllegalArgumentException("Unknown union find cache: " + name);
+        }
+        return unionFind;
+    }
+
+    /**
+     * remove the result with the given name
+     * @return true if there has been a result with that name
+     */
+    public static boolean remove(String name) {
+        return name != null && SETS.remove(name) != null;
+    }
+
+    private UnionFindCache() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
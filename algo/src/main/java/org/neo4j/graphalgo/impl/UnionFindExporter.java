@@ -1,21 +1,20 @@
 package org.neo4j.graphalgo.impl;
 
-import org.neo4j.collection.primitive.PrimitiveIntIterable;
-import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.graphalgo.api.BatchNodeIterable;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.utils.ParallelExporter;
 import org.neo4j.graphalgo.core.utils.ParallelGraphExporter;
-import org.neo4j.graphalgo.core.utils.ParallelUtil;
-import org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct;
 import org.neo4j.kernel.api.properties.DefinedProperty;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.concurrent.ExecutorService;
+import java.util.function.IntUnaryOperator;
 
-public final class UnionFindExporter extends ParallelExporter<DisjointSetStruct> {
+/**
+ * writes the set id of each node, e.g. {@code struct::find} of a
+ * {@link org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct}
+ */
+public final class UnionFindExporter extends ParallelExporter<IntUnaryOperator> {
 
     private final IdMapping idMapping;
     private final int propertyId;
@@ -33,11 +32,11 @@ public final class UnionFindExporter extends ParallelExporter<DisjointSetStruct>
     }
 
     @Override
-    protected ParallelGraphExporter newParallelExporter(DisjointSetStruct data) {
+    protected ParallelGraphExporter newParallelExporter(IntUnaryOperator setIds) {
         return (ParallelGraphExporter.Simple) ((ops, nodeId) -> {
             ops.nodeSetProperty(
                     idMapping.toOriginalNodeId(nodeId),
-                    DefinedProperty.doubleProperty(propertyId, data.find(nodeId))
+                    DefinedProperty.doubleProperty(propertyId, setIds.applyAsInt(nodeId))
             );
         });
     }
@@ -0,0 +1,257 @@
+package org.neo4j.graphalgo.impl;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.IntStack;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.container.Paths;
+import org.neo4j.graphalgo.core.utils.queue.IntMinPriorityQueue;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Implements Betweenness Centrality for weighted graphs. Like
+ * {@link ParallelBetweennessCentrality} but the shortest paths of each
+ * source are found by dijkstra instead of bfs. The weights are the costs
+ * of the relationships and must be positive.
+ * <p>
+ * The IntMinPriorityQueue keeps one cost per element, so instead of the node
+ * each queue entry gets its own id. A node whose distance decreases is added
+ * again and outdated entries are skipped when they are taken from the queue.
+ */
+public class WeightedBetweennessCentrality extends Algorithm<WeightedBetweennessCentrality> {
+
+    // the graph
+    private final Graph graph;
+    // AI counts up for every node until nodeCount is reached
+    private final AtomicInteger nodeQueue = new AtomicInteger();
+    // the merged dependencies of all tasks
+    private final double[] centrality;
+    // the node count
+    private final int nodeCount;
+    // global executor service
+    private final ExecutorService executorService;
+    // number of threads to spawn
+    private final int concurrency;
+
+    /**
+     * constructs a parallel weighted centrality solver
+     *
+     * @param graph the graph iface
+     * @param executorService the executor service
+     * @param concurrency desired number of threads to spawn
+     */
+    public WeightedBetweennessCentrality(Graph graph, ExecutorService executorService, int concurrency) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.executorService = executorService;
+        this.concurrency = Math.max(1, concurrency);
+        this.centrality = new double[nodeCount];
+    }
+
+    /**
+     * compute centrality
+     * @return itself for method chaining
+     * @throws IllegalArgumentException if a relationship weight is not positive
+     */
+    public WeightedBetweennessCentrality compute() {
+        nodeQueue.set(0);
+        final List<DijkstraTask> tasks = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            tasks.add(new DijkstraTask());
+        }
+        ParallelUtil.run(tasks, executorService);
+        merge(tasks);
+        return this;
+    }
+
+    /**
+     * sum up the local dependencies of all tasks into the centrality
+     */
+    private void merge(List<DijkstraTask> tasks) {
+        final IntConsumer merge = node -> {
+            double sum = 0.0;
+            for (DijkstraTask task : tasks) {
+                sum += task.dependency[node];
+            }
+            centrality[node] = sum;
+        };
+        if (concurrency > 1 && nodeCount >= concurrency) {
+            ParallelUtil.iterateParallel(executorService, nodeCount, concurrency, merge);
+        } else {
+            for (int node = 0; node < nodeCount; node++) {
+                merge.accept(node);
+            }
+        }
+    }
+
+    /**
+     * get the centrality array
+     * @return array with centrality
+     */
+    public double[] getCentrality() {
+        return centrality;
+    }
+
+    /**
+     * iterate over each result until every node has
+     * been visited or the consumer returns false
+     *
+     * @param consumer the result consumer
+     */
+    public void forEach(BetweennessCentrality.ResultConsumer consumer) {
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            if (!consumer.consume(graph.toOriginalNodeId(i), centrality[i])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * emit the result stream
+     * @return stream if Results
+     */
+    public Stream<BetweennessCentrality.Result> resultStream() {
+        return IntStream.range(0, nodeCount)
+                .mapToObj(nodeId ->
+                        new BetweennessCentrality.Result(
+                                graph.toOriginalNodeId(nodeId),
+                                centrality[nodeId]));
+    }
+
+    @Override
+    public WeightedBetweennessCentrality me() {
+        return this;
+    }
+
+    /**
+     * takes one source from the nodeQueue at a time, runs dijkstra
+     * from it and accumulates the dependencies of the settled nodes
+     * in reverse order. Only the nodes which have been settled are
+     * reset before the next source.
+     */
+    private class DijkstraTask implements Runnable {
+
+        private final Paths paths;
+        // settled nodes in order of non-decreasing distance
+        private final IntStack stack;
+        private final IntMinPriorityQueue queue;
+        // node of each queue entry
+        private final IntArrayList entries;
+        private final double[] distance;
+        private final double[] delta;
+        private final double[] dependency;
+        private final int[] sigma;
+        private final boolean[] settled;
+
+        private DijkstraTask() {
+            this.paths = new Paths();
+            this.stack = new IntStack();
+            this.queue = new IntMinPriorityQueue();
+            this.entries = new IntArrayList();
+            this.distance = new double[nodeCount];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.delta = new double[nodeCount];
+            this.dependency = new double[nodeCount];
+            this.sigma = new int[nodeCount];
+            this.settled = new boolean[nodeCount];
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                final int startNodeId = nodeQueue.getAndIncrement();
+                if (startNodeId >= nodeCount) {
+                    return;
+                }
+                getProgressLogger().logProgress((double) startNodeId / (nodeCount - 1));
+                dijkstra(startNodeId);
+                // the start node at the bottom of the stack is skipped
+                final int[] nodes = stack.buffer;
+                for (int i = stack.size() - 1; i > 0; i--) {
+                    final int node = nodes[i];
+                    paths.forEach(node, v -> {
+                        delta[v] += (double) sigma[v] / (double) sigma[node] * (delta[node] + 1.0);
+                        return true;
+                    });
+                    dependency[node] += delta[node];
+                }
+                reset();
+            }
+        }
+
+        /**
+         * count the shortest paths from the start node and record
+         * the predecessors of each node
+         */
+        private void dijkstra(int startNodeId) {
+            distance[startNodeId] = 0.0;
+            sigma[startNodeId] = 1;
+            enqueue(startNodeId, 0.0);
+            while (!queue.isEmpty()) {
+                final int node = entries.get(queue.pop());
+                if (settled[node]) {
+                    // outdated entry
+                    continue;
+                }
+                settled[node] = true;
+                stack.push(node);
+                final double sourceDistance = distance[node];
+                graph.forEachRelationship(node, Direction.OUTGOING, (source, target, relationId, weight) -> {
+                    // zero costs would settle nodes before all of their shortest paths are counted
+                    if (!(weight > 0.0)) {
+                        throw new IllegalArgumentException("Relationship weights must be positive, found " +
+                                weight + " between " + graph.toOriginalNodeId(source) +
+                                " and " + graph.toOriginalNodeId(target));
+                    }
+                    if (settled[target]) {
+                        return true;
+                    }
+                    final double targetDistance = sourceDistance + weight;
+                    if (targetDistance < distance[target]) {
+                        distance[target] = targetDistance;
+                        sigma[target] = sigma[node];
+                        paths.clear(target);
+                        paths.append(target, node);
+                        enqueue(target, targetDistance);
+                    } else if (targetDistance == distance[target]) {
+                        sigma[target] += sigma[node];
+                        paths.append(target, node);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        private void enqueue(int node, double cost) {
+            queue.add(entries.size(), cost);
+            entries.add(node);
+        }
+
+        /**
+         * reset the state of all settled nodes, every
+         * node which has been reached is also settled
+         */
+        private void reset() {
+            final int[] nodes = stack.buffer;
+            for (int i = stack.size() - 1; i >= 0; i--) {
+                final int node = nodes[i];
+                distance[node] = Double.POSITIVE_INFINITY;
+                delta[node] = 0.0;
+                sigma[node] = 0;
+                settled[node] = false;
+                paths.clear(node);
+            }
+            stack.clear();
+            entries.clear();
+        }
+    }
+}
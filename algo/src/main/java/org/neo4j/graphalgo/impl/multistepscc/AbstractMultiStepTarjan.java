@@ -1,13 +1,13 @@
 package org.neo4j.graphalgo.impl.multistepscc;
 
 import com.carrotsearch.hppc.*;
-import com.carrotsearch.hppc.procedures.IntProcedure;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
 import org.neo4j.graphdb.Direction;
 
 /**
  * Abstract impl. of Tarjan Strongly Connected Components
+ * restricted to a set of nodes
  *
  * @author mknblch
  */
@@ -24,27 +24,25 @@ public abstract class AbstractMultiStepTarjan {
     private IntStack stack;
     // current index
     private int index;
+    // the node set
+    private AtomicBitSet nodes;
 
     public AbstractMultiStepTarjan(Graph graph) {
         this.graph = graph;
     }
 
-    public AbstractMultiStepTarjan compute(IntSet nodes) {
-
-        indices = new IntIntScatterMap(nodes.size());
-        lowLink = new IntIntScatterMap(nodes.size());
-        stack = new IntStack(nodes.size());
+    public AbstractMultiStepTarjan compute(AtomicBitSet nodes) {
+        final int size = nodes.cardinality();
+        this.nodes = nodes;
+        indices = new IntIntScatterMap(size);
+        lowLink = new IntIntScatterMap(size);
+        stack = new IntStack(size);
         onStack = new BitSet();
-        nodes.forEach((IntProcedure) this::strongConnect);
-        return this;
-    }
-
-    private void reset() {
-        indices.clear();
-        lowLink.clear();
-        onStack.clear();
-        stack.clear();
         index = 0;
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            strongConnect(node);
+        }
+        return this;
     }
 
     private void strongConnect(int node) {
@@ -63,7 +61,7 @@ public abstract class AbstractMultiStepTarjan {
     }
 
     private void relax(int nodeId) {
-        IntHashSet connected = new IntHashSet();
+        final IntArrayList connected = new IntArrayList();
         int w;
         do {
             w = stack.pop();
@@ -74,6 +72,9 @@ public abstract class AbstractMultiStepTarjan {
     }
 
     private boolean accept(int source, int target, long edgeId) {
+        if (!nodes.get(target)) {
+            return true;
+        }
         if (!indices.containsKey(target)) {
             strongConnect(target);
             lowLink.put(source, Math.min(lowLink.get(source), lowLink.get(target)));
@@ -83,5 +84,5 @@ public abstract class AbstractMultiStepTarjan {
         return true;
     }
 
-    public abstract void processSCC(int root, IntHashSet connected);
+    public abstract void processSCC(int root, IntArrayList connected);
 }
@@ -1,20 +1,16 @@
 package org.neo4j.graphalgo.impl.multistepscc;
 
-import com.carrotsearch.hppc.*;
-import com.carrotsearch.hppc.cursors.IntCursor;
-import com.carrotsearch.hppc.procedures.IntProcedure;
+import com.carrotsearch.hppc.IntArrayList;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
-import org.neo4j.graphalgo.core.utils.container.FlipStack;
 import org.neo4j.graphdb.Direction;
-import org.neo4j.helpers.Exceptions;
 import org.neo4j.kernel.impl.util.collection.SimpleBitSet;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.IntPredicate;
 
@@ -26,6 +22,9 @@ import java.util.function.IntPredicate;
  * own nodeId. The algorithm itself builds weakly connected components
  * which are then merged with its predecessor set to get a SCC.
  *
+ * The node set is a bitset, colors are only propagated to nodes within the set.
+ * Each step expands the nodes whose color changed in the previous step.
+ *
  * More Info:
  *
  * http://www.sandia.gov/~srajama/publications/BFS_and_Coloring.pdf
@@ -41,9 +40,9 @@ public class MultiStepColoring {
     private final ExecutorService executorService;
     private final AtomicIntegerArray colors;
     private final AtomicBitSet visited;
-    private final List<Future<IntContainer>> futures = new ArrayList<>();
     private final int concurrency;
     private final int nodeCount;
+    private AtomicBitSet nodes;
 
     public MultiStepColoring(Graph graph, ExecutorService executorService, int concurrency) {
         this.graph = graph;
@@ -59,9 +58,10 @@ public class MultiStepColoring {
      * @param nodes set of nodes
      * @return self for method chaining
      * */
-    public MultiStepColoring compute(IntSet nodes) {
-        resetColors(nodes);
-        msColorParallel(nodes);
+    public MultiStepColoring compute(AtomicBitSet nodes) {
+        this.nodes = nodes;
+        final int[] frontier = resetColors();
+        msColorParallel(frontier);
         return this;
     }
 
@@ -70,14 +70,14 @@ public class MultiStepColoring {
     }
 
     /**
-     * for each distinct color
+     * for each distinct color of the nodes in the set
      *
      * @param consumer color consumer
      */
     public void forEachColor(IntPredicate consumer) {
         final SimpleBitSet bitSet = new SimpleBitSet(nodeCount);
-        for (int i = 0; i < nodeCount; i++) {
-            final int color = colors.get(i);
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            final int color = colors.get(node);
             if (!bitSet.contains(color)) {
                 bitSet.put(color);
                 if (!consumer.test(color)) {
@@ -89,151 +89,50 @@ public class MultiStepColoring {
 
     /**
      * parallel multistep coloring algorithm
-     * @param nodeSet
-     */
-    private void msColorParallel(IntSet nodeSet) {
-
-        final FlipStack flipStack = new FlipStack(nodeSet);
-
-        flipStack.flip();
-
-        while (!flipStack.isEmpty()) {
-            // reset result futures
-            futures.clear();
-            // calculate batch size
-            final int size = flipStack.popStack().size();
-            final int batchSize = Math.floorDiv(size, concurrency);
-            // no need for parallel exec.
-            if (concurrency <= 1 || batchSize < MIN_BATCH_SIZE) {
-                futures.add(executorService.submit(() -> msColorTask(flipStack.popStack())));
-            } else {
-                // split the actual nodeSet into batches
-                final Iterator<IntCursor> it = flipStack.popStack().iterator();
-                for (int i = 0; i < size; i += batchSize) {
-                    // creating partition must happen sequential
-                    final IntScatterSet partition = partition(it, batchSize);
-                    // enqueue partition
-                    futures.add(executorService.submit(() -> msColorTask(partition)));
-                }
-            }
-
-            // sync all results into the current pushStack
-            flipStack.pushStack().clear();
-            union(flipStack.pushStack(), futures);
-            // flip the stack so pushStack becomes popStack and vice versa
-            flipStack.flip();
-        }
-    }
-
-    /**
-     * multistep coloring algorithm task
      *
-     * @param nodes nodes to process
-     * @return container with nodes which must be processed in the next step
+     * @param frontier all nodes of the set
      */
-    private IntContainer msColorTask(IntContainer nodes) {
-
-        final IntStack levelQueue = new IntStack(nodes.size());
-
-        nodes.forEach((IntProcedure) node -> {
-            final int nodeColor = colors.get(node);
-            final boolean[] change = {false};
-            graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId) -> {
-                if (cas(targetNodeId, nodeColor)) {
-                    if (!visited.get(targetNodeId)) {
-                        visited.set(targetNodeId);
-                        levelQueue.push(targetNodeId);
-                        change[0] = true;
-                    }
-                }
-                return true;
-            });
-            if (change[0] && !visited.get(node)) {
-                levelQueue.push(node);
-                visited.set(node);
+    private void msColorParallel(int[] frontier) {
+        visited.clear();
+        while (frontier.length > 0) {
+            // calculate batch size, no need for parallel exec. on small frontiers
+            final int batchSize = concurrency <= 1
+                    ? frontier.length
+                    : ParallelUtil.adjustBatchSize(frontier.length, concurrency, MIN_BATCH_SIZE);
+            final List<ColorTask> tasks = new ArrayList<>();
+            for (int offset = 0; offset < frontier.length; offset += batchSize) {
+                tasks.add(new ColorTask(frontier, offset, Math.min(frontier.length, offset + batchSize)));
+            }
+            ParallelUtil.run(tasks, executorService);
+            frontier = concat(tasks);
+            // a node may change again in the next step
+            for (int node : frontier) {
+                visited.unset(node);
             }
-        });
-
-        return levelQueue;
-    }
-
-    /**
-     * sequential impl. based on a flippable stack
-     *
-     * @param nodes
-     */
-    private void msColorSequential(IntSet nodes) {
-
-        final FlipStack queue = new FlipStack(nodes.size());
-        queue.addAll(nodes);
-        queue.flip();
-
-        while (!queue.isEmpty()) {
-            queue.forEach(node -> {
-                final int nodeColor = colors.get(node);
-                final boolean[] change = {false};
-                graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId) -> {
-                    if (cas(targetNodeId, nodeColor)) {
-                        if (!visited.get(targetNodeId)) {
-                            visited.set(targetNodeId);
-                            queue.push(targetNodeId);
-                            change[0] = true;
-                        }
-                    }
-                    return true;
-                });
-                if (change[0] && !visited.get(node)) {
-                    queue.push(node);
-                    visited.set(node);
-                }
-            });
-            queue.popStack().clear();
-            queue.flip();
         }
-
-    }
-
-    /**
-     * simple coloring impl.
-     *
-     * @param nodes
-     */
-    private void simpleColor(IntSet nodes) {
-
-        final boolean[] changed = {false};
-        do {
-            changed[0] = false;
-            nodes.forEach((IntProcedure) node -> {
-                final int nodeColor = colors.get(node);
-                // for each <v, u> in E(V) (direction not specified)
-                graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId) -> {
-                    if (cas(targetNodeId, nodeColor)) {
-                        changed[0] = true;
-                    }
-                    return true;
-                });
-            });
-
-        } while (changed[0]);
     }
 
-    private void resetColors(IntContainer nodes) {
-        nodes.forEach((IntProcedure) node -> colors.set(node, node));
+    private int[] resetColors() {
+        final IntArrayList frontier = new IntArrayList();
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            colors.set(node, node);
+            frontier.add(node);
+        }
+        return frontier.toArray();
     }
 
-    /**
-     * extracts a node partition
-     *
-     * @param it the node iterator
-     * @param batchSize the maximum batch size
-     * @return a batch of nodes with elements <= batchSize
-     */
-    private IntScatterSet partition(Iterator<IntCursor> it, int batchSize) {
-        final IntScatterSet partition = new IntScatterSet(batchSize);
-        for (int j = 0; j < batchSize && it.hasNext(); j++) {
-            partition.add(it.next().value);
+    private static int[] concat(List<ColorTask> tasks) {
+        int size = 0;
+        for (ColorTask task : tasks) {
+            size += task.next.size();
+        }
+        final int[] nodes = new int[size];
+        int offset = 0;
+        for (ColorTask task : tasks) {
+            System.arraycopy(task.next.buffer, 0, nodes, offset, task.next.size());
+            offset += task.next.size();
         }
-        return partition;
+        return nodes;
     }
 
     /**
@@ -258,36 +157,39 @@ public class MultiStepColoring {
     }
 
     /**
-     * union all IntContainer from futures into ret set
-     * @param ret result set
-     * @param futures
-     * @return
+     * multistep coloring algorithm task, pushes the color of each
+     * node of its batch to its successors
      */
-    private void union(IntStack ret, Collection<Future<IntContainer>> futures) {
-        boolean done = false;
-        Throwable error = null;
-        try {
-            for (Future<IntContainer> future : futures) {
-                try {
-                    future.get().forEach((IntProcedure) ret::add);
-                } catch (ExecutionException ee) {
-                    error = Exceptions.chain(error, ee.getCause());
-                } catch (CancellationException ignore) {
-                }
-            }
-            done = true;
-        } catch (InterruptedException e) {
-            error = Exceptions.chain(e, error);
-        } finally {
-            if (!done) {
-                for (final Future<?> future : futures) {
-                    future.cancel(true);
-                }
+    private final class ColorTask implements Runnable, RelationshipConsumer {
+
+        // nodes which must be processed in the next step
+        private final IntArrayList next = new IntArrayList();
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private int nodeColor;
+
+        private ColorTask(int[] frontier, int from, int to) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            for (int i = from; i < to; i++) {
+                final int node = frontier[i];
+                nodeColor = colors.get(node);
+                graph.forEachRelationship(node, Direction.OUTGOING, this);
             }
         }
-        if (error != null) {
-            throw Exceptions.launderedException(error);
+
+        @Override
+        public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+            if (nodes.get(targetNodeId) && cas(targetNodeId, nodeColor) && visited.trySet(targetNodeId)) {
+                next.add(targetNodeId);
+            }
+            return true;
         }
     }
-
 }
@@ -1,10 +1,8 @@
 package org.neo4j.graphalgo.impl.multistepscc;
 
-import com.carrotsearch.hppc.IntScatterSet;
-import com.carrotsearch.hppc.IntSet;
-import com.carrotsearch.hppc.procedures.IntProcedure;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.core.utils.traverse.ParallelLocalQueueBFS;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
+import org.neo4j.graphalgo.core.utils.traverse.Traverse;
 import org.neo4j.graphdb.Direction;
 
 import java.util.concurrent.ExecutorService;
@@ -17,32 +15,47 @@ import java.util.concurrent.ExecutorService;
  * OUTGOING connections with its predecessor-set of reachable nodes using
  * only INCOMING relationships. Its intersection builds a SCC.
  *
+ * All node sets are bitsets, the backward traversal only visits
+ * descendants so it yields the intersection directly. Both traversals
+ * use the direction optimizing {@link Traverse}, the graph must
+ * contain both directions.
+ *
  * @author mknblch
  */
 public class MultiStepFWBW {
 
     private final Graph graph;
-    private final ParallelLocalQueueBFS traverse;
+    private final Traverse traverse;
+    private final AtomicBitSet descendant;
+    private final AtomicBitSet rootSCC;
     private int root;
 
     public MultiStepFWBW(Graph graph, ExecutorService executorService, int concurrency) {
         this.graph = graph;
-        traverse = new ParallelLocalQueueBFS(graph, executorService, concurrency);
+        traverse = new Traverse(graph, executorService, concurrency);
+        descendant = new AtomicBitSet(graph.nodeCount());
+        rootSCC = new AtomicBitSet(graph.nodeCount());
     }
 
-    public IntSet compute(IntSet nodes) {
+    /**
+     * compute the SCC of the pivot node
+     *
+     * @param nodes the node set
+     * @return the SCC, the set is reused by the next call
+     */
+    public AtomicBitSet compute(AtomicBitSet nodes) {
+        descendant.clear();
+        rootSCC.clear();
         root = pivot(nodes);
+        if (root == -1) {
+            return rootSCC;
+        }
         // D <- BFS( G(V,E(V)), v)
-        final IntScatterSet descendant = new IntScatterSet();
-        traverse.bfs(root, Direction.OUTGOING, nodes::contains, descendant::add)
-                .awaitTermination();
-        // ST <- BFS( G(V, E'(V)), v)
-        final IntSet rootSCC = new IntScatterSet();
         traverse.reset()
-                .bfs(root, Direction.INCOMING, descendant::contains, rootSCC::add)
-                .awaitTermination();
-        // SCC <- V & ST
-        rootSCC.retainAll(descendant);
+                .bfs(root, Direction.OUTGOING, nodes::get, descendant::set);
+        // SCC <- BFS( G(D, E'(D)), v)
+        traverse.reset()
+                .bfs(root, Direction.INCOMING, descendant::get, rootSCC::set);
         return rootSCC;
     }
 
@@ -59,17 +72,18 @@ public class MultiStepFWBW {
      * v E V for which Din(V) * Dout(V) is max
      *
      * @param set the nodeSet
-     * @return the nodeId
+     * @return the nodeId or -1 if the set is empty
      */
-    private int pivot(IntSet set) {
-        int product = 0;
-        int pivot[] = {0};
-        set.forEach((IntProcedure) node -> {
-            final int p = graph.degree(node, Direction.OUTGOING) * graph.degree(node, Direction.INCOMING);
+    private int pivot(AtomicBitSet set) {
+        long product = -1L;
+        int pivot = -1;
+        for (int node = set.nextSetBit(0); node >= 0; node = set.nextSetBit(node + 1)) {
+            final long p = (long) graph.degree(node, Direction.OUTGOING) * graph.degree(node, Direction.INCOMING);
             if (p > product) {
-                pivot[0] = node;
+                product = p;
+                pivot = node;
             }
-        });
-        return pivot[0];
+        }
+        return pivot;
     }
 }
@@ -1,14 +1,9 @@
 package org.neo4j.graphalgo.impl.multistepscc;
 
-import com.carrotsearch.hppc.IntHashSet;
-import com.carrotsearch.hppc.IntScatterSet;
-import com.carrotsearch.hppc.IntSet;
-import com.carrotsearch.hppc.cursors.IntCursor;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
 import org.neo4j.graphdb.Direction;
 
-import java.util.Iterator;
-
 /**
  * MultiStep SCC trimming algorithm. Removes trivial non-strongly connected
  * components. Its result is a set of nodes without trivial weakly connected nodes
@@ -28,6 +23,8 @@ import java.util.Iterator;
  * Once initialized with all degrees I do update only it's in- and out- degrees to determine
  * if a node got decoupled in the previous iteration.
  *
+ * The resulting node set is a bitset, removing a node just clears its bit.
+ *
  * @author mknblch
  */
 public class MultiStepTrim {
@@ -37,7 +34,7 @@ public class MultiStepTrim {
     // overall node count
     private final int nodeCount;
     // initial node set
-    private final IntSet nodes;
+    private final AtomicBitSet nodes;
 
     // auxiliary arrays for nodeCounts
     private final int[] inDegree;
@@ -46,7 +43,7 @@ public class MultiStepTrim {
     public MultiStepTrim(Graph graph) {
         this.graph = graph;
         nodeCount = graph.nodeCount();
-        nodes = new IntHashSet();
+        nodes = new AtomicBitSet(nodeCount);
         inDegree = new int[nodeCount];
         outDegree = new int[nodeCount];
     }
@@ -56,7 +53,7 @@ public class MultiStepTrim {
      * @param complete determine if complete or simple trimming should be made
      * @return set of nodes without trivial weakly connected components
      */
-    public IntSet compute(boolean complete) {
+    public AtomicBitSet compute(boolean complete) {
         reset();
         trim(complete);
         return nodes;
@@ -66,8 +63,9 @@ public class MultiStepTrim {
      * reset auxiliary degree arrays
      */
     private void reset() {
+        nodes.clear();
         for (int i = nodeCount - 1; i >= 0; i--) {
-            nodes.add(i);
+            nodes.set(i);
             inDegree[i] = graph.degree(i, Direction.INCOMING);
             outDegree[i] = graph.degree(i, Direction.OUTGOING);
         }
@@ -81,26 +79,24 @@ public class MultiStepTrim {
      *                 does only one iteration otherwise
      */
     private void trim(boolean complete) {
-        final IntScatterSet remove = new IntScatterSet();
         boolean changes; // tells whether the last iteration changed the graph
         final boolean[] filter = {false};
         do {
             changes = false;
-            for(Iterator<IntCursor> it = nodes.iterator(); it.hasNext(); ) {
-                final int node = it.next().value;
+            for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
                 filter[0] = false;
                 // rm nodes without incoming arcs and update target degrees
                 if (inDegree[node] == 0) {
                     graph.forEachRelationship(node, Direction.OUTGOING, (sourceNodeId, targetNodeId, relationId) -> {
-                        outDegree[targetNodeId]--;
+                        inDegree[targetNodeId]--;
                         return true;
                     });
                     filter[0] = true;
                 }
-                // rm nodes without outgoing arcs and update target degrees
+                // rm nodes without outgoing arcs and update source degrees
                 if (outDegree[node] == 0) {
                     graph.forEachRelationship(node, Direction.INCOMING, (sourceNodeId, targetNodeId, relationId) -> {
-                        inDegree[targetNodeId]--;
+                        outDegree[targetNodeId]--;
                         return true;
                     });
                     filter[0] = true;
@@ -117,12 +113,10 @@ public class MultiStepTrim {
                 }
                 // remove
                 if (filter[0]) {
-                    remove.add(node);
+                    nodes.unset(node);
                 }
                 changes |= filter[0];
             }
-            // unfortunately the iterator does not support removing
-            nodes.removeAll(remove);
         } while (changes && complete);
     }
 }
@@ -1,15 +1,16 @@
 package org.neo4j.graphalgo.impl.multistepscc;
 
-import com.carrotsearch.hppc.*;
-import com.carrotsearch.hppc.procedures.IntProcedure;
+import com.carrotsearch.hppc.IntArrayList;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.core.utils.traverse.ParallelLocalQueueBFS;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
+import org.neo4j.graphalgo.core.utils.traverse.Traverse;
 import org.neo4j.graphalgo.impl.Algorithm;
 import org.neo4j.graphalgo.results.SCCStreamResult;
 import org.neo4j.graphdb.Direction;
 
 import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -36,6 +37,9 @@ import java.util.stream.Stream;
  * continues with the next color/scc-element until the nodeCount falls under a threshold.
  * Sequential Tarjan algorithm is then used to extract remaining SCCs of the nodeSet until
  * no more set can be build.
+ * <p>
+ * The nodeSet is a concurrent bitset, removing a node is a bit clear and iterating
+ * the set scans its words.
  *
  * @author mknblch
  */
@@ -44,7 +48,7 @@ public class MultistepSCC extends Algorithm<MultistepSCC> {
     // the graph
     private final Graph graph;
     // parallel BFS impl.
-    private final ParallelLocalQueueBFS traverse;
+    private final Traverse traverse;
     // parallel multistep coloring algo
     private final MultiStepColoring coloring;
     // cutoff value (threshold for sequential tarjan)
@@ -70,11 +74,14 @@ public class MultistepSCC extends Algorithm<MultistepSCC> {
         trimming = new MultiStepTrim(graph);
         coloring = new MultiStepColoring(graph, executorService, concurrency);
         fwbw = new MultiStepFWBW(graph, executorService, concurrency);
-        traverse = new ParallelLocalQueueBFS(graph, executorService, concurrency);
+        traverse = new Traverse(graph, executorService, concurrency);
         tarjan = new AbstractMultiStepTarjan(graph) {
             @Override
-            public void processSCC(int root, IntHashSet connected) {
-                MultistepSCC.this.processSCC(root, connected);
+            public void processSCC(int root, IntArrayList connected) {
+                for (int i = 0; i < connected.size(); i++) {
+                    connectedComponents[connected.get(i)] = root;
+                }
+                MultistepSCC.this.processSCC(connected.size());
             }
         };
         nodeCount = graph.nodeCount();
@@ -88,25 +95,32 @@ public class MultistepSCC extends Algorithm<MultistepSCC> {
         setCount = 0;
         Arrays.fill(connectedComponents, -1);
         // V <- simpleTrim (V)
-        final IntSet nodeSet = trimming.compute(false);
-        final IntSet rootSCC = fwbw.compute(nodeSet);
-        // rootSCC should be biggest SCC
-        processSCC(fwbw.getRoot(), rootSCC);
-        // V <- V \ SCC
-        nodeSet.removeAll((IntLookupContainer) rootSCC);
-        // compute colors of the resulting node set
-        coloring.compute(nodeSet);
-        final AtomicIntegerArray colors = coloring.getColors();
-        // backward coloring until cutoff threshold is reached
-        coloring.forEachColor(color -> {
-            // SCC(cv) <- PREDECESSOR( V(cv), c)
-            final IntSet scc = pred(nodeSet, colors, color); // TODO we could start pred(..) asynchronously
-            processSCC(color, scc);
-            // V <- V \ SCCc
-            nodeSet.removeAll((IntLookupContainer) scc);
-            // check threshold
-            return nodeSet.size() > cutOff;
-        });
+        final AtomicBitSet nodeSet = trimming.compute(false);
+        final AtomicBitSet rootSCC = fwbw.compute(nodeSet);
+        // rootSCC should be biggest SCC, V <- V \ SCC
+        final int root = fwbw.getRoot();
+        int rootSize = 0;
+        for (int node = rootSCC.nextSetBit(0); node >= 0; node = rootSCC.nextSetBit(node + 1)) {
+            connectedComponents[node] = root;
+            nodeSet.unset(node);
+            rootSize++;
+        }
+        processSCC(rootSize);
+        final int[] remaining = {nodeSet.cardinality()};
+        if (remaining[0] > cutOff) {
+            // compute colors of the resulting node set
+            coloring.compute(nodeSet);
+            final AtomicIntegerArray colors = coloring.getColors();
+            // backward coloring until cutoff threshold is reached
+            coloring.forEachColor(color -> {
+                // SCC(cv) <- PREDECESSOR( V(cv), c), V <- V \ SCCc
+                final int size = pred(nodeSet, colors, color);
+                processSCC(size);
+                remaining[0] -= size;
+                // check threshold
+                return remaining[0] > cutOff;
+            });
+        }
         // nodeSet size below threshold, do sequential tarjan
         tarjan.compute(nodeSet);
         return this;
@@ -147,43 +161,40 @@ public class MultistepSCC extends Algorithm<MultistepSCC> {
     }
 
     /**
-     * process a SCC if found (may be empty)
+     * update the set statistics with a SCC if found (may be empty)
      *
-     * @param root
-     * @param elements
+     * @param size number of nodes in the set
      */
-    private void processSCC(int root, IntSet elements) {
-        if (elements.isEmpty()) {
+    private void processSCC(int size) {
+        if (size == 0) {
             return;
         }
-        minSetSize = Math.min(minSetSize, elements.size());
-        maxSetSize = Math.max(maxSetSize, elements.size());
+        minSetSize = Math.min(minSetSize, size);
+        maxSetSize = Math.max(maxSetSize, size);
         setCount++;
-        elements.forEach((IntProcedure) node -> connectedComponents[node] = root);
     }
 
     /**
      * traverse backwards and collect all connected nodes with the same color
-     * as the start node id ( start color )
+     * as the start node id ( start color ). Each of them is assigned to the
+     * set and removed from the node set.
      *
-     * @param nodes
+     * @param nodes the node set
      * @param cv    denotes the startNodeId and the color
-     * @return set with all nodes reachable backwards with the same color as the startNode (is an SCC)
+     * @return number of nodes reachable backwards with the same color as the startNode (is an SCC)
      */
-    private IntSet pred(final IntSet nodes, AtomicIntegerArray colors, final int cv) {
-        final IntScatterSet set = new IntScatterSet();
+    private int pred(final AtomicBitSet nodes, AtomicIntegerArray colors, final int cv) {
+        final AtomicInteger size = new AtomicInteger();
         traverse.reset()
-                .bfs(cv, Direction.INCOMING, nodes::contains, node -> {
-                    if (colors.get(node) == cv) {
-                        set.add(node);
-                    }
-                })
-                .awaitTermination();
-
-        return set;
+                .bfs(cv, Direction.INCOMING, node -> nodes.get(node) && colors.get(node) == cv, node -> {
+                    // the node has been marked as visited already
+                    connectedComponents[node] = cv;
+                    nodes.unset(node);
+                    size.incrementAndGet();
+                });
+        return size.get();
     }
 
-
     @Override
     public MultistepSCC me() {
         return this;
@@ -0,0 +1,54 @@
+package org.neo4j.graphalgo.results;
+
+/**
+ * result of algo.bfs
+ */
+public class BFSResult {
+
+    public final Long loadMillis;
+    public final Long computeMillis;
+    public final Long writeMillis;
+    public final Long nodes;
+    public final Long maxDepth;
+
+    public BFSResult(Long loadMillis,
+                     Long computeMillis,
+                     Long writeMillis,
+                     Long nodes,
+                     Long maxDepth) {
+        this.loadMillis = loadMillis;
+        this.computeMillis = computeMillis;
+        this.writeMillis = writeMillis;
+        this.nodes = nodes;
+        this.maxDepth = maxDepth;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder extends AbstractResultBuilder<BFSResult> {
+
+        private long nodes;
+        private long maxDepth;
+
+        public Builder withNodes(long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        public Builder withMaxDepth(long maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        @Override
+        public BFSResult build() {
+            return new BFSResult(loadDuration,
+                    evalDuration,
+                    writeDuration,
+                    nodes,
+                    maxDepth);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.neo4j.graphalgo.results;
+
+/**
+ * result of removing a cached algorithm result
+ */
+public class CacheResult {
+
+    public final String name;
+    public final boolean removed;
+
+    public CacheResult(String name, boolean removed) {
+        this.name = name;
+        this.removed = removed;
+    }
+}
@@ -0,0 +1,50 @@
+package org.neo4j.graphalgo.results;
+
+import org.neo4j.graphalgo.core.GraphCatalog;
+
+public class GraphCatalogResult {
+
+    public final String name;
+    public final String direction;
+    public final long nodes;
+    public final long relationships;
+    public final long estimatedBytes;
+    public final long totalBytes;
+    public final long loadMillis;
+    public final boolean exists;
+
+    private GraphCatalogResult(
+            String name,
+            String direction,
+            long nodes,
+            long relationships,
+            long estimatedBytes,
+            long totalBytes,
+            long loadMillis,
+            boolean exists) {
+        this.name = name;
+        this.direction = direction;
+        this.nodes = nodes;
+        this.relationships = relationships;
+        this.estimatedBytes = estimatedBytes;
+        this.totalBytes = totalBytes;
+        this.loadMillis = loadMillis;
+        this.exists = exists;
+    }
+
+    public static GraphCatalogResult of(GraphCatalog.Entry entry, long loadMillis, boolean exists) {
+        return new GraphCatalogResult(
+                entry.name,
+                entry.direction.name(),
+                entry.nodes,
+                entry.relationships,
+                entry.bytes,
+                GraphCatalog.usedBytes(),
+                loadMillis,
+                exists);
+    }
+
+    public static GraphCatalogResult missing(String name) {
+        return new GraphCatalogResult(name, null, 0, 0, 0, GraphCatalog.usedBytes(), -1, false);
+    }
+}
@@ -0,0 +1,16 @@
+package org.neo4j.graphalgo.results;
+
+public class GraphSnapshotResult {
+
+    public final String name;
+    public final String file;
+    public final long bytes;
+    public final long writeMillis;
+
+    public GraphSnapshotResult(String name, String file, long bytes, long writeMillis) {
+        this.name = name;
+        this.file = file;
+        this.bytes = bytes;
+        this.writeMillis = writeMillis;
+    }
+}
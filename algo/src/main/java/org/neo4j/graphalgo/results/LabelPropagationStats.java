@@ -2,13 +2,15 @@ package org.neo4j.graphalgo.results;
 
 public class LabelPropagationStats {
 
-    public final long nodes, iterations, loadMillis, computeMillis, writeMillis;
-    public final boolean write;
+    public final long nodes, iterations, ranIterations, loadMillis, computeMillis, writeMillis;
+    public final boolean write, didConverge;
     public final String weightProperty, partitionProperty;
 
     public LabelPropagationStats(
             final long nodes,
             final long iterations,
+            final long ranIterations,
+            final boolean didConverge,
             final long loadMillis,
             final long computeMillis,
             final long writeMillis,
@@ -17,6 +19,8 @@ public class LabelPropagationStats {
             final String partitionProperty) {
         this.nodes = nodes;
         this.iterations = iterations;
+        this.ranIterations = ranIterations;
+        this.didConverge = didConverge;
         this.loadMillis = loadMillis;
         this.computeMillis = computeMillis;
         this.writeMillis = writeMillis;
@@ -29,6 +33,8 @@ public class LabelPropagationStats {
 
         private long nodes = 0;
         private long iterations = 0;
+        private long ranIterations = 0;
+        private boolean didConverge = false;
         private boolean write;
         private String weightProperty;
         private String partitionProperty;
@@ -43,6 +49,16 @@ public class LabelPropagationStats {
             return this;
         }
 
+        public Builder ranIterations(final long ranIterations) {
+            this.ranIterations = ranIterations;
+            return this;
+        }
+
+        public Builder didConverge(final boolean didConverge) {
+            this.didConverge = didConverge;
+            return this;
+        }
+
         public Builder write(final boolean write) {
             this.write = write;
             return this;
@@ -62,6 +78,8 @@ public class LabelPropagationStats {
             return new LabelPropagationStats(
                     nodes,
                     iterations,
+                    ranIterations,
+                    didConverge,
                     loadDuration,
                     evalDuration,
                     writeDuration,
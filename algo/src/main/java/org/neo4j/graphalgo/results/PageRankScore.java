@@ -15,13 +15,14 @@ public class PageRankScore {
     // TODO: return number of relationships as well
     //  the Graph API doesn't expose this value yet
     public static final class Stats {
-        public final long nodes, iterations, loadMillis, computeMillis, writeMillis;
+        public final long nodes, touchedNodes, iterations, loadMillis, computeMillis, writeMillis;
         public final double dampingFactor;
         public final boolean write;
         public final String writeProperty;
 
         Stats(
                 long nodes,
+                long touchedNodes,
                 long iterations,
                 long loadMillis,
                 long computeMillis,
@@ -30,6 +31,7 @@ public class PageRankScore {
                 boolean write,
                 String writeProperty) {
             this.nodes = nodes;
+            this.touchedNodes = touchedNodes;
             this.iterations = iterations;
             this.loadMillis = loadMillis;
             this.computeMillis = computeMillis;
@@ -41,6 +43,7 @@ public class PageRankScore {
 
         public static final class Builder extends AbstractResultBuilder<Stats> {
             private long nodes;
+            private long touchedNodes = -1;
             private long iterations;
             private double dampingFactor;
             private boolean write;
@@ -51,6 +54,15 @@ public class PageRankScore {
                 return this;
             }
 
+            /**
+             * number of nodes whose score has been computed,
+             * defaults to all nodes
+             */
+            public Builder withTouchedNodes(long touchedNodes) {
+                this.touchedNodes = touchedNodes;
+                return this;
+            }
+
             public Builder withIterations(long iterations) {
                 this.iterations = iterations;
                 return this;
@@ -74,6 +86,7 @@ public class PageRankScore {
             public PageRankScore.Stats build() {
                 return new PageRankScore.Stats(
                         nodes,
+                        touchedNodes < 0 ? nodes : touchedNodes,
                         iterations,
                         loadDuration,
                         evalDuration,
@@ -0,0 +1,19 @@
+package org.neo4j.graphalgo.results;
+
+import org.neo4j.graphdb.Node;
+
+/**
+ * score of a node for one of several sets of source nodes
+ */
+public class PersonalizedPageRankScore {
+
+    public final long index;
+    public final Node node;
+    public final Double score;
+
+    public PersonalizedPageRankScore(final long index, final Node node, final Double score) {
+        this.index = index;
+        this.node = node;
+        this.score = score;
+    }
+}
@@ -10,13 +10,17 @@ public class UnionFindResult {
     public final Long writeMillis;
     public final Long nodes;
     public final Long setCount;
+    public final Long relationships;
+    public final Long changedNodes;
 
-    private UnionFindResult(Long loadMillis, Long computeMillis, Long writeMillis, Long nodes, Long setCount) {
+    private UnionFindResult(Long loadMillis, Long computeMillis, Long writeMillis, Long nodes, Long setCount, Long relationships, Long changedNodes) {
         this.loadMillis = loadMillis;
         this.computeMillis = computeMillis;
         this.writeMillis = writeMillis;
         this.nodes = nodes;
         this.setCount = setCount;
+        this.relationships = relationships;
+        this.changedNodes = changedNodes;
     }
 
     public static Builder builder() {
@@ -27,6 +31,8 @@ public class UnionFindResult {
 
         private long nodes = 0;
         private long setCount = 0;
+        private long relationships = 0;
+        private long changedNodes = 0;
 
         public Builder withSetCount(long setCount) {
             this.setCount = setCount;
@@ -38,8 +44,24 @@ public class UnionFindResult {
             return this;
         }
 
+        /**
+         * number of new relationships applied by an incremental update
+         */
+        public Builder withRelationships(long relationships) {
+            this.relationships = relationships;
+            return this;
+        }
+
+        /**
+         * number of nodes whose set id changed in an incremental update
+         */
+        public Builder withChangedNodes(long changedNodes) {
+            this.changedNodes = changedNodes;
+            return this;
+        }
+
         public UnionFindResult build() {
-            return new UnionFindResult(loadDuration, evalDuration, writeDuration, nodes, setCount);
+            return new UnionFindResult(loadDuration, evalDuration, writeDuration, nodes, setCount, relationships, changedNodes);
         }
     }
 }
@@ -2,8 +2,14 @@ package org.neo4j.graphalgo.bench;
 
 import org.neo4j.graphalgo.BetweennessCentralityProc;
 import org.neo4j.graphalgo.ShortestPathDeltaSteppingProc;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.utils.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.BetweennessCentrality;
+import org.neo4j.graphalgo.impl.ParallelBetweennessCentrality;
+import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
@@ -20,6 +26,10 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * The compute benchmark runs on the loaded graph without the procedure overhead,
+ * concurrency 0 runs the sequential implementation which does not share its
+ * centrality array between threads.
+ *
  * @author mknblch
  */
 @Threads(1)
@@ -35,6 +45,7 @@ public class BetweennessCentralityBenchmark {
 
     private static GraphDatabaseAPI db;
     private static List<Node> lines = new ArrayList<>();
+    private static Graph graph;
 
     @Param({"0", "1", "2", "4", "8"})
     static int concurrency;
@@ -55,6 +66,12 @@ public class BetweennessCentralityBenchmark {
             createNet(50); // size^2 nodes; size^3 edges
         }
 
+        graph = new GraphLoader(db)
+                .withAnyLabel()
+                .withAnyRelationshipType()
+                .withDirection(Direction.OUTGOING)
+                .load(HeavyGraphFactory.class);
+
         params.put("head", lines.get(0).getId());
         params.put("concurrency", concurrency);
     }
@@ -110,4 +127,15 @@ public class BetweennessCentralityBenchmark {
                 .count();
     }
 
+    @Benchmark
+    public Object _02_compute() {
+        if (concurrency > 0) {
+            return new ParallelBetweennessCentrality(graph, Pools.DEFAULT, concurrency)
+                    .compute()
+                    .getCentrality();
+        }
+        return new BetweennessCentrality(graph)
+                .compute()
+                .getCentrality();
+    }
 }
@@ -116,4 +116,11 @@ public class BetweennessComparisionBenchmark {
                 .count();
     }
 
+    @Benchmark
+    public Object _06_benchmark_msbfs() {
+        return db.execute("CALL algo.betweenness('','', {write:false, strategy:'msbfs', concurrency:8}) YIELD computeMillis")
+                .stream()
+                .count();
+    }
+
 }
@@ -0,0 +1,134 @@
+package org.neo4j.graphalgo.bench;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares load time, memory footprint and traversal speed
+ * of the compressed graph against the light and heavy graph.
+ * The retained heap of the loaded graph is printed during setup.
+ */
+@Threads(1)
+@Fork(value = 1, jvmArgs = "-Xms4G")
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompressedGraphBenchmark {
+
+    public static final RelationshipType RELATIONSHIP_TYPE = RelationshipType.withName("TYPE");
+
+    private static final int NODE_COUNT = 100_000;
+    private static final int DEGREE = 10;
+
+    @Param({"LIGHT", "HEAVY", "COMPRESSED"})
+    GraphImpl impl;
+
+    private GraphDatabaseAPI db;
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        try (ProgressTimer timer = ProgressTimer.start(l -> System.out.println("setup took " + l + "ms"))) {
+            createRandomGraph();
+        }
+
+        final long before = usedMemory();
+        graph = load();
+        final long after = usedMemory();
+        System.out.printf("%s graph retains ~%d KB%n", impl, (after - before) / 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph = null;
+        db.shutdown();
+    }
+
+    private void createRandomGraph() {
+        final Random random = new Random(42L);
+        final List<Node> nodes = new ArrayList<>(NODE_COUNT);
+        try (Transaction tx = db.beginTx()) {
+            for (int i = 0; i < NODE_COUNT; i++) {
+                nodes.add(db.createNode());
+            }
+            for (Node node : nodes) {
+                for (int i = 0; i < DEGREE; i++) {
+                    node.createRelationshipTo(nodes.get(random.nextInt(NODE_COUNT)), RELATIONSHIP_TYPE);
+                }
+            }
+            tx.success();
+        }
+    }
+
+    private Graph load() {
+        return new GraphLoader(db)
+                .withAnyLabel()
+                .withRelationshipType(RELATIONSHIP_TYPE)
+                .withDirection(Direction.BOTH)
+                .load(impl.impl);
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Graph _01_load() {
+        return load();
+    }
+
+    @Benchmark
+    public long _02_traverseOutgoing() {
+        return traverse(Direction.OUTGOING);
+    }
+
+    @Benchmark
+    public long _03_traverseBoth() {
+        return traverse(Direction.BOTH);
+    }
+
+    @Benchmark
+    public long _04_degree() {
+        long sum = 0L;
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            sum += graph.degree(node, Direction.BOTH);
+        }
+        return sum;
+    }
+
+    private long traverse(Direction direction) {
+        final long[] sum = {0L};
+        graph.forEachNode(node -> {
+            graph.forEachRelationship(node, direction, (s, t, r) -> {
+                sum[0] += t;
+                return true;
+            });
+            return true;
+        });
+        return sum[0];
+    }
+}
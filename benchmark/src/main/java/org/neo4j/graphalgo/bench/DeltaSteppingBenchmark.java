@@ -0,0 +1,132 @@
+package org.neo4j.graphalgo.bench;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.ParallelDeltaStepping;
+import org.neo4j.graphalgo.impl.ShortestPathDeltaStepping;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * compares the per-edge task delta-stepping against
+ * the bucket-local batched implementation
+ */
+@Threads(1)
+@Fork(value = 1, jvmArgs = "-Xms4G")
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeltaSteppingBenchmark {
+
+    public static final RelationshipType RELATIONSHIP_TYPE = RelationshipType.withName("TYPE");
+
+    private static GraphDatabaseAPI db;
+    private static Graph graph;
+    private static long head;
+
+    static double delta = 2.5;
+
+    @Param({"1", "2", "4", "8"})
+    static int concurrency;
+
+    @Setup
+    public static void setup() {
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        try (ProgressTimer timer = ProgressTimer.start(l -> System.out.println("setup took " + l + "ms"))) {
+            head = createNet(100); // 10000 nodes; 1000000 edges
+        }
+
+        graph = new GraphLoader(db)
+                .withAnyLabel()
+                .withRelationshipType(RELATIONSHIP_TYPE)
+                .withRelationshipWeightsFromProperty("cost", Double.MAX_VALUE)
+                .withDirection(Direction.OUTGOING)
+                .withExecutorService(Pools.DEFAULT)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @TearDown
+    public static void tearDown() {
+        db.shutdown();
+        Pools.DEFAULT.shutdownNow();
+    }
+
+    private static long createNet(int size) {
+        try (Transaction tx = db.beginTx()) {
+            List<Node> temp = null;
+            Node first = null;
+            for (int i = 0; i < size; i++) {
+                List<Node> line = createLine(size);
+                if (null == first) {
+                    first = line.get(0);
+                }
+                if (null != temp) {
+                    for (int j = 0; j < size; j++) {
+                        for (int k = 0; k < size; k++) {
+                            if (j == k) {
+                                continue;
+                            }
+                            createRelation(temp.get(j), line.get(k));
+                        }
+                    }
+                }
+                temp = line;
+            }
+            tx.success();
+            return first.getId();
+        }
+    }
+
+    private static List<Node> createLine(int length) {
+        ArrayList<Node> nodes = new ArrayList<>();
+        Node temp = db.createNode();
+        nodes.add(temp);
+        for (int i = 1; i < length; i++) {
+            Node node = db.createNode();
+            nodes.add(node);
+            createRelation(temp, node);
+            temp = node;
+        }
+        return nodes;
+    }
+
+    private static void createRelation(Node from, Node to) {
+        from.createRelationshipTo(to, RELATIONSHIP_TYPE)
+                .setProperty("cost", Math.random() * 5.0); // (0-5)
+    }
+
+    @Benchmark
+    public Object _01_perEdgeTasks() {
+        return new ShortestPathDeltaStepping(graph, delta)
+                .withExecutorService(Pools.DEFAULT)
+                .compute(head)
+                .getShortestPaths();
+    }
+
+    @Benchmark
+    public Object _02_batched() {
+        return new ParallelDeltaStepping(graph, delta)
+                .withExecutorService(Pools.DEFAULT)
+                .withConcurrency(concurrency)
+                .compute(head)
+                .getShortestPaths();
+    }
+}
@@ -1,6 +1,7 @@
 package org.neo4j.graphalgo.bench;
 
 import org.neo4j.graphalgo.api.GraphFactory;
+import org.neo4j.graphalgo.core.compressed.CompressedGraphFactory;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.leightweight.LightGraphFactory;
 import org.neo4j.graphalgo.core.neo4jview.GraphViewFactory;
@@ -8,7 +9,8 @@ import org.neo4j.graphalgo.core.neo4jview.GraphViewFactory;
 public enum GraphImpl {
     LIGHT(LightGraphFactory.class),
     HEAVY(HeavyGraphFactory.class),
-    VIEW(GraphViewFactory.class);
+    VIEW(GraphViewFactory.class),
+    COMPRESSED(CompressedGraphFactory.class);
 
     final Class<? extends GraphFactory> impl;
 
@@ -6,6 +6,8 @@ import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.utils.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.ParallelSCC;
+import org.neo4j.graphalgo.impl.SCCIterativeTarjan;
 import org.neo4j.graphalgo.impl.multistepscc.MultistepSCC;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
@@ -147,17 +149,38 @@ public class MultistepSCCBenchmark {
 
     @Benchmark
     public Object _01_multistepSCCsequential() {
-        return new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, 1, 0);
+        return new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, 1, 0)
+                .compute();
     }
 
     @Benchmark
     public Object _02_multistepSCCparallel() {
-        return new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, 4, 0);
+        return new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, 4, 0)
+                .compute();
     }
 
     @Benchmark
     public Object _03_multistepSCCtarjan() {
-        return new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, 4, 100_000_000);
+        return new MultistepSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, 4, 100_000_000)
+                .compute();
+    }
+
+    @Benchmark
+    public Object _04_iterativeTarjan() {
+        return new SCCIterativeTarjan(graph)
+                .compute();
+    }
+
+    @Benchmark
+    public Object _05_parallelSCCsequential() {
+        return new ParallelSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, ParallelUtil.DEFAULT_BATCH_SIZE, 1)
+                .compute();
+    }
+
+    @Benchmark
+    public Object _06_parallelSCCparallel() {
+        return new ParallelSCC(graph, org.neo4j.graphalgo.core.utils.Pools.DEFAULT, ParallelUtil.DEFAULT_BATCH_SIZE, 4)
+                .compute();
     }
 
 }
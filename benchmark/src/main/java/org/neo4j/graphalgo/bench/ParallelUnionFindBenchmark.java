@@ -45,6 +45,8 @@ public class ParallelUnionFindBenchmark {
 
     private static Graph graph;
 
+    private static Graph bothGraph;
+
     private static ThreadToStatementContextBridge bridge;
 
     public static final String GRAPH_DIRECTORY = "/tmp/graph.db";
@@ -86,6 +88,13 @@ public class ParallelUnionFindBenchmark {
                 .withRelationshipType(RELATIONSHIP_TYPE)
                 .withDirection(Direction.OUTGOING)
                 .load(HeavyGraphFactory.class);
+
+        bothGraph = new GraphLoader(db)
+                .withExecutorService(Pools.DEFAULT)
+                .withAnyLabel()
+                .withRelationshipType(RELATIONSHIP_TYPE)
+                .withDirection(Direction.BOTH)
+                .load(HeavyGraphFactory.class);
     }
 
     @TearDown
@@ -139,50 +148,22 @@ public class ParallelUnionFindBenchmark {
     }
 
     @Benchmark
-    public Object parallelUnionFindQueue_200000() {
-        return new ParallelUnionFindQueue(graph, Pools.DEFAULT, 200_000, 8)
+    public Object parallelUnionFind_200000() {
+        return new ParallelUnionFind(graph, Pools.DEFAULT, 200_000, 8)
                 .compute()
                 .getStruct();
     }
 
     @Benchmark
-    public Object parallelUnionFindQueue_400000() {
-        return new ParallelUnionFindQueue(graph, Pools.DEFAULT, 400_000, 8)
+    public Object parallelUnionFind_400000() {
+        return new ParallelUnionFind(graph, Pools.DEFAULT, 400_000, 8)
                 .compute()
                 .getStruct();
     }
 
     @Benchmark
-    public Object parallelUnionFindQueue_800000() {
-        return new ParallelUnionFindQueue(graph, Pools.DEFAULT, 800_000, 8)
-                .compute()
-                .getStruct();
-    }
-
-    @Benchmark
-    public Object parallelUnionFindForkJoinMerge_400000() {
-        return new ParallelUnionFindFJMerge(graph, Pools.DEFAULT, 400_000, 8)
-                .compute()
-                .getStruct();
-    }
-
-    @Benchmark
-    public Object parallelUnionFindForkJoinMerge_800000() {
-        return new ParallelUnionFindFJMerge(graph, Pools.DEFAULT, 800_000, 8)
-                .compute()
-                .getStruct();
-    }
-
-    @Benchmark
-    public Object parallelUnionFindForkJoin_400000() {
-        return new ParallelUnionFindForkJoin(graph, Pools.DEFAULT, 400_000, 8)
-                .compute()
-                .getStruct();
-    }
-
-    @Benchmark
-    public Object parallelUnionFindForkJoin_800000() {
-        return new ParallelUnionFindForkJoin(graph, Pools.DEFAULT, 800_000, 8)
+    public Object parallelUnionFind_800000() {
+        return new ParallelUnionFind(graph, Pools.DEFAULT, 800_000, 8)
                 .compute()
                 .getStruct();
     }
@@ -194,4 +175,10 @@ public class ParallelUnionFindBenchmark {
 
     }
 
+    @Benchmark
+    public Object sampledUnionFind() {
+        return new GraphUnionFind(bothGraph)
+                .computeSampled();
+    }
+
 }
@@ -48,6 +48,8 @@ public class GraphSetup {
     public final int batchSize;
     // TODO
     public final boolean accumulateWeights;
+    // name of a graph in the GraphCatalog. null means the graph is not named.
+    public final String name;
 
     /**
      * main ctor
@@ -66,6 +68,7 @@ public class GraphSetup {
      * @param executor the executor. null means single threaded evaluation
      * @param batchSize batch size for parallel loading
      * @param accumulateWeights true if relationship-weights should be summed within the loader
+     * @param name name of a graph in the {@link org.neo4j.graphalgo.core.GraphCatalog}, may be null
      */
     public GraphSetup(
             String startLabel,
@@ -81,7 +84,8 @@ public class GraphSetup {
             ExecutorService executor,
             int batchSize,
             boolean accumulateWeights,
-            Log log) {
+            Log log,
+            String name) {
 
         this.startLabel = startLabel;
         this.endLabel = endLabel;
@@ -98,6 +102,44 @@ public class GraphSetup {
         this.batchSize = batchSize;
         this.accumulateWeights = accumulateWeights;
         this.log = log;
+        this.name = name;
+    }
+
+    /**
+     * setup without a graph name
+     *
+     * @see #GraphSetup(String, String, String, Direction, String, double, String, double, String, double, ExecutorService, int, boolean, Log, String)
+     */
+    public GraphSetup(
+            String startLabel,
+            String endLabel,
+            String relationshipType,
+            Direction direction,
+            String relationWeightPropertyName,
+            double relationDefaultWeight,
+            String nodeWeightPropertyName,
+            double nodeDefaultWeight,
+            String nodePropertyName,
+            double nodeDefaultPropertyValue,
+            ExecutorService executor,
+            int batchSize,
+            boolean accumulateWeights,
+            Log log) {
+        this(startLabel,
+                endLabel,
+                relationshipType,
+                direction,
+                relationWeightPropertyName,
+                relationDefaultWeight,
+                nodeWeightPropertyName,
+                nodeDefaultWeight,
+                nodePropertyName,
+                nodeDefaultPropertyValue,
+                executor,
+                batchSize,
+                accumulateWeights,
+                log,
+                null);
     }
 
     /**
@@ -118,6 +160,7 @@ public class GraphSetup {
         this.batchSize = -1;
         this.accumulateWeights = false;
         this.log = NullLog.getInstance();
+        this.name = null;
     }
 
     /**
@@ -141,6 +184,7 @@ public class GraphSetup {
         this.batchSize = -1;
         this.accumulateWeights = false;
         log = NullLog.getInstance();
+        this.name = null;
     }
 
     public boolean loadConcurrent() {
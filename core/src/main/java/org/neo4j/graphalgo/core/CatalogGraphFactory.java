@@ -0,0 +1,59 @@
+package org.neo4j.graphalgo.core;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphFactory;
+import org.neo4j.graphalgo.api.GraphSetup;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.util.Objects;
+
+import static org.neo4j.graphalgo.core.GraphCatalog.emptyToNull;
+
+/**
+ * Returns a graph from the {@link GraphCatalog} instead of loading it.
+ * The graph is looked up by {@link GraphSetup#name}. Since the graph
+ * has already been loaded, the setup is only checked against it: the
+ * requested directions must have been loaded and a requested label,
+ * relationship type or weight property must match the loaded one.
+ */
+public class CatalogGraphFactory extends GraphFactory {
+
+    public CatalogGraphFactory(GraphDatabaseAPI api, GraphSetup setup) {
+        super(api, setup);
+    }
+
+    @Override
+    public Graph build() {
+        final GraphCatalog.Entry entry = GraphCatalog.entry(setup.name);
+        if ((setup.loadOutgoing && entry.direction == Direction.INCOMING) ||
+                (setup.loadIncoming && entry.direction == Direction.OUTGOING)) {
+            throw new IllegalArgumentException("Graph " + entry.name + " has been loaded with direction " +
+                    entry.direction + " but the algorithm needs " + requestedDirection());
+        }
+        check(entry, "label", setup.startLabel, entry.label);
+        check(entry, "relationship", setup.relationshipType, entry.relationship);
+        final String weightProperty = emptyToNull(setup.relationWeightPropertyName);
+        if (weightProperty != null && !weightProperty.equals(entry.weightProperty)) {
+            throw new IllegalArgumentException("Graph " + entry.name + " has been loaded " +
+                    (entry.weightProperty == null ? "without weights" : "with weights from " + entry.weightProperty) +
+                    " but the algorithm needs weights from " + weightProperty);
+        }
+        return entry.graph;
+    }
+
+    private Direction requestedDirection() {
+        if (setup.loadIncoming && setup.loadOutgoing) {
+            return Direction.BOTH;
+        }
+        return setup.loadIncoming ? Direction.INCOMING : Direction.OUTGOING;
+    }
+
+    private static void check(GraphCatalog.Entry entry, String what, String requested, String loaded) {
+        requested = emptyToNull(requested);
+        if (requested != null && !Objects.equals(requested, loaded)) {
+            throw new IllegalArgumentException("Graph " + entry.name + " has been loaded with " + what + " " +
+                    (loaded == null ? "<any>" : loaded) + " but the algorithm asks for " + requested);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.neo4j.graphalgo.core;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.compressed.CompressedGraph;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory registry of named graphs. A graph is loaded once
+ * and can then be used by any number of algorithms through the
+ * {@link CatalogGraphFactory} until it gets removed explicitly.
+ * <p>
+ * The catalog keeps track of the estimated heap size of each graph.
+ */
+public final class GraphCatalog {
+
+    private static final ConcurrentMap<String, Entry> GRAPHS = new ConcurrentHashMap<>();
+
+    /**
+     * check if a graph with the given name has been loaded
+     */
+    public static boolean exists(String name) {
+        return name != null && GRAPHS.containsKey(name);
+    }
+
+    /**
+     * return the graph with the given name
+     * @throws IllegalArgumentException if there is no such graph
+     */
+    public static Graph get(String name) {
+        return entry(name).graph;
+    }
+
+    /**
+     * return the direction the graph with the given name has been loaded with
+     * @throws IllegalArgumentException if there is no such graph
+     */
+    public static Direction directionOf(String name) {
+        return entry(name).direction;
+    }
+
+    static Entry entry(String name) {
+        final Entry entry = name == null ? null : GRAPHS.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown graph: " + name);
+        }
+        return entry;
+    }
+
+    /**
+     * add a graph to the catalog
+     * @param name the name of the graph
+     * @param graph the loaded graph
+     * @param direction the direction the graph has been loaded with
+     * @param label the label the graph has been loaded with, null means any label
+     * @param relationship the relationship type the graph has been loaded with, null means any type
+     * @param weightProperty the property of the loaded relationship weights, null if unweighted
+     * @return the catalog entry
+     * @throws IllegalArgumentException if a graph with that name already exists
+     */
+    public static Entry put(
+            String name,
+            Graph graph,
+            Direction direction,
+            String label,
+            String relationship,
+            String weightProperty) {
+        Objects.requireNonNull(name);
+        final Entry entry = new Entry(name, graph, direction, label, relationship, weightProperty);
+        if (GRAPHS.putIfAbsent(name, entry) != null) {
+            throw new IllegalArgumentException("Graph already loaded: " + name);
+        }
+        return entry;
+    }
+
+    /**
+     * remove the graph from the catalog
+     * @return the removed entry or null if there was no such graph
+     */
+    public static Entry remove(String name) {
+        return name == null ? null : GRAPHS.remove(name);
+    }
+
+    /**
+     * return all entries ordered by name
+     */
+    public static Collection<Entry> entries() {
+        final List<Entry> entries = new ArrayList<>(GRAPHS.values());
+        entries.sort(Comparator.comparing(e -> e.name));
+        return entries;
+    }
+
+    /**
+     * sum of the estimated sizes of all loaded graphs in bytes
+     */
+    public static long usedBytes() {
+        long sum = 0L;
+        for (Entry entry : GRAPHS.values()) {
+            sum += entry.bytes;
+        }
+        return sum;
+    }
+
+    /**
+     * estimate the heap size of a graph in bytes. Counts the
+     * id mapping, the adjacency offsets and one int (plus one double
+     * if weighted) per stored relationship.
+     */
+    static long estimateBytes(Graph graph, Direction direction, long entries, boolean weighted) {
+        final long nodeCount = graph.nodeCount();
+        final int directions = direction == Direction.BOTH ? 2 : 1;
+        long bytes = nodeCount * (Long.BYTES + Integer.BYTES);
+        bytes += nodeCount * Long.BYTES * directions;
+        if (graph instanceof CompressedGraph) {
+            bytes += ((CompressedGraph) graph).adjacencyBytes();
+        } else {
+            bytes += entries * Integer.BYTES;
+        }
+        if (weighted) {
+            bytes += entries * Double.BYTES;
+        }
+        return bytes;
+    }
+
+    static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static long countEntries(Graph graph, Direction direction) {
+        final long[] count = {0L};
+        graph.forEachNode(node -> {
+            count[0] += graph.degree(node, direction);
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * a named graph and its accounting information
+     */
+    public static final class Entry {
+
+        public final String name;
+        public final Graph graph;
+        public final Direction direction;
+        public final String label;
+        public final String relationship;
+        public final String weightProperty;
+        public final long nodes;
+        public final long relationships;
+        public final long bytes;
+
+        private Entry(
+                String name,
+                Graph graph,
+                Direction direction,
+                String label,
+                String relationship,
+                String weightProperty) {
+            this.name = name;
+            this.graph = graph;
+            this.direction = direction;
+            this.label = emptyToNull(label);
+            this.relationship = emptyToNull(relationship);
+            this.weightProperty = emptyToNull(weightProperty);
+            final long entries = countEntries(graph, direction);
+            this.nodes = graph.nodeCount();
+            this.relationships = direction == Direction.BOTH ? entries / 2 : entries;
+            this.bytes = estimateBytes(graph, direction, entries, this.weightProperty != null);
+        }
+    }
+
+    private GraphCatalog() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -3,6 +3,8 @@ package org.neo4j.graphalgo.core;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphFactory;
 import org.neo4j.graphalgo.api.GraphSetup;
+import org.neo4j.graphalgo.core.leightweight.LightGraph;
+import org.neo4j.graphalgo.core.leightweight.LightGraphSnapshot;
 import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.RelationshipType;
@@ -11,9 +13,12 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.NullLog;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 
@@ -35,6 +40,7 @@ public class GraphLoader {
             GraphDatabaseAPI.class,
             GraphSetup.class);
 
+    private String name = null;
     private String label = null;
     private String relation = null;
     private String relWeightProp = null;
@@ -93,6 +99,18 @@ public class GraphLoader {
         return this;
     }
 
+    /**
+     * Sets the name of a graph in the {@link GraphCatalog}. The name is only
+     * used if the graph is loaded with the {@link CatalogGraphFactory}.
+     *
+     * @param name May be null
+     * @return itself to enable fluent interface
+     */
+    public GraphLoader withName(String name) {
+        this.name = name;
+        return this;
+    }
+
     /**
      * Instructs the loader to load only nodes with the given label name.
      * If the label is not found, every node will be loaded.
@@ -366,6 +384,30 @@ public class GraphLoader {
         return invokeConstructor(constructor).build();
     }
 
+    /**
+     * Loads a {@link LightGraph} from a snapshot file written by
+     * {@link LightGraphSnapshot#write(LightGraph, Path, long)} instead of
+     * reading the neo4j store. All other settings of the loader are ignored.
+     *
+     * @param file the snapshot file
+     * @return the graph of the snapshot
+     * @throws UncheckedIOException if the snapshot is invalid or belongs to another store
+     */
+    public Graph loadSnapshot(Path file) {
+        try {
+            return LightGraphSnapshot.read(file, storeId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * id of the store which snapshots of its graphs are bound to
+     */
+    public long storeId() {
+        return api.storeId().getRandomId();
+    }
+
     private MethodHandle findConstructor(Class<?> factoryType) {
         try {
             return LOOKUP.findConstructor(factoryType, CTOR_METHOD);
@@ -390,7 +432,8 @@ public class GraphLoader {
                 executorService,
                 batchSize,
                 accumulateWeights,
-                log);
+                log,
+                name);
 
         try {
             return (GraphFactory) constructor.invoke(api, setup);
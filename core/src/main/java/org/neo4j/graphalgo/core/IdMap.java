@@ -1,8 +1,6 @@
 package org.neo4j.graphalgo.core;
 
-import com.carrotsearch.hppc.LongIntHashMap;
 import com.carrotsearch.hppc.LongIntMap;
-import com.carrotsearch.hppc.cursors.LongIntCursor;
 import org.neo4j.collection.primitive.PrimitiveIntIterable;
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.graphalgo.api.BatchNodeIterable;
@@ -17,20 +15,22 @@ import java.util.function.IntPredicate;
 
 /**
  * This is basically a long to int mapper. It sorts the id's in ascending order so its
- * guaranteed that there is no ID greater then nextGraphId / capacity
+ * guaranteed that there is no ID greater then nextGraphId / capacity.
+ * The forward mapping is stored in paged int arrays and only
+ * falls back to hashing if the node ids are very sparse.
  */
 public final class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
 
     private final IdIterator iter;
     private int nextGraphId;
     private long[] graphIds;
-    private LongIntMap nodeToGraphIds;
+    private NodeToGraphIdMap nodeToGraphIds;
 
     /**
      * initialize the map with maximum node capacity
      */
     public IdMap(final int capacity) {
-        nodeToGraphIds = new LongIntHashMap((int) Math.ceil(capacity / 0.99), 0.99);
+        nodeToGraphIds = new NodeToGraphIdMap();
         iter = new IdIterator();
     }
 
@@ -42,7 +42,7 @@ public final class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
             LongIntMap nodeToGraphIds) {
         this.nextGraphId = graphIds.length;
         this.graphIds = graphIds;
-        this.nodeToGraphIds = nodeToGraphIds;
+        this.nodeToGraphIds = new NodeToGraphIdMap(nodeToGraphIds);
         iter = new IdIterator();
     }
 
@@ -51,7 +51,7 @@ public final class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
     }
 
     public int mapOrGet(long longValue) {
-        int intValue = nodeToGraphIds.getOrDefault(longValue, -1);
+        int intValue = nodeToGraphIds.get(longValue);
         if (intValue == -1) {
             intValue = nextGraphId++;
             nodeToGraphIds.put(longValue, intValue);
@@ -65,14 +65,12 @@ public final class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
     }
 
     public int get(long longValue) {
-        return nodeToGraphIds.getOrDefault(longValue, -1);
+        return nodeToGraphIds.get(longValue);
     }
 
     public void buildMappedIds() {
         graphIds = new long[size()];
-        for (final LongIntCursor cursor : nodeToGraphIds) {
-            graphIds[cursor.value] = cursor.key;
-        }
+        nodeToGraphIds.copyTo(graphIds);
     }
 
     public int size() {
@@ -83,10 +81,6 @@ public final class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
         return graphIds;
     }
 
-    public LongIntMap nodeToGraphIds() {
-        return nodeToGraphIds;
-    }
-
     public void forEach(IntPredicate consumer) {
         int limit = this.nextGraphId;
         for (int i = 0; i < limit; i++) {
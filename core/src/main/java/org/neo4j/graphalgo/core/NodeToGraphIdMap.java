@@ -0,0 +1,171 @@
+package org.neo4j.graphalgo.core;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongIntMap;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
+
+import java.util.Arrays;
+
+/**
+ * Forward mapping from neo4j node ids to graph ids.
+ * <p>
+ * Neo4j node ids are mostly dense, so the mapping is stored in {@code int[]}
+ * pages keyed by {@code nodeId >>> PAGE_SHIFT}. Pages are only allocated where
+ * ids exist and a lookup is two array accesses instead of a hash probe.
+ * If the ids turn out to be too sparse for the pages to pay off the
+ * mapping falls back to a hash map.
+ */
+final class NodeToGraphIdMap {
+
+    static final int PAGE_SHIFT = 12;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * no switch to the hash map below this number of allocated pages
+     */
+    private static final int MIN_PAGES = 16;
+    /**
+     * switch to the hash map if there are less ids than
+     * PAGE_SIZE / SPARSE_FACTOR per allocated page
+     */
+    private static final int SPARSE_FACTOR = 8;
+
+    private int[][] pages;
+    private int allocatedPages;
+    private LongIntMap sparse;
+    private int size;
+
+    NodeToGraphIdMap() {
+        pages = new int[MIN_PAGES][];
+    }
+
+    NodeToGraphIdMap(LongIntMap sparse) {
+        this.sparse = sparse;
+        this.size = sparse.size();
+    }
+
+    /**
+     * return the graph id of the given node id or -1 if it is unknown
+     */
+    int get(long nodeId) {
+        if (sparse != null) {
+            return sparse.getOrDefault(nodeId, -1);
+        }
+        final long pageIndex = nodeId >>> PAGE_SHIFT;
+        if (pageIndex >= pages.length) {
+            return -1;
+        }
+        final int[] page = pages[(int) pageIndex];
+        if (page == null) {
+            return -1;
+        }
+        return page[(int) (nodeId & PAGE_MASK)];
+    }
+
+    boolean containsKey(long nodeId) {
+        return get(nodeId) != -1;
+    }
+
+    void put(long nodeId, int graphId) {
+        if (sparse != null) {
+            sparse.put(nodeId, graphId);
+            size = sparse.size();
+            return;
+        }
+        final long pageIndex = nodeId >>> PAGE_SHIFT;
+        if (isTooSparse(pageIndex)) {
+            toSparse();
+            put(nodeId, graphId);
+            return;
+        }
+        final int[] page = page((int) pageIndex);
+        final int offset = (int) (nodeId & PAGE_MASK);
+        if (page[offset] == -1) {
+            size++;
+        }
+        page[offset] = graphId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isSparse() {
+        return sparse != null;
+    }
+
+    private int[] page(int pageIndex) {
+        if (pageIndex >= pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(pageIndex + 1, pages.length + (pages.length >> 1)));
+        }
+        int[] page = pages[pageIndex];
+        if (page == null) {
+            page = new int[PAGE_SIZE];
+            Arrays.fill(page, -1);
+            pages[pageIndex] = page;
+            allocatedPages++;
+        }
+        return page;
+    }
+
+    /**
+     * check if allocating the given page would leave less than one
+     * used slot out of SPARSE_FACTOR in the pages and the directory
+     */
+    private boolean isTooSparse(long pageIndex) {
+        if (pageIndex >= Integer.MAX_VALUE) {
+            return true;
+        }
+        if (pageIndex < pages.length && pages[(int) pageIndex] != null) {
+            return false;
+        }
+        final long directory = Math.max(pages.length, pageIndex + 1);
+        final long usedPages = Math.max(allocatedPages + 1, directory / PAGE_SIZE);
+        return usedPages > MIN_PAGES
+                && (long) size * SPARSE_FACTOR < usedPages * PAGE_SIZE;
+    }
+
+    private void toSparse() {
+        final LongIntMap map = new LongIntHashMap(Math.max(size, 16));
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            final int[] page = pages[pageIndex];
+            if (page == null) {
+                continue;
+            }
+            final long base = ((long) pageIndex) << PAGE_SHIFT;
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                if (page[i] != -1) {
+                    map.put(base + i, page[i]);
+                }
+            }
+        }
+        pages = null;
+        allocatedPages = 0;
+        sparse = map;
+    }
+
+    /**
+     * copy the mapping into the reverse array graphIds[graphId] = nodeId
+     */
+    void copyTo(long[] graphIds) {
+        if (sparse != null) {
+            for (final LongIntCursor cursor : sparse) {
+                graphIds[cursor.value] = cursor.key;
+            }
+            return;
+        }
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            final int[] page = pages[pageIndex];
+            if (page == null) {
+                continue;
+            }
+            final long base = ((long) pageIndex) << PAGE_SHIFT;
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                if (page[i] != -1) {
+                    graphIds[page[i]] = base + i;
+                }
+            }
+        }
+    }
+}
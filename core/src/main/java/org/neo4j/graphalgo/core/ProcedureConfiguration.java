@@ -1,11 +1,13 @@
 package org.neo4j.graphalgo.core;
 
 import org.neo4j.graphalgo.api.GraphFactory;
+import org.neo4j.graphalgo.core.compressed.CompressedGraphFactory;
 import org.neo4j.graphalgo.core.heavyweight.HeavyCypherGraphFactory;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.leightweight.LightGraphFactory;
 import org.neo4j.graphalgo.core.neo4jview.GraphViewFactory;
 import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphdb.Direction;
 
 import java.util.HashMap;
 import java.util.Locale;
@@ -207,8 +209,15 @@ public class ProcedureConfiguration {
         return get(ProcedureConstants.DIRECTION, ProcedureConstants.DIRECTION_DEFAULT);
     }
 
+    public Direction getDirection(Direction defaultDirection) {
+        return Direction.valueOf(get(ProcedureConstants.DIRECTION, defaultDirection.name())
+                .toUpperCase(Locale.ROOT));
+    }
+
     /**
-     * return the Graph-Implementation Factory class
+     * return the Graph-Implementation Factory class. If the graph
+     * param names a graph in the {@link GraphCatalog} the
+     * {@link CatalogGraphFactory} is returned.
      * @return
      */
     public Class<? extends GraphFactory> getGraphImpl() {
@@ -224,11 +233,41 @@ public class ProcedureConfiguration {
                 return LightGraphFactory.class;
             case "kernel":
                 return GraphViewFactory.class;
+            case "compressed":
+                return CompressedGraphFactory.class;
             default:
+                if (GraphCatalog.exists(graphImpl)) {
+                    return CatalogGraphFactory.class;
+                }
                 throw new IllegalArgumentException("Unknown impl: " + graphImpl);
         }
     }
 
+    /**
+     * check if the name is one of the graph implementations, such
+     * names can not be used for graphs in the {@link GraphCatalog}
+     */
+    public static boolean isGraphImplName(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "heavy":
+            case "cypher":
+            case "light":
+            case "kernel":
+            case "compressed":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * return the name of the graph in the {@link GraphCatalog}
+     * @return the graph param, may be the name of an implementation
+     */
+    public String getGraphName() {
+        return getStringOrNull(ProcedureConstants.GRAPH_IMPL_PARAM, null);
+    }
+
     /**
      * specialized getter for String which either returns the value
      * if found, the defaultValue if the key is not found or null if
@@ -0,0 +1,216 @@
+package org.neo4j.graphalgo.core.compressed;
+
+import java.util.Arrays;
+
+/**
+ * Paged byte storage of adjacency lists.
+ * <p>
+ * Each adjacency list is sorted and stored as a block of VarInt encoded
+ * values: the degree followed by the gaps between consecutive target ids.
+ * A block never spans multiple pages, blocks larger than a page get a
+ * page of their own. The address of a block combines its page index
+ * (upper 32 bits) and the offset within that page (lower 32 bits).
+ */
+public final class CompressedAdjacency {
+
+    /**
+     * Page size in bytes: 256KB
+     */
+    private static final int PAGE_SIZE = 1 << 18;
+
+    // an encoded int takes 5 bytes at most
+    private static final int MAX_VAR_INT_BYTES = 5;
+
+    private byte[][] pages = new byte[16][];
+    private int pageCount = 0;
+    private byte[] page;
+    private int pageIndex;
+    private int position;
+    // encoding buffer
+    private byte[] scratch = new byte[1024];
+
+    public CompressedAdjacency() {
+        newPage(PAGE_SIZE);
+    }
+
+    /**
+     * sort and encode the first {@code length} targets and append them
+     * as a new block. The targets array is sorted in place.
+     *
+     * @param targets the target node ids
+     * @param length number of valid entries in targets
+     * @return the address of the block
+     */
+    public long add(int[] targets, int length) {
+        Arrays.sort(targets, 0, length);
+        final int required = (length + 1) * MAX_VAR_INT_BYTES;
+        if (scratch.length < required) {
+            scratch = new byte[required];
+        }
+        int size = encode(length, scratch, 0);
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            size = encode(targets[i] - previous, scratch, size);
+            previous = targets[i];
+        }
+        if (size > PAGE_SIZE) {
+            // oversized block, keep the current page for the next ones
+            final byte[] current = page;
+            final int currentIndex = pageIndex;
+            final int currentPosition = position;
+            newPage(size);
+            final long address = write(size);
+            page = current;
+            pageIndex = currentIndex;
+            position = currentPosition;
+            return address;
+        }
+        if (position + size > page.length) {
+            trimPage();
+            newPage(PAGE_SIZE);
+        }
+        return write(size);
+    }
+
+    /**
+     * release the unused tail of the current page. Should be called
+     * once all blocks have been added.
+     */
+    public void trim() {
+        trimPage();
+        pages = Arrays.copyOf(pages, pageCount);
+    }
+
+    /**
+     * return the number of targets of the block at address
+     */
+    public int degree(long address) {
+        final byte[] page = pages[pageIndex(address)];
+        int offset = indexInPage(address);
+        byte b = page[offset++];
+        int value = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            b = page[offset++];
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    /**
+     * return the number of allocated bytes
+     */
+    public long bytes() {
+        long bytes = 0L;
+        for (int i = 0; i < pageCount; i++) {
+            bytes += pages[i].length;
+        }
+        return bytes;
+    }
+
+    public Cursor newCursor() {
+        return new Cursor();
+    }
+
+    public Cursor cursor(long address) {
+        return cursor(address, newCursor());
+    }
+
+    public Cursor cursor(long address, Cursor reuse) {
+        return reuse.init(pages[pageIndex(address)], indexInPage(address));
+    }
+
+    private long write(int size) {
+        final long address = ((long) pageIndex << 32) | position;
+        System.arraycopy(scratch, 0, page, position, size);
+        position += size;
+        return address;
+    }
+
+    private void newPage(int size) {
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pageCount << 1);
+        }
+        page = new byte[size];
+        pageIndex = pageCount++;
+        pages[pageIndex] = page;
+        position = 0;
+    }
+
+    private void trimPage() {
+        page = Arrays.copyOf(page, position);
+        pages[pageIndex] = page;
+    }
+
+    private static int pageIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int indexInPage(long address) {
+        return (int) address;
+    }
+
+    private static int encode(int value, byte[] out, int offset) {
+        while ((value & ~0x7F) != 0) {
+            out[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * decodes the targets of a block on the fly
+     */
+    public static final class Cursor {
+
+        private byte[] page;
+        private int offset;
+        private int remaining;
+        private int current;
+
+        private Cursor() {
+        }
+
+        private Cursor init(byte[] page, int offset) {
+            this.page = page;
+            this.offset = offset;
+            this.current = 0;
+            this.remaining = decode();
+            return this;
+        }
+
+        /**
+         * return the number of targets left
+         */
+        public int remaining() {
+            return remaining;
+        }
+
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * return the next target node id. targets are returned
+         * in ascending order
+         */
+        public int next() {
+            remaining--;
+            current += decode();
+            return current;
+        }
+
+        private int decode() {
+            final byte[] page = this.page;
+            int offset = this.offset;
+            byte b = page[offset++];
+            int value = b & 0x7F;
+            for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+                b = page[offset++];
+                value |= (b & 0x7F) << shift;
+            }
+            this.offset = offset;
+            return value;
+        }
+    }
+}
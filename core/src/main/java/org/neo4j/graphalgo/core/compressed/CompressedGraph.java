@@ -0,0 +1,218 @@
+package org.neo4j.graphalgo.core.compressed;
+
+import org.neo4j.collection.primitive.PrimitiveIntIterable;
+import org.neo4j.collection.primitive.PrimitiveIntIterator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.WeightMapping;
+import org.neo4j.graphalgo.api.WeightedRelationshipConsumer;
+import org.neo4j.graphalgo.core.IdMap;
+import org.neo4j.graphalgo.core.utils.IdCombiner;
+import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.graphdb.Direction;
+
+import java.util.Collection;
+import java.util.function.IntPredicate;
+
+/**
+ * Graph with sorted, delta encoded adjacency lists.
+ * <p>
+ * Uses considerably less memory than the {@link org.neo4j.graphalgo.core.leightweight.LightGraph}
+ * at the cost of decoding the targets during traversal. Relationships
+ * of a node are always visited in ascending order of their target id.
+ */
+public class CompressedGraph implements Graph {
+
+    private final IdMap idMapping;
+    private final WeightMapping weightMapping;
+    private final CompressedAdjacency inAdjacency;
+    private final CompressedAdjacency outAdjacency;
+    private final long[] inOffsets;
+    private final long[] outOffsets;
+
+    CompressedGraph(
+            final IdMap idMapping,
+            final WeightMapping weightMapping,
+            final CompressedAdjacency inAdjacency,
+            final CompressedAdjacency outAdjacency,
+            final long[] inOffsets,
+            final long[] outOffsets) {
+        this.idMapping = idMapping;
+        this.weightMapping = weightMapping;
+        this.inAdjacency = inAdjacency;
+        this.outAdjacency = outAdjacency;
+        this.inOffsets = inOffsets;
+        this.outOffsets = outOffsets;
+    }
+
+    @Override
+    public int nodeCount() {
+        return idMapping.size();
+    }
+
+    @Override
+    public PrimitiveIntIterator nodeIterator() {
+        return idMapping.iterator();
+    }
+
+    @Override
+    public Collection<PrimitiveIntIterable> batchIterables(final int batchSize) {
+        return idMapping.batchIterables(batchSize);
+    }
+
+    @Override
+    public void forEachNode(IntPredicate consumer) {
+        idMapping.forEach(consumer);
+    }
+
+    @Override
+    public void forEachRelationship(
+            int vertexId,
+            Direction direction,
+            RelationshipConsumer consumer) {
+        switch (direction) {
+            case INCOMING:
+                forEachIncoming(vertexId, consumer);
+                return;
+
+            case OUTGOING:
+                forEachOutgoing(vertexId, consumer);
+                return;
+
+            case BOTH:
+                forEachIncoming(vertexId, consumer);
+                forEachOutgoing(vertexId, consumer);
+                return;
+
+            default:
+                throw new IllegalArgumentException(direction + "");
+        }
+    }
+
+    @Override
+    public void forEachRelationship(
+            int vertexId,
+            Direction direction,
+            WeightedRelationshipConsumer consumer) {
+        switch (direction) {
+            case INCOMING:
+                forEachIncoming(vertexId, consumer);
+                return;
+
+            case OUTGOING:
+                forEachOutgoing(vertexId, consumer);
+                return;
+
+            case BOTH:
+                forEachIncoming(vertexId, consumer);
+                forEachOutgoing(vertexId, consumer);
+                return;
+
+            default:
+                throw new IllegalArgumentException(direction + "");
+        }
+    }
+
+    @Override
+    public int degree(
+            final int node,
+            final Direction direction) {
+        switch (direction) {
+            case INCOMING:
+                return inAdjacency.degree(inOffsets[node]);
+
+            case OUTGOING:
+                return outAdjacency.degree(outOffsets[node]);
+
+            case BOTH:
+                return inAdjacency.degree(inOffsets[node]) + outAdjacency.degree(outOffsets[node]);
+
+            default:
+                throw new IllegalArgumentException(direction + "");
+        }
+    }
+
+    @Override
+    public int toMappedNodeId(long nodeId) {
+        return idMapping.get(nodeId);
+    }
+
+    @Override
+    public long toOriginalNodeId(int vertexId) {
+        return idMapping.toOriginalNodeId(vertexId);
+    }
+
+    @Override
+    public boolean contains(final long nodeId) {
+        return idMapping.contains(nodeId);
+    }
+
+    /**
+     * return the number of bytes used by the adjacency lists and offsets
+     */
+    public long adjacencyBytes() {
+        long bytes = 0L;
+        if (inOffsets != null) {
+            bytes += inAdjacency.bytes() + (long) inOffsets.length * Long.BYTES;
+        }
+        if (outOffsets != null) {
+            bytes += outAdjacency.bytes() + (long) outOffsets.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    public void forEachIncoming(
+            final int node,
+            final RelationshipConsumer consumer) {
+        consumeNodes(node, inAdjacency.cursor(inOffsets[node]), RawValues.INCOMING, consumer);
+    }
+
+    public void forEachOutgoing(
+            final int node,
+            final RelationshipConsumer consumer) {
+        consumeNodes(node, outAdjacency.cursor(outOffsets[node]), RawValues.OUTGOING, consumer);
+    }
+
+    private void forEachIncoming(
+            final int node,
+            final WeightedRelationshipConsumer consumer) {
+        consumeNodes(node, inAdjacency.cursor(inOffsets[node]), RawValues.INCOMING, consumer);
+    }
+
+    private void forEachOutgoing(
+            final int node,
+            final WeightedRelationshipConsumer consumer) {
+        consumeNodes(node, outAdjacency.cursor(outOffsets[node]), RawValues.OUTGOING, consumer);
+    }
+
+    private void consumeNodes(
+            int startNode,
+            CompressedAdjacency.Cursor cursor,
+            IdCombiner relId,
+            WeightedRelationshipConsumer consumer) {
+        //noinspection UnnecessaryLocalVariable – prefer access of local var in loop
+        final WeightMapping weightMap = this.weightMapping;
+        while (cursor.hasNext()) {
+            final int targetNode = cursor.next();
+            final long relationId = relId.apply(startNode, targetNode);
+            consumer.accept(
+                    startNode,
+                    targetNode,
+                    relationId,
+                    weightMap.get(relationId)
+            );
+        }
+    }
+
+    private void consumeNodes(
+            int startNode,
+            CompressedAdjacency.Cursor cursor,
+            IdCombiner relId,
+            RelationshipConsumer consumer) {
+        while (cursor.hasNext()) {
+            final int targetNode = cursor.next();
+            final long relationId = relId.apply(startNode, targetNode);
+            consumer.accept(startNode, targetNode, relationId);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.neo4j.graphalgo.core.compressed;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.cursor.Cursor;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphFactory;
+import org.neo4j.graphalgo.api.GraphSetup;
+import org.neo4j.graphalgo.api.WeightMapping;
+import org.neo4j.graphalgo.core.IdMap;
+import org.neo4j.graphalgo.core.NullWeightMap;
+import org.neo4j.graphalgo.core.WeightMap;
+import org.neo4j.graphalgo.core.utils.IdCombiner;
+import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.StatementConstants;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.storageengine.api.Direction;
+import org.neo4j.storageengine.api.NodeItem;
+import org.neo4j.storageengine.api.PropertyItem;
+import org.neo4j.storageengine.api.RelationshipItem;
+
+import java.util.Arrays;
+
+/**
+ * loads a {@link CompressedGraph}
+ */
+public final class CompressedGraphFactory extends GraphFactory {
+
+    private IdMap mapping;
+    private long[] inOffsets;
+    private long[] outOffsets;
+    private CompressedAdjacency inAdjacency;
+    private CompressedAdjacency outAdjacency;
+    private WeightMapping weights;
+    // targets of the current node
+    private int[] targets = new int[64];
+    protected int nodeCount;
+    private int labelId;
+    private int[] relationId;
+    private int weightId;
+
+    public CompressedGraphFactory(
+            GraphDatabaseAPI api,
+            GraphSetup setup) {
+        super(api, setup);
+        withReadOps(readOp -> {
+            labelId = setup.loadAnyLabel()
+                    ? ReadOperations.ANY_LABEL
+                    : readOp.labelGetForName(setup.startLabel);
+            if (!setup.loadAnyRelationshipType()) {
+                int relId = readOp.relationshipTypeGetForName(setup.relationshipType);
+                if (relId != StatementConstants.NO_SUCH_RELATIONSHIP_TYPE) {
+                    relationId = new int[]{relId};
+                }
+            }
+            weightId = setup.loadDefaultRelationshipWeight()
+                    ? StatementConstants.NO_SUCH_PROPERTY_KEY
+                    : readOp.propertyKeyGetForName(setup.relationWeightPropertyName);
+            nodeCount = Math.toIntExact(readOp.countsForNode(labelId));
+        });
+    }
+
+    @Override
+    public Graph build() {
+        boolean loadIncoming = setup.loadIncoming;
+        boolean loadOutgoing = setup.loadOutgoing;
+
+        mapping = new IdMap(nodeCount);
+        if (loadIncoming) {
+            inOffsets = new long[nodeCount];
+            inAdjacency = new CompressedAdjacency();
+        }
+        if (loadOutgoing) {
+            outOffsets = new long[nodeCount];
+            outAdjacency = new CompressedAdjacency();
+        }
+        weights = weightId == StatementConstants.NO_SUCH_PROPERTY_KEY
+                ? new NullWeightMap(setup.relationDefaultWeight)
+                : new WeightMap(nodeCount, setup.relationDefaultWeight);
+
+        withReadOps(readOp -> {
+            final PrimitiveLongIterator nodeIds = labelId == ReadOperations.ANY_LABEL
+                    ? readOp.nodesGetAll()
+                    : readOp.nodesGetForLabel(labelId);
+            while (nodeIds.hasNext()) {
+                mapping.add(nodeIds.next());
+            }
+            mapping.buildMappedIds();
+
+            try (Cursor<NodeItem> cursor = labelId == ReadOperations.ANY_LABEL
+                    ? readOp.nodeCursorGetAll()
+                    : readOp.nodeCursorGetForLabel(labelId)) {
+                while (cursor.next()) {
+                    readNode(cursor.get(), loadIncoming, loadOutgoing);
+                }
+            }
+        });
+
+        if (inAdjacency != null) {
+            inAdjacency.trim();
+        }
+        if (outAdjacency != null) {
+            outAdjacency.trim();
+        }
+        targets = null;
+
+        return new CompressedGraph(
+                mapping,
+                weights,
+                inAdjacency,
+                outAdjacency,
+                inOffsets,
+                outOffsets
+        );
+    }
+
+    private void readNode(
+            NodeItem node,
+            boolean loadIncoming,
+            boolean loadOutgoing) {
+        long sourceNodeId = node.id();
+        int sourceGraphId = mapping.get(sourceNodeId);
+
+        if (loadOutgoing) {
+            outOffsets[sourceGraphId] = readRelationships(
+                    sourceGraphId,
+                    node,
+                    Direction.OUTGOING,
+                    RawValues.OUTGOING,
+                    outAdjacency
+            );
+        }
+        if (loadIncoming) {
+            inOffsets[sourceGraphId] = readRelationships(
+                    sourceGraphId,
+                    node,
+                    Direction.INCOMING,
+                    RawValues.INCOMING,
+                    inAdjacency
+            );
+        }
+    }
+
+    private long readRelationships(
+            int sourceGraphId,
+            NodeItem node,
+            Direction direction,
+            IdCombiner idCombiner,
+            CompressedAdjacency adjacency) {
+
+        int degree = relationId == null
+                ? node.degree(direction)
+                : node.degree(direction, relationId[0]);
+        int length = 0;
+
+        if (degree > 0) {
+            if (targets.length < degree) {
+                targets = new int[Math.max(degree, targets.length << 1)];
+            }
+            try (Cursor<RelationshipItem> rels = relationId == null
+                    ? node.relationships(direction)
+                    : node.relationships(direction, relationId)) {
+                while (rels.next()) {
+                    RelationshipItem rel = rels.get();
+
+                    long targetNodeId = rel.otherNode(node.id());
+                    int targetGraphId = mapping.get(targetNodeId);
+                    if (targetGraphId == -1) {
+                        continue;
+                    }
+
+                    try (Cursor<PropertyItem> weights = rel.property(weightId)) {
+                        if (weights.next()) {
+                            long relId = idCombiner.apply(
+                                    sourceGraphId,
+                                    targetGraphId);
+                            this.weights.set(relId, weights.get().value());
+                        }
+                    }
+
+                    if (length == targets.length) {
+                        targets = Arrays.copyOf(targets, length << 1);
+                    }
+                    targets[length++] = targetGraphId;
+                }
+            }
+        }
+        return adjacency.add(targets, length);
+    }
+}
@@ -1,5 +1,7 @@
 package org.neo4j.graphalgo.core.heavyweight;
 
+import com.carrotsearch.hppc.IntIntHashMap;
+import com.carrotsearch.hppc.IntIntMap;
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.graphalgo.api.*;
 import org.apache.lucene.util.ArrayUtil;
@@ -7,6 +9,7 @@ import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphdb.Direction;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.IntPredicate;
 
 /**
@@ -19,6 +22,13 @@ import java.util.function.IntPredicate;
 class AdjacencyMatrix {
 
     private static final int[] EMPTY_INTS = new int[0];
+    private static final double[] EMPTY_DOUBLES = new double[0];
+
+    /**
+     * degree above which {@link #weightOf(int, int, WeightMapping)} uses a
+     * position index instead of scanning the relationships of the node
+     */
+    static final int INDEX_DEGREE = 64;
 
     /**
      * mapping from nodeId to outgoing degree
@@ -36,22 +46,54 @@ class AdjacencyMatrix {
      * matrix nodeId x [incoming edge-relationIds..]
      */
     final int[][] incoming;
+    /**
+     * matrix nodeId x [outgoing edge-weights..], parallel to outgoing. null if weights are not loaded
+     */
+    final double[][] outWeights;
+    /**
+     * matrix nodeId x [incoming edge-weights..], parallel to incoming. null if weights are not loaded
+     */
+    final double[][] inWeights;
+    /**
+     * nodeId x (target -> position in outgoing), built on the first weight lookup
+     * of a node with a degree above INDEX_DEGREE. null if weights are not loaded
+     */
+    private final AtomicReferenceArray<IntIntMap> outPositions;
+    /**
+     * nodeId x (source -> position in incoming), built on the first weight lookup
+     * of a node with a degree above INDEX_DEGREE. null if weights are not loaded
+     */
+    private final AtomicReferenceArray<IntIntMap> inPositions;
 
     AdjacencyMatrix(int nodeCount) {
         this(nodeCount, true, true);
     }
 
     AdjacencyMatrix(int nodeCount, boolean withIncoming, boolean withOutgoing) {
+        this(nodeCount, withIncoming, withOutgoing, false);
+    }
+
+    AdjacencyMatrix(int nodeCount, boolean withIncoming, boolean withOutgoing, boolean withWeights) {
         this.outOffsets = withOutgoing ? new int[nodeCount] : null;
         this.inOffsets = withIncoming ? new int[nodeCount] : null;
         this.outgoing = withOutgoing ? new int[nodeCount][] : null;
         this.incoming = withIncoming ? new int[nodeCount][] : null;
+        this.outWeights = withOutgoing && withWeights ? new double[nodeCount][] : null;
+        this.inWeights = withIncoming && withWeights ? new double[nodeCount][] : null;
+        this.outPositions = outWeights != null ? new AtomicReferenceArray<>(nodeCount) : null;
+        this.inPositions = inWeights != null ? new AtomicReferenceArray<>(nodeCount) : null;
         if (outgoing != null) {
             Arrays.fill(outgoing, EMPTY_INTS);
         }
         if (incoming != null) {
             Arrays.fill(incoming, EMPTY_INTS);
         }
+        if (outWeights != null) {
+            Arrays.fill(outWeights, EMPTY_DOUBLES);
+        }
+        if (inWeights != null) {
+            Arrays.fill(inWeights, EMPTY_DOUBLES);
+        }
     }
 
     AdjacencyMatrix(
@@ -63,6 +105,10 @@ class AdjacencyMatrix {
         this.inOffsets = inOffsets;
         this.outgoing = outgoing;
         this.incoming = incoming;
+        this.outWeights = null;
+        this.inWeights = null;
+        this.outPositions = null;
+        this.inPositions = null;
     }
 
     /**
@@ -71,6 +117,9 @@ class AdjacencyMatrix {
     public void armOut(int sourceNodeId, int degree) {
         if (degree > 0) {
             outgoing[sourceNodeId] = Arrays.copyOf(outgoing[sourceNodeId], degree);
+            if (outWeights != null) {
+                outWeights[sourceNodeId] = Arrays.copyOf(outWeights[sourceNodeId], degree);
+            }
         }
     }
 
@@ -80,6 +129,9 @@ class AdjacencyMatrix {
     public void armIn(int targetNodeId, int degree) {
         if (degree > 0) {
             incoming[targetNodeId] = Arrays.copyOf(incoming[targetNodeId], degree);
+            if (inWeights != null) {
+                inWeights[targetNodeId] = Arrays.copyOf(inWeights[targetNodeId], degree);
+            }
         }
     }
 
@@ -88,6 +140,9 @@ class AdjacencyMatrix {
      */
     public void growOut(int sourceNodeId, int length) {
         outgoing[sourceNodeId] = ArrayUtil.grow(outgoing[sourceNodeId], length);
+        if (outWeights != null) {
+            outWeights[sourceNodeId] = Arrays.copyOf(outWeights[sourceNodeId], outgoing[sourceNodeId].length);
+        }
     }
 
     /**
@@ -95,6 +150,16 @@ class AdjacencyMatrix {
      */
     public void growIn(int targetNodeId, int length) {
         incoming[targetNodeId] = ArrayUtil.grow(incoming[targetNodeId], length);
+        if (inWeights != null) {
+            inWeights[targetNodeId] = Arrays.copyOf(inWeights[targetNodeId], incoming[targetNodeId].length);
+        }
+    }
+
+    /**
+     * return whether the relationship weights are stored in this matrix
+     */
+    public boolean hasWeights() {
+        return outWeights != null || inWeights != null;
     }
 
     /**
@@ -110,6 +175,15 @@ class AdjacencyMatrix {
         outOffsets[sourceNodeId] = nextDegree;
     }
 
+    /**
+     * add weighted outgoing relation
+     */
+    public void addOutgoing(int sourceNodeId, int targetNodeId, double weight) {
+        final int degree = outOffsets[sourceNodeId];
+        addOutgoing(sourceNodeId, targetNodeId);
+        outWeights[sourceNodeId][degree] = weight;
+    }
+
     /**
      * checks for outgoing target node, currently O(n)
      */
@@ -137,6 +211,15 @@ class AdjacencyMatrix {
         inOffsets[targetNodeId] = nextDegree;
     }
 
+    /**
+     * add weighted incoming relation
+     */
+    public void addIncoming(int sourceNodeId, int targetNodeId, double weight) {
+        final int degree = inOffsets[targetNodeId];
+        addIncoming(sourceNodeId, targetNodeId);
+        inWeights[targetNodeId][degree] = weight;
+    }
+
     /**
      * checks for incoming target node, currently O(n)
      */
@@ -151,6 +234,55 @@ class AdjacencyMatrix {
         return false;
     }
 
+    /**
+     * find the weight of the relationship between source and target.
+     * scans the relationships of the source (or target if only incoming
+     * relationships are loaded) up to a degree of {@link #INDEX_DEGREE},
+     * above that the position is looked up in an index built on first use.
+     * the matrix must not be modified after the first call.
+     *
+     * @param fallback used if weights are not stored in the matrix
+     *                 or the relationship does not exist
+     */
+    public double weightOf(int sourceNodeId, int targetNodeId, WeightMapping fallback) {
+        if (outWeights != null) {
+            final int position = position(outPositions, sourceNodeId, outgoing[sourceNodeId], outOffsets[sourceNodeId], targetNodeId);
+            if (position != -1) {
+                return outWeights[sourceNodeId][position];
+            }
+        } else if (inWeights != null) {
+            final int position = position(inPositions, targetNodeId, incoming[targetNodeId], inOffsets[targetNodeId], sourceNodeId);
+            if (position != -1) {
+                return inWeights[targetNodeId][position];
+            }
+        }
+        return fallback.get(sourceNodeId, targetNodeId);
+    }
+
+    /**
+     * find the first position of other in the relationships of nodeId or -1
+     */
+    private static int position(AtomicReferenceArray<IntIntMap> positions, int nodeId, int[] rels, int degree, int other) {
+        if (degree <= INDEX_DEGREE) {
+            for (int i = 0; i < degree; i++) {
+                if (rels[i] == other) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        IntIntMap index = positions.get(nodeId);
+        if (index == null) {
+            // filled backwards so that parallel relationships keep their first position
+            index = new IntIntHashMap(degree);
+            for (int i = degree - 1; i >= 0; i--) {
+                index.put(rels[i], i);
+            }
+            positions.set(nodeId, index);
+        }
+        return index.getOrDefault(other, -1);
+    }
+
     /**
      * get the degree for node / direction
      * @throws NullPointerException if the direction hasn't been loaded.
@@ -188,7 +320,8 @@ class AdjacencyMatrix {
     }
 
     /**
-     * iterate over each edge at the given node using a weighted consumer
+     * iterate over each edge at the given node using a weighted consumer.
+     * weights are taken from the matrix if loaded, from the given mapping otherwise
      */
     public void forEach(int nodeId, Direction direction, WeightMapping weights, WeightedRelationshipConsumer consumer) {
         switch (direction) {
@@ -222,6 +355,12 @@ class AdjacencyMatrix {
             System.arraycopy(other.incoming, 0, incoming, offset, length);
             System.arraycopy(other.inOffsets, 0, inOffsets, offset, length);
         }
+        if (other.outWeights != null) {
+            System.arraycopy(other.outWeights, 0, outWeights, offset, length);
+        }
+        if (other.inWeights != null) {
+            System.arraycopy(other.inWeights, 0, inWeights, offset, length);
+        }
     }
 
     private void forEachOutgoing(int nodeId, RelationshipConsumer consumer) {
@@ -243,6 +382,13 @@ class AdjacencyMatrix {
     private void forEachOutgoing(int nodeId, WeightMapping weights, WeightedRelationshipConsumer consumer) {
         final int degree = outOffsets[nodeId];
         final int[] outs = outgoing[nodeId];
+        if (outWeights != null) {
+            final double[] ws = outWeights[nodeId];
+            for (int i = 0; i < degree; i++) {
+                consumer.accept(nodeId, outs[i], RawValues.combineIntInt(nodeId, outs[i]), ws[i]);
+            }
+            return;
+        }
         for (int i = 0; i < degree; i++) {
             final long relationId = RawValues.combineIntInt(nodeId, outs[i]);
             consumer.accept(nodeId, outs[i], relationId, weights.get(relationId));
@@ -252,6 +398,13 @@ class AdjacencyMatrix {
     private void forEachIncoming(int nodeId, WeightMapping weights, WeightedRelationshipConsumer consumer) {
         final int degree = inOffsets[nodeId];
         final int[] ins = incoming[nodeId];
+        if (inWeights != null) {
+            final double[] ws = inWeights[nodeId];
+            for (int i = 0; i < degree; i++) {
+                consumer.accept(nodeId, ins[i], RawValues.combineIntInt(ins[i], nodeId), ws[i]);
+            }
+            return;
+        }
         for (int i = 0; i < degree; i++) {
             final long relationId = RawValues.combineIntInt(ins[i], nodeId);
             consumer.accept(nodeId, ins[i], relationId, weights.get(relationId));
@@ -3,7 +3,6 @@ package org.neo4j.graphalgo.core.heavyweight;
 import com.carrotsearch.hppc.LongIntHashMap;
 import com.carrotsearch.hppc.LongIntMap;
 import com.carrotsearch.hppc.cursors.LongIntCursor;
-import com.carrotsearch.hppc.procedures.LongIntProcedure;
 import org.neo4j.graphalgo.api.*;
 import org.neo4j.graphalgo.core.IdMap;
 import org.neo4j.graphalgo.core.NullWeightMap;
@@ -178,17 +177,17 @@ public class HeavyCypherGraphFactory extends GraphFactory {
                         int minNodeId = nodeToGraphIds.size();
                         WeightMapping resultWeights = hasNodeWeights && result.nodeWeights.size() > 0 ? result.nodeWeights : null;
                         WeightMapping resultProps = hasNodeProperty && result.nodeProps.size() > 0 ? result.nodeProps : null;
-                        result.idMap.nodeToGraphIds().forEach(
-                                (LongIntProcedure)(graphId,algoId) -> {
-                                    int newId = algoId + minNodeId;
-                                    nodeToGraphIds.put(graphId, newId);
-                                    if (resultWeights!=null) {
-                                        nodeWeights.set(newId, resultWeights.get(algoId));
-                                    }
-                                    if (resultProps != null) {
-                                        nodeProps.set(newId, resultProps.get(algoId));
-                                    }
-                                });
+                        final long[] resultIds = result.idMap.mappedIds();
+                        for (int algoId = 0; algoId < resultIds.length; algoId++) {
+                            int newId = algoId + minNodeId;
+                            nodeToGraphIds.put(resultIds[algoId], newId);
+                            if (resultWeights!=null) {
+                                nodeWeights.set(newId, resultWeights.get(algoId));
+                            }
+                            if (resultProps != null) {
+                                nodeProps.set(newId, resultProps.get(algoId));
+                            }
+                        }
                     }
                 }
                 futures.clear();
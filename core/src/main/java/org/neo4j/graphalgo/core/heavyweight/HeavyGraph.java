@@ -90,7 +90,7 @@ public class HeavyGraph implements Graph, RelationshipWeights, NodeWeights, Node
 
     @Override
     public double weightOf(final int sourceNodeId, final int targetNodeId) {
-        return relationshipWeights.get(sourceNodeId, targetNodeId);
+        return container.weightOf(sourceNodeId, targetNodeId, relationshipWeights);
     }
 
     @Override
@@ -93,9 +93,9 @@ public class HeavyGraphFactory extends GraphFactory {
     /* test-private */ Graph build(int batchSize) {
         final IdMap idMap = new IdMap(nodeCount);
 
-        final WeightMapping relWeigths = relWeightId == StatementConstants.NO_SUCH_PROPERTY_KEY
-                ? new NullWeightMap(setup.relationDefaultWeight)
-                : new WeightMap(nodeCount, setup.relationDefaultWeight);
+        // relationship weights are stored in the adjacency matrix,
+        // the mapping only provides the default weight
+        final WeightMapping relWeigths = new NullWeightMap(setup.relationDefaultWeight);
 
         final WeightMapping nodeWeights = nodeWeightId == StatementConstants.NO_SUCH_PROPERTY_KEY
                 ? new NullWeightMap(setup.nodeDefaultWeight)
@@ -125,7 +125,6 @@ public class HeavyGraphFactory extends GraphFactory {
                         nodeCount,
                         idMap,
                         nodeIds,
-                        relWeigths,
                         nodeWeights,
                         nodeProps,
                         relationId
@@ -149,13 +148,17 @@ public class HeavyGraphFactory extends GraphFactory {
                 return task.matrix;
             }
         }
-        AdjacencyMatrix matrix = new AdjacencyMatrix(nodeCount);
+        AdjacencyMatrix matrix = new AdjacencyMatrix(nodeCount, true, true, loadRelationshipWeights());
         for (ImportTask task : tasks) {
             matrix.addMatrix(task.matrix, task.nodeOffset, task.currentNodeCount);
         }
         return matrix;
     }
 
+    private boolean loadRelationshipWeights() {
+        return relWeightId != StatementConstants.NO_SUCH_PROPERTY_KEY;
+    }
+
     private static void readNode(
             NodeItem node,
             int nodeId,
@@ -164,7 +167,7 @@ public class HeavyGraphFactory extends GraphFactory {
             boolean loadIncoming,
             boolean loadOutgoing,
             int relWeightId,
-            WeightMapping relWeights,
+            double relDefaultWeight,
             int nodeWeightId,
             WeightMapping nodeWeights,
             int nodePropId,
@@ -205,15 +208,11 @@ public class HeavyGraphFactory extends GraphFactory {
                 if (targetNodeId == -1) {
                     continue;
                 }
-                final long relationId = RawValues.combineIntInt(nodeId, targetNodeId);
-
-                try (Cursor<PropertyItem> weights = rel.property(relWeightId)) {
-                    if (weights.next()) {
-                        relWeights.set(relationId, weights.get().value());
-                    }
+                if (matrix.outWeights != null) {
+                    matrix.addOutgoing(nodeId, targetNodeId, weightOf(rel, relWeightId, relDefaultWeight));
+                } else {
+                    matrix.addOutgoing(nodeId, targetNodeId);
                 }
-
-                matrix.addOutgoing(nodeId, targetNodeId);
             }
         }
         matrix.armIn(nodeId, inDegree);
@@ -225,9 +224,22 @@ public class HeavyGraphFactory extends GraphFactory {
                 if (targetNodeId == -1) {
                     continue;
                 }
-                matrix.addIncoming(targetNodeId, nodeId);
+                if (matrix.inWeights != null) {
+                    matrix.addIncoming(targetNodeId, nodeId, weightOf(rel, relWeightId, relDefaultWeight));
+                } else {
+                    matrix.addIncoming(targetNodeId, nodeId);
+                }
+            }
+        }
+    }
+
+    private static double weightOf(RelationshipItem rel, int relWeightId, double defaultWeight) {
+        try (Cursor<PropertyItem> weights = rel.property(relWeightId)) {
+            if (weights.next()) {
+                return RawValues.extractValue(weights.get().value(), defaultWeight);
             }
         }
+        return defaultWeight;
     }
 
     private final class ImportTask implements Runnable, Consumer<ReadOperations> {
@@ -237,7 +249,6 @@ public class HeavyGraphFactory extends GraphFactory {
         private int currentNodeCount;
         private final IdMap idMap;
         private final PrimitiveIntIterable nodes;
-        private final WeightMapping relWeights;
         private final WeightMapping nodeWeights;
         private final WeightMapping nodeProps;
 
@@ -249,7 +260,6 @@ public class HeavyGraphFactory extends GraphFactory {
                 int nodeCount,
                 IdMap idMap,
                 PrimitiveIntIterable nodes,
-                WeightMapping relWeights,
                 WeightMapping nodeWeights,
                 WeightMapping nodeProps,
                 int... relationId) {
@@ -257,11 +267,14 @@ public class HeavyGraphFactory extends GraphFactory {
             this.nodeOffset = nodeOffset;
             this.idMap = idMap;
             this.nodes = nodes;
-            this.relWeights = relWeights;
             this.nodeWeights = nodeWeights;
             this.nodeProps = nodeProps;
             this.relationId = relationId;
-            this.matrix = new AdjacencyMatrix(nodeSize, setup.loadIncoming, setup.loadOutgoing);
+            this.matrix = new AdjacencyMatrix(
+                    nodeSize,
+                    setup.loadIncoming,
+                    setup.loadOutgoing,
+                    loadRelationshipWeights());
             this.currentNodeCount = 0;
             this.maxNodeId = nodeCount - 1;
         }
@@ -290,7 +303,7 @@ public class HeavyGraphFactory extends GraphFactory {
                                 loadIncoming,
                                 loadOutgoing,
                                 relWeightId,
-                                relWeights,
+                                setup.relationDefaultWeight,
                                 nodeWeightId,
                                 nodeWeights,
                                 nodePropId,
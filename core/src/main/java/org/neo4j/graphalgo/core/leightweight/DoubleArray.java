@@ -0,0 +1,81 @@
+package org.neo4j.graphalgo.core.leightweight;
+
+import java.util.Arrays;
+
+/**
+ * Abstraction of a fixed size array of double values that can contain more than 2B elements.
+ * <p>
+ * Used to store values parallel to an {@link IntArray}. Writes to distinct
+ * indices may happen concurrently, the array never grows.
+ */
+public final class DoubleArray {
+
+    private final long size;
+    private final double[][] pages;
+
+    /**
+     * Page size in bytes: 32KB
+     */
+    private static final int PAGE_SIZE_IN_BYTES = 1 << 15;
+    private static final int PAGE_SIZE = PAGE_SIZE_IN_BYTES / Double.BYTES;
+    private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * Allocate a new {@link DoubleArray}.
+     * @param size the length of the array
+     * @param defaultValue the initial value of each element
+     */
+    public static DoubleArray newArray(long size, double defaultValue) {
+        return new DoubleArray(size, defaultValue);
+    }
+
+    private DoubleArray(long size, double defaultValue) {
+        this.size = size;
+        final long numPages = (size + PAGE_MASK) >>> PAGE_SHIFT;
+        assert numPages <= Integer.MAX_VALUE : "pageSize=" + PAGE_SIZE + " is too small for such as capacity: " + size;
+        pages = new double[(int) numPages][];
+        for (int i = 0; i < pages.length; ++i) {
+            final int pageSize = (int) Math.min(size - ((long) i << PAGE_SHIFT), PAGE_SIZE);
+            pages[i] = new double[pageSize];
+            if (defaultValue != 0d) {
+                Arrays.fill(pages[i], defaultValue);
+            }
+        }
+    }
+
+    /**
+     * Return the length of this array.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Get an element given its index.
+     */
+    public double get(long index) {
+        return pages[(int) (index >>> PAGE_SHIFT)][(int) (index & PAGE_MASK)];
+    }
+
+    /**
+     * Set a value at the given index.
+     */
+    public void set(long index, double value) {
+        pages[(int) (index >>> PAGE_SHIFT)][(int) (index & PAGE_MASK)] = value;
+    }
+
+    /**
+     * number of pages, used for bulk copies
+     */
+    int pageCount() {
+        return pages.length;
+    }
+
+    /**
+     * the page with the given index, used for bulk copies
+     */
+    double[] page(int pageIndex) {
+        return pages[pageIndex];
+    }
+}
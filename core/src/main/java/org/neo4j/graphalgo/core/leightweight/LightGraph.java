@@ -21,12 +21,16 @@ import java.util.function.IntPredicate;
  */
 public class LightGraph implements Graph {
 
-    private final IdMap idMapping;
-    private final WeightMapping weightMapping;
-    private final IntArray inAdjacency;
-    private final IntArray outAdjacency;
-    private final long[] inOffsets;
-    private final long[] outOffsets;
+    // package-private for the LightGraphSnapshot
+    final IdMap idMapping;
+    final WeightMapping weightMapping;
+    final IntArray inAdjacency;
+    final IntArray outAdjacency;
+    final long[] inOffsets;
+    final long[] outOffsets;
+    // weights parallel to the adjacency, null if weights are taken from the weightMapping
+    final DoubleArray inWeights;
+    final DoubleArray outWeights;
 
     LightGraph(
             final IdMap idMapping,
@@ -35,12 +39,26 @@ public class LightGraph implements Graph {
             final IntArray outAdjacency,
             final long[] inOffsets,
             final long[] outOffsets) {
+        this(idMapping, weightMapping, inAdjacency, outAdjacency, inOffsets, outOffsets, null, null);
+    }
+
+    LightGraph(
+            final IdMap idMapping,
+            final WeightMapping weightMapping,
+            final IntArray inAdjacency,
+            final IntArray outAdjacency,
+            final long[] inOffsets,
+            final long[] outOffsets,
+            final DoubleArray inWeights,
+            final DoubleArray outWeights) {
         this.idMapping = idMapping;
         this.weightMapping = weightMapping;
         this.inAdjacency = inAdjacency;
         this.outAdjacency = outAdjacency;
         this.inOffsets = inOffsets;
         this.outOffsets = outOffsets;
+        this.inWeights = inWeights;
+        this.outWeights = outWeights;
     }
 
     @Override
@@ -164,14 +182,22 @@ public class LightGraph implements Graph {
             final int node,
             final WeightedRelationshipConsumer consumer) {
         IntArray.Cursor cursor = cursor(node, inOffsets, inAdjacency);
-        consumeNodes(node, cursor, RawValues.INCOMING, consumer);
+        if (inWeights == null) {
+            consumeNodes(node, cursor, RawValues.INCOMING, consumer);
+        } else {
+            consumeNodes(node, cursor, inOffsets[node], inWeights, RawValues.INCOMING, consumer);
+        }
     }
 
     private void forEachOutgoing(
             final int node,
             final WeightedRelationshipConsumer consumer) {
         IntArray.Cursor cursor = cursor(node, outOffsets, outAdjacency);
-        consumeNodes(node, cursor, RawValues.OUTGOING, consumer);
+        if (outWeights == null) {
+            consumeNodes(node, cursor, RawValues.OUTGOING, consumer);
+        } else {
+            consumeNodes(node, cursor, outOffsets[node], outWeights, RawValues.OUTGOING, consumer);
+        }
     }
 
      private IntArray.Cursor cursor(int node, long[] offsets, IntArray array) {
@@ -204,6 +230,29 @@ public class LightGraph implements Graph {
         }
     }
 
+    private void consumeNodes(
+            int startNode,
+            IntArray.Cursor cursor,
+            long weightIndex,
+            DoubleArray weights,
+            IdCombiner relId,
+            WeightedRelationshipConsumer consumer) {
+        while (cursor.next()) {
+            final int[] array = cursor.array;
+            int offset = cursor.offset;
+            final int limit = cursor.limit;
+            while (offset < limit) {
+                int targetNode = array[offset++];
+                consumer.accept(
+                        startNode,
+                        targetNode,
+                        relId.apply(startNode, targetNode),
+                        weights.get(weightIndex++)
+                );
+            }
+        }
+    }
+
     private void consumeNodes(
             int startNode,
             IntArray.Cursor cursor,
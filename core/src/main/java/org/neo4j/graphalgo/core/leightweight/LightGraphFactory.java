@@ -1,5 +1,7 @@
 package org.neo4j.graphalgo.core.leightweight;
 
+import org.neo4j.collection.primitive.PrimitiveIntIterable;
+import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.cursor.Cursor;
 import org.neo4j.graphalgo.api.Graph;
@@ -8,8 +10,7 @@ import org.neo4j.graphalgo.api.GraphSetup;
 import org.neo4j.graphalgo.api.WeightMapping;
 import org.neo4j.graphalgo.core.IdMap;
 import org.neo4j.graphalgo.core.NullWeightMap;
-import org.neo4j.graphalgo.core.WeightMap;
-import org.neo4j.graphalgo.core.utils.IdCombiner;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.kernel.api.ReadOperations;
 import org.neo4j.kernel.api.StatementConstants;
@@ -19,18 +20,32 @@ import org.neo4j.storageengine.api.NodeItem;
 import org.neo4j.storageengine.api.PropertyItem;
 import org.neo4j.storageengine.api.RelationshipItem;
 
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Loads a {@link LightGraph} in two passes over batches of nodes.
+ * <p>
+ * The first pass counts the degree of each node and builds the offsets
+ * as a prefix sum. Afterwards each batch writes the targets of its nodes
+ * directly into its (disjoint) ranges of the adjacency arrays. Both passes
+ * run in parallel if an executor is given. The graph must not be modified
+ * during loading, relationships exceeding the counted degree are dropped.
+ * <p>
+ * Relationship weights are stored in arrays parallel to the adjacency,
+ * so each batch writes the weights of its own ranges as well.
+ */
 public final class LightGraphFactory extends GraphFactory {
 
+    private final ExecutorService threadPool;
     private IdMap mapping;
     private long[] inOffsets;
     private long[] outOffsets;
     private IntArray inAdjacency;
     private IntArray outAdjacency;
-    private IntArray.BulkAdder inAdder;
-    private IntArray.BulkAdder outAdder;
+    private DoubleArray inWeights;
+    private DoubleArray outWeights;
     private WeightMapping weights;
-    private long inAdjacencyIdx;
-    private long outAdjacencyIdx;
     protected int nodeCount;
     private int labelId;
     private int[] relationId;
@@ -40,6 +55,7 @@ public final class LightGraphFactory extends GraphFactory {
             GraphDatabaseAPI api,
             GraphSetup setup) {
         super(api, setup);
+        this.threadPool = setup.executor;
         withReadOps(readOp -> {
             labelId = setup.loadAnyLabel()
                     ? ReadOperations.ANY_LABEL
@@ -59,6 +75,10 @@ public final class LightGraphFactory extends GraphFactory {
 
     @Override
     public Graph build() {
+        return build(ParallelUtil.DEFAULT_BATCH_SIZE);
+    }
+
+    /* test-private */ Graph build(int batchSize) {
         boolean loadIncoming = setup.loadIncoming;
         boolean loadOutgoing = setup.loadOutgoing;
 
@@ -67,21 +87,11 @@ public final class LightGraphFactory extends GraphFactory {
         // check for the last element during degree access
         if (loadIncoming) {
             inOffsets = new long[nodeCount + 1];
-            inAdjacency = IntArray.newArray(nodeCount);
-            inAdder = inAdjacency.bulkAdder();
         }
         if (loadOutgoing) {
             outOffsets = new long[nodeCount + 1];
-            outOffsets[nodeCount] = nodeCount;
-            outAdjacency = IntArray.newArray(nodeCount);
-            outAdder = outAdjacency.bulkAdder();
         }
-        weights = weightId == StatementConstants.NO_SUCH_PROPERTY_KEY
-                ? new NullWeightMap(setup.relationDefaultWeight)
-                : new WeightMap(nodeCount, setup.relationDefaultWeight);
-
-        inAdjacencyIdx = 0L;
-        outAdjacencyIdx = 0L;
+        weights = new NullWeightMap(setup.relationDefaultWeight);
 
         withReadOps(readOp -> {
             final PrimitiveLongIterator nodeIds = labelId == ReadOperations.ANY_LABEL
@@ -91,109 +101,218 @@ public final class LightGraphFactory extends GraphFactory {
                 mapping.add(nodeIds.next());
             }
             mapping.buildMappedIds();
-
-            try (Cursor<NodeItem> cursor = labelId == ReadOperations.ANY_LABEL
-                    ? readOp.nodeCursorGetAll()
-                    : readOp.nodeCursorGetForLabel(labelId)) {
-                while (cursor.next()) {
-                    readNode(cursor.get(), loadIncoming, loadOutgoing);
-                }
-            }
         });
 
-        if (inOffsets != null) {
-            inOffsets[nodeCount] = inAdjacencyIdx;
+        // count degrees into offsets[node + 1]
+        ParallelUtil.readParallel(
+                batchSize,
+                mapping,
+                (offset, nodeIds) -> new DegreeTask(nodeIds),
+                threadPool);
+
+        final boolean loadWeights = weightId != StatementConstants.NO_SUCH_PROPERTY_KEY;
+        if (loadIncoming) {
+            final long size = prefixSum(inOffsets);
+            inAdjacency = IntArray.newArray(size);
+            if (loadWeights) {
+                inWeights = DoubleArray.newArray(size, setup.relationDefaultWeight);
+            }
         }
-        if (outOffsets != null) {
-            outOffsets[nodeCount] = outAdjacencyIdx;
+        if (loadOutgoing) {
+            final long size = prefixSum(outOffsets);
+            outAdjacency = IntArray.newArray(size);
+            if (loadWeights) {
+                outWeights = DoubleArray.newArray(size, setup.relationDefaultWeight);
+            }
         }
 
+        ParallelUtil.readParallel(
+                batchSize,
+                mapping,
+                (offset, nodeIds) -> new ImportTask(nodeIds),
+                threadPool);
+
         return new LightGraph(
                 mapping,
                 weights,
                 inAdjacency,
                 outAdjacency,
                 inOffsets,
-                outOffsets
+                outOffsets,
+                inWeights,
+                outWeights
         );
     }
 
-    private void readNode(
-            NodeItem node,
-            boolean loadIncoming,
-            boolean loadOutgoing) {
-        long sourceNodeId = node.id();
-        int sourceGraphId = mapping.get(sourceNodeId);
+    /**
+     * turn the degrees into offsets
+     * @return the overall number of relationships plus one extra slot,
+     * so that cursors of trailing nodes without relationships stay in bounds
+     */
+    private long prefixSum(long[] offsets) {
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets[nodeCount] + 1;
+    }
 
-        if (loadOutgoing) {
-            outAdjacencyIdx = readRelationships(
-                    sourceGraphId,
-                    node,
-                    Direction.OUTGOING,
-                    RawValues.OUTGOING,
-                    outOffsets,
-                    outAdjacency,
-                    outAdder,
-                    outAdjacencyIdx
-            );
+    private int degree(NodeItem node, Direction direction) {
+        if (labelId == ReadOperations.ANY_LABEL) {
+            return relationId == null
+                    ? node.degree(direction)
+                    : node.degree(direction, relationId[0]);
         }
-        if (loadIncoming) {
-            inAdjacencyIdx = readRelationships(
-                    sourceGraphId,
-                    node,
-                    Direction.INCOMING,
-                    RawValues.INCOMING,
-                    inOffsets,
-                    inAdjacency,
-                    inAdder,
-                    inAdjacencyIdx
-            );
+        // relationships to nodes without the label are not loaded
+        int degree = 0;
+        try (Cursor<RelationshipItem> rels = relationships(node, direction)) {
+            while (rels.next()) {
+                if (mapping.get(rels.get().otherNode(node.id())) != -1) {
+                    degree++;
+                }
+            }
         }
+        return degree;
     }
 
-    private long readRelationships(
+    private Cursor<RelationshipItem> relationships(NodeItem node, Direction direction) {
+        return relationId == null
+                ? node.relationships(direction)
+                : node.relationships(direction, relationId);
+    }
+
+    private void readRelationships(
             int sourceGraphId,
             NodeItem node,
             Direction direction,
-            IdCombiner idCombiner,
             long[] offsets,
             IntArray adjacency,
-            IntArray.BulkAdder bulkAdder,
-            long adjacencyIdx) {
-
-        offsets[sourceGraphId] = adjacencyIdx;
-        int degree = relationId == null
-                ? node.degree(direction)
-                : node.degree(direction, relationId[0]);
-
-        if (degree > 0) {
-            adjacency.bulkAdder(adjacencyIdx, degree, bulkAdder);
-            try (Cursor<RelationshipItem> rels = relationId == null
-                    ? node.relationships(direction)
-                    : node.relationships(direction, relationId)) {
-                while (rels.next()) {
-                    RelationshipItem rel = rels.get();
-
-                    long targetNodeId = rel.otherNode(node.id());
-                    int targetGraphId = mapping.get(targetNodeId);
-                    if (targetGraphId == -1) {
-                        continue;
-                    }
+            DoubleArray weights,
+            IntArray.BulkAdder bulkAdder) {
+
+        final long offset = offsets[sourceGraphId];
+        final long degree = offsets[sourceGraphId + 1] - offset;
+        if (degree <= 0) {
+            return;
+        }
+        adjacency.bulkAdder(offset, degree, bulkAdder);
+        long added = 0L;
+        try (Cursor<RelationshipItem> rels = relationships(node, direction)) {
+            while (added < degree && rels.next()) {
+                RelationshipItem rel = rels.get();
 
-                    try (Cursor<PropertyItem> weights = rel.property(weightId)) {
-                        if (weights.next()) {
-                            long relId = idCombiner.apply(
-                                    sourceGraphId,
-                                    targetGraphId);
-                            this.weights.set(relId, weights.get().value());
+                long targetNodeId = rel.otherNode(node.id());
+                int targetGraphId = mapping.get(targetNodeId);
+                if (targetGraphId == -1) {
+                    continue;
+                }
+
+                if (weights != null) {
+                    try (Cursor<PropertyItem> weight = rel.property(weightId)) {
+                        if (weight.next()) {
+                            weights.set(
+                                    offset + added,
+                                    RawValues.extractValue(weight.get().value(), setup.relationDefaultWeight));
                         }
                     }
+                }
 
-                    bulkAdder.add(targetGraphId);
-                    adjacencyIdx++;
+                bulkAdder.add(targetGraphId);
+                added++;
+            }
+        }
+    }
+
+    /**
+     * base class of the per batch tasks
+     */
+    private abstract class BatchTask implements Runnable, Consumer<ReadOperations> {
+
+        private final PrimitiveIntIterable nodes;
+
+        BatchTask(PrimitiveIntIterable nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void run() {
+            withReadOps(this);
+        }
+
+        @Override
+        public void accept(final ReadOperations readOp) {
+            PrimitiveIntIterator iterator = nodes.iterator();
+            while (iterator.hasNext()) {
+                int nodeId = iterator.next();
+                try (Cursor<NodeItem> cursor = readOp.nodeCursor(mapping.toOriginalNodeId(nodeId))) {
+                    if (cursor.next()) {
+                        readNode(nodeId, cursor.get());
+                    }
                 }
             }
         }
-        return adjacencyIdx;
+
+        abstract void readNode(int nodeId, NodeItem node);
+    }
+
+    /**
+     * counts the degrees of a batch of nodes
+     */
+    private final class DegreeTask extends BatchTask {
+
+        DegreeTask(PrimitiveIntIterable nodes) {
+            super(nodes);
+        }
+
+        @Override
+        void readNode(int nodeId, NodeItem node) {
+            if (outOffsets != null) {
+                outOffsets[nodeId + 1] = degree(node, Direction.OUTGOING);
+            }
+            if (inOffsets != null) {
+                inOffsets[nodeId + 1] = degree(node, Direction.INCOMING);
+            }
+        }
+    }
+
+    /**
+     * writes the targets of a batch of nodes into their
+     * pre-calculated ranges of the adjacency arrays
+     */
+    private final class ImportTask extends BatchTask {
+
+        private final IntArray.BulkAdder inAdder;
+        private final IntArray.BulkAdder outAdder;
+
+        ImportTask(PrimitiveIntIterable nodes) {
+            super(nodes);
+            inAdder = inAdjacency != null ? inAdjacency.bulkAdder() : null;
+            outAdder = outAdjacency != null ? outAdjacency.bulkAdder() : null;
+        }
+
+        @Override
+        void readNode(int nodeId, NodeItem node) {
+            if (outAdder != null) {
+                readRelationships(
+                        nodeId,
+                        node,
+                        Direction.OUTGOING,
+                        outOffsets,
+                        outAdjacency,
+                        outWeights,
+                        outAdder
+                );
+            }
+            if (inAdder != null) {
+                readRelationships(
+                        nodeId,
+                        node,
+                        Direction.INCOMING,
+                        inOffsets,
+                        inAdjacency,
+                        inWeights,
+                        inAdder
+                );
+            }
+        }
     }
 }
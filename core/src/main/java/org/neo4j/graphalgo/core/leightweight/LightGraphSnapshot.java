@@ -0,0 +1,384 @@
+package org.neo4j.graphalgo.core.leightweight;
+
+import org.neo4j.graphalgo.core.IdMap;
+import org.neo4j.graphalgo.core.NullWeightMap;
+import org.neo4j.graphdb.Direction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary snapshot of a {@link LightGraph}.
+ * <p>
+ * The snapshot is written after the import and read back through
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)} with bulk copies
+ * into the paged arrays, which is much faster than reading the neo4j store again.
+ * <p>
+ * Layout (little endian):
+ * <pre>
+ * header    int magic, int version, int nodeCount, int flags,
+ *           double defaultWeight, long inSize, long outSize, long storeId
+ * ids       long[nodeCount]            neo4j node id of each graph id
+ * incoming  long[nodeCount + 1] offsets, int[inSize] targets   (if flag IN)
+ * outgoing  long[nodeCount + 1] offsets, int[outSize] targets  (if flag OUT)
+ * weights   double[inSize]                                     (if flag IN_WEIGHTS)
+ *           double[outSize]                                    (if flag OUT_WEIGHTS)
+ * </pre>
+ * The storeId identifies the neo4j store the graph has been loaded from,
+ * a snapshot is only read back into the same store.
+ */
+public final class LightGraphSnapshot {
+
+    public static final int MAGIC = 0x4C475331; // "LGS1"
+    public static final int VERSION = 2;
+
+    /**
+     * storeId of snapshots which are not bound to a store
+     */
+    public static final long ANY_STORE = 0L;
+
+    private static final int IN = 1;
+    private static final int OUT = 1 << 1;
+    private static final int IN_WEIGHTS = 1 << 2;
+    private static final int OUT_WEIGHTS = 1 << 3;
+
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Double.BYTES + 3 * Long.BYTES;
+
+    /**
+     * max. size of a mapped region, a multiple of each element size
+     */
+    private static final long MAX_WINDOW = 1L << 30;
+
+    /**
+     * write the graph into the given file without binding it to a store
+     * @return the size of the snapshot in bytes
+     */
+    public static long write(LightGraph graph, Path file) throws IOException {
+        return write(graph, file, ANY_STORE);
+    }
+
+    /**
+     * write the graph into the given file, an existing file is overwritten
+     * @param storeId id of the store the graph has been loaded from
+     * @return the size of the snapshot in bytes
+     */
+    public static long write(LightGraph graph, Path file, long storeId) throws IOException {
+        if (graph.weightMapping.size() > 0) {
+            throw new IllegalArgumentException("Weights in a WeightMapping cannot be written to a snapshot");
+        }
+        final int nodeCount = graph.nodeCount();
+        final long inSize = graph.inOffsets == null ? 0L : graph.inOffsets[nodeCount];
+        final long outSize = graph.outOffsets == null ? 0L : graph.outOffsets[nodeCount];
+        int flags = 0;
+        if (graph.inOffsets != null) {
+            flags |= IN;
+            if (graph.inWeights != null) {
+                flags |= IN_WEIGHTS;
+            }
+        }
+        if (graph.outOffsets != null) {
+            flags |= OUT;
+            if (graph.outWeights != null) {
+                flags |= OUT_WEIGHTS;
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final Mapper out = new Mapper(channel, FileChannel.MapMode.READ_WRITE);
+            final ByteBuffer header = out.map(HEADER_BYTES);
+            header.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(nodeCount)
+                    .putInt(flags)
+                    .putDouble(graph.weightMapping.get(-1L))
+                    .putLong(inSize)
+                    .putLong(outSize)
+                    .putLong(storeId);
+
+            out.writeLongs(graph.idMapping.mappedIds(), nodeCount);
+            if ((flags & IN) != 0) {
+                out.writeLongs(graph.inOffsets, nodeCount + 1);
+                out.writeInts(graph.inAdjacency, inSize);
+            }
+            if ((flags & OUT) != 0) {
+                out.writeLongs(graph.outOffsets, nodeCount + 1);
+                out.writeInts(graph.outAdjacency, outSize);
+            }
+            if ((flags & IN_WEIGHTS) != 0) {
+                out.writeDoubles(graph.inWeights, inSize);
+            }
+            if ((flags & OUT_WEIGHTS) != 0) {
+                out.writeDoubles(graph.outWeights, outSize);
+            }
+            channel.force(false);
+            return out.position;
+        }
+    }
+
+    /**
+     * read a graph from a snapshot file of any store
+     * @throws IOException if the file is no snapshot, has an unsupported version or is truncated
+     */
+    public static LightGraph read(Path file) throws IOException {
+        return read(file, ANY_STORE);
+    }
+
+    /**
+     * read a graph from a snapshot file
+     * @param storeId id of the current store, {@link #ANY_STORE} skips the check
+     * @throws IOException if the file is no snapshot, has an unsupported version,
+     * is truncated or has been written from another store
+     */
+    public static LightGraph read(Path file, long storeId) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            final Mapper in = new Mapper(channel, FileChannel.MapMode.READ_ONLY);
+            final ByteBuffer header = in.map(HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a graph snapshot: " + file);
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            final int nodeCount = header.getInt();
+            final int flags = header.getInt();
+            final double defaultWeight = header.getDouble();
+            final long inSize = header.getLong();
+            final long outSize = header.getLong();
+            final long snapshotStoreId = header.getLong();
+            if (storeId != ANY_STORE && snapshotStoreId != storeId) {
+                throw new IOException("Graph snapshot " + file + " has been written from another store");
+            }
+            final long expectedSize = expectedSize(nodeCount, flags, inSize, outSize);
+            if (channel.size() < expectedSize) {
+                throw new IOException("Truncated graph snapshot, expected " + expectedSize +
+                        " bytes but got " + channel.size() + " in " + file);
+            }
+
+            final long[] graphIds = in.readLongs(nodeCount);
+            final IdMap idMap = new IdMap(nodeCount);
+            for (long graphId : graphIds) {
+                idMap.add(graphId);
+            }
+            idMap.buildMappedIds();
+
+            long[] inOffsets = null;
+            long[] outOffsets = null;
+            IntArray inAdjacency = null;
+            IntArray outAdjacency = null;
+            DoubleArray inWeights = null;
+            DoubleArray outWeights = null;
+            if ((flags & IN) != 0) {
+                inOffsets = in.readLongs(nodeCount + 1);
+                inAdjacency = in.readInts(inSize);
+            }
+            if ((flags & OUT) != 0) {
+                outOffsets = in.readLongs(nodeCount + 1);
+                outAdjacency = in.readInts(outSize);
+            }
+            if ((flags & IN_WEIGHTS) != 0) {
+                inWeights = in.readDoubles(inSize);
+            }
+            if ((flags & OUT_WEIGHTS) != 0) {
+                outWeights = in.readDoubles(outSize);
+            }
+
+            return new LightGraph(
+                    idMap,
+                    new NullWeightMap(defaultWeight),
+                    inAdjacency,
+                    outAdjacency,
+                    inOffsets,
+                    outOffsets,
+                    inWeights,
+                    outWeights);
+        }
+    }
+
+    /**
+     * return the direction which has been loaded into the graph
+     */
+    public static Direction directionOf(LightGraph graph) {
+        if (graph.inOffsets != null && graph.outOffsets != null) {
+            return Direction.BOTH;
+        }
+        return graph.inOffsets != null ? Direction.INCOMING : Direction.OUTGOING;
+    }
+
+    /**
+     * check if the graph stores relationship weights
+     */
+    public static boolean hasWeights(LightGraph graph) {
+        return graph.inWeights != null || graph.outWeights != null;
+    }
+
+    private static long expectedSize(int nodeCount, int flags, long inSize, long outSize) {
+        long size = HEADER_BYTES + (long) nodeCount * Long.BYTES;
+        if ((flags & IN) != 0) {
+            size += (nodeCount + 1L) * Long.BYTES + inSize * Integer.BYTES;
+        }
+        if ((flags & OUT) != 0) {
+            size += (nodeCount + 1L) * Long.BYTES + outSize * Integer.BYTES;
+        }
+        if ((flags & IN_WEIGHTS) != 0) {
+            size += inSize * Double.BYTES;
+        }
+        if ((flags & OUT_WEIGHTS) != 0) {
+            size += outSize * Double.BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * maps consecutive regions of the file and copies
+     * whole arrays or pages from and to them
+     */
+    private static final class Mapper {
+
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private long position = 0L;
+
+        private Mapper(FileChannel channel, FileChannel.MapMode mode) {
+            this.channel = channel;
+            this.mode = mode;
+        }
+
+        private ByteBuffer map(long bytes) throws IOException {
+            final ByteBuffer buffer = channel.map(mode, position, bytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            position += bytes;
+            return buffer;
+        }
+
+        private void writeLongs(long[] values, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                final int chunk = (int) Math.min(length - offset, MAX_WINDOW / Long.BYTES);
+                map((long) chunk * Long.BYTES).asLongBuffer().put(values, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private long[] readLongs(int length) throws IOException {
+            final long[] values = new long[length];
+            int offset = 0;
+            while (offset < length) {
+                final int chunk = (int) Math.min(length - offset, MAX_WINDOW / Long.BYTES);
+                map((long) chunk * Long.BYTES).asLongBuffer().get(values, offset, chunk);
+                offset += chunk;
+            }
+            return values;
+        }
+
+        private void writeInts(IntArray array, long size) throws IOException {
+            if (size == 0L) {
+                return;
+            }
+            long remaining = size;
+            IntBuffer window = null;
+            final IntArray.Cursor cursor = array.cursor(0, size);
+            while (cursor.next()) {
+                int offset = cursor.offset;
+                while (offset < cursor.limit) {
+                    if (window == null || !window.hasRemaining()) {
+                        window = map(Math.min(remaining, MAX_WINDOW / Integer.BYTES) * Integer.BYTES).asIntBuffer();
+                    }
+                    final int length = Math.min(cursor.limit - offset, window.remaining());
+                    window.put(cursor.array, offset, length);
+                    offset += length;
+                    remaining -= length;
+                }
+            }
+        }
+
+        /**
+         * read size ints into an array with one extra slot like
+         * the one of the {@link LightGraphFactory}, so that cursors
+         * of trailing nodes without relationships stay in bounds
+         */
+        private IntArray readInts(long size) throws IOException {
+            final IntArray array = IntArray.newArray(size + 1);
+            if (size == 0L) {
+                return array;
+            }
+            long remaining = size;
+            IntBuffer window = null;
+            final IntArray.Cursor cursor = array.cursor(0, size);
+            while (cursor.next()) {
+                int offset = cursor.offset;
+                while (offset < cursor.limit) {
+                    if (window == null || !window.hasRemaining()) {
+                        window = map(Math.min(remaining, MAX_WINDOW / Integer.BYTES) * Integer.BYTES).asIntBuffer();
+                    }
+                    final int length = Math.min(cursor.limit - offset, window.remaining());
+                    window.get(cursor.array, offset, length);
+                    offset += length;
+                    remaining -= length;
+                }
+            }
+            return array;
+        }
+
+        private void writeDoubles(DoubleArray array, long size) throws IOException {
+            long remaining = size;
+            DoubleBuffer window = null;
+            for (int pageIndex = 0; remaining > 0L; pageIndex++) {
+                final double[] page = array.page(pageIndex);
+                final int pageLength = (int) Math.min(page.length, remaining);
+                int offset = 0;
+                while (offset < pageLength) {
+                    if (window == null || !window.hasRemaining()) {
+                        window = map(Math.min(remaining, MAX_WINDOW / Double.BYTES) * Double.BYTES).asDoubleBuffer();
+                    }
+                    final int length = Math.min(pageLength - offset, window.remaining());
+                    window.put(page, offset, length);
+                    offset += length;
+                    remaining -= length;
+                }
+            }
+        }
+
+        /**
+         * read size doubles into an array with one extra slot, see {@link #readInts(long)}
+         */
+        private DoubleArray readDoubles(long size) throws IOException {
+            final DoubleArray array = DoubleArray.newArray(size + 1, 0d);
+            long remaining = size;
+            DoubleBuffer window = null;
+            for (int pageIndex = 0; remaining > 0L; pageIndex++) {
+                final double[] page = array.page(pageIndex);
+                final int pageLength = (int) Math.min(page.length, remaining);
+                int offset = 0;
+                while (offset < pageLength) {
+                    if (window == null || !window.hasRemaining()) {
+                        window = map(Math.min(remaining, MAX_WINDOW / Double.BYTES) * Double.BYTES).asDoubleBuffer();
+                    }
+                    final int length = Math.min(pageLength - offset, window.remaining());
+                    window.get(page, offset, length);
+                    offset += length;
+                    remaining -= length;
+                }
+            }
+            return array;
+        }
+    }
+
+    private LightGraphSnapshot() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -0,0 +1,165 @@
+package org.neo4j.graphalgo.core.sources;
+
+import org.neo4j.graphalgo.core.utils.Importer;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.exceptions.EntityNotFoundException;
+import org.neo4j.kernel.impl.store.id.IdGeneratorFactory;
+import org.neo4j.kernel.impl.store.id.IdType;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.util.Arrays;
+
+/**
+ * Relationships which have been created after a watermark, that is
+ * all relationships with an id above the highest relationship id of
+ * a previous import. The relationships are given by neo4j node ids.
+ * Only the ids between the watermark and the high id of the relationship
+ * store are looked up, so the import does not scan the whole store.
+ * <p>
+ * Note: neo4j reuses the ids of deleted relationships, so relationships
+ * created in place of deleted ones might be below the watermark.
+ */
+public final class NewRelationships {
+
+    private final long[] sourceNodeIds;
+    private final long[] targetNodeIds;
+    private final int count;
+    private final long highestRelationshipId;
+
+    private NewRelationships(long[] sourceNodeIds, long[] targetNodeIds, int count, long highestRelationshipId) {
+        this.sourceNodeIds = sourceNodeIds;
+        this.targetNodeIds = targetNodeIds;
+        this.count = count;
+        this.highestRelationshipId = highestRelationshipId;
+    }
+
+    /**
+     * neo4j start node ids
+     */
+    public long[] sourceNodeIds() {
+        return sourceNodeIds;
+    }
+
+    /**
+     * neo4j end node ids
+     */
+    public long[] targetNodeIds() {
+        return targetNodeIds;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * the highest relationship id which might be in use, the watermark
+     * for the next import. -1 if there are no relationships at all
+     */
+    public long highestRelationshipId() {
+        return highestRelationshipId;
+    }
+
+    public static NewRelationshipsImporter importer(GraphDatabaseAPI api) {
+        return new NewRelationshipsImporter(api);
+    }
+
+    public static class NewRelationshipsImporter extends Importer<NewRelationships, NewRelationshipsImporter> {
+
+        private long watermark = -1L;
+
+        public NewRelationshipsImporter(GraphDatabaseAPI api) {
+            super(api);
+        }
+
+        /**
+         * import only relationships with an id above the watermark,
+         * by default all relationships are imported. A watermark of
+         * {@link Long#MAX_VALUE} just determines the highest relationship id.
+         */
+        public NewRelationshipsImporter withWatermark(long watermark) {
+            this.watermark = watermark;
+            return this;
+        }
+
+        @Override
+        protected NewRelationshipsImporter me() {
+            return this;
+        }
+
+        @Override
+        protected NewRelationships buildT() {
+            final long highestRelationshipId = highestPossibleRelationshipId();
+            final Builder builder = new Builder(highestRelationshipId);
+            // a relationship type which does not exist matches nothing
+            if (watermark >= highestRelationshipId || (!loadAnyRelationship() && relationId == null)) {
+                return builder.build();
+            }
+            withinTransaction(readOp -> {
+                // only the ids above the watermark are looked up
+                for (long id = Math.max(watermark, -1L) + 1L; id <= highestRelationshipId; id++) {
+                    try {
+                        readOp.relationshipVisit(id, (relationshipId, type, startNode, endNode) -> {
+                            if (relationId != null && type != relationId[0]) {
+                                return;
+                            }
+                            if (hasLabel(readOp, startNode) && hasLabel(readOp, endNode)) {
+                                builder.add(startNode, endNode);
+                            }
+                        });
+                    } catch (EntityNotFoundException e) {
+                        // unused or deleted id
+                    }
+                }
+            });
+            return builder.build();
+        }
+
+        /**
+         * the highest relationship id which might be in use, -1 if
+         * no relationship has been created yet
+         */
+        private long highestPossibleRelationshipId() {
+            return api.getDependencyResolver()
+                    .resolveDependency(IdGeneratorFactory.class)
+                    .get(IdType.RELATIONSHIP)
+                    .getHighestPossibleIdInUse();
+        }
+
+        private boolean hasLabel(ReadOperations readOp, long nodeId) {
+            if (labelId == ReadOperations.ANY_LABEL) {
+                return true;
+            }
+            try {
+                return readOp.nodeHasLabel(nodeId, labelId);
+            } catch (EntityNotFoundException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class Builder {
+
+        private final long highestRelationshipId;
+        private long[] sourceNodeIds = new long[16];
+        private long[] targetNodeIds = new long[16];
+        private int count = 0;
+
+        private Builder(long highestRelationshipId) {
+            this.highestRelationshipId = highestRelationshipId;
+        }
+
+        private void add(long sourceNodeId, long targetNodeId) {
+            if (count == sourceNodeIds.length) {
+                sourceNodeIds = Arrays.copyOf(sourceNodeIds, count * 2);
+                targetNodeIds = Arrays.copyOf(targetNodeIds, count * 2);
+            }
+            sourceNodeIds[count] = sourceNodeId;
+            targetNodeIds[count] = targetNodeId;
+            ++count;
+        }
+
+        private NewRelationships build() {
+            return new NewRelationships(sourceNodeIds, targetNodeIds, count, highestRelationshipId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.neo4j.graphalgo.core.utils;
+
+import org.neo4j.collection.primitive.PrimitiveIntIterable;
+import org.neo4j.collection.primitive.PrimitiveIntIterator;
+import org.neo4j.graphalgo.api.BatchNodeIterable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Iterates over the node ids of an array in batches, e.g. to export
+ * only a subset of the nodes with a {@link ParallelExporter}.
+ */
+public final class ArrayBatchNodeIterable implements BatchNodeIterable {
+
+    private final int[] nodes;
+
+    public ArrayBatchNodeIterable(int[] nodes) {
+        this.nodes = nodes;
+    }
+
+    @Override
+    public Collection<PrimitiveIntIterable> batchIterables(int batchSize) {
+        int numberOfBatches = ParallelUtil.threadSize(batchSize, nodes.length);
+        PrimitiveIntIterable[] iterators = new PrimitiveIntIterable[numberOfBatches];
+        Arrays.setAll(iterators, i -> {
+            int start = i * batchSize;
+            int end = Math.min(start + batchSize, nodes.length);
+            return () -> new ArrayIterator(nodes, start, end);
+        });
+        return Arrays.asList(iterators);
+    }
+
+    private static final class ArrayIterator implements PrimitiveIntIterator {
+
+        private final int[] nodes;
+        private final int limit; // exclusive upper bound
+        private int current;
+
+        private ArrayIterator(int[] nodes, int start, int limit) {
+            this.nodes = nodes;
+            this.current = start;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < limit;
+        }
+
+        @Override
+        public int next() {
+            return nodes[current++];
+        }
+    }
+}
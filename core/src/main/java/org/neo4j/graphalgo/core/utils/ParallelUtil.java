@@ -195,6 +195,7 @@ public final class ParallelUtil {
         for (Runnable task : tasks) {
             futures.add(executor.submit(task));
         }
+        selfTask.run();
 
         awaitTermination(futures);
     }
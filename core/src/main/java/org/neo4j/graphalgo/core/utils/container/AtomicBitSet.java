@@ -84,4 +84,40 @@ public class AtomicBitSet {
         final int value = elements.get(index);
         return (value & bit) != 0;
     }
+
+    /**
+     * find the next set bit by scanning whole words
+     * @param fromIndex the bit to start from (inclusive)
+     * @return the index of the next set bit or -1 if there is none
+     */
+    public int nextSetBit(int fromIndex) {
+        int index = fromIndex >>> 5;
+        final int length = elements.length();
+        if (index >= length) {
+            return -1;
+        }
+        int word = elements.get(index) & (-1 << fromIndex);
+        while (true) {
+            if (word != 0) {
+                return (index << 5) + Integer.numberOfTrailingZeros(word);
+            }
+            if (++index == length) {
+                return -1;
+            }
+            word = elements.get(index);
+        }
+    }
+
+    /**
+     * count the set bits, the result is only exact if
+     * no other thread changes the set concurrently
+     * @return number of set bits
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = elements.length() - 1; i >= 0; i--) {
+            count += Integer.bitCount(elements.get(i));
+        }
+        return count;
+    }
 }
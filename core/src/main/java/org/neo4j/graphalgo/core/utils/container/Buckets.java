@@ -2,26 +2,78 @@ package org.neo4j.graphalgo.core.utils.container;
 
 
 import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.IntPredicate;
 
 /**
- * container for assigning nodeIds to arbitrary buckets
+ * container for assigning nodeIds to arbitrary buckets.
+ *
+ * {@link #set(int, int)} is lock-free and may be called concurrently.
+ * The bucket of each node is kept in an atomic array while each thread
+ * appends the nodes it assigned into its own bucket lists. Those
+ * lists are merged lazily when a bucket is consumed, stale entries
+ * (nodes which have been moved to another bucket meanwhile) are skipped.
+ * A live-counter per bucket allows finding the next non empty bucket
+ * without scanning all nodes.
+ *
+ * {@link #reset()}, {@link #isEmpty()}, {@link #nextNonEmptyBucket()} and
+ * {@link #forEachInBucket(int, IntPredicate)} must not run concurrently
+ * with {@link #set(int, int)} calls from other threads.
+ *
  * @author mknblch
  */
 public class Buckets {
 
-    private final int[] buckets;
+    private static final int NO_BUCKET = -1;
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // nodeId to bucket index
+    private final AtomicIntegerArray buckets;
+    // number of nodes per bucket, paged by bucket index
+    private volatile AtomicIntegerArray[] counts = new AtomicIntegerArray[1];
+    // overall number of nodes in any bucket
+    private final AtomicInteger size = new AtomicInteger();
+    // lower bound of the smallest non empty bucket index
+    private final AtomicInteger cursor = new AtomicInteger(Integer.MAX_VALUE);
+    // bucket lists of each thread which ever called set
+    private final Queue<LocalBuckets> locals = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<LocalBuckets> local = ThreadLocal.withInitial(() -> {
+        final LocalBuckets localBuckets = new LocalBuckets();
+        locals.add(localBuckets);
+        return localBuckets;
+    });
 
     public Buckets(int capacity) {
-        buckets = new int[capacity];
-        reset();
+        buckets = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            buckets.set(i, NO_BUCKET);
+        }
     }
 
     /**
-     * reset all buckets
+     * reset all buckets. only nodes which are still
+     * assigned to a bucket are touched, allocated
+     * lists are kept for the next run
      */
     public void reset() {
-        Arrays.fill(buckets, -1);
+        for (LocalBuckets localBuckets : locals) {
+            localBuckets.reset();
+        }
+        for (AtomicIntegerArray page : counts) {
+            if (null == page) {
+                continue;
+            }
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                page.set(i, 0);
+            }
+        }
+        size.set(0);
+        cursor.set(Integer.MAX_VALUE);
     }
 
     /**
@@ -29,39 +81,59 @@ public class Buckets {
      * @return if the no nodes left, false otherwise
      */
     public boolean isEmpty() {
-        for (int i = 0; i < buckets.length; i++) {
-            if (buckets[i] != -1) {
-                return false;
-            }
-        }
-        return true;
+        return size.get() == 0;
     }
 
     /**
-     * assign bucket to nodeId
+     * assign bucket to nodeId. moves the node if it
+     * has already been assigned to another bucket
      * @param nodeId the node id
      * @param bucket the bucket index
      */
     public void set(int nodeId, int bucket) {
-        buckets[nodeId] = bucket;
+        final int old = buckets.getAndSet(nodeId, bucket);
+        if (old == bucket) {
+            return;
+        }
+        if (old == NO_BUCKET) {
+            size.incrementAndGet();
+        } else {
+            page(old).decrementAndGet(old & PAGE_MASK);
+        }
+        page(bucket).incrementAndGet(bucket & PAGE_MASK);
+        int current;
+        do {
+            current = cursor.get();
+        } while (bucket < current && !cursor.compareAndSet(current, bucket));
+        local.get().add(bucket, nodeId);
     }
 
     /**
      * find smallest non empty bucket index
-     * @return the index
+     * @return the index or Integer.MAX_VALUE if all buckets are empty
      */
     public int nextNonEmptyBucket() {
-        int min = Integer.MAX_VALUE;
-        for (int i = 0; i < buckets.length; i++) {
-            int bucket = buckets[i];
-            if (bucket == -1) {
+        if (isEmpty()) {
+            return Integer.MAX_VALUE;
+        }
+        final AtomicIntegerArray[] pages = counts;
+        int bucket = cursor.get();
+        for (int p = bucket >>> PAGE_SHIFT; p < pages.length; p++) {
+            final AtomicIntegerArray page = pages[p];
+            if (null == page) {
+                bucket = (p + 1) << PAGE_SHIFT;
                 continue;
             }
-            if (bucket < min) {
-                min = bucket;
+            for (int i = bucket & PAGE_MASK; i < PAGE_SIZE; i++) {
+                if (page.get(i) > 0) {
+                    final int next = (p << PAGE_SHIFT) | i;
+                    cursor.set(next);
+                    return next;
+                }
             }
+            bucket = (p + 1) << PAGE_SHIFT;
         }
-        return min;
+        return Integer.MAX_VALUE;
     }
 
     /**
@@ -71,14 +143,202 @@ public class Buckets {
      * @param consumer the nodeConsumer
      */
     public void forEachInBucket(int bucket, IntPredicate consumer) {
-        for (int nodeId = 0; nodeId < buckets.length; nodeId++) {
-            int tb = buckets[nodeId];
-            if (tb == bucket) {
-                buckets[nodeId] = -1; // clear bucket
+        for (LocalBuckets localBuckets : locals) {
+            if (!localBuckets.forEach(bucket, consumer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * largest number of list slots of any thread
+     */
+    int slots() {
+        int slots = 0;
+        for (LocalBuckets localBuckets : locals) {
+            slots = Math.max(slots, localBuckets.lists.length);
+        }
+        return slots;
+    }
+
+    private AtomicIntegerArray page(int bucket) {
+        final int index = bucket >>> PAGE_SHIFT;
+        final AtomicIntegerArray[] pages = counts;
+        if (index < pages.length) {
+            final AtomicIntegerArray page = pages[index];
+            if (null != page) {
+                return page;
+            }
+        }
+        return allocatePage(index);
+    }
+
+    private synchronized AtomicIntegerArray allocatePage(int index) {
+        AtomicIntegerArray[] pages = counts;
+        if (index >= pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(index + 1, pages.length << 1));
+        }
+        if (null == pages[index]) {
+            pages[index] = new AtomicIntegerArray(PAGE_SIZE);
+        }
+        // volatile write publishes the new page
+        counts = pages;
+        return pages[index];
+    }
+
+    /**
+     * bucket lists written by a single thread. The lists are kept in a ring
+     * indexed by the lower bits of the bucket index, so its size depends on
+     * the span between the smallest and the largest bucket in use instead of
+     * the largest bucket index. The ring grows if two buckets share a slot.
+     */
+    private final class LocalBuckets {
+
+        private int[][] lists = new int[16][];
+        private int[] sizes = new int[16];
+        // bucket index of each slot which has a list
+        private int[] indices = new int[16];
+        private int mask = 15;
+        // lists of consumed buckets ready for reuse
+        private int[][] free = new int[16][];
+        private int freeCount = 0;
+
+        private void add(int bucket, int nodeId) {
+            int slot = bucket & mask;
+            if (null != lists[slot] && indices[slot] != bucket) {
+                if (isStale(slot)) {
+                    // all nodes have been moved, the bucket is never consumed
+                    release(slot);
+                } else {
+                    grow(bucket);
+                    slot = bucket & mask;
+                }
+            }
+            int[] list = lists[slot];
+            if (null == list) {
+                list = freeCount > 0 ? free[--freeCount] : new int[64];
+                lists[slot] = list;
+                indices[slot] = bucket;
+            }
+            final int size = sizes[slot];
+            if (size == list.length) {
+                list = Arrays.copyOf(list, size << 1);
+                lists[slot] = list;
+            }
+            list[size] = nodeId;
+            sizes[slot] = size + 1;
+        }
+
+        /**
+         * number of nodes in the list of the bucket
+         */
+        private int size(int bucket) {
+            final int slot = bucket & mask;
+            return null != lists[slot] && indices[slot] == bucket ? sizes[slot] : 0;
+        }
+
+        /**
+         * consume all nodes of the bucket which are still assigned to it.
+         * re-reads the list on each step since the consumer may add
+         * nodes to it (or grow the ring) if called from the owning thread
+         * @return false if the consumer stopped the iteration
+         */
+        private boolean forEach(int bucket, IntPredicate consumer) {
+            if (size(bucket) == 0) {
+                return true;
+            }
+            for (int i = 0; i < size(bucket); i++) {
+                final int nodeId = lists[bucket & mask][i];
+                if (!buckets.compareAndSet(nodeId, bucket, NO_BUCKET)) {
+                    continue; // moved to another bucket or already consumed
+                }
+                size.decrementAndGet();
+                page(bucket).decrementAndGet(bucket & PAGE_MASK);
                 if (!consumer.test(nodeId)) {
-                    return;
+                    // keep the remaining nodes
+                    final int slot = bucket & mask;
+                    final int remaining = sizes[slot] - i - 1;
+                    System.arraycopy(lists[slot], i + 1, lists[slot], 0, remaining);
+                    sizes[slot] = remaining;
+                    return false;
+                }
+            }
+            release(bucket & mask);
+            return true;
+        }
+
+        private void reset() {
+            for (int slot = 0; slot < lists.length; slot++) {
+                final int[] list = lists[slot];
+                if (null == list) {
+                    continue;
                 }
+                for (int i = 0; i < sizes[slot]; i++) {
+                    buckets.set(list[i], NO_BUCKET);
+                }
+                release(slot);
+            }
+        }
+
+        /**
+         * check if no node of the list is assigned to its bucket anymore
+         */
+        private boolean isStale(int slot) {
+            final int[] list = lists[slot];
+            final int bucket = indices[slot];
+            for (int i = 0; i < sizes[slot]; i++) {
+                if (buckets.get(list[i]) == bucket) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void release(int slot) {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount << 1);
+            }
+            free[freeCount++] = lists[slot];
+            lists[slot] = null;
+            sizes[slot] = 0;
+        }
+
+        /**
+         * double the ring until the bucket and all
+         * buckets in use get their own slot
+         */
+        private void grow(int bucket) {
+            int length = lists.length << 1;
+            while (!relocate(length, bucket)) {
+                length <<= 1;
+            }
+        }
+
+        private boolean relocate(int length, int bucket) {
+            final int newMask = length - 1;
+            final int[][] newLists = new int[length][];
+            final int[] newSizes = new int[length];
+            final int[] newIndices = new int[length];
+            for (int slot = 0; slot < lists.length; slot++) {
+                if (null == lists[slot]) {
+                    continue;
+                }
+                final int target = indices[slot] & newMask;
+                if (null != newLists[target]) {
+                    return false;
+                }
+                newLists[target] = lists[slot];
+                newSizes[target] = sizes[slot];
+                newIndices[target] = indices[slot];
+            }
+            if (null != newLists[bucket & newMask]) {
+                return false;
             }
+            lists = newLists;
+            sizes = newSizes;
+            indices = newIndices;
+            mask = newMask;
+            return true;
         }
     }
 }
@@ -26,30 +26,37 @@ public class Paths {
 
 
     public void append(int pathId, int nodeId) {
-        final Path path;
-        if (!paths.containsKey(pathId)) {
+        Path path = paths.get(pathId);
+        if (null == path) {
             path = new Path(INITIAL_PATH_CAPACITY);
             paths.put(pathId, path);
-        } else {
-            path = paths.get(pathId);
         }
         path.append(nodeId);
     }
 
     public int size(int pathId) {
-        return paths.containsKey(pathId) ? paths.get(pathId).size() : 0;
+        final Path path = paths.get(pathId);
+        return null == path ? 0 : path.size();
     }
 
     public void forEach(int pathId, IntPredicate consumer) {
-        if (paths.containsKey(pathId)) {
-            paths.get(pathId).forEach(consumer);
+        final Path path = paths.get(pathId);
+        if (null != path) {
+            path.forEach(consumer);
         }
     }
 
+    /**
+     * clear all paths, use {@link #clear(int)} if
+     * only a few paths have been used
+     */
     public void clear() {
         paths.forEach((Consumer<IntObjectCursor<Path>>) p -> p.value.clear());
     }
 
+    /**
+     * clear a single path, the path is kept for reuse
+     */
     public void clear(int pathId) {
         final Path path = paths.get(pathId);
         if (null != path) {
@@ -0,0 +1,164 @@
+package org.neo4j.graphalgo.core.utils.dss;
+
+import org.neo4j.graphalgo.api.IdMapping;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * disjoint-set-struct which can be used by many threads at the same time.
+ *
+ * Each element points to its parent, roots point to themselves. Unions link
+ * the root with the higher id below the root with the lower id using CAS, so
+ * every parent has a lower id than its child and no cycles can occur. Finds
+ * use path splitting (each visited element is set to its grandparent).
+ * The set id of each element is the lowest id within its set.
+ */
+public final class ConcurrentDisjointSetStruct {
+
+    private final AtomicIntegerArray parent;
+    private final int capacity;
+
+    /**
+     * Initialize the struct with the given capacity,
+     * each element is its own set.
+     * @param capacity the capacity (maximum node id)
+     */
+    public ConcurrentDisjointSetStruct(int capacity) {
+        parent = new AtomicIntegerArray(capacity);
+        this.capacity = capacity;
+        reset();
+    }
+
+    /**
+     * reset the container
+     */
+    public ConcurrentDisjointSetStruct reset() {
+        for (int i = 0; i < capacity; i++) {
+            parent.set(i, i);
+        }
+        return this;
+    }
+
+    /**
+     * element count
+     * @return the element count
+     */
+    public int count() {
+        return capacity;
+    }
+
+    /**
+     * find setId of element p.
+     *
+     * @param p the element in the set we are looking for
+     * @return an id of the set it belongs to
+     */
+    public int find(int p) {
+        int q = parent.get(p);
+        while (q != p) {
+            final int r = parent.get(q);
+            if (r != q) {
+                // path splitting, fails harmlessly if another thread was faster
+                parent.compareAndSet(p, q, r);
+            }
+            p = q;
+            q = r;
+        }
+        return p;
+    }
+
+    /**
+     * check if p and q belong to the same set
+     *
+     * @param p a set item
+     * @param q a set item
+     * @return true if both items belong to the same set, false otherwise
+     */
+    public boolean connected(int p, int q) {
+        while (true) {
+            final int pSet = find(p);
+            final int qSet = find(q);
+            if (pSet == qSet) {
+                return true;
+            }
+            // pSet might have been linked since we found it
+            if (parent.get(pSet) == pSet) {
+                return false;
+            }
+            p = pSet;
+            q = qSet;
+        }
+    }
+
+    /**
+     * join set of p (Sp) with set of q (Sq) so that {@link #connected(int, int)}
+     * for any pair of (Spi, Sqj) evaluates to true
+     *
+     * @param p an item of Sp
+     * @param q an item of Sq
+     */
+    public void union(int p, int q) {
+        while (true) {
+            int pSet = find(p);
+            int qSet = find(q);
+            if (pSet == qSet) {
+                return;
+            }
+            if (pSet < qSet) {
+                final int tmp = pSet;
+                pSet = qSet;
+                qSet = tmp;
+            }
+            // fails if pSet is no root anymore, try again from the new roots
+            if (parent.compareAndSet(pSet, pSet, qSet)) {
+                return;
+            }
+            p = pSet;
+            q = qSet;
+        }
+    }
+
+    /**
+     * @return the number of sets, must not be called during unions
+     */
+    public int getSetCount() {
+        int count = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (parent.get(i) == i) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * copy the sets into a sequential {@link DisjointSetStruct}, must
+     * not be called during unions
+     *
+     * @return a struct with the same set ids
+     */
+    public DisjointSetStruct toDisjointSetStruct() {
+        final DisjointSetStruct struct = new DisjointSetStruct(capacity);
+        for (int i = 0; i < capacity; i++) {
+            final int setId = find(i);
+            if (setId == i) {
+                struct.parent[i] = -1;
+            } else {
+                struct.parent[i] = setId;
+                struct.depth[setId] = 1;
+            }
+        }
+        return struct;
+    }
+
+    public Stream<DisjointSetStruct.Result> resultStream(IdMapping idMapping) {
+
+        return IntStream.range(IdMapping.START_NODE_ID, idMapping.nodeCount())
+                .mapToObj(mappedId ->
+                        new DisjointSetStruct.Result(
+                                idMapping.toOriginalNodeId(mappedId),
+                                find(mappedId)));
+    }
+}
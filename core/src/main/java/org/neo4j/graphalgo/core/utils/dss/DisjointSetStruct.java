@@ -26,8 +26,8 @@ import java.util.stream.Stream;
  */
 public final class DisjointSetStruct {
 
-    private final int[] parent;
-    private final int[] depth;
+    final int[] parent;
+    final int[] depth;
     private final int capacity;
 
     /**
@@ -57,6 +57,24 @@ public final class DisjointSetStruct {
         return this;
     }
 
+    /**
+     * create a struct with a bigger capacity which contains the sets of
+     * this struct. the additional elements are singletons.
+     *
+     * @param capacity the new capacity
+     * @return a new struct
+     */
+    public DisjointSetStruct grow(int capacity) {
+        if (capacity < this.capacity) {
+            throw new IllegalArgumentException("Capacity must not shrink");
+        }
+        final DisjointSetStruct struct = new DisjointSetStruct(capacity);
+        System.arraycopy(parent, 0, struct.parent, 0, this.capacity);
+        System.arraycopy(depth, 0, struct.depth, 0, this.capacity);
+        Arrays.fill(struct.parent, this.capacity, capacity, -1);
+        return struct;
+    }
+
     /**
      * reset the container
      */
@@ -0,0 +1,313 @@
+package org.neo4j.graphalgo.core.utils.traverse;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
+import org.neo4j.graphdb.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Level synchronous, direction optimizing parallel breadth first search.
+ * <p>
+ * Each level either expands the frontier along the given direction (top-down)
+ * or lets every unvisited node search the frontier among its neighbours in the
+ * opposite direction (bottom-up). The search switches to bottom-up once the
+ * frontier has more relationships than the unexplored part of the graph divided
+ * by {@link #ALPHA} and back to top-down once the frontier shrinks below
+ * nodeCount / {@link #BETA} (Beamer et al.). Bottom-up levels need the
+ * opposite direction to be loaded, otherwise disable them with
+ * {@link #withDirectionOptimization(boolean)}.
+ * <p>
+ * Within a level the workers take small chunks of the frontier (or of the
+ * node range while going bottom-up) from a shared cursor until it is
+ * exhausted, so threads which finish early keep taking work from the others.
+ * <p>
+ * The traversal is complete when {@link #bfs(int, Direction, IntPredicate, IntConsumer)}
+ * returns. The visitor is called concurrently and must be thread safe.
+ */
+public class Traverse implements BFS {
+
+    public static final double ALPHA = 14.0;
+    public static final double BETA = 24.0;
+
+    // number of nodes taken from the cursor at once
+    private static final int CHUNK_SIZE = 64;
+
+    private final Graph graph;
+    private final ExecutorService executorService;
+    private final int concurrency;
+    private final int nodeCount;
+    // set of visited ID's
+    private final AtomicBitSet visited;
+    // the current frontier while going bottom-up
+    private final AtomicBitSet frontierSet;
+    // shared work cursor of the current level
+    private final AtomicInteger cursor = new AtomicInteger();
+    // degree sums, lazily computed, indexed by direction ordinal
+    private final long[] degreeSums = {-1L, -1L, -1L};
+    private final List<LevelTask> tasks;
+
+    private boolean directionOptimization = true;
+
+    private int[] frontier;
+    private int frontierSize;
+    private int level;
+    private int bottomUpLevels;
+
+    public Traverse(Graph graph, ExecutorService executorService, int concurrency) {
+        this.graph = graph;
+        this.executorService = executorService;
+        this.concurrency = Math.max(1, concurrency);
+        this.nodeCount = graph.nodeCount();
+        visited = new AtomicBitSet(nodeCount);
+        frontierSet = new AtomicBitSet(nodeCount);
+        tasks = new ArrayList<>(this.concurrency);
+        for (int i = 0; i < this.concurrency; i++) {
+            tasks.add(new LevelTask());
+        }
+    }
+
+    /**
+     * enable or disable bottom-up levels
+     * @return itself
+     */
+    public Traverse withDirectionOptimization(boolean directionOptimization) {
+        this.directionOptimization = directionOptimization;
+        return this;
+    }
+
+    /**
+     * reset the set of visited nodes
+     * @return itself
+     */
+    public Traverse reset() {
+        visited.clear();
+        return this;
+    }
+
+    /**
+     * start bfs at startNodeId using the supplied direction. On each relationship the targetNode is tested
+     * using the predicate. If it succeeds the node is visited in the next level. Upon first arrival at a
+     * node the visitor is called with its node Id. Nodes which have been visited since the last
+     * {@link #reset()} are not visited again.
+     *
+     * NOTE: predicate and visitor must be thread safe
+     */
+    @Override
+    public Traverse bfs(int startNodeId, Direction direction, IntPredicate predicate, IntConsumer visitor) {
+        level = 0;
+        bottomUpLevels = 0;
+        if (!predicate.test(startNodeId) || !visited.trySet(startNodeId)) {
+            return this;
+        }
+        visitor.accept(startNodeId);
+        frontier = new int[]{startNodeId};
+        frontierSize = 1;
+        final long degreeSum = degreeSum(direction);
+        long frontierDegree = graph.degree(startNodeId, direction);
+        long exploredDegree = frontierDegree;
+        boolean bottomUp = false;
+        boolean growing = true;
+        while (frontierSize > 0) {
+            if (directionOptimization) {
+                bottomUp = bottomUp
+                        ? growing || frontierSize >= nodeCount / BETA
+                        : frontierDegree > (degreeSum - exploredDegree) / ALPHA;
+            }
+            level++;
+            final int previousSize = frontierSize;
+            if (bottomUp) {
+                frontierDegree = bottomUp(direction, predicate, visitor);
+                bottomUpLevels++;
+            } else {
+                frontierDegree = topDown(direction, predicate, visitor);
+            }
+            exploredDegree += frontierDegree;
+            growing = frontierSize > previousSize;
+        }
+        // the last level did not find any nodes
+        level--;
+        return this;
+    }
+
+    /**
+     * return the depth of the deepest node of the last traversal.
+     * While traversing the depth of the currently visited nodes.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * return the number of levels which have been done bottom-up
+     * during the last traversal
+     */
+    public int getBottomUpLevels() {
+        return bottomUpLevels;
+    }
+
+    /**
+     * expand each node of the frontier
+     * @return the degree sum of the next frontier
+     */
+    private long topDown(Direction direction, IntPredicate predicate, IntConsumer visitor) {
+        cursor.set(0);
+        final int limit = frontierSize;
+        final int taskCount = taskCount(limit);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.get(i).reset(false, limit, direction, predicate, visitor);
+        }
+        ParallelUtil.run(tasks.subList(0, taskCount), executorService);
+        return collect(taskCount);
+    }
+
+    /**
+     * search the frontier among the neighbours of each unvisited node
+     * @return the degree sum of the next frontier
+     */
+    private long bottomUp(Direction direction, IntPredicate predicate, IntConsumer visitor) {
+        frontierSet.clear();
+        for (int i = 0; i < frontierSize; i++) {
+            frontierSet.set(frontier[i]);
+        }
+        cursor.set(0);
+        final int taskCount = taskCount(nodeCount);
+        final Direction reverse = reverse(direction);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.get(i).reset(true, nodeCount, reverse, predicate, visitor);
+        }
+        ParallelUtil.run(tasks.subList(0, taskCount), executorService);
+        return collect(taskCount);
+    }
+
+    /**
+     * build the next frontier from the results of all tasks
+     */
+    private long collect(int taskCount) {
+        int size = 0;
+        long degree = 0;
+        for (int i = 0; i < taskCount; i++) {
+            final LevelTask task = tasks.get(i);
+            size += task.next.size();
+            degree += task.degree;
+        }
+        final int[] next = size <= frontier.length ? frontier : new int[size];
+        int offset = 0;
+        for (int i = 0; i < taskCount; i++) {
+            final IntArrayList list = tasks.get(i).next;
+            System.arraycopy(list.buffer, 0, next, offset, list.size());
+            offset += list.size();
+        }
+        frontier = next;
+        frontierSize = size;
+        return degree;
+    }
+
+    private int taskCount(int elements) {
+        return Math.max(1, Math.min(concurrency, ParallelUtil.threadSize(CHUNK_SIZE, elements)));
+    }
+
+    private long degreeSum(Direction direction) {
+        final int index = direction.ordinal();
+        if (degreeSums[index] == -1L) {
+            long sum = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                sum += graph.degree(node, direction);
+            }
+            degreeSums[index] = sum;
+        }
+        return degreeSums[index];
+    }
+
+    private static Direction reverse(Direction direction) {
+        switch (direction) {
+            case OUTGOING:
+                return Direction.INCOMING;
+            case INCOMING:
+                return Direction.OUTGOING;
+            default:
+                return Direction.BOTH;
+        }
+    }
+
+    /**
+     * processes chunks of one level until the cursor is exhausted
+     */
+    private final class LevelTask implements Runnable, RelationshipConsumer {
+
+        private final IntArrayList next = new IntArrayList();
+        private boolean bottomUp;
+        private int limit;
+        private Direction direction;
+        private IntPredicate predicate;
+        private IntConsumer visitor;
+        private long degree;
+        private boolean found;
+
+        private void reset(boolean bottomUp, int limit, Direction direction, IntPredicate predicate, IntConsumer visitor) {
+            this.bottomUp = bottomUp;
+            this.limit = limit;
+            this.direction = direction;
+            this.predicate = predicate;
+            this.visitor = visitor;
+            next.clear();
+            degree = 0;
+        }
+
+        @Override
+        public void run() {
+            int offset;
+            while ((offset = cursor.getAndAdd(CHUNK_SIZE)) < limit) {
+                final int end = Math.min(limit, offset + CHUNK_SIZE);
+                if (bottomUp) {
+                    for (int node = offset; node < end; node++) {
+                        searchParent(node);
+                    }
+                } else {
+                    for (int i = offset; i < end; i++) {
+                        graph.forEachRelationship(frontier[i], direction, this);
+                    }
+                }
+            }
+        }
+
+        private void searchParent(int node) {
+            if (visited.get(node) || !predicate.test(node)) {
+                return;
+            }
+            found = false;
+            graph.forEachRelationship(node, direction, this);
+            if (found) {
+                // the node range is partitioned, no other task sees this node
+                visited.set(node);
+                visit(node, reverse(direction));
+            }
+        }
+
+        @Override
+        public boolean accept(int sourceNodeId, int targetNodeId, long relationId) {
+            if (bottomUp) {
+                found = frontierSet.get(targetNodeId);
+                return !found;
+            }
+            if (!visited.get(targetNodeId) && predicate.test(targetNodeId) && visited.trySet(targetNodeId)) {
+                visit(targetNodeId, direction);
+            }
+            return true;
+        }
+
+        private void visit(int node, Direction direction) {
+            visitor.accept(node);
+            next.add(node);
+            degree += graph.degree(node, direction);
+        }
+    }
+}
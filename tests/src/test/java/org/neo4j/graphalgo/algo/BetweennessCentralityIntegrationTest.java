@@ -16,7 +16,9 @@ import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.utils.Pools;
 import org.neo4j.graphalgo.impl.BetweennessCentrality;
 import org.neo4j.graphalgo.impl.BetweennessCentralitySuccessorBrandes;
+import org.neo4j.graphalgo.impl.MSBetweennessCentrality;
 import org.neo4j.graphalgo.impl.ParallelBetweennessCentrality;
+import org.neo4j.graphalgo.impl.SampledBetweennessCentrality;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Result;
@@ -25,6 +27,9 @@ import org.neo4j.kernel.impl.proc.Procedures;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.test.TestGraphDatabaseFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.mockito.Mockito.*;
@@ -125,13 +130,37 @@ public class BetweennessCentralityIntegrationTest {
 
     @Test
     public void testParallelBCDirect() throws Exception {
-        new ParallelBetweennessCentrality(graph, 100_000, Pools.DEFAULT, 4)
+        new ParallelBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .compute()
+                .forEach(consumer);
+        verify(consumer, times(10)).consume(anyLong(), eq(6.0));
+        verify(consumer, times(1)).consume(eq(centerNodeId), eq(25.0));
+    }
+
+    @Test
+    public void testMSBCDirect() throws Exception {
+        new MSBetweennessCentrality(graph, 100_000, Pools.DEFAULT, 4)
                 .compute()
                 .forEach(consumer);
         verify(consumer, times(10)).consume(anyLong(), eq(6.0));
         verify(consumer, times(1)).consume(eq(centerNodeId), eq(25.0));
     }
 
+    @Test
+    public void testMSBetweennessStream() throws Exception {
+
+        db.execute("CALL algo.betweenness.stream('Node', 'TYPE', {strategy:'msbfs', concurrency:4}) YIELD nodeId, centrality")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    consumer.consume(
+                            row.getNumber("nodeId").longValue(),
+                            row.getNumber("centrality").doubleValue());
+                    return true;
+                });
+
+        verify(consumer, times(10)).consume(anyLong(), eq(6.0));
+        verify(consumer, times(1)).consume(eq(centerNodeId), eq(25.0));
+    }
+
     @Test
     public void testBetweennessStream() throws Exception {
 
@@ -239,4 +268,71 @@ public class BetweennessCentralityIntegrationTest {
                     return true;
                 });
     }
+
+    @Test
+    public void testSampledBetweennessStreamAllNodes() throws Exception {
+
+        db.execute("CALL algo.betweenness.sampled.stream('Node', 'TYPE', {probability:1.0, concurrency:4}) " +
+                "YIELD nodeId, centrality")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    consumer.consume(
+                            row.getNumber("nodeId").longValue(),
+                            row.getNumber("centrality").doubleValue());
+                    return true;
+                });
+
+        verify(consumer, times(10)).consume(anyLong(), eq(6.0));
+        verify(consumer, times(1)).consume(eq(centerNodeId), eq(25.0));
+    }
+
+    @Test
+    public void testSampledBetweennessAdaptive() throws Exception {
+
+        final Map<Long, Double> centralities = new HashMap<>();
+        db.execute("CALL algo.betweenness.sampled.stream('Node', 'TYPE', " +
+                "{sampling:'adaptive', epsilon:0.05, delta:0.1, seed:42, concurrency:4}) YIELD nodeId, centrality")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    centralities.put(
+                            row.getNumber("nodeId").longValue(),
+                            row.getNumber("centrality").doubleValue());
+                    return true;
+                });
+
+        assertEquals(11, centralities.size());
+        // error of at most epsilon * n * (n - 1) = 5.5
+        centralities.forEach((nodeId, centrality) -> {
+            final double expected = nodeId == centerNodeId ? 25.0 : 6.0;
+            assertEquals(expected, centrality, 5.5);
+        });
+    }
+
+    @Test
+    public void testSampledBetweennessAdaptiveSampleCount() throws Exception {
+
+        final SampledBetweennessCentrality bc = new SampledBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .withStrategy(SampledBetweennessCentrality.Strategy.ADAPTIVE)
+                .withEpsilon(0.05)
+                .withDelta(0.1)
+                .withSeed(42)
+                .compute();
+
+        // the vertex diameter is bounded by the 11 weakly connected nodes
+        // 0.5 / 0.05^2 * (floor(log2(11 - 2)) + 1 + ln(1 / 0.1))
+        assertEquals(1261, bc.getSampleCount());
+    }
+
+    @Test
+    public void testSampledBetweennessWrite() throws Exception {
+
+        db.execute("CALL algo.betweenness.sampled('','', {sampling:'degree', samples:1000, seed:42, " +
+                "write:true, stats:true, writeProperty:'sampledCentrality'}) YIELD " +
+                "nodes, minCentrality, maxCentrality, sumCentrality, loadMillis, computeMillis, writeMillis")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(11L, row.getNumber("nodes"));
+                    assertEquals(85.0, row.getNumber("sumCentrality").doubleValue(), 10.0);
+                    assertNotEquals(-1L, row.getNumber("writeMillis"));
+                    assertNotEquals(-1L, row.getNumber("computeMillis"));
+                    return true;
+                });
+    }
 }
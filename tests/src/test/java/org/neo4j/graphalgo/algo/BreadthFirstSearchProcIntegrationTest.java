@@ -0,0 +1,118 @@
+package org.neo4j.graphalgo.algo;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.BreadthFirstSearchProc;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.api.exceptions.KernelException;
+import org.neo4j.kernel.impl.proc.Procedures;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class BreadthFirstSearchProcIntegrationTest {
+
+    private static GraphDatabaseAPI db;
+
+    @BeforeClass
+    public static void setup() throws KernelException {
+        String createGraph =
+                "CREATE (nA:Node {name:'a'})\n" +
+                "CREATE (nB:Node {name:'b'})\n" +
+                "CREATE (nC:Node {name:'c'})\n" +
+                "CREATE (nD:Node {name:'d'})\n" +
+                "CREATE (nE:Node {name:'e'})\n" +
+                "CREATE (nF:Node {name:'f'})\n" +
+                "CREATE\n" +
+                "  (nA)-[:TYPE]->(nB),\n" +
+                "  (nA)-[:TYPE]->(nC),\n" +
+                "  (nB)-[:TYPE]->(nD),\n" +
+                "  (nC)-[:TYPE]->(nD),\n" +
+                "  (nD)-[:TYPE]->(nE),\n" +
+                "  (nF)-[:TYPE]->(nA)";
+
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute(createGraph).close();
+            tx.success();
+        }
+
+        db.getDependencyResolver()
+                .resolveDependency(Procedures.class)
+                .registerProcedure(BreadthFirstSearchProc.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (db != null) db.shutdown();
+    }
+
+    @Test
+    public void testBfsStream() throws Exception {
+        final Map<String, Long> depths = new HashMap<>();
+        db.execute("MATCH (n:Node {name:'a'}) " +
+                "CALL algo.bfs.stream(n, {nodeQuery:'Node', relationshipQuery:'TYPE'}) YIELD nodeId, depth " +
+                "MATCH (m) WHERE id(m) = nodeId RETURN m.name AS name, depth")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    depths.put(row.getString("name"), row.getNumber("depth").longValue());
+                    return true;
+                });
+        assertEquals(5, depths.size());
+        assertEquals(0L, (long) depths.get("a"));
+        assertEquals(1L, (long) depths.get("b"));
+        assertEquals(1L, (long) depths.get("c"));
+        assertEquals(2L, (long) depths.get("d"));
+        assertEquals(3L, (long) depths.get("e"));
+    }
+
+    @Test
+    public void testBfsIncoming() throws Exception {
+        final Map<String, Long> depths = new HashMap<>();
+        db.execute("MATCH (n:Node {name:'d'}) " +
+                "CALL algo.bfs.stream(n, {nodeQuery:'Node', relationshipQuery:'TYPE', direction:'INCOMING'}) " +
+                "YIELD nodeId, depth " +
+                "MATCH (m) WHERE id(m) = nodeId RETURN m.name AS name, depth")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    depths.put(row.getString("name"), row.getNumber("depth").longValue());
+                    return true;
+                });
+        assertEquals(5, depths.size());
+        assertEquals(0L, (long) depths.get("d"));
+        assertEquals(2L, (long) depths.get("a"));
+        assertEquals(3L, (long) depths.get("f"));
+    }
+
+    @Test
+    public void testBfsWrite() throws Exception {
+        db.execute("MATCH (n:Node {name:'a'}) " +
+                "CALL algo.bfs(n, {nodeQuery:'Node', relationshipQuery:'TYPE', write:true, writeProperty:'hops'}) " +
+                "YIELD nodes, maxDepth, writeMillis RETURN nodes, maxDepth, writeMillis")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(5L, row.getNumber("nodes"));
+                    assertEquals(3L, row.getNumber("maxDepth"));
+                    assertNotEquals(-1L, row.getNumber("writeMillis"));
+                    return true;
+                });
+
+        final Map<String, Object> hops = new HashMap<>();
+        db.execute("MATCH (n:Node) RETURN n.name AS name, n.hops AS hops")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    hops.put(row.getString("name"), row.get("hops"));
+                    return true;
+                });
+        // depths are written as integers
+        assertEquals(3L, hops.get("e"));
+        assertEquals(null, hops.get("f"));
+    }
+}
@@ -0,0 +1,195 @@
+package org.neo4j.graphalgo.algo;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.neo4j.graphalgo.GraphCatalogProc;
+import org.neo4j.graphalgo.PageRankProc;
+import org.neo4j.graphalgo.UnionFindProc;
+import org.neo4j.graphalgo.core.GraphCatalog;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.api.exceptions.KernelException;
+import org.neo4j.kernel.impl.proc.Procedures;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GraphCatalogProcTest {
+
+    @ClassRule
+    public static TemporaryFolder snapshots = new TemporaryFolder();
+
+    private static GraphDatabaseAPI db;
+
+    @BeforeClass
+    public static void setup() throws KernelException {
+        String createGraph =
+                "CREATE (nA:Label)\n" +
+                "CREATE (nB:Label)\n" +
+                "CREATE (nC:Label)\n" +
+                "CREATE (nD:Label)\n" +
+                "CREATE (nE)\n" +
+                "CREATE\n" +
+                "  (nA)-[:TYPE]->(nB),\n" +
+                "  (nB)-[:TYPE]->(nC),\n" +
+                "  (nD)-[:TYPE]->(nE)";
+
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .setConfig(GraphCatalogProc.SNAPSHOT_DIRECTORY_SETTING, snapshots.getRoot().getAbsolutePath())
+                        .newGraphDatabase();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute(createGraph).close();
+            tx.success();
+        }
+
+        final Procedures procedures = db.getDependencyResolver()
+                .resolveDependency(Procedures.class);
+        procedures.registerProcedure(GraphCatalogProc.class);
+        procedures.registerProcedure(UnionFindProc.class);
+        procedures.registerProcedure(PageRankProc.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (db != null) db.shutdown();
+    }
+
+    @After
+    public void removeGraphs() throws Exception {
+        GraphCatalog.remove("myGraph");
+        GraphCatalog.remove("snapshotGraph");
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', '', 'TYPE', {graph:'light'}) YIELD name, nodes, relationships, estimatedBytes, totalBytes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals("myGraph", row.getString("name"));
+                    assertEquals(5L, row.getNumber("nodes"));
+                    assertEquals(3L, row.getNumber("relationships"));
+                    assertTrue(row.getNumber("estimatedBytes").longValue() > 0L);
+                    assertEquals(row.getNumber("estimatedBytes"), row.getNumber("totalBytes"));
+                    return true;
+                });
+        assertTrue(GraphCatalog.exists("myGraph"));
+    }
+
+    @Test
+    public void testRunAlgorithmsOnLoadedGraph() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', '', 'TYPE', {graph:'heavy'})").close();
+
+        db.execute("CALL algo.unionFind('', '', {graph:'myGraph', write:false}) YIELD setCount")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(2L, row.getNumber("setCount"));
+                    return true;
+                });
+
+        final AtomicInteger count = new AtomicInteger();
+        db.execute("CALL algo.pageRank.stream('', '', {graph:'myGraph'}) YIELD node, score")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    count.incrementAndGet();
+                    return true;
+                });
+        assertEquals(5, count.get());
+    }
+
+    @Test
+    public void testListAndRemove() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', 'Label', 'TYPE')").close();
+
+        final AtomicInteger count = new AtomicInteger();
+        db.execute("CALL algo.graph.list() YIELD name, nodes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals("myGraph", row.getString("name"));
+                    assertEquals(4L, row.getNumber("nodes"));
+                    count.incrementAndGet();
+                    return true;
+                });
+        assertEquals(1, count.get());
+
+        db.execute("CALL algo.graph.remove('myGraph') YIELD name, exists, totalBytes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals("myGraph", row.getString("name"));
+                    assertFalse(row.getBoolean("exists"));
+                    assertEquals(0L, row.getNumber("totalBytes"));
+                    return true;
+                });
+        assertFalse(GraphCatalog.exists("myGraph"));
+    }
+
+    @Test
+    public void testImplNamesAreNoGraphNames() throws Exception {
+        assertFails("CALL algo.graph.load('light', '', 'TYPE')", "graph implementation");
+        assertFails("CALL algo.graph.load('Heavy', '', 'TYPE')", "graph implementation");
+        assertFalse(GraphCatalog.exists("light"));
+    }
+
+    @Test
+    public void testMissingDirection() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', '', 'TYPE', {direction:'INCOMING'})").close();
+        // unionFind needs outgoing relationships
+        assertFails("CALL algo.unionFind('', '', {graph:'myGraph', write:false})",
+                "has been loaded with direction INCOMING but the algorithm needs OUTGOING");
+    }
+
+    @Test
+    public void testOtherRelationshipAndWeights() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', '', 'TYPE')").close();
+        assertFails("CALL algo.unionFind('', 'OTHER', {graph:'myGraph', write:false})",
+                "has been loaded with relationship TYPE but the algorithm asks for OTHER");
+        assertFails("CALL algo.unionFind('', '', {graph:'myGraph', write:false, weightProperty:'weight', threshold:0.5})",
+                "has been loaded without weights but the algorithm needs weights from weight");
+    }
+
+    @Test
+    public void testSaveAndLoadSnapshot() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', 'Label', 'TYPE', {graph:'light'})").close();
+        db.execute("CALL algo.graph.save('myGraph', 'my.graph') YIELD bytes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertTrue(row.getNumber("bytes").longValue() > 0L);
+                    return true;
+                });
+        assertTrue(snapshots.getRoot().toPath().resolve("my.graph").toFile().exists());
+
+        db.execute("CALL algo.graph.load('snapshotGraph', null, null, {snapshot:'my.graph'}) YIELD nodes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(4L, row.getNumber("nodes"));
+                    return true;
+                });
+    }
+
+    @Test
+    public void testSnapshotFileOutsideOfDirectory() throws Exception {
+        db.execute("CALL algo.graph.load('myGraph', 'Label', 'TYPE', {graph:'light'})").close();
+        final String absolute = snapshots.getRoot().toPath().resolve("my.graph").toString();
+        assertFails("CALL algo.graph.save('myGraph', '" + absolute + "')", "must be relative");
+        assertFails("CALL algo.graph.save('myGraph', '../my.graph')", "must not contain '..'");
+        assertFails("CALL algo.graph.load('snapshotGraph', null, null, {snapshot:'graphs/../../my.graph'})", "must not contain '..'");
+    }
+
+    private static void assertFails(String query, String message) {
+        try {
+            db.execute(query).resultAsString();
+            fail("expected failure of " + query);
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage(), cause.getMessage().contains(message));
+        }
+    }
+}
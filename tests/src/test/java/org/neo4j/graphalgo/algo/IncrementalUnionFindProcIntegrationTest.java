@@ -0,0 +1,207 @@
+package org.neo4j.graphalgo.algo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphalgo.UnionFindProc;
+import org.neo4j.graphalgo.impl.UnionFindCache;
+import org.neo4j.graphdb.QueryExecutionException;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.api.exceptions.KernelException;
+import org.neo4j.kernel.impl.proc.Procedures;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IncrementalUnionFindProcIntegrationTest {
+
+    private GraphDatabaseAPI db;
+
+    @Before
+    public void setup() throws KernelException {
+        String createGraph =
+                "CREATE (nA:Node {name:'a'})\n" +
+                "CREATE (nB:Node {name:'b'})\n" +
+                "CREATE (nC:Node {name:'c'})\n" +
+                "CREATE (nD:Node {name:'d'})\n" +
+                "CREATE (nE:Node {name:'e'})\n" +
+                "CREATE\n" +
+                "  (nA)-[:TYPE]->(nB),\n" +
+                "  (nC)-[:TYPE]->(nD)";
+
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute(createGraph).close();
+            tx.success();
+        }
+
+        db.getDependencyResolver()
+                .resolveDependency(Procedures.class)
+                .registerProcedure(UnionFindProc.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        UnionFindCache.remove("uf");
+        if (db != null) db.shutdown();
+    }
+
+    @Test
+    public void testIncrementalUnionFind() throws Exception {
+        db.execute("CALL algo.unionFind('Node', 'TYPE', {write:true, cache:'uf'}) YIELD setCount")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(3L, row.getNumber("setCount"));
+                    return true;
+                });
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute("MATCH (b {name:'b'}), (c {name:'c'}), (d {name:'d'}), (e {name:'e'})\n" +
+                    "CREATE (b)-[:TYPE]->(c), (d)-[:OTHER]->(e), (e)-[:TYPE]->(:Node {name:'f'})").close();
+            tx.success();
+        }
+
+        db.execute("CALL algo.unionFind.incremental('Node', 'TYPE', {write:true, cache:'uf'}) " +
+                "YIELD nodes, setCount, relationships, changedNodes, writeMillis")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(6L, row.getNumber("nodes"));
+                    assertEquals(2L, row.getNumber("setCount"));
+                    assertEquals(2L, row.getNumber("relationships"));
+                    // one of the merged pairs and the new node
+                    assertEquals(3L, row.getNumber("changedNodes"));
+                    assertNotEquals(-1L, row.getNumber("writeMillis"));
+                    return true;
+                });
+
+        final Map<String, Object> partitions = partitions();
+        assertEquals(6, partitions.size());
+        partitions.values().forEach(partition -> assertNotNull(partition));
+        assertEquals(partitions.get("a"), partitions.get("b"));
+        assertEquals(partitions.get("a"), partitions.get("c"));
+        assertEquals(partitions.get("a"), partitions.get("d"));
+        assertEquals(partitions.get("e"), partitions.get("f"));
+        assertNotEquals(partitions.get("a"), partitions.get("e"));
+
+        // nothing changed since
+        db.execute("CALL algo.unionFind.incremental('Node', 'TYPE', {cache:'uf'}) YIELD relationships, changedNodes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(0L, row.getNumber("relationships"));
+                    assertEquals(0L, row.getNumber("changedNodes"));
+                    return true;
+                });
+    }
+
+    @Test
+    public void testWriteInBatches() throws Exception {
+        db.execute("CALL algo.unionFind('Node', 'TYPE', {write:true, cache:'uf'})").close();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute("MATCH (b {name:'b'}), (d {name:'d'}), (e {name:'e'})\n" +
+                    "CREATE (b)-[:TYPE]->(:Node {name:'f'}), (d)-[:TYPE]->(e), (e)-[:TYPE]->(:Node {name:'g'})").close();
+            tx.success();
+        }
+
+        db.execute("CALL algo.unionFind.incremental('Node', 'TYPE', {write:true, cache:'uf', batchSize:1}) " +
+                "YIELD changedNodes")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertTrue(row.getNumber("changedNodes").longValue() >= 3L);
+                    return true;
+                });
+
+        final Map<String, Object> partitions = partitions();
+        assertEquals(7, partitions.size());
+        partitions.values().forEach(partition -> assertNotNull(partition));
+        assertEquals(partitions.get("a"), partitions.get("b"));
+        assertEquals(partitions.get("a"), partitions.get("f"));
+        assertEquals(partitions.get("c"), partitions.get("d"));
+        assertEquals(partitions.get("c"), partitions.get("e"));
+        assertEquals(partitions.get("c"), partitions.get("g"));
+        assertNotEquals(partitions.get("a"), partitions.get("c"));
+    }
+
+    @Test
+    public void testRemoveCache() throws Exception {
+        db.execute("CALL algo.unionFind('Node', 'TYPE', {write:false, cache:'uf'})").close();
+
+        db.execute("CALL algo.unionFind.cache.remove('uf') YIELD name, removed")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals("uf", row.getString("name"));
+                    assertTrue(row.getBoolean("removed"));
+                    return true;
+                });
+        db.execute("CALL algo.unionFind.cache.remove('uf') YIELD removed")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertFalse(row.getBoolean("removed"));
+                    return true;
+                });
+    }
+
+    @Test
+    public void testFilterOfCachedRun() throws Exception {
+        db.execute("CALL algo.unionFind('Node', 'TYPE', {write:true, cache:'uf'})").close();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute("MATCH (b {name:'b'}), (c {name:'c'}), (d {name:'d'}), (e {name:'e'})\n" +
+                    "CREATE (b)-[:TYPE]->(c), (d)-[:OTHER]->(e)").close();
+            tx.success();
+        }
+
+        assertFails("CALL algo.unionFind.incremental('Node', 'OTHER', {cache:'uf'})",
+                "computed with relationship TYPE but the update asks for OTHER");
+        assertFails("CALL algo.unionFind.incremental('Other', 'TYPE', {cache:'uf'})",
+                "computed with label Node but the update asks for Other");
+
+        // without label and relationship type those of the cached run are used
+        db.execute("CALL algo.unionFind.incremental('', '', {write:true, cache:'uf'}) YIELD relationships, setCount")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(1L, row.getNumber("relationships"));
+                    assertEquals(2L, row.getNumber("setCount"));
+                    return true;
+                });
+
+        final Map<String, Object> partitions = partitions();
+        assertEquals(partitions.get("a"), partitions.get("d"));
+        assertNotEquals(partitions.get("d"), partitions.get("e"));
+    }
+
+    @Test(expected = QueryExecutionException.class)
+    public void testUnknownCache() throws Exception {
+        db.execute("CALL algo.unionFind.incremental('Node', 'TYPE', {cache:'unknown'})").resultAsString();
+    }
+
+    private void assertFails(String query, String message) {
+        try {
+            db.execute(query).resultAsString();
+            fail("expected failure of " + query);
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage(), cause.getMessage().contains(message));
+        }
+    }
+
+    private Map<String, Object> partitions() {
+        final Map<String, Object> partitions = new HashMap<>();
+        db.execute("MATCH (n:Node) RETURN n.name AS name, n.partition AS partition")
+                .accept(row -> {
+                    partitions.put(row.getString("name"), row.get("partition"));
+                    return true;
+                });
+        return partitions;
+    }
+}
@@ -129,6 +129,23 @@ public class LabelPropagationProcIntegrationTest {
                 assertEquals(2, row.getNumber("partition").intValue()));
     }
 
+    @Test
+    public void shouldRunDeterministicUntilConverged() throws Exception {
+        String query = parallel
+                ? "CALL algo.labelPropagation(null, 'X', 'OUTGOING', {iterations:10, deterministic:true, batchSize:1})"
+                : "CALL algo.labelPropagation(null, 'X', 'OUTGOING', {iterations:10, deterministic:true})";
+        String check = "MATCH (n) WHERE n.id IN [0,1] RETURN n.partition AS partition";
+
+        runQuery(query, row -> {
+            assertEquals(2, row.getNumber("nodes").intValue());
+            assertEquals(10, row.getNumber("iterations").intValue());
+            assertEquals(2, row.getNumber("ranIterations").intValue());
+            assertTrue(row.getBoolean("didConverge"));
+        });
+        runQuery(check, row ->
+                assertEquals(2, row.getNumber("partition").intValue()));
+    }
+
     @Test
     public void shouldFallbackToNodeIdsForNonExistingPartitionKey() throws Exception {
         String query = parallel
@@ -19,9 +19,11 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -184,6 +186,129 @@ public class PageRankProcIntegrationTest {
         assertMapEquals(expected, actual);
     }
 
+    @Test
+    public void testPageRankWithTolerance() throws Exception {
+        runQuery(
+                "CALL algo.pageRank('Label1', 'TYPE1', {iterations:40, tolerance:0.0001, graph:'"+graphImpl+"'}) YIELD iterations",
+                row -> assertTrue(
+                        "stopped before all iterations",
+                        row.getNumber("iterations").intValue() < 40));
+
+        assertResult("pagerank");
+    }
+
+    @Test
+    public void testPageRankPullOverIncoming() throws Exception {
+        final Map<Long, Double> actual = new HashMap<>();
+        runQuery(
+                "CALL algo.pageRank.stream('Label1', 'TYPE1', {direction:'INCOMING', batchSize:2, graph:'"+graphImpl+"'}) YIELD node, score",
+                row -> actual.put(
+                        row.getNode("node").getId(),
+                        (Double) row.get("score")));
+        assertMapEquals(expected, actual);
+    }
+
+    @Test
+    public void testIncrementalPageRankFromCache() throws Exception {
+        runQuery(
+                "CALL algo.pageRank.stream('Label1', 'TYPE1', {iterations:5, cache:'cached" + graphImpl + "', graph:'"+graphImpl+"'}) YIELD node",
+                row -> {});
+        runQuery(
+                "CALL algo.pageRank.incremental('Label1', 'TYPE1', {cache:'cached" + graphImpl + "', writeProperty:'incremental', graph:'"+graphImpl+"'}) " +
+                "YIELD nodes, touchedNodes, iterations",
+                row -> {
+                    assertTrue(row.getNumber("touchedNodes").longValue() > 0L);
+                    assertTrue(row.getNumber("touchedNodes").longValue() <= row.getNumber("nodes").longValue());
+                });
+
+        assertResult("incremental");
+
+        runQuery(
+                "CALL algo.pageRank.cache.remove('cached" + graphImpl + "') YIELD removed",
+                row -> assertTrue(row.getBoolean("removed")));
+        runQuery(
+                "CALL algo.pageRank.cache.remove('cached" + graphImpl + "') YIELD removed",
+                row -> assertFalse(row.getBoolean("removed")));
+    }
+
+    @Test
+    public void testIncrementalPageRankFromWriteProperty() throws Exception {
+        runQuery(
+                "CALL algo.pageRank('Label1', 'TYPE1', {iterations:40, writeProperty:'previous', graph:'"+graphImpl+"'}) YIELD nodes",
+                row -> {});
+        runQuery(
+                "CALL algo.pageRank.incremental('Label1', 'TYPE1', {tolerance:0.01, writeProperty:'previous', graph:'"+graphImpl+"'}) " +
+                "YIELD touchedNodes",
+                row -> assertEquals(0L, row.getNumber("touchedNodes")));
+
+        assertResult("previous");
+    }
+
+    @Test
+    public void testIncrementalPageRankWithZeroTolerance() throws Exception {
+        // the same config as for algo.pageRank, a tolerance of 0 uses the default
+        final String config = "{iterations:40, tolerance:0.0, writeProperty:'zeroTolerance', graph:'" + graphImpl + "'}";
+        runQuery(
+                "CALL algo.pageRank('Label1', 'TYPE1', " + config + ") YIELD nodes",
+                row -> {});
+        runQuery(
+                "CALL algo.pageRank.incremental('Label1', 'TYPE1', " + config + ") YIELD nodes, touchedNodes",
+                row -> assertTrue(row.getNumber("touchedNodes").longValue() <= row.getNumber("nodes").longValue()));
+
+        assertResult("zeroTolerance");
+    }
+
+    @Test
+    public void testPersonalizedPageRankStream() throws Exception {
+        final Set<String> reached = new HashSet<>();
+        runQuery(
+                "MATCH (b:Label1 {name:'b'}) " +
+                "CALL algo.pageRank.personalized.stream('Label1', 'TYPE1', [b], {graph:'"+graphImpl+"'}) YIELD node, score " +
+                "RETURN node.name AS name, score",
+                row -> {
+                    if (row.getNumber("score").doubleValue() > 0.0) {
+                        reached.add(row.getString("name"));
+                    }
+                });
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), reached);
+    }
+
+    @Test
+    public void testPersonalizedPageRankBatchStream() throws Exception {
+        final Map<Long, Set<String>> reached = new HashMap<>();
+        runQuery(
+                "MATCH (b:Label1 {name:'b'}), (d:Label1 {name:'d'}) " +
+                "CALL algo.pageRank.personalized.batch.stream('Label1', 'TYPE1', [[b], [d]], {batchSize:2, graph:'"+graphImpl+"'}) YIELD index, node, score " +
+                "RETURN index, node.name AS name, score",
+                row -> reached
+                        .computeIfAbsent(row.getNumber("index").longValue(), i -> new HashSet<>())
+                        .add(row.getString("name")));
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), reached.get(0L));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d")), reached.get(1L));
+    }
+
+    @Test
+    public void testPersonalizedPageRankBatchStreamInChunks() throws Exception {
+        final Map<Long, Map<String, Double>> scores = new HashMap<>();
+        runQuery(
+                "MATCH (b:Label1 {name:'b'}), (d:Label1 {name:'d'}) " +
+                "CALL algo.pageRank.personalized.batch.stream('Label1', 'TYPE1', [[b], [d], [b], [d], [b]], {chunkSize:2, graph:'"+graphImpl+"'}) YIELD index, node, score " +
+                "RETURN index, node.name AS name, score",
+                row -> scores
+                        .computeIfAbsent(row.getNumber("index").longValue(), i -> new HashMap<>())
+                        .put(row.getString("name"), row.getNumber("score").doubleValue()));
+        assertEquals(5, scores.size());
+        for (long index = 0; index < 5; index++) {
+            // the same set gets the same scores in every chunk
+            final Map<String, Double> expected = scores.get(index % 2);
+            final Map<String, Double> actual = scores.get(index);
+            assertEquals(expected.keySet(), actual.keySet());
+            expected.forEach((name, score) -> assertEquals(name, score, actual.get(name), 1e-6));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), scores.get(0L).keySet());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d")), scores.get(1L).keySet());
+    }
+
     private static void runQuery(
             String query,
             Consumer<Result.ResultRow> check) {
@@ -119,6 +119,15 @@ public class ParallelBetweennessCentralityIntegrationTest {
         testBetweennessWrite(cypher);
     }
 
+    @Test
+    public void testMSBCWrite() throws Exception {
+
+        String cypher = "CALL algo.betweenness('', '', {strategy:'msbfs', concurrency:4, write:true, writeProperty:'bc', stats:true}) YIELD " +
+                "loadMillis, computeMillis, writeMillis, nodes, minCentrality, maxCentrality, sumCentrality";
+
+        testBetweennessWrite(cypher);
+    }
+
     @Test
     public void testSuccessorBCWrite() throws Exception {
 
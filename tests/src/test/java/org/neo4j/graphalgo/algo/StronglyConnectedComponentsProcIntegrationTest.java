@@ -15,7 +15,10 @@ import org.neo4j.test.TestGraphDatabaseFactory;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
@@ -100,4 +103,18 @@ public class StronglyConnectedComponentsProcIntegrationTest {
                     return true;
                 });
     }
+
+    @Test
+    public void testSccStream() throws Exception {
+
+        final Map<Long, Integer> sizes = new HashMap<>();
+        db.execute("CALL algo.scc.stream('Node', 'TYPE', {concurrency:4, graph:'"+graphImpl+"'}) YIELD nodeId, partition")
+                .accept(row -> {
+                    sizes.merge(row.getNumber("partition").longValue(), 1, Integer::sum);
+                    return true;
+                });
+        assertEquals(2, sizes.size());
+        final int[] values = sizes.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+        assertArrayEquals(new int[]{2, 3}, values);
+    }
 }
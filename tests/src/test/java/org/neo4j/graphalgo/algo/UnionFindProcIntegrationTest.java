@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.neo4j.graphalgo.UnionFindProc;
+import org.neo4j.graphdb.QueryExecutionException;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.api.exceptions.KernelException;
@@ -154,6 +155,43 @@ public class UnionFindProcIntegrationTest {
         assertMapContains(map, 1, 2, 7);
     }
 
+    @Test
+    public void testParallelUnionFind() throws Exception {
+        db.execute("CALL algo.unionFind('', 'TYPE', {write:false, concurrency:4, batchSize:2, graph:'"+graphImpl+"'}) YIELD setCount")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(3L, row.getNumber("setCount"));
+                    return true;
+                });
+    }
+
+    @Test
+    public void testParallelThresholdUnionFindStream() throws Exception {
+        final IntIntScatterMap map = new IntIntScatterMap(11);
+        db.execute("CALL algo.unionFind.stream('', 'TYPE', {weightProperty:'cost', defaultValue:10.0, threshold:5.0, concurrency:4, batchSize:2, graph:'"+graphImpl+"'}) YIELD setId")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    map.addTo(row.getNumber("setId").intValue(), 1);
+                    return true;
+                });
+        assertMapContains(map, 4, 3, 2, 1);
+    }
+
+    @Test
+    public void testSampledUnionFindStream() throws Exception {
+        final IntIntScatterMap map = new IntIntScatterMap(11);
+        db.execute("CALL algo.unionFind.stream('', 'TYPE', {sampling:true, graph:'"+graphImpl+"'}) YIELD setId")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    map.addTo(row.getNumber("setId").intValue(), 1);
+                    return true;
+                });
+        assertMapContains(map, 1, 2, 7);
+    }
+
+    @Test(expected = QueryExecutionException.class)
+    public void testSampledUnionFindRejectsThreshold() throws Exception {
+        db.execute("CALL algo.unionFind('', 'TYPE', {sampling:true, weightProperty:'cost', threshold:5.0, graph:'"+graphImpl+"'}) YIELD setCount")
+                .resultAsString();
+    }
+
     private static void assertMapContains(IntIntMap map, int... values) {
         assertEquals("set count does not match", values.length, map.size());
         for (int count : values) {
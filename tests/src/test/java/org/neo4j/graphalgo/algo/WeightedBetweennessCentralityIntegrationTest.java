@@ -0,0 +1,160 @@
+package org.neo4j.graphalgo.algo;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.BetweennessCentralityProc;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.api.exceptions.KernelException;
+import org.neo4j.kernel.impl.proc.Procedures;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * the path over (c) costs 4 while the path
+ * over (b) costs 2, so (c) gets no centrality
+ *
+ *       (a)
+ *     1/   \1
+ *   (b)     (c)
+ *     1\   /3
+ *       (d)
+ *        |1
+ *       (e)
+ */
+public class WeightedBetweennessCentralityIntegrationTest {
+
+    private static GraphDatabaseAPI db;
+
+    @BeforeClass
+    public static void setupGraph() throws KernelException {
+
+        final String cypher =
+                "CREATE (a:Node {name:'a'})\n" +
+                        "CREATE (b:Node {name:'b'})\n" +
+                        "CREATE (c:Node {name:'c'})\n" +
+                        "CREATE (d:Node {name:'d'})\n" +
+                        "CREATE (e:Node {name:'e'})\n" +
+
+                        "CREATE" +
+                        " (a)-[:TYPE {cost:1.0}]->(b),\n" +
+                        " (a)-[:TYPE {cost:1.0}]->(c),\n" +
+                        " (b)-[:TYPE {cost:1.0}]->(d),\n" +
+                        " (c)-[:TYPE {cost:3.0}]->(d),\n" +
+                        " (d)-[:TYPE]->(e)";
+
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute(cypher);
+            tx.success();
+        }
+
+        db.getDependencyResolver()
+                .resolveDependency(Procedures.class)
+                .registerProcedure(BetweennessCentralityProc.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (db != null) db.shutdown();
+    }
+
+    private Map<String, Double> stream(String config) throws Exception {
+        final Map<String, Double> centralities = new HashMap<>();
+        db.execute("CALL algo.betweenness.stream('Node', 'TYPE', " + config + ") YIELD nodeId, centrality " +
+                "MATCH (n) WHERE id(n) = nodeId RETURN n.name AS name, centrality")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    centralities.put(
+                            row.getString("name"),
+                            row.getNumber("centrality").doubleValue());
+                    return true;
+                });
+        return centralities;
+    }
+
+    @Test
+    public void testWeightedStream() throws Exception {
+
+        final Map<String, Double> centralities = stream("{weightProperty:'cost', defaultValue:1.0, concurrency:4}");
+
+        assertEquals(5, centralities.size());
+        assertEquals(0.0, centralities.get("a"), 0.01);
+        assertEquals(2.0, centralities.get("b"), 0.01);
+        assertEquals(0.0, centralities.get("c"), 0.01);
+        assertEquals(3.0, centralities.get("d"), 0.01);
+        assertEquals(0.0, centralities.get("e"), 0.01);
+    }
+
+    @Test
+    public void testUnweightedStream() throws Exception {
+
+        final Map<String, Double> centralities = stream("{concurrency:4}");
+
+        assertEquals(1.0, centralities.get("b"), 0.01);
+        assertEquals(1.0, centralities.get("c"), 0.01);
+        assertEquals(3.0, centralities.get("d"), 0.01);
+    }
+
+    @Test
+    public void testNonPositiveWeights() throws Exception {
+        // (d)-->(e) has no cost and gets the default value
+        assertFails("{weightProperty:'cost', defaultValue:-1.0}");
+        assertFails("{weightProperty:'cost', defaultValue:0.0, concurrency:4}");
+    }
+
+    @Test
+    public void testWeightsWithMSBFS() throws Exception {
+        assertFails("{weightProperty:'cost', strategy:'msbfs'}", "does not support weights");
+    }
+
+    private void assertFails(String config) throws Exception {
+        assertFails(config, "Relationship weights must be positive");
+    }
+
+    private void assertFails(String config, String message) throws Exception {
+        try {
+            stream(config);
+            fail("expected failure of " + config);
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause.getMessage(), cause.getMessage().contains(message));
+        }
+    }
+
+    @Test
+    public void testWeightedWrite() throws Exception {
+
+        db.execute("CALL algo.betweenness('Node', 'TYPE', {weightProperty:'cost', " +
+                "write:true, stats:true, writeProperty:'weightedCentrality'}) YIELD " +
+                "nodes, minCentrality, maxCentrality, sumCentrality, loadMillis, computeMillis, writeMillis")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(5L, row.getNumber("nodes"));
+                    assertEquals(3.0, row.getNumber("maxCentrality").doubleValue(), 0.01);
+                    assertEquals(5.0, row.getNumber("sumCentrality").doubleValue(), 0.01);
+                    assertNotEquals(-1L, row.getNumber("writeMillis"));
+                    return true;
+                });
+
+        db.execute("MATCH (n:Node {name:'b'}) RETURN n.weightedCentrality AS c")
+                .accept((Result.ResultVisitor<Exception>) row -> {
+                    assertEquals(2.0, row.getNumber("c").doubleValue(), 0.01);
+                    return true;
+                });
+    }
+}
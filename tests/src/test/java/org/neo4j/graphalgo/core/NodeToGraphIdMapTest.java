@@ -0,0 +1,69 @@
+package org.neo4j.graphalgo.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NodeToGraphIdMapTest {
+
+    @Test
+    public void testDenseIds() throws Exception {
+        final NodeToGraphIdMap map = new NodeToGraphIdMap();
+        final int count = NodeToGraphIdMap.PAGE_SIZE * 40;
+        for (int i = 0; i < count; i++) {
+            map.put(i * 2L, i);
+        }
+        assertFalse(map.isSparse());
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, map.get(i * 2L));
+            assertEquals(-1, map.get(i * 2L + 1));
+        }
+        assertEquals(-1, map.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSparseIds() throws Exception {
+        final NodeToGraphIdMap map = new NodeToGraphIdMap();
+        final long step = 1L << 20;
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * step, i);
+        }
+        assertTrue(map.isSparse());
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(i * step));
+            assertEquals(-1, map.get(i * step + 1));
+        }
+    }
+
+    @Test
+    public void testSwitchKeepsMapping() throws Exception {
+        final NodeToGraphIdMap map = new NodeToGraphIdMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertFalse(map.isSparse());
+        map.put(1L << 40, 100);
+        assertTrue(map.isSparse());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get(i));
+        }
+        assertEquals(100, map.get(1L << 40));
+    }
+
+    @Test
+    public void testCopyTo() throws Exception {
+        final long[] ids = {5L, 1L, 1L << 14, 42L, 3L};
+        final NodeToGraphIdMap map = new NodeToGraphIdMap();
+        for (int i = 0; i < ids.length; i++) {
+            map.put(ids[i], i);
+        }
+        final long[] graphIds = new long[ids.length];
+        map.copyTo(graphIds);
+        assertArrayEquals(ids, graphIds);
+    }
+}
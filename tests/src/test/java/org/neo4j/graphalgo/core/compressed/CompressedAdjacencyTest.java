@@ -0,0 +1,76 @@
+package org.neo4j.graphalgo.core.compressed;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedAdjacencyTest {
+
+    @Test
+    public void testSortedRoundTrip() throws Exception {
+        final CompressedAdjacency adjacency = new CompressedAdjacency();
+        final long address = adjacency.add(new int[]{42, 3, Integer.MAX_VALUE, 0, 127, 128}, 6);
+        adjacency.trim();
+        assertEquals(6, adjacency.degree(address));
+        assertArrayEquals(new int[]{0, 3, 42, 127, 128, Integer.MAX_VALUE}, decode(adjacency, address));
+    }
+
+    @Test
+    public void testEmptyBlock() throws Exception {
+        final CompressedAdjacency adjacency = new CompressedAdjacency();
+        final long empty = adjacency.add(new int[0], 0);
+        final long other = adjacency.add(new int[]{1, 2}, 2);
+        assertEquals(0, adjacency.degree(empty));
+        assertFalse(adjacency.cursor(empty).hasNext());
+        assertArrayEquals(new int[]{1, 2}, decode(adjacency, other));
+    }
+
+    @Test
+    public void testDuplicateTargets() throws Exception {
+        final CompressedAdjacency adjacency = new CompressedAdjacency();
+        final long address = adjacency.add(new int[]{5, 1, 5}, 3);
+        assertArrayEquals(new int[]{1, 5, 5}, decode(adjacency, address));
+    }
+
+    @Test
+    public void testManyBlocksAcrossPages() throws Exception {
+        final Random random = new Random(42L);
+        final CompressedAdjacency adjacency = new CompressedAdjacency();
+        final int[][] expected = new int[10_000][];
+        final long[] addresses = new long[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            // one huge block which exceeds the page size
+            final int degree = i == 5_000 ? 200_000 : random.nextInt(100);
+            final int[] targets = new int[degree];
+            for (int j = 0; j < degree; j++) {
+                targets[j] = random.nextInt(1_000_000);
+            }
+            expected[i] = targets.clone();
+            Arrays.sort(expected[i]);
+            addresses[i] = adjacency.add(targets, degree);
+        }
+        adjacency.trim();
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].length, adjacency.degree(addresses[i]));
+            assertArrayEquals(expected[i], decode(adjacency, addresses[i]));
+        }
+        // sorted gaps of random ids below 1M need far less than 4 bytes
+        assertTrue(adjacency.bytes() < 4L * (200_000 + 10_000 * 50));
+    }
+
+    private static int[] decode(CompressedAdjacency adjacency, long address) {
+        final CompressedAdjacency.Cursor cursor = adjacency.cursor(address);
+        final int[] targets = new int[cursor.remaining()];
+        int i = 0;
+        while (cursor.hasNext()) {
+            targets[i++] = cursor.next();
+        }
+        return targets;
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.WeightedRelationshipConsumer;
+import org.neo4j.graphalgo.core.NullWeightMap;
 import org.neo4j.graphalgo.core.utils.RawValues;
 
 
@@ -116,4 +118,45 @@ public class AdjacencyMatrixTest {
         verify(relationConsumer, times(1)).accept(eq(2), eq(0), eq(RawValues.combineIntInt(0, 2)));
         verify(relationConsumer, times(1)).accept(eq(2), eq(1), eq(RawValues.combineIntInt(1, 2)));
     }
+
+    @Test
+    public void testWeights() throws Exception {
+        final AdjacencyMatrix weighted = new AdjacencyMatrix(3, true, true, true);
+        weighted.addOutgoing(0, 1, 0.5);
+        weighted.addOutgoing(0, 2, 1.5);
+        weighted.addIncoming(0, 2, 1.5);
+        final NullWeightMap fallback = new NullWeightMap(42.0);
+
+        assertEquals(0.5, weighted.weightOf(0, 1, fallback), 0.0);
+        assertEquals(1.5, weighted.weightOf(0, 2, fallback), 0.0);
+        assertEquals(42.0, weighted.weightOf(1, 2, fallback), 0.0);
+
+        final WeightedRelationshipConsumer consumer = mock(WeightedRelationshipConsumer.class);
+        weighted.forEach(0, OUTGOING, fallback, consumer);
+        verify(consumer, times(1)).accept(eq(0), eq(1), eq(RawValues.combineIntInt(0, 1)), eq(0.5));
+        verify(consumer, times(1)).accept(eq(0), eq(2), eq(RawValues.combineIntInt(0, 2)), eq(1.5));
+        weighted.forEach(2, INCOMING, fallback, consumer);
+        verify(consumer, times(1)).accept(eq(2), eq(0), eq(RawValues.combineIntInt(0, 2)), eq(1.5));
+    }
+
+    @Test
+    public void testWeightsOfHighDegreeNode() throws Exception {
+        final int degree = AdjacencyMatrix.INDEX_DEGREE * 100;
+        final AdjacencyMatrix outgoing = new AdjacencyMatrix(degree + 1, false, true, true);
+        final AdjacencyMatrix incoming = new AdjacencyMatrix(degree + 1, true, false, true);
+        for (int target = 1; target <= degree; target++) {
+            outgoing.addOutgoing(0, target, target * 0.5);
+            incoming.addIncoming(target, 0, target * 0.5);
+        }
+        // a parallel relationship does not override the first one
+        outgoing.addOutgoing(0, 1, 42.0);
+        final NullWeightMap fallback = new NullWeightMap(-1.0);
+
+        for (int target = 1; target <= degree; target++) {
+            assertEquals(target * 0.5, outgoing.weightOf(0, target, fallback), 0.0);
+            assertEquals(target * 0.5, incoming.weightOf(target, 0, fallback), 0.0);
+        }
+        assertEquals(-1.0, outgoing.weightOf(0, 0, fallback), 0.0);
+        assertEquals(-1.0, incoming.weightOf(0, 0, fallback), 0.0);
+    }
 }
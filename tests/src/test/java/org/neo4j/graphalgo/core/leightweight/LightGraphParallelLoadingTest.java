@@ -0,0 +1,108 @@
+package org.neo4j.graphalgo.core.leightweight;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphSetup;
+import org.neo4j.graphalgo.core.RandomGraphTestCase;
+import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.helpers.collection.Iterables;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class LightGraphParallelLoadingTest extends RandomGraphTestCase {
+
+    @Parameters
+    public static Collection<Object[]> data() {
+        return parameters(
+                7,
+                30,
+                1000
+        );
+    }
+
+    private static Collection<Object[]> parameters(int... batchSizes) {
+        return Arrays.stream(batchSizes)
+                .mapToObj(b -> new Object[]{b})
+                .collect(Collectors.toList());
+    }
+
+    private Graph graph;
+
+    public LightGraphParallelLoadingTest(int batchSize) {
+        final ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            graph = new LightGraphFactory(db, new GraphSetup(pool))
+                    .build(batchSize);
+        } catch (Exception e) {
+            markFailure();
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldLoadAllNodes() throws Exception {
+        assertEquals(NODE_COUNT, graph.nodeCount());
+    }
+
+    @Test
+    public void shouldLoadAllRelationships() throws Exception {
+        try (Transaction tx = db.beginTx()) {
+            graph.forEachNode(this::testRelationships);
+            tx.success();
+        }
+    }
+
+    private boolean testRelationships(int nodeId) {
+        testRelationships(nodeId, Direction.OUTGOING);
+        testRelationships(nodeId, Direction.INCOMING);
+        return true;
+    }
+
+    private void testRelationships(int nodeId, final Direction direction) {
+        final Node node = db.getNodeById(graph.toOriginalNodeId(nodeId));
+        final Map<Long, Relationship> relationships = Iterables
+                .stream(node.getRelationships(direction))
+                .collect(Collectors.toMap(
+                        rel -> RawValues.combineIntInt(
+                                graph.toMappedNodeId(rel.getStartNode().getId()),
+                                graph.toMappedNodeId(rel.getEndNode().getId())),
+                        Function.identity()));
+        assertEquals(relationships.size(), graph.degree(nodeId, direction));
+        graph.forEachRelationship(
+                nodeId,
+                direction,
+                (sourceId, targetId, relationId) -> {
+                    assertEquals(nodeId, sourceId);
+                    final Relationship relationship = relationships.remove(
+                            relationId);
+                    assertNotNull(
+                            "Relation that does not exist in the graph",
+                            relationship);
+                    return true;
+                });
+
+        assertTrue(
+                "Relationships that were not traversed " + relationships,
+                relationships.isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package org.neo4j.graphalgo.core.leightweight;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.RandomGraphTestCase;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LightGraphSnapshotTest extends RandomGraphTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final LightGraph graph = (LightGraph) new GraphLoader(db)
+                .withRelationshipWeightsFromProperty("weight", 0.0)
+                .withDirection(Direction.BOTH)
+                .load(LightGraphFactory.class);
+
+        final Path file = folder.newFile().toPath();
+        final long bytes = LightGraphSnapshot.write(graph, file);
+        assertEquals(Files.size(file), bytes);
+
+        final Graph loaded = new GraphLoader(db).loadSnapshot(file);
+        assertEquals(graph.nodeCount(), loaded.nodeCount());
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            final long nodeId = graph.toOriginalNodeId(node);
+            assertEquals(nodeId, loaded.toOriginalNodeId(node));
+            assertEquals(node, loaded.toMappedNodeId(nodeId));
+            assertEquals(relationships(graph, node, Direction.OUTGOING), relationships(loaded, node, Direction.OUTGOING));
+            assertEquals(relationships(graph, node, Direction.INCOMING), relationships(loaded, node, Direction.INCOMING));
+        }
+        assertEquals(Direction.BOTH, LightGraphSnapshot.directionOf((LightGraph) loaded));
+        assertTrue(LightGraphSnapshot.hasWeights((LightGraph) loaded));
+    }
+
+    @Test
+    public void testSingleDirectionWithoutWeights() throws Exception {
+        final LightGraph graph = (LightGraph) new GraphLoader(db)
+                .withDirection(Direction.OUTGOING)
+                .load(LightGraphFactory.class);
+
+        final Path file = folder.newFile().toPath();
+        LightGraphSnapshot.write(graph, file);
+        final LightGraph loaded = LightGraphSnapshot.read(file);
+
+        assertEquals(Direction.OUTGOING, LightGraphSnapshot.directionOf(loaded));
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            assertEquals(graph.degree(node, Direction.OUTGOING), loaded.degree(node, Direction.OUTGOING));
+            assertEquals(relationships(graph, node, Direction.OUTGOING), relationships(loaded, node, Direction.OUTGOING));
+        }
+    }
+
+    @Test
+    public void testEmptyDirectionAndTrailingIsolatedNode() throws Exception {
+        // 4096 relationships fill exactly one page, the last node has none
+        final GraphDatabaseAPI db = (GraphDatabaseAPI) new TestGraphDatabaseFactory()
+                .newImpermanentDatabaseBuilder()
+                .newGraphDatabase();
+        try {
+            try (Transaction tx = db.beginTx()) {
+                db.execute("UNWIND range(1, 4096) AS i CREATE (:Node)-[:TYPE {weight:toFloat(i)}]->(:Node)").close();
+                db.execute("CREATE (:Node)").close();
+                db.execute("CREATE (:Other)").close();
+                tx.success();
+            }
+            assertRoundTrip(new GraphLoader(db)
+                    .withLabel("Node")
+                    .withRelationshipWeightsFromProperty("weight", 1.0)
+                    .withDirection(Direction.BOTH)
+                    .load(LightGraphFactory.class));
+            // no relationships at all
+            assertRoundTrip(new GraphLoader(db)
+                    .withLabel("Other")
+                    .withDirection(Direction.BOTH)
+                    .load(LightGraphFactory.class));
+        } finally {
+            db.shutdown();
+        }
+    }
+
+    private void assertRoundTrip(Graph graph) throws IOException {
+        final Path file = folder.newFile().toPath();
+        LightGraphSnapshot.write((LightGraph) graph, file);
+        final LightGraph loaded = LightGraphSnapshot.read(file);
+        assertEquals(graph.nodeCount(), loaded.nodeCount());
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            assertEquals(relationships(graph, node, Direction.OUTGOING), relationships(loaded, node, Direction.OUTGOING));
+            assertEquals(relationships(graph, node, Direction.INCOMING), relationships(loaded, node, Direction.INCOMING));
+        }
+    }
+
+    @Test
+    public void testRejectsOtherStores() throws Exception {
+        final LightGraph graph = (LightGraph) new GraphLoader(db)
+                .withDirection(Direction.OUTGOING)
+                .load(LightGraphFactory.class);
+
+        final Path file = folder.newFile().toPath();
+        LightGraphSnapshot.write(graph, file, 42L);
+        assertEquals(graph.nodeCount(), LightGraphSnapshot.read(file, 42L).nodeCount());
+        try {
+            LightGraphSnapshot.read(file, 43L);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().endsWith("has been written from another store"));
+        }
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws Exception {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, new byte[64]);
+        try {
+            LightGraphSnapshot.read(file);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Not a graph snapshot"));
+        }
+    }
+
+    private static List<String> relationships(Graph graph, int node, Direction direction) {
+        final List<String> relationships = new ArrayList<>();
+        graph.forEachRelationship(node, direction, (source, target, relationId, weight) -> {
+            relationships.add(source + "-" + target + ":" + weight);
+            return true;
+        });
+        return relationships;
+    }
+}
@@ -2,6 +2,7 @@ package org.neo4j.graphalgo.core.utils.container;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -64,4 +65,27 @@ public class AtomicBitSetTest {
         assertFalse(set.get(1));
 
     }
+
+    @Test
+    public void testNextSetBit() throws Exception {
+        final AtomicBitSet set = new AtomicBitSet(100);
+        assertEquals(-1, set.nextSetBit(0));
+
+        set.set(3);
+        set.set(31);
+        set.set(32);
+        set.set(99);
+        assertEquals(4, set.cardinality());
+
+        assertEquals(3, set.nextSetBit(0));
+        assertEquals(3, set.nextSetBit(3));
+        assertEquals(31, set.nextSetBit(4));
+        assertEquals(32, set.nextSetBit(32));
+        assertEquals(99, set.nextSetBit(33));
+        assertEquals(-1, set.nextSetBit(100));
+
+        set.unset(31);
+        assertEquals(32, set.nextSetBit(4));
+        assertEquals(3, set.cardinality());
+    }
 }
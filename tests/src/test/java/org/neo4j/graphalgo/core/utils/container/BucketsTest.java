@@ -0,0 +1,116 @@
+package org.neo4j.graphalgo.core.utils.container;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.junit.Test;
+import org.neo4j.graphalgo.core.utils.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.Pools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BucketsTest {
+
+    @Test
+    public void testSetAndConsume() throws Exception {
+        final Buckets buckets = new Buckets(10);
+        assertTrue(buckets.isEmpty());
+        assertEquals(Integer.MAX_VALUE, buckets.nextNonEmptyBucket());
+
+        buckets.set(0, 3);
+        buckets.set(1, 1);
+        buckets.set(2, 3);
+        assertFalse(buckets.isEmpty());
+        assertEquals(1, buckets.nextNonEmptyBucket());
+
+        assertArrayEquals(new int[]{1}, consume(buckets, 1));
+        assertEquals(3, buckets.nextNonEmptyBucket());
+        assertArrayEquals(new int[]{0, 2}, consume(buckets, 3));
+        assertTrue(buckets.isEmpty());
+    }
+
+    @Test
+    public void testMove() throws Exception {
+        final Buckets buckets = new Buckets(10);
+        buckets.set(0, 5000);
+        buckets.set(1, 5000);
+        buckets.set(0, 2);
+        assertEquals(2, buckets.nextNonEmptyBucket());
+        assertArrayEquals(new int[]{0}, consume(buckets, 2));
+        assertEquals(5000, buckets.nextNonEmptyBucket());
+        assertArrayEquals(new int[]{1}, consume(buckets, 5000));
+        assertTrue(buckets.isEmpty());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        final Buckets buckets = new Buckets(10);
+        buckets.set(0, 1);
+        buckets.set(1, 2);
+        buckets.reset();
+        assertTrue(buckets.isEmpty());
+        assertArrayEquals(new int[0], consume(buckets, 1));
+        buckets.set(1, 7);
+        assertEquals(7, buckets.nextNonEmptyBucket());
+        assertArrayEquals(new int[]{1}, consume(buckets, 7));
+    }
+
+    @Test
+    public void testConcurrentSet() throws Exception {
+        final int nodeCount = 100_000;
+        final int threads = 8;
+        final Buckets buckets = new Buckets(nodeCount);
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < nodeCount; i++) {
+                    buckets.set(i, i % 10);
+                }
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+        int count = 0;
+        for (int bucket = 0; bucket < 10; bucket++) {
+            assertEquals(bucket, buckets.nextNonEmptyBucket());
+            final int[] nodes = consume(buckets, bucket);
+            for (int node : nodes) {
+                assertEquals(bucket, node % 10);
+            }
+            count += nodes.length;
+        }
+        assertEquals(nodeCount, count);
+        assertTrue(buckets.isEmpty());
+    }
+
+    @Test
+    public void testSlotsDependOnSpan() throws Exception {
+        final Buckets buckets = new Buckets(2);
+        for (int bucket = 0; bucket < 100_000; bucket++) {
+            buckets.set(0, bucket);
+            // leaves a stale entry in a bucket which is never consumed
+            buckets.set(1, bucket + 50);
+            buckets.set(1, bucket);
+            assertEquals(bucket, buckets.nextNonEmptyBucket());
+            assertArrayEquals(new int[]{0, 1}, consume(buckets, bucket));
+        }
+        assertTrue(buckets.isEmpty());
+        // the lists span about 50 buckets instead of 100_000
+        assertTrue(String.valueOf(buckets.slots()), buckets.slots() <= 128);
+    }
+
+    private static int[] consume(Buckets buckets, int bucket) {
+        final IntArrayList nodes = new IntArrayList();
+        buckets.forEachInBucket(bucket, node -> {
+            nodes.add(node);
+            return true;
+        });
+        final int[] array = nodes.toArray();
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,116 @@
+package org.neo4j.graphalgo.impl;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * a directed path (0)->(1)->...->(n-1), the centrality of node i is i * (n - 1 - i)
+ * and reaches about n^2 / 4 in the middle, far above what fits into an
+ * int scaled by 100_000
+ */
+public class BetweennessCentralityPathTest {
+
+    private static final int NODE_COUNT = 3000;
+
+    private static GraphDatabaseAPI db;
+    private static Graph graph;
+    // neo4j id -> position on the path
+    private static final Map<Long, Integer> positions = new HashMap<>();
+
+    @BeforeClass
+    public static void setupGraph() {
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        final RelationshipType type = RelationshipType.withName("TYPE");
+        try (Transaction tx = db.beginTx()) {
+            Node previous = null;
+            for (int i = 0; i < NODE_COUNT; i++) {
+                final Node node = db.createNode();
+                positions.put(node.getId(), i);
+                if (previous != null) {
+                    previous.createRelationshipTo(node, type);
+                }
+                previous = node;
+            }
+            tx.success();
+        }
+
+        graph = new GraphLoader(db)
+                .withAnyRelationshipType()
+                .withAnyLabel()
+                .withoutNodeProperties()
+                .withDirection(Direction.OUTGOING)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (db != null) db.shutdown();
+        graph = null;
+    }
+
+    @Test
+    public void testPBC() throws Exception {
+        final double[] centrality = new ParallelBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .compute()
+                .getCentrality();
+        assertCentrality(centrality, 0.0);
+    }
+
+    @Test
+    public void testWeightedBC() throws Exception {
+        final double[] centrality = new WeightedBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .compute()
+                .getCentrality();
+        assertCentrality(centrality, 0.0);
+    }
+
+    @Test
+    public void testSampledAllNodes() throws Exception {
+        final double[] centrality = new SampledBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .withProbability(1.0)
+                .compute()
+                .getCentrality();
+        assertCentrality(centrality, 0.0);
+    }
+
+    @Test
+    public void testSampledAdaptive() throws Exception {
+        final double epsilon = 0.05;
+        final double[] centrality = new SampledBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .withStrategy(SampledBetweennessCentrality.Strategy.ADAPTIVE)
+                .withEpsilon(epsilon)
+                .withDelta(0.1)
+                .withSeed(42)
+                .compute()
+                .getCentrality();
+        assertCentrality(centrality, epsilon * NODE_COUNT * (NODE_COUNT - 1));
+    }
+
+    private static void assertCentrality(double[] centrality, double delta) {
+        assertEquals(NODE_COUNT, centrality.length);
+        for (int node = 0; node < NODE_COUNT; node++) {
+            final int i = positions.get(graph.toOriginalNodeId(node));
+            assertEquals((double) i * (NODE_COUNT - 1 - i), centrality[node], delta);
+        }
+    }
+}
@@ -103,7 +103,7 @@ public class BetweennessCentralityTest {
     @Test
     public void testPBC() throws Exception {
 
-        new ParallelBetweennessCentrality(graph, 100_000, Pools.DEFAULT, 4)
+        new ParallelBetweennessCentrality(graph, Pools.DEFAULT, 4)
                 .compute()
                 .resultStream()
                 .forEach(r -> System.out.println(name(r.nodeId) + " -> " + r.centrality));
@@ -129,7 +129,7 @@ public class BetweennessCentralityTest2 {
     @Test
     public void testPBC() throws Exception {
 
-        new ParallelBetweennessCentrality(graph, 100_000, Pools.DEFAULT, 4)
+        new ParallelBetweennessCentrality(graph, Pools.DEFAULT, 4)
                 .compute()
                 .resultStream()
                 .forEach(r -> testConsumer.accept(name(r.nodeId), r.centrality));
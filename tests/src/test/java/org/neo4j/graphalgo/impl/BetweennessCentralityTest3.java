@@ -0,0 +1,150 @@
+package org.neo4j.graphalgo.impl;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * (b) and (c) share the shortest paths from (a) to (d)
+ * and (e), (d) has both as predecessor
+ *
+ *        .0
+ *       (a)
+ *      /   \
+ *  1.0(b)  (c)1.0
+ *      \   /
+ *       (d)3.0
+ *        |
+ *       (e).0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BetweennessCentralityTest3 {
+
+    private static GraphDatabaseAPI db;
+    private static Graph graph;
+
+    interface TestConsumer {
+        void accept(String name, double centrality);
+    }
+
+    @Mock
+    private TestConsumer testConsumer;
+
+    @BeforeClass
+    public static void setupGraph() {
+
+        final String cypher =
+                "CREATE (a:Node {name:'a'})\n" +
+                        "CREATE (b:Node {name:'b'})\n" +
+                        "CREATE (c:Node {name:'c'})\n" +
+                        "CREATE (d:Node {name:'d'})\n" +
+                        "CREATE (e:Node {name:'e'})\n" +
+
+                        "CREATE" +
+                        " (a)-[:TYPE]->(b),\n" +
+                        " (a)-[:TYPE]->(c),\n" +
+                        " (b)-[:TYPE]->(d),\n" +
+                        " (c)-[:TYPE]->(d),\n" +
+                        " (d)-[:TYPE]->(e)";
+
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute(cypher);
+            tx.success();
+        }
+
+        graph = new GraphLoader(db)
+                .withAnyRelationshipType()
+                .withAnyLabel()
+                .withoutNodeProperties()
+                .withDirection(Direction.OUTGOING)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (db != null) db.shutdown();
+        graph = null;
+    }
+
+    private String name(long id) {
+        String[] name = {""};
+        db.execute("MATCH (n:Node) WHERE id(n) = " + id + " RETURN n.name as name")
+                .accept(row -> {
+                    name[0] = row.getString("name");
+                    return false;
+                });
+        return name[0];
+    }
+
+    @Test
+    public void testBC() throws Exception {
+
+        new BetweennessCentrality(graph)
+                .compute()
+                .resultStream()
+                .forEach(r -> testConsumer.accept(name(r.nodeId), r.centrality));
+
+        verifyMock(testConsumer);
+    }
+
+    @Test
+    public void testPBC() throws Exception {
+
+        new ParallelBetweennessCentrality(graph, Pools.DEFAULT, 4)
+                .compute()
+                .resultStream()
+                .forEach(r -> testConsumer.accept(name(r.nodeId), r.centrality));
+
+        verifyMock(testConsumer);
+    }
+
+    @Test
+    public void testPBCSingleThread() throws Exception {
+
+        new ParallelBetweennessCentrality(graph, Pools.DEFAULT, 1)
+                .compute()
+                .resultStream()
+                .forEach(r -> testConsumer.accept(name(r.nodeId), r.centrality));
+
+        verifyMock(testConsumer);
+    }
+
+    @Test
+    public void testMSBC() throws Exception {
+
+        new MSBetweennessCentrality(graph, 100_000, Pools.DEFAULT, 4)
+                .compute()
+                .resultStream()
+                .forEach(r -> testConsumer.accept(name(r.nodeId), r.centrality));
+
+        verifyMock(testConsumer);
+    }
+
+    public void verifyMock(TestConsumer mock) {
+        verify(mock, times(1)).accept(eq("a"), eq(0.0));
+        verify(mock, times(1)).accept(eq("b"), eq(1.0));
+        verify(mock, times(1)).accept(eq("c"), eq(1.0));
+        verify(mock, times(1)).accept(eq("d"), eq(3.0));
+        verify(mock, times(1)).accept(eq("e"), eq(0.0));
+    }
+}
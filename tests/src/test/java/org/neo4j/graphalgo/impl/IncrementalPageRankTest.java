@@ -0,0 +1,109 @@
+package org.neo4j.graphalgo.impl;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalPageRankTest {
+
+    private static final String DB_CYPHER = "" +
+            "CREATE (a:Node {name:'a'})\n" +
+            "CREATE (b:Node {name:'b'})\n" +
+            "CREATE (c:Node {name:'c'})\n" +
+            "CREATE (d:Node {name:'d'})\n" +
+            "CREATE (e:Node {name:'e'})\n" +
+            "CREATE (f:Node {name:'f'})\n" +
+            "CREATE (g:Node {name:'g'})\n" +
+            "CREATE (h:Node {name:'h'})\n" +
+            "CREATE\n" +
+            "  (a)-[:TYPE]->(b),\n" +
+            "  (b)-[:TYPE]->(c),\n" +
+            "  (c)-[:TYPE]->(a),\n" +
+            "  (d)-[:TYPE]->(a),\n" +
+            "  (e)-[:TYPE]->(f),\n" +
+            "  (f)-[:TYPE]->(g),\n" +
+            "  (g)-[:TYPE]->(h),\n" +
+            "  (h)-[:TYPE]->(e)";
+
+    private static GraphDatabaseAPI db;
+
+    @BeforeClass
+    public static void setupGraph() {
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+        try (Transaction tx = db.beginTx()) {
+            db.execute(DB_CYPHER).close();
+            tx.success();
+        }
+    }
+
+    @AfterClass
+    public static void shutdownGraph() throws Exception {
+        db.shutdown();
+    }
+
+    @Test
+    public void testConvergedScoresAreNotTouched() throws Exception {
+        final Graph graph = load();
+        final double[] scores = new PageRank(graph, graph, graph, graph, 0.85)
+                .compute(200)
+                .getPageRank();
+
+        final IncrementalPageRank incremental = new IncrementalPageRank(graph, graph, graph, 0.85, scores)
+                .withTolerance(1e-6)
+                .compute(20);
+
+        assertEquals(0, incremental.touchedNodes());
+        assertEquals(0, incremental.iterations());
+    }
+
+    @Test
+    public void testUpdateAfterNewRelationship() throws Exception {
+        final Graph before = load();
+        final double[] previous = new PageRank(before, before, before, before, 0.85)
+                .compute(200)
+                .getPageRank();
+
+        try (Transaction tx = db.beginTx()) {
+            db.execute("MATCH (e:Node {name:'e'}), (d:Node {name:'d'}) CREATE (e)-[:TYPE]->(d)").close();
+            tx.success();
+        }
+        final Graph after = load();
+        final double[] expected = new PageRank(after, after, after, after, 0.85)
+                .compute(200)
+                .getPageRank();
+
+        final double[] initial = Arrays.copyOf(previous, after.nodeCount());
+        final IncrementalPageRank incremental = new IncrementalPageRank(after, after, after, 0.85, initial)
+                .withTolerance(1e-7)
+                .compute(1000);
+
+        assertTrue(incremental.touchedNodes() > 0);
+        final double[] actual = incremental.getPageRank();
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-4);
+        }
+    }
+
+    private static Graph load() {
+        return new GraphLoader(db)
+                .withLabel("Node")
+                .withRelationshipType("TYPE")
+                .withDirection(Direction.OUTGOING)
+                .load(HeavyGraphFactory.class);
+    }
+}
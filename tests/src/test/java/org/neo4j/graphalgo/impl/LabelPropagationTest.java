@@ -0,0 +1,105 @@
+package org.neo4j.graphalgo.impl;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.Pools;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraph;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LabelPropagationTest {
+
+    private static GraphDatabaseAPI api;
+    private static HeavyGraph graph;
+
+    @BeforeClass
+    public static void setup() {
+        final String cypher =
+                "CREATE (a:Node {name:'a'})\n" +
+                        "CREATE (b:Node {name:'b'})\n" +
+                        "CREATE (c:Node {name:'c'})\n" +
+                        "CREATE (d:Node {name:'d'})\n" +
+                        "CREATE (e:Node {name:'e'})\n" +
+                        "CREATE (f:Node {name:'f'})\n" +
+                        "CREATE" +
+                        " (a)-[:TYPE]->(b), (b)-[:TYPE]->(a),\n" +
+                        " (b)-[:TYPE]->(c), (c)-[:TYPE]->(b),\n" +
+                        " (a)-[:TYPE]->(c), (c)-[:TYPE]->(a),\n" +
+
+                        " (d)-[:TYPE]->(e), (e)-[:TYPE]->(d),\n" +
+                        " (e)-[:TYPE]->(f), (f)-[:TYPE]->(e),\n" +
+                        " (d)-[:TYPE]->(f), (f)-[:TYPE]->(d)";
+
+        api = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+        try (Transaction tx = api.beginTx()) {
+            api.execute(cypher);
+            tx.success();
+        }
+
+        graph = (HeavyGraph) new GraphLoader(api)
+                .withLabel("Node")
+                .withRelationshipType("TYPE")
+                .withDirection(Direction.OUTGOING)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @AfterClass
+    public static void shutdownGraph() throws Exception {
+        api.shutdown();
+    }
+
+    @Test
+    public void testStopsWhenNoLabelChanged() throws Exception {
+        final LabelPropagation labelPropagation = new LabelPropagation(graph, null);
+        final int[] labels = labelPropagation.compute(Direction.OUTGOING, 10, graph.nodeCount());
+
+        // first iteration builds the clusters, second one changes nothing
+        assertEquals(2, labelPropagation.iterations());
+        assertEquals(labels[id("a")], labels[id("b")]);
+        assertEquals(labels[id("a")], labels[id("c")]);
+        assertEquals(labels[id("d")], labels[id("e")]);
+        assertEquals(labels[id("d")], labels[id("f")]);
+        assertNotEquals(labels[id("a")], labels[id("d")]);
+        assertEquals(4, labelPropagation.changedNodes());
+        assertTrue(labelPropagation.didConverge());
+    }
+
+    @Test
+    public void testDeterministicDoesNotDependOnBatches() throws Exception {
+        final int[] expected = new LabelPropagation(graph, null)
+                .withDeterministic(true)
+                .compute(Direction.OUTGOING, 10, graph.nodeCount());
+
+        for (int batchSize = 1; batchSize <= 3; batchSize++) {
+            final LabelPropagation labelPropagation = new LabelPropagation(graph, Pools.DEFAULT)
+                    .withDeterministic(true);
+            assertArrayEquals(expected, labelPropagation.compute(Direction.OUTGOING, 10, batchSize));
+            assertTrue(labelPropagation.didConverge());
+        }
+        assertEquals(expected[id("a")], expected[id("c")]);
+        assertNotEquals(expected[id("a")], expected[id("d")]);
+    }
+
+    private static int id(String name) {
+        final Long nodeId;
+        try (Transaction tx = api.beginTx()) {
+            nodeId = api.findNode(Label.label("Node"), "name", name).getId();
+            tx.success();
+        }
+        return graph.toMappedNodeId(nodeId);
+    }
+}
@@ -0,0 +1,72 @@
+package org.neo4j.graphalgo.impl;
+
+import org.junit.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.RandomGraphTestCase;
+import org.neo4j.graphalgo.core.graphbuilder.GraphBuilder;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.AtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * compares the multi source betweenness with brandes on graphs
+ * which need several batches of {@link MSBetweennessCentrality#OMEGA}
+ * sources and several tasks
+ */
+public class MSBetweennessCentralityTest extends RandomGraphTestCase {
+
+    @Test
+    public void testRandomGraph() throws Exception {
+        assertSameCentrality(load(db));
+    }
+
+    @Test
+    public void testGrid() throws Exception {
+        final GraphDatabaseAPI gridDb = (GraphDatabaseAPI) new TestGraphDatabaseFactory()
+                .newImpermanentDatabaseBuilder()
+                .newGraphDatabase();
+        try {
+            // nodes are reached at different depths from different sources
+            GraphBuilder.create(gridDb)
+                    .setLabel("Node")
+                    .setRelationship("TYPE")
+                    .newGridBuilder()
+                    .createGrid(12, 12);
+            assertSameCentrality(load(gridDb));
+        } finally {
+            gridDb.shutdown();
+        }
+    }
+
+    private static Graph load(GraphDatabaseAPI api) {
+        return new GraphLoader(api)
+                .withAnyRelationshipType()
+                .withAnyLabel()
+                .withoutNodeProperties()
+                .withDirection(Direction.OUTGOING)
+                .load(HeavyGraphFactory.class);
+    }
+
+    private static void assertSameCentrality(Graph graph) {
+        final double[] expected = new BetweennessCentrality(graph)
+                .compute()
+                .getCentrality();
+        for (int concurrency : new int[]{1, 4}) {
+            final AtomicDoubleArray actual = new MSBetweennessCentrality(graph, 100_000, Pools.DEFAULT, concurrency)
+                    .compute()
+                    .getCentrality();
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                assertEquals("node " + node + " with concurrency " + concurrency,
+                        expected[node],
+                        actual.get(node),
+                        0.01);
+            }
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package org.neo4j.graphalgo.impl;
 
 import org.neo4j.graphalgo.Pools;
-import com.carrotsearch.hppc.IntHashSet;
-import com.carrotsearch.hppc.IntSet;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
 import org.neo4j.graphalgo.impl.multistepscc.MultiStepColoring;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
@@ -92,10 +91,10 @@ public class MultiStepColoringTest {
         verify(mock, times(1)).test(eq(9));
     }
 
-    private IntSet allNodes() {
-        final IntHashSet set = new IntHashSet(graph.nodeCount());
+    private AtomicBitSet allNodes() {
+        final AtomicBitSet set = new AtomicBitSet(graph.nodeCount());
         for (int i = 0; i < graph.nodeCount(); i++) {
-            set.add(i);
+            set.set(i);
         }
         return set;
     }
@@ -0,0 +1,224 @@
+package org.neo4j.graphalgo.impl;
+
+import com.carrotsearch.hppc.IntArrayList;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphalgo.core.utils.container.AtomicBitSet;
+import org.neo4j.graphalgo.impl.multistepscc.AbstractMultiStepTarjan;
+import org.neo4j.graphalgo.impl.multistepscc.MultiStepColoring;
+import org.neo4j.graphalgo.impl.multistepscc.MultiStepFWBW;
+import org.neo4j.graphalgo.impl.multistepscc.MultiStepTrim;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * tests the single steps of the multistep SCC on node sets
+ *
+ *  (a)->(b)->(c)                  chain
+ *  (i)->(d)->(e)->(f)->(g)->(h)   cycle (d,e,f) with a tail on both ends
+ *        ^---------'
+ *
+ *  (p0),(p2),(p3) <-> (p1)        p1 has the max. degree product
+ *
+ *  (y0)->(yOut)->(y1)             only (y0) and (y1) are in the set
+ *
+ *  (t0)->(t1)->(tOut)->(t0)       only (t0) and (t1) are in the set
+ */
+public class MultistepSCCStepsTest {
+
+    private static GraphDatabaseAPI api;
+    private static Graph graph;
+
+    @BeforeClass
+    public static void setup() {
+        final String cypher =
+                "CREATE (a:Node {name:'a'})\n" +
+                        "CREATE (b:Node {name:'b'})\n" +
+                        "CREATE (c:Node {name:'c'})\n" +
+                        "CREATE (d:Node {name:'d'})\n" +
+                        "CREATE (e:Node {name:'e'})\n" +
+                        "CREATE (f:Node {name:'f'})\n" +
+                        "CREATE (g:Node {name:'g'})\n" +
+                        "CREATE (h:Node {name:'h'})\n" +
+                        "CREATE (i:Node {name:'i'})\n" +
+                        "CREATE (p0:Node {name:'p0'})\n" +
+                        "CREATE (p1:Node {name:'p1'})\n" +
+                        "CREATE (p2:Node {name:'p2'})\n" +
+                        "CREATE (p3:Node {name:'p3'})\n" +
+                        "CREATE (y1:Node {name:'y1'})\n" +
+                        "CREATE (yOut:Node {name:'yOut'})\n" +
+                        "CREATE (y0:Node {name:'y0'})\n" +
+                        "CREATE (t0:Node {name:'t0'})\n" +
+                        "CREATE (t1:Node {name:'t1'})\n" +
+                        "CREATE (tOut:Node {name:'tOut'})\n" +
+                        "CREATE" +
+                        " (a)-[:TYPE]->(b),\n" +
+                        " (b)-[:TYPE]->(c),\n" +
+
+                        " (d)-[:TYPE]->(e),\n" +
+                        " (e)-[:TYPE]->(f),\n" +
+                        " (f)-[:TYPE]->(d),\n" +
+                        " (f)-[:TYPE]->(g),\n" +
+                        " (g)-[:TYPE]->(h),\n" +
+                        " (i)-[:TYPE]->(d),\n" +
+
+                        " (p0)-[:TYPE]->(p1),\n" +
+                        " (p2)-[:TYPE]->(p1),\n" +
+                        " (p3)-[:TYPE]->(p1),\n" +
+                        " (p1)-[:TYPE]->(p0),\n" +
+                        " (p1)-[:TYPE]->(p2),\n" +
+                        " (p1)-[:TYPE]->(p3),\n" +
+
+                        " (y0)-[:TYPE]->(yOut),\n" +
+                        " (yOut)-[:TYPE]->(y1),\n" +
+
+                        " (t0)-[:TYPE]->(t1),\n" +
+                        " (t1)-[:TYPE]->(tOut),\n" +
+                        " (tOut)-[:TYPE]->(t0)";
+
+        api = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+        try (Transaction tx = api.beginTx()) {
+            api.execute(cypher);
+            tx.success();
+        }
+
+        graph = new GraphLoader(api)
+                .withLabel("Node")
+                .withRelationshipType("TYPE")
+                .withDirection(Direction.BOTH)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @AfterClass
+    public static void shutdownGraph() throws Exception {
+        api.shutdown();
+    }
+
+    @Test
+    public void testCompleteTrimRemovesTails() throws Exception {
+        final AtomicBitSet nodes = new MultiStepTrim(graph).compute(true);
+
+        assertEquals(set("d", "e", "f", "p0", "p1", "p2", "p3", "t0", "t1", "tOut"), names(nodes));
+    }
+
+    @Test
+    public void testSimpleTrimRemovesSourcesAndSinks() throws Exception {
+        final AtomicBitSet nodes = new MultiStepTrim(graph).compute(false);
+
+        for (String name : Arrays.asList("a", "c", "h", "i", "y0", "y1")) {
+            assertFalse(name, nodes.get(id(name)));
+        }
+        for (String name : Arrays.asList("d", "e", "f", "p0", "p1", "p2", "p3", "t0", "t1", "tOut")) {
+            assertTrue(name, nodes.get(id(name)));
+        }
+    }
+
+    @Test
+    public void testPivotHasMaxDegreeProduct() throws Exception {
+        final MultiStepFWBW fwbw = new MultiStepFWBW(graph, Pools.DEFAULT, 4);
+        final AtomicBitSet scc = fwbw.compute(nodes("p0", "p1", "p2", "p3"));
+
+        assertEquals(id("p1"), fwbw.getRoot());
+        assertEquals(set("p0", "p1", "p2", "p3"), names(scc));
+    }
+
+    @Test
+    public void testColoringStaysInNodeSet() throws Exception {
+        final MultiStepColoring coloring = new MultiStepColoring(graph, Pools.DEFAULT, 4);
+        // the second run must not depend on the state of the first one
+        for (int run = 0; run < 2; run++) {
+            coloring.compute(nodes("y0", "y1"));
+            final List<Integer> colors = new ArrayList<>();
+            coloring.forEachColor(color -> {
+                colors.add(color);
+                return true;
+            });
+
+            // (y0) would color (y1) over (yOut)
+            assertEquals(2, colors.size());
+            assertEquals(id("y0"), coloring.getColors().get(id("y0")));
+            assertEquals(id("y1"), coloring.getColors().get(id("y1")));
+        }
+    }
+
+    @Test
+    public void testTarjanIgnoresRelationshipsLeavingTheSet() throws Exception {
+        final List<List<String>> components = new ArrayList<>();
+        new AbstractMultiStepTarjan(graph) {
+            @Override
+            public void processSCC(int root, IntArrayList connected) {
+                final List<String> component = new ArrayList<>();
+                for (int i = 0; i < connected.size(); i++) {
+                    component.add(name(connected.get(i)));
+                }
+                components.add(component);
+            }
+        }.compute(nodes("t0", "t1"));
+
+        // (t0) and (t1) are only connected over (tOut)
+        assertEquals(2, components.size());
+        assertTrue(components.contains(Arrays.asList("t0")));
+        assertTrue(components.contains(Arrays.asList("t1")));
+    }
+
+    private static int id(String name) {
+        final Node[] node = new Node[1];
+        api.execute("MATCH (n:Node) WHERE n.name = '" + name + "' RETURN n").accept(row -> {
+            node[0] = row.getNode("n");
+            return false;
+        });
+        return graph.toMappedNodeId(node[0].getId());
+    }
+
+    private static String name(int nodeId) {
+        final String[] name = {null};
+        api.execute("MATCH (n:Node) WHERE id(n) = " + graph.toOriginalNodeId(nodeId) + " RETURN n.name AS name")
+                .accept(row -> {
+                    name[0] = row.getString("name");
+                    return false;
+                });
+        return name[0];
+    }
+
+    private static AtomicBitSet nodes(String... names) {
+        final AtomicBitSet nodes = new AtomicBitSet(graph.nodeCount());
+        for (String name : names) {
+            nodes.set(id(name));
+        }
+        return nodes;
+    }
+
+    private static List<String> names(AtomicBitSet nodes) {
+        final List<String> names = new ArrayList<>();
+        for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+            names.add(name(node));
+        }
+        names.sort(String::compareTo);
+        return names;
+    }
+
+    private static List<String> set(String... names) {
+        final List<String> list = new ArrayList<>(Arrays.asList(names));
+        list.sort(String::compareTo);
+        return list;
+    }
+}
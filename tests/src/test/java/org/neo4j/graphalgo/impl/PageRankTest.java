@@ -12,6 +12,7 @@ import org.neo4j.graphalgo.core.heavyweight.HeavyCypherGraphFactory;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.leightweight.LightGraphFactory;
 import org.neo4j.graphalgo.core.neo4jview.GraphViewFactory;
+import org.neo4j.graphalgo.core.utils.Pools;
 import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Transaction;
@@ -25,6 +26,7 @@ import java.util.Map;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
 public final class PageRankTest {
@@ -126,22 +128,7 @@ public final class PageRankTest {
             tx.close();
         }
 
-        final Graph graph;
-        if (graphImpl.isAssignableFrom(HeavyCypherGraphFactory.class)) {
-            graph = new GraphLoader(db)
-                    .withLabel("MATCH (n:Label1) RETURN id(n) as id")
-                    .withRelationshipType("MATCH (n:Label1)-[:TYPE1]->(m:Label1) RETURN id(n) as source,id(m) as target")
-                    .load(graphImpl);
-
-        } else {
-            graph = new GraphLoader(db)
-                    .withLabel(label)
-                    .withRelationshipType("TYPE1")
-                    .withDirection(Direction.OUTGOING)
-                    .load(graphImpl);
-
-        }
-
+        final Graph graph = load(label, Direction.OUTGOING);
         final double[] ranks = new PageRank(graph, graph, graph, graph, 0.85).compute(40).getPageRank();
 
         System.out.println("ranks = " + Arrays.toString(ranks));
@@ -155,4 +142,80 @@ public final class PageRankTest {
             );
         });
     }
+
+    @Test
+    public void testToleranceStopsEarly() throws Exception {
+        final Graph graph = load(Label.label("Label1"), Direction.OUTGOING);
+
+        final PageRank exact = new PageRank(graph, graph, graph, graph, 0.85).compute(40);
+        assertEquals(40, exact.iterations());
+
+        final PageRank converged = new PageRank(graph, graph, graph, graph, 0.85)
+                .withTolerance(1e-4)
+                .compute(40);
+        assertTrue(converged.iterations() < 40);
+
+        final double[] expected = exact.getPageRank();
+        final double[] actual = converged.getPageRank();
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-3);
+        }
+    }
+
+    @Test
+    public void testPullMatchesPush() throws Exception {
+        final Graph graph = load(Label.label("Label1"), Direction.BOTH);
+
+        final double[] pushed = new PageRank(
+                Pools.DEFAULT, 2, 1, graph, graph, graph, graph, 0.85, Direction.OUTGOING)
+                .compute(40)
+                .getPageRank();
+        final double[] pulled = new PageRank(
+                Pools.DEFAULT, 2, 1, graph, graph, graph, graph, 0.85, Direction.INCOMING)
+                .compute(40)
+                .getPageRank();
+
+        for (int i = 0; i < pushed.length; i++) {
+            assertEquals(pushed[i], pulled[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testBatchedPersonalizedMatchesSingle() throws Exception {
+        final Graph graph = load(Label.label("Label1"), Direction.OUTGOING);
+        final int[][] sources = {{0}, {1, 3}, {}};
+
+        final PageRank batch = new PageRank(
+                Pools.DEFAULT, 2, 1, graph, graph, graph, graph, 0.85, sources)
+                .compute(20);
+        assertEquals(3, batch.vectors());
+
+        for (int vector = 0; vector < sources.length; vector++) {
+            final double[] expected = new PageRank(
+                    null, -1, 1, graph, graph, graph, graph, 0.85, new int[][]{sources[vector]})
+                    .compute(20)
+                    .getPageRank();
+            final double[] actual = batch.getPageRank(vector);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual[i], 1e-9);
+            }
+        }
+        for (double score : batch.getPageRank(2)) {
+            assertEquals(0.0, score, 0.0);
+        }
+    }
+
+    private Graph load(Label label, Direction direction) {
+        if (graphImpl.isAssignableFrom(HeavyCypherGraphFactory.class)) {
+            return new GraphLoader(db)
+                    .withLabel("MATCH (n:Label1) RETURN id(n) as id")
+                    .withRelationshipType("MATCH (n:Label1)-[:TYPE1]->(m:Label1) RETURN id(n) as source,id(m) as target")
+                    .load(graphImpl);
+        }
+        return new GraphLoader(db)
+                .withLabel(label)
+                .withRelationshipType("TYPE1")
+                .withDirection(direction)
+                .load(graphImpl);
+    }
 }
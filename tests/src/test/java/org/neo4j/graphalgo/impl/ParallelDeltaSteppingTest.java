@@ -89,6 +89,43 @@ public class ParallelDeltaSteppingTest {
         }
     }
 
+    @Test
+    public void testBatchedParallelBehaviour() throws Exception {
+        final int n = 20;
+        try (ProgressTimer timer = ProgressTimer.start(t -> System.out.println(n + "x batched eval took " + t + "ms"))) {
+            for (int i = 0; i < n; i++) {
+                Assert.assertArrayEquals("error in iteration " + i,
+                        reference,
+                        computeBatched((i % 7) + 2, ParallelDeltaStepping.DEFAULT_MIN_BATCH_SIZE),
+                        0.001);
+            }
+        }
+    }
+
+    @Test
+    public void testSmallBatchesParallelBehaviour() throws Exception {
+        // no frontier of the grid reaches the default batch size,
+        // small batches let several chunks relax the same targets
+        final int n = 20;
+        try (ProgressTimer timer = ProgressTimer.start(t -> System.out.println(n + "x small batched eval took " + t + "ms"))) {
+            for (int i = 0; i < n; i++) {
+                Assert.assertArrayEquals("error in iteration " + i,
+                        reference,
+                        computeBatched((i % 7) + 2, 2),
+                        0.001);
+            }
+        }
+    }
+
+    private static double[] computeBatched(int threads, int minBatchSize) throws Exception {
+        return new ParallelDeltaStepping(graph, 2.5)
+                .withExecutorService(Pools.DEFAULT)
+                .withConcurrency(threads)
+                .withMinBatchSize(minBatchSize)
+                .compute(rootNodeId)
+                .getShortestPaths();
+    }
+
     private static double[] compute(int threads) throws Exception {
         return new ShortestPathDeltaStepping(graph, 2.5)
                 .withExecutorService(Executors.newFixedThreadPool(threads))
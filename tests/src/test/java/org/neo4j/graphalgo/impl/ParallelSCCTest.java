@@ -0,0 +1,154 @@
+package org.neo4j.graphalgo.impl;
+
+import org.neo4j.graphalgo.Pools;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**        _______
+ *        /       \
+ *      (0)--(1) (3)--(4)
+ *        \  /     \ /
+ *        (2)  (6) (5)
+ *             / \
+ *           (7)-(8)
+ */
+public class ParallelSCCTest {
+
+
+    private static GraphDatabaseAPI api;
+
+    private static Graph graph;
+
+    @BeforeClass
+    public static void setup() {
+        final String cypher =
+                "CREATE (a:Node {name:'a'})\n" +
+                        "CREATE (b:Node {name:'b'})\n" +
+                        "CREATE (c:Node {name:'c'})\n" +
+                        "CREATE (d:Node {name:'d'})\n" +
+                        "CREATE (e:Node {name:'e'})\n" +
+                        "CREATE (f:Node {name:'f'})\n" +
+                        "CREATE (g:Node {name:'g'})\n" +
+                        "CREATE (h:Node {name:'h'})\n" +
+                        "CREATE (i:Node {name:'i'})\n" +
+                        "CREATE (x:Node {name:'x'})\n" +
+                        "CREATE" +
+                        " (a)-[:TYPE {cost:5}]->(b),\n" +
+                        " (b)-[:TYPE {cost:5}]->(c),\n" +
+                        " (c)-[:TYPE {cost:5}]->(a),\n" +
+
+                        " (d)-[:TYPE {cost:2}]->(e),\n" +
+                        " (e)-[:TYPE {cost:2}]->(f),\n" +
+                        " (f)-[:TYPE {cost:2}]->(d),\n" +
+
+                        " (a)-[:TYPE {cost:2}]->(d),\n" +
+
+                        " (g)-[:TYPE {cost:3}]->(h),\n" +
+                        " (h)-[:TYPE {cost:3}]->(i),\n" +
+                        " (i)-[:TYPE {cost:3}]->(g)";
+
+        api = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+        try (Transaction tx = api.beginTx()) {
+            api.execute(cypher);
+            tx.success();
+        }
+
+        graph = new GraphLoader(api)
+                .withLabel("Node")
+                .withRelationshipType("TYPE")
+                .withDirection(Direction.BOTH)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @AfterClass
+    public static void shutdownGraph() throws Exception {
+        api.shutdown();
+    }
+
+    public static int getMappedNodeId(String name) {
+        final Node[] node = new Node[1];
+        api.execute("MATCH (n:Node) WHERE n.name = '" + name + "' RETURN n").accept(row -> {
+            node[0] = row.getNode("n");
+            return false;
+        });
+        return graph.toMappedNodeId(node[0].getId());
+    }
+
+    @Test
+    public void testSequential() throws Exception {
+
+        final ParallelSCC scc = new ParallelSCC(graph, null, 1, 1)
+                .compute();
+
+        assertCC(scc.getConnectedComponents());
+
+        // x is an scc of its own
+        assertEquals(3, scc.getMaxSetSize());
+        assertEquals(1, scc.getMinSetSize());
+        assertEquals(4, scc.getSetCount());
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+
+        final ParallelSCC scc = new ParallelSCC(graph, Pools.DEFAULT, 1, 4)
+                .compute();
+
+        assertCC(scc.getConnectedComponents());
+
+        assertEquals(3, scc.getMaxSetSize());
+        assertEquals(1, scc.getMinSetSize());
+        assertEquals(4, scc.getSetCount());
+    }
+
+    private void assertCC(int[] connectedComponents) {
+        assertBelongSameSet(connectedComponents,
+                getMappedNodeId("a"),
+                getMappedNodeId("b"),
+                getMappedNodeId("c"));
+        assertBelongSameSet(connectedComponents,
+                getMappedNodeId("d"),
+                getMappedNodeId("e"),
+                getMappedNodeId("f"));
+        assertBelongSameSet(connectedComponents,
+                getMappedNodeId("g"),
+                getMappedNodeId("h"),
+                getMappedNodeId("i"));
+    }
+
+    private static void assertBelongSameSet(int[] data, Integer... expected) {
+        // check if all belong to same set
+        final int needle = data[expected[0]];
+        for (int i : expected) {
+            assertEquals(needle, data[i]);
+        }
+
+        final List<Integer> exp = Arrays.asList(expected);
+        // check no other element belongs to this set
+        for (int i = 0; i < data.length; i++) {
+            if (exp.contains(i)) {
+                continue;
+            }
+            assertNotEquals(needle, data[i]);
+        }
+
+    }
+}
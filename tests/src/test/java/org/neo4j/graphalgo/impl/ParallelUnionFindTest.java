@@ -3,12 +3,12 @@ package org.neo4j.graphalgo.impl;
 import org.neo4j.graphalgo.Pools;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.dss.ConcurrentDisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.dss.DisjointSetStruct;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.RelationshipType;
@@ -17,11 +17,11 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.test.TestGraphDatabaseFactory;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author mknblch
  */
-@Ignore
 public class ParallelUnionFindTest {
 
     public static final RelationshipType RELATIONSHIP_TYPE = RelationshipType.withName("TYPE");
@@ -80,17 +80,25 @@ public class ParallelUnionFindTest {
 
     @Test
     public void testBigSet() throws Exception {
-
-        System.out.println("graph.nodeCount() = " + graph.nodeCount());
-
-
-        final DisjointSetStruct struct = new ParallelUnionFindQueue(graph, Pools.DEFAULT, mul, 8)
+        final ConcurrentDisjointSetStruct struct = new ParallelUnionFind(graph, Pools.DEFAULT, mul, 8)
                 .compute()
                 .getStruct();
         assertEquals(8, struct.getSetCount());
-
-//        System.out.println(struct);
-//        System.out.println("struct.getSetCount() = " + struct.getSetCount());
     }
 
+    @Test
+    public void testSmallBatches() throws Exception {
+        final ConcurrentDisjointSetStruct struct = new ParallelUnionFind(graph, Pools.DEFAULT, 1, graph.nodeCount())
+                .compute()
+                .getStruct();
+        assertEquals(8, struct.getSetCount());
+        final DisjointSetStruct expected = new GraphUnionFind(graph).compute();
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            final int setId = struct.find(node);
+            // the set id is the lowest node id within the set
+            assertTrue(setId <= node);
+            assertEquals(setId, struct.find(setId));
+            assertTrue(expected.connected(node, setId));
+        }
+    }
 }
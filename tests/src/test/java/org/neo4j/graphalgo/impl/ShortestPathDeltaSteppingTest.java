@@ -118,6 +118,28 @@ public final class ShortestPathDeltaSteppingTest {
         assertEquals(8, sp[graph.toMappedNodeId(tail)],0.1);
     }
 
+    @Test
+    public void testBatchedSequential() throws Exception {
+        final ParallelDeltaStepping sssp = new ParallelDeltaStepping(graph, 3);
+
+        final double[] sp = sssp.compute(head)
+                .getShortestPaths();
+
+        assertEquals(8, sp[graph.toMappedNodeId(tail)],0.1);
+    }
+
+    @Test
+    public void testBatchedParallel() throws Exception {
+        final ParallelDeltaStepping sssp = new ParallelDeltaStepping(graph, 3)
+                .withExecutorService(Executors.newFixedThreadPool(3))
+                .withConcurrency(3);
+
+        final double[] sp = sssp.compute(head)
+                .getShortestPaths();
+
+        assertEquals(8, sp[graph.toMappedNodeId(tail)],0.1);
+    }
+
     public static Node getNode(String name) {
         final Node[] node = new Node[1];
         api.execute("MATCH (n:Node) WHERE n.name = '" + name + "' RETURN n").accept(row -> {
@@ -0,0 +1,115 @@
+package org.neo4j.graphalgo.impl;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.graphbuilder.GraphBuilder;
+import org.neo4j.graphalgo.core.graphbuilder.GridBuilder;
+import org.neo4j.graphalgo.core.heavyweight.HeavyGraphFactory;
+import org.neo4j.graphalgo.core.utils.Pools;
+import org.neo4j.graphalgo.core.utils.traverse.Traverse;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.Node;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestGraphDatabaseFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraverseTest {
+
+    private static final String LABEL = "Node";
+    private static final String RELATIONSHIP = "REL";
+    private static final int SIZE = 10;
+
+    private static GraphDatabaseAPI db;
+    private static GridBuilder gridBuilder;
+    private static Graph graph;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+
+        db = (GraphDatabaseAPI)
+                new TestGraphDatabaseFactory()
+                        .newImpermanentDatabaseBuilder()
+                        .newGraphDatabase();
+
+        gridBuilder = GraphBuilder.create(db)
+                .setLabel(LABEL)
+                .setRelationship(RELATIONSHIP)
+                .newGridBuilder()
+                .createGrid(SIZE, SIZE, 1.0);
+
+        graph = new GraphLoader(db)
+                .withLabel(LABEL)
+                .withRelationshipType(RELATIONSHIP)
+                .withDirection(Direction.BOTH)
+                .load(HeavyGraphFactory.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        if (db != null) db.shutdown();
+    }
+
+    @Test
+    public void testTopDown() throws Exception {
+        final Traverse traverse = new Traverse(graph, Pools.DEFAULT, 4)
+                .withDirectionOptimization(false);
+        assertDepths(traverse);
+        assertEquals(0, traverse.getBottomUpLevels());
+    }
+
+    @Test
+    public void testDirectionOptimizing() throws Exception {
+        final Traverse traverse = new Traverse(graph, Pools.DEFAULT, 4);
+        assertDepths(traverse);
+        assertTrue(traverse.getBottomUpLevels() > 0);
+    }
+
+    @Test
+    public void testSequential() throws Exception {
+        assertDepths(new Traverse(graph, null, 1));
+    }
+
+    @Test
+    public void testPredicate() throws Exception {
+        final int start = mappedId(0, 0);
+        final int blocked = mappedId(0, 1);
+        final AtomicInteger count = new AtomicInteger();
+        new Traverse(graph, Pools.DEFAULT, 4)
+                .reset()
+                .bfs(start, Direction.OUTGOING, n -> n != blocked, n -> count.incrementAndGet());
+        // the start node and all nodes below the first row
+        assertEquals(SIZE * SIZE - SIZE + 1, count.get());
+    }
+
+    private void assertDepths(Traverse traverse) {
+        for (int i = 0; i < 3; i++) {
+            final int[] depths = new int[graph.nodeCount()];
+            final AtomicInteger count = new AtomicInteger();
+            traverse.reset()
+                    .bfs(mappedId(0, 0), Direction.OUTGOING, n -> true, n -> {
+                        depths[n] = traverse.getLevel();
+                        count.incrementAndGet();
+                    });
+            assertEquals(SIZE * SIZE, count.get());
+            assertEquals(2 * (SIZE - 1), traverse.getLevel());
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    assertEquals(row + col, depths[mappedId(row, col)]);
+                }
+            }
+        }
+    }
+
+    private static int mappedId(int row, int col) {
+        final List<Node> line = gridBuilder.getLineNodes().get(row);
+        return graph.toMappedNodeId(line.get(col).getId());
+    }
+}